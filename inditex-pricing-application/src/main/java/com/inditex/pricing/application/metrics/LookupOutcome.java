@@ -0,0 +1,29 @@
+
+package com.inditex.pricing.application.metrics;
+
+/**
+ * Outcome of a price lookup, as tagged on the lookup timers.
+ */
+public enum LookupOutcome {
+
+  FOUND("found"),
+
+  NOT_FOUND("not_found"),
+
+  ERROR("error");
+
+  private final String tag;
+
+  LookupOutcome(String tag) {
+    this.tag = tag;
+  }
+
+  /**
+   * Returns the value of the {@code outcome} tag.
+   *
+   * @return the tag value
+   */
+  public String tag() {
+    return this.tag;
+  }
+}
@@ -0,0 +1,102 @@
+
+package com.inditex.pricing.application.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Lookup timers tagged by brand and outcome, registered once per brand so that recording a lookup is a map read and a timer update, with
+ * no allocation. Brands are only a handful, but the tag is still bounded: once {@code maxBrands} brands have their timers, lookups of any
+ * other brand are recorded under {@code brand=other}. A brand only gets timers of its own with its first lookup that found a price, so
+ * the brand IDs of lookups that never find one, such as probes of brands that do not exist, cannot take the slots of the real ones:
+ * until then, its lookups are recorded under {@code brand=other} too.
+ *
+ * <p>Without a {@link MeterRegistry} nothing is recorded.
+ */
+public final class LookupTimers {
+
+  /**
+   * Value of the {@code brand} tag of the brands beyond the limit.
+   */
+  public static final String OTHER_BRANDS = "other";
+
+  private final MeterRegistry registry;
+
+  private final String name;
+
+  private final String description;
+
+  private final Tags tags;
+
+  private final int maxBrands;
+
+  private final Map<Integer, Outcomes> brands = new ConcurrentHashMap<>();
+
+  private final Outcomes others;
+
+  /**
+   * Creates the timers of the given name.
+   *
+   * @param registry the registry to register the timers in, or null to record nothing
+   * @param name the timer name
+   * @param description the timer description
+   * @param tags the tags shared by all the timers
+   * @param maxBrands the maximum number of brands tagged on their own
+   */
+  public LookupTimers(MeterRegistry registry, String name, String description, Tags tags, int maxBrands) {
+    this.registry = registry;
+    this.name = name;
+    this.description = description;
+    this.tags = tags;
+    this.maxBrands = maxBrands;
+    this.others = registry == null ? null : this.register(OTHER_BRANDS);
+  }
+
+  /**
+   * Records a lookup.
+   *
+   * @param brandId the brand ID of the lookup
+   * @param outcome the outcome of the lookup
+   * @param nanos the duration of the lookup, in nanoseconds
+   */
+  public void record(Integer brandId, LookupOutcome outcome, long nanos) {
+    if (this.registry == null) {
+      return;
+    }
+    Outcomes outcomes = brandId == null ? this.others : this.brands.get(brandId);
+    if (outcomes == null) {
+      outcomes = outcome == LookupOutcome.FOUND && this.brands.size() < this.maxBrands
+          ? this.brands.computeIfAbsent(brandId, id -> this.register(id.toString()))
+          : this.others;
+    }
+    outcomes.timers().get(outcome).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private Outcomes register(String brand) {
+    Map<LookupOutcome, Timer> timers = new EnumMap<>(LookupOutcome.class);
+    for (LookupOutcome outcome : LookupOutcome.values()) {
+      timers.put(outcome, Timer.builder(this.name)
+          .description(this.description)
+          .tags(this.tags)
+          .tag("brand", brand)
+          .tag("outcome", outcome.tag())
+          .register(this.registry));
+    }
+    return new Outcomes(timers);
+  }
+
+  /**
+   * Timers of a brand, one per outcome.
+   *
+   * @param timers the timer of every outcome
+   */
+  private record Outcomes(Map<LookupOutcome, Timer> timers) {
+
+  }
+}
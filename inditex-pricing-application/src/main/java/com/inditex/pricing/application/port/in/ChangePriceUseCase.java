@@ -0,0 +1,33 @@
+
+package com.inditex.pricing.application.port.in;
+
+import java.util.Optional;
+
+import com.inditex.pricing.domain.model.Price;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Use case for writing prices. Every change is announced with a {@link com.inditex.pricing.domain.event.PriceChangedEvent} once it is
+ * committed, so that in-memory readers refresh the brand and product concerned.
+ */
+public interface ChangePriceUseCase {
+
+  /**
+   * Inserts the given price, or replaces the price of the same brand, product and price list.
+   *
+   * @param price the price to store; its ID is ignored
+   * @return the stored Price, with its ID
+   */
+  Price upsert(@NotNull Price price);
+
+  /**
+   * Deletes the price of the given brand, product and price list.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param priceList the price list ID
+   * @return an Optional containing the deleted Price if there was one, otherwise an empty Optional
+   */
+  Optional<Price> delete(@NotNull Integer brandId, @NotNull Integer productId, @NotNull Short priceList);
+}
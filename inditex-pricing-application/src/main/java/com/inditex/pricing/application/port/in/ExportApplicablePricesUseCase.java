@@ -0,0 +1,23 @@
+
+package com.inditex.pricing.application.port.in;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import com.inditex.pricing.domain.model.Price;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Use case for exporting the applicable price of every brand and product at a given application date.
+ */
+public interface ExportApplicablePricesUseCase {
+
+  /**
+   * Executes the use case, handing every applicable price to the given consumer as soon as it is resolved.
+   *
+   * @param applicationDate the application date
+   * @param consumer the consumer of each applicable price, ordered by brand ID and product ID
+   */
+  void execute(@NotNull Instant applicationDate, @NotNull Consumer<Price> consumer);
+}
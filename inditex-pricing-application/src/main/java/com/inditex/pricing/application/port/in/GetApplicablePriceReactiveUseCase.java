@@ -0,0 +1,36 @@
+
+package com.inditex.pricing.application.port.in;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+
+import jakarta.validation.constraints.NotNull;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link GetApplicablePriceUseCase}, for the reactive deployment of the service.
+ */
+public interface GetApplicablePriceReactiveUseCase {
+
+  /**
+   * Executes the use case to find the applicable price.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param applicationDate the application date
+   * @return a Mono emitting the applicable Price, or completing empty when none applies
+   */
+  Mono<Price> execute(@NotNull Integer brandId, @NotNull Integer productId, @NotNull Instant applicationDate);
+
+  /**
+   * Executes the use case for several queries at once.
+   *
+   * @param queries the queries to resolve
+   * @return a Mono emitting the applicable price of each query, in the same order as the queries, empty when none applies
+   */
+  Mono<List<Optional<Price>>> execute(@NotNull List<PriceQuery> queries);
+}
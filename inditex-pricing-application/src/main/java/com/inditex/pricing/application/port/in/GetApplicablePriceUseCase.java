@@ -2,9 +2,11 @@
 package com.inditex.pricing.application.port.in;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
 
 import jakarta.validation.constraints.NotNull;
 
@@ -22,4 +24,12 @@ public interface GetApplicablePriceUseCase {
    * @return an Optional containing the applicable Price if found, otherwise an empty Optional
    */
   Optional<Price> execute(@NotNull Integer brandId, @NotNull final Integer productId, @NotNull final Instant applicationDate);
+
+  /**
+   * Executes the use case for several queries at once.
+   *
+   * @param queries the queries to resolve
+   * @return the applicable price of each query, in the same order as the queries, empty when none applies
+   */
+  List<Optional<Price>> execute(@NotNull List<PriceQuery> queries);
 }
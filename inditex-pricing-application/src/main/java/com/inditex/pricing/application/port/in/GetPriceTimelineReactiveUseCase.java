@@ -0,0 +1,26 @@
+package com.inditex.pricing.application.port.in;
+
+import java.util.List;
+
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.PriceTimeline;
+
+import jakarta.validation.constraints.NotNull;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of {@link GetPriceTimelineUseCase}, for the reactive deployment of the service.
+ */
+public interface GetPriceTimelineReactiveUseCase {
+
+  /**
+   * Executes the use case to resolve the price timeline.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param range the date range, both bounds inclusive
+   * @return a Mono emitting the non-overlapping segments of the range in which a price applies, in chronological order and clipped to
+   *     the range
+   */
+  Mono<List<PriceTimeline.Segment>> execute(@NotNull Integer brandId, @NotNull Integer productId, @NotNull Period range);
+}
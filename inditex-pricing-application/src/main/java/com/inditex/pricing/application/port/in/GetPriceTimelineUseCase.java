@@ -0,0 +1,25 @@
+package com.inditex.pricing.application.port.in;
+
+import java.util.List;
+
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.PriceTimeline;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Use case for retrieving the applicable prices of a brand and product over a date range, as the sequence of validity windows of each
+ * winning price.
+ */
+public interface GetPriceTimelineUseCase {
+
+  /**
+   * Executes the use case to resolve the price timeline.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param range the date range, both bounds inclusive
+   * @return the non-overlapping segments of the range in which a price applies, in chronological order and clipped to the range
+   */
+  List<PriceTimeline.Segment> execute(@NotNull Integer brandId, @NotNull Integer productId, @NotNull Period range);
+}
@@ -0,0 +1,25 @@
+
+package com.inditex.pricing.application.port.in;
+
+import java.io.InputStream;
+
+import com.inditex.pricing.domain.model.PriceFileFormat;
+import com.inditex.pricing.domain.model.PriceImportReport;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Use case for importing price files in bulk. Prices are written as upserts on brand, product and price list, and the import is
+ * announced with a single {@link com.inditex.pricing.domain.event.PricesImportedEvent}.
+ */
+public interface ImportPricesUseCase {
+
+  /**
+   * Imports every valid line of the given file. Invalid lines are skipped and reported; they don't stop the import.
+   *
+   * @param format the format of the file
+   * @param input the file contents, UTF-8 encoded; it is not closed
+   * @return the number of prices written and the lines rejected
+   */
+  PriceImportReport execute(@NotNull PriceFileFormat format, @NotNull InputStream input);
+}
@@ -0,0 +1,62 @@
+
+package com.inditex.pricing.application.services;
+
+import java.util.Optional;
+
+import com.inditex.pricing.application.port.in.ChangePriceUseCase;
+import com.inditex.pricing.domain.event.PriceChangedEvent;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.port.out.PriceCommandPort;
+import com.inditex.pricing.domain.port.out.PriceEventPublisher;
+
+import im.aop.loggers.Level;
+import im.aop.loggers.advice.before.LogBefore;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Service implementation for writing prices and publishing the resulting change events.
+ */
+@Validated
+@Service
+@RequiredArgsConstructor
+public class ChangePriceUseCaseImpl implements ChangePriceUseCase {
+
+  private final PriceCommandPort priceCommandPort;
+
+  private final PriceEventPublisher priceEventPublisher;
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>When a price is replaced, the event covers both its former and its new period, since instants that only the former one covered
+   * may now resolve to another price.
+   */
+  @Override
+  @Transactional
+  @LogBefore(level = Level.DEBUG)
+  public Price upsert(@NotNull final Price price) {
+    Optional<Period> previous = this.priceCommandPort.findByPriceList(price.getBrandId(), price.getProductId(), price.getPriceList())
+        .map(Price::getPeriod);
+    Price saved = this.priceCommandPort.save(price);
+    Period affected = previous.map(period -> period.span(saved.getPeriod())).orElse(saved.getPeriod());
+    this.priceEventPublisher.publish(new PriceChangedEvent(saved.getBrandId(), saved.getProductId(), affected));
+    return saved;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @Transactional
+  @LogBefore(level = Level.DEBUG)
+  public Optional<Price> delete(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Short priceList) {
+    Optional<Price> deleted = this.priceCommandPort.delete(brandId, productId, priceList);
+    deleted.ifPresent(price -> this.priceEventPublisher.publish(new PriceChangedEvent(brandId, productId, price.getPeriod())));
+    return deleted;
+  }
+}
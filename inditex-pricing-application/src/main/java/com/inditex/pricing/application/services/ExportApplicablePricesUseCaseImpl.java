@@ -0,0 +1,41 @@
+
+package com.inditex.pricing.application.services;
+
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import com.inditex.pricing.application.port.in.ExportApplicablePricesUseCase;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.port.out.PriceQueryPort;
+
+import im.aop.loggers.Level;
+import im.aop.loggers.advice.before.LogBefore;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Service implementation for exporting the applicable price of every brand and product at a given application date.
+ */
+@Validated
+@Service
+@RequiredArgsConstructor
+public class ExportApplicablePricesUseCaseImpl implements ExportApplicablePricesUseCase {
+
+  private final PriceQueryPort priceQueryPort;
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Prices are streamed straight from the port to the consumer, so memory does not grow with the size of the catalogue.
+   */
+  @Override
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+  @LogBefore(level = Level.INFO)
+  public void execute(@NotNull final Instant applicationDate, @NotNull final Consumer<Price> consumer) {
+    this.priceQueryPort.forEachApplicable(applicationDate, consumer);
+  }
+}
@@ -0,0 +1,60 @@
+
+package com.inditex.pricing.application.services;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import com.inditex.pricing.application.port.in.GetApplicablePriceReactiveUseCase;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.domain.port.out.ReactivePriceQueryPort;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive service implementation for retrieving the applicable price, only active with the {@code reactive} profile.
+ */
+@Validated
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class GetApplicablePriceReactiveUseCaseImpl implements GetApplicablePriceReactiveUseCase {
+
+  /**
+   * Lookups of a batch in flight at once. A batch then holds at most this many connections of the pool, leaving the rest to single
+   * lookups.
+   */
+  static final int BATCH_CONCURRENCY = 8;
+
+  private final ReactivePriceQueryPort priceQueryPort;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Mono<Price> execute(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Instant applicationDate) {
+    return this.priceQueryPort.findApplicable(brandId, productId, applicationDate);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The queries are resolved concurrently, {@value #BATCH_CONCURRENCY} at a time, and the results are put back in the order of the
+   * queries.
+   */
+  @Override
+  public Mono<List<Optional<Price>>> execute(@NotNull final List<PriceQuery> queries) {
+    return Flux.fromIterable(queries)
+        .flatMapSequential(q -> this.priceQueryPort.findApplicable(q.brandId(), q.productId(), q.at())
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty()), BATCH_CONCURRENCY)
+        .collectList();
+  }
+}
@@ -2,37 +2,82 @@
 package com.inditex.pricing.application.services;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
+import com.inditex.pricing.application.metrics.LookupOutcome;
+import com.inditex.pricing.application.metrics.LookupTimers;
 import com.inditex.pricing.application.port.in.GetApplicablePriceUseCase;
 import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
 import com.inditex.pricing.domain.port.out.PriceQueryPort;
 
-import im.aop.loggers.Level;
-import im.aop.loggers.advice.before.LogBefore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import jakarta.validation.constraints.NotNull;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 /**
  * Service implementation for retrieving the applicable price based on brand ID, product ID, and application date.
+ *
+ * <p>Single lookups are timed as {@code pricing.usecase.lookups}, tagged by brand, outcome and the {@code pricing.query.adapter} in use.
  */
 @Validated
 @Service
-@RequiredArgsConstructor
 public class GetApplicablePriceUseCaseImpl implements GetApplicablePriceUseCase {
 
   private final PriceQueryPort priceQueryPort;
 
+  private final LookupTimers lookups;
+
+  /**
+   * Creates the use case and registers its lookup timers in the meter registry, if any.
+   *
+   * @param priceQueryPort the port prices are looked up through
+   * @param adapter the name of the query adapter behind the port
+   * @param maxBrands the maximum number of brands tagged on their own
+   * @param meterRegistry the registry the lookup timers are published to
+   */
+  public GetApplicablePriceUseCaseImpl(PriceQueryPort priceQueryPort, @Value("${pricing.query.adapter:jpa}") String adapter,
+      @Value("${pricing.metrics.max-brands:100}") int maxBrands, ObjectProvider<MeterRegistry> meterRegistry) {
+    this.priceQueryPort = priceQueryPort;
+    this.lookups = new LookupTimers(meterRegistry.getIfAvailable(), "pricing.usecase.lookups",
+        "Applicable price lookups, through the query port", Tags.of("adapter", adapter), maxBrands);
+  }
+
   /**
    * {@inheritDoc}
+   *
+   * <p>The transaction only joins an existing one: adapters that hit the database open their own read-only transaction, while in-memory
+   * adapters don't borrow a connection at all.
    */
   @Override
-  @Transactional(readOnly = true)
-  @LogBefore(level = Level.DEBUG)
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
   public Optional<Price> execute(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Instant applicationDate) {
-    return this.priceQueryPort.findApplicable(brandId, productId, applicationDate);
+    final long startNanos = System.nanoTime();
+    LookupOutcome outcome = LookupOutcome.ERROR;
+    try {
+      Optional<Price> price = this.priceQueryPort.findApplicable(brandId, productId, applicationDate);
+      outcome = price.isPresent() ? LookupOutcome.FOUND : LookupOutcome.NOT_FOUND;
+      return price;
+    } finally {
+      this.lookups.record(brandId, outcome, System.nanoTime() - startNanos);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>All the queries are resolved through a single port call, so database adapters answer them within one transaction.
+   */
+  @Override
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+  public List<Optional<Price>> execute(@NotNull final List<PriceQuery> queries) {
+    return this.priceQueryPort.findAllApplicable(queries);
   }
 }
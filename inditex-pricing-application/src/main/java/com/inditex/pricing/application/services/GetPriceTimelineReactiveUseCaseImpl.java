@@ -0,0 +1,40 @@
+package com.inditex.pricing.application.services;
+
+import java.util.List;
+
+import com.inditex.pricing.application.port.in.GetPriceTimelineReactiveUseCase;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.PriceTimeline;
+import com.inditex.pricing.domain.port.out.ReactivePriceQueryPort;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive service implementation for retrieving the price timeline of a brand and product over a date range, only active with the
+ * {@code reactive} profile. Like {@link GetPriceTimelineUseCaseImpl}, it reads the candidates of the whole range at once and resolves
+ * the precedence rule over them with {@link PriceTimeline}.
+ */
+@Validated
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class GetPriceTimelineReactiveUseCaseImpl implements GetPriceTimelineReactiveUseCase {
+
+  private final ReactivePriceQueryPort priceQueryPort;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Mono<List<PriceTimeline.Segment>> execute(@NotNull final Integer brandId, @NotNull final Integer productId,
+      @NotNull final Period range) {
+    return this.priceQueryPort.findCandidates(brandId, productId, range)
+        .collectList()
+        .map(candidates -> PriceTimeline.of(candidates).segments(range));
+  }
+}
@@ -0,0 +1,39 @@
+package com.inditex.pricing.application.services;
+
+import java.util.List;
+
+import com.inditex.pricing.application.port.in.GetPriceTimelineUseCase;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.PriceTimeline;
+import com.inditex.pricing.domain.port.out.PriceQueryPort;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Service implementation for retrieving the price timeline of a brand and product over a date range.
+ *
+ * <p>The candidate prices of the whole range are read with a single port call and the precedence rule is resolved once over them by the
+ * sweep-line of {@link PriceTimeline}, instead of one lookup per instant.
+ */
+@Validated
+@Service
+@RequiredArgsConstructor
+public class GetPriceTimelineUseCaseImpl implements GetPriceTimelineUseCase {
+
+  private final PriceQueryPort priceQueryPort;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+  public List<PriceTimeline.Segment> execute(@NotNull final Integer brandId, @NotNull final Integer productId,
+      @NotNull final Period range) {
+    return PriceTimeline.of(this.priceQueryPort.findCandidates(brandId, productId, range)).segments(range);
+  }
+}
@@ -0,0 +1,110 @@
+
+package com.inditex.pricing.application.services;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.inditex.pricing.application.port.in.ImportPricesUseCase;
+import com.inditex.pricing.domain.event.PricesImportedEvent;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceFileFormat;
+import com.inditex.pricing.domain.model.PriceImportRejection;
+import com.inditex.pricing.domain.model.PriceImportReport;
+import com.inditex.pricing.domain.port.out.PriceCommandPort;
+import com.inditex.pricing.domain.port.out.PriceEventPublisher;
+import com.inditex.pricing.domain.port.out.PriceFileReaderPort;
+
+import im.aop.loggers.Level;
+import im.aop.loggers.advice.before.LogBefore;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Service implementation for importing price files in bulk.
+ */
+@Validated
+@Service
+@RequiredArgsConstructor
+public class ImportPricesUseCaseImpl implements ImportPricesUseCase {
+
+  /**
+   * Number of prices handed to the port at once, each chunk being written in a transaction of its own.
+   */
+  static final int CHUNK_SIZE = 10_000;
+
+  /**
+   * Maximum number of rejected lines listed in the report; the rest are only counted.
+   */
+  static final int MAX_REPORTED_REJECTIONS = 1_000;
+
+  private final PriceFileReaderPort priceFileReaderPort;
+
+  private final PriceCommandPort priceCommandPort;
+
+  private final PriceEventPublisher priceEventPublisher;
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The file is streamed and written in chunks of {@value #CHUNK_SIZE} prices, so memory does not grow with its size. The import is
+   * not atomic: the chunks written before a failure stay written.
+   */
+  @Override
+  @LogBefore(level = Level.INFO)
+  public PriceImportReport execute(@NotNull final PriceFileFormat format, @NotNull final InputStream input) {
+    final long startNanos = System.nanoTime();
+    Chunker chunker = new Chunker();
+    try {
+      this.priceFileReaderPort.read(format, input, chunker);
+      chunker.flush();
+    } finally {
+      if (chunker.accepted > 0) {
+        this.priceEventPublisher.publish(new PricesImportedEvent(chunker.accepted));
+      }
+    }
+    return new PriceImportReport(chunker.accepted, chunker.rejected, chunker.rejections, Duration.ofNanos(System.nanoTime() - startNanos));
+  }
+
+  /**
+   * Buffers the prices read and writes them a chunk at a time.
+   */
+  private final class Chunker implements PriceFileReaderPort.Handler {
+
+    private final List<Price> chunk = new ArrayList<>(CHUNK_SIZE);
+
+    private final List<PriceImportRejection> rejections = new ArrayList<>();
+
+    private long accepted;
+
+    private long rejected;
+
+    @Override
+    public void accept(long line, Price price) {
+      this.chunk.add(price);
+      if (this.chunk.size() == CHUNK_SIZE) {
+        this.flush();
+      }
+    }
+
+    @Override
+    public void reject(long line, String reason) {
+      this.rejected++;
+      if (this.rejections.size() < MAX_REPORTED_REJECTIONS) {
+        this.rejections.add(new PriceImportRejection(line, reason));
+      }
+    }
+
+    void flush() {
+      if (this.chunk.isEmpty()) {
+        return;
+      }
+      ImportPricesUseCaseImpl.this.priceCommandPort.saveAll(this.chunk);
+      this.accepted += this.chunk.size();
+      this.chunk.clear();
+    }
+  }
+}
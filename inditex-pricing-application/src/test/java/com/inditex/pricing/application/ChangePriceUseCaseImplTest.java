@@ -0,0 +1,122 @@
+
+package com.inditex.pricing.application;
+
+import static org.instancio.Select.field;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import com.inditex.pricing.application.port.in.ChangePriceUseCase;
+import com.inditex.pricing.application.services.ChangePriceUseCaseImpl;
+import com.inditex.pricing.domain.event.PriceChangedEvent;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.port.out.PriceCommandPort;
+import com.inditex.pricing.domain.port.out.PriceEventPublisher;
+
+import org.instancio.Instancio;
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {ChangePriceUseCaseImpl.class}
+)
+class ChangePriceUseCaseImplTest {
+
+  static final Instant START = Instant.parse("2020-06-14T13:00:00Z");
+
+  @Autowired
+  ChangePriceUseCase changePriceUseCase;
+
+  @MockitoBean
+  PriceCommandPort priceCommandPort;
+
+  @MockitoBean
+  PriceEventPublisher priceEventPublisher;
+
+  @Test
+  void shouldLoadContext_whenDependenciesAreInjected() {
+    // Arrange
+    // Act & Assert
+    assertNotNull(this.changePriceUseCase);
+  }
+
+  @Test
+  void shouldPublishNewPeriod_whenPriceIsInserted() {
+    // Arrange
+    Price price = price(new Period(START, START.plusSeconds(3600)));
+    Mockito.when(priceCommandPort.findByPriceList(price.getBrandId(), price.getProductId(), price.getPriceList()))
+        .thenReturn(Optional.empty());
+    Mockito.when(priceCommandPort.save(price)).thenReturn(price);
+
+    // Act
+    Price result = changePriceUseCase.upsert(price);
+
+    // Assert
+    assertEquals(price, result);
+    Mockito.verify(priceEventPublisher).publish(new PriceChangedEvent(price.getBrandId(), price.getProductId(), price.getPeriod()));
+  }
+
+  @Test
+  void shouldPublishFormerAndNewPeriods_whenPriceIsReplaced() {
+    // Arrange
+    Price former = price(new Period(START, START.plusSeconds(3600)));
+    Price price = price(new Period(START.plusSeconds(7200), START.plusSeconds(10800)));
+    Mockito.when(priceCommandPort.findByPriceList(price.getBrandId(), price.getProductId(), price.getPriceList()))
+        .thenReturn(Optional.of(former));
+    Mockito.when(priceCommandPort.save(price)).thenReturn(price);
+
+    // Act
+    changePriceUseCase.upsert(price);
+
+    // Assert
+    Mockito.verify(priceEventPublisher).publish(
+        new PriceChangedEvent(price.getBrandId(), price.getProductId(), new Period(START, START.plusSeconds(10800))));
+  }
+
+  @Test
+  void shouldPublishDeletedPeriod_whenPriceIsDeleted() {
+    // Arrange
+    Price price = price(new Period(START, START.plusSeconds(3600)));
+    Mockito.when(priceCommandPort.delete(price.getBrandId(), price.getProductId(), price.getPriceList())).thenReturn(Optional.of(price));
+
+    // Act
+    Optional<Price> result = changePriceUseCase.delete(price.getBrandId(), price.getProductId(), price.getPriceList());
+
+    // Assert
+    assertTrue(result.isPresent());
+    Mockito.verify(priceEventPublisher).publish(new PriceChangedEvent(price.getBrandId(), price.getProductId(), price.getPeriod()));
+  }
+
+  @Test
+  void shouldPublishNothing_whenDeletedPriceDoesNotExist() {
+    // Arrange
+    Mockito.when(priceCommandPort.delete(1, 35455, (short) 9)).thenReturn(Optional.empty());
+
+    // Act
+    Optional<Price> result = changePriceUseCase.delete(1, 35455, (short) 9);
+
+    // Assert
+    assertTrue(result.isEmpty());
+    Mockito.verifyNoInteractions(priceEventPublisher);
+  }
+
+  static Price price(Period period) {
+    return Instancio.of(Price.class)
+        .set(field(Price::getBrandId), 1)
+        .set(field(Price::getProductId), 35455)
+        .set(field(Price::getPriceList), (short) 2)
+        .set(field(Price::getPeriod), period)
+        .create();
+  }
+}
@@ -0,0 +1,66 @@
+
+package com.inditex.pricing.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.inditex.pricing.application.port.in.ExportApplicablePricesUseCase;
+import com.inditex.pricing.application.services.ExportApplicablePricesUseCaseImpl;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.port.out.PriceQueryPort;
+
+import org.instancio.Instancio;
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {ExportApplicablePricesUseCaseImpl.class}
+)
+class ExportApplicablePricesUseCaseImplTest {
+
+  @Autowired
+  ExportApplicablePricesUseCase exportApplicablePricesUseCase;
+
+  @MockitoBean
+  PriceQueryPort priceQueryPort;
+
+  @Test
+  void shouldLoadContext_whenDependenciesAreInjected() {
+    // Arrange
+    // Act & Assert
+    assertNotNull(this.exportApplicablePricesUseCase);
+  }
+
+  @Test
+  void shouldForwardEveryPrice_whenPortStreamsPrices() {
+    // Arrange
+    Instant applicationDate = Instancio.create(Instant.class);
+    List<Price> prices = Instancio.ofList(Price.class).size(3).create();
+    Mockito.doAnswer(invocation -> {
+      Consumer<Price> consumer = invocation.getArgument(1);
+      prices.forEach(consumer);
+      return null;
+    }).when(priceQueryPort).forEachApplicable(eq(applicationDate), any());
+    List<Price> result = new ArrayList<>();
+
+    // Act
+    exportApplicablePricesUseCase.execute(applicationDate, result::add);
+
+    // Assert
+    assertEquals(prices, result);
+  }
+}
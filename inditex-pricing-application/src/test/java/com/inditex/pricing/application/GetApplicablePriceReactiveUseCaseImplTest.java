@@ -0,0 +1,97 @@
+
+package com.inditex.pricing.application;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import com.inditex.pricing.application.port.in.GetApplicablePriceReactiveUseCase;
+import com.inditex.pricing.application.services.GetApplicablePriceReactiveUseCaseImpl;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.domain.port.out.ReactivePriceQueryPort;
+
+import org.instancio.Instancio;
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {GetApplicablePriceReactiveUseCaseImpl.class}
+)
+@ActiveProfiles("reactive")
+class GetApplicablePriceReactiveUseCaseImplTest {
+
+  @Autowired
+  GetApplicablePriceReactiveUseCase getApplicablePriceReactiveUseCase;
+
+  @MockitoBean
+  ReactivePriceQueryPort reactivePriceQueryPort;
+
+  @Test
+  void shouldLoadContext_whenDependenciesAreInjected() {
+    // Arrange
+    // Act & Assert
+    assertNotNull(this.getApplicablePriceReactiveUseCase);
+  }
+
+  @Test
+  void shouldEmitPrice_whenPortEmitsPrice() {
+    // Arrange
+    Integer brandId = Instancio.create(Integer.class);
+    Integer productId = Instancio.create(Integer.class);
+    Instant applicationDate = Instancio.create(Instant.class);
+    Price price = Instancio.of(Price.class).create();
+    Mockito.when(reactivePriceQueryPort.findApplicable(brandId, productId, applicationDate)).thenReturn(Mono.just(price));
+
+    // Act & Assert
+    StepVerifier.create(getApplicablePriceReactiveUseCase.execute(brandId, productId, applicationDate))
+        .expectNext(price)
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldCompleteEmpty_whenPortCompletesEmpty() {
+    // Arrange
+    Integer brandId = Instancio.create(Integer.class);
+    Integer productId = Instancio.create(Integer.class);
+    Instant applicationDate = Instancio.create(Instant.class);
+    Mockito.when(reactivePriceQueryPort.findApplicable(brandId, productId, applicationDate)).thenReturn(Mono.empty());
+
+    // Act & Assert
+    StepVerifier.create(getApplicablePriceReactiveUseCase.execute(brandId, productId, applicationDate))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldEmitPricesInQueryOrder_whenLookupsCompleteOutOfOrder() {
+    // Arrange
+    Instant at = Instant.parse("2020-06-14T10:00:00Z");
+    PriceQuery slow = new PriceQuery(1, 35455, at);
+    PriceQuery missing = new PriceQuery(1, 1, at);
+    PriceQuery fast = new PriceQuery(1, 35456, at);
+    Price slowPrice = Instancio.of(Price.class).create();
+    Price fastPrice = Instancio.of(Price.class).create();
+    Mockito.when(reactivePriceQueryPort.findApplicable(1, 35455, at))
+        .thenReturn(Mono.just(slowPrice).delayElement(Duration.ofMillis(50)));
+    Mockito.when(reactivePriceQueryPort.findApplicable(1, 1, at)).thenReturn(Mono.empty());
+    Mockito.when(reactivePriceQueryPort.findApplicable(1, 35456, at)).thenReturn(Mono.just(fastPrice));
+
+    // Act & Assert
+    StepVerifier.create(getApplicablePriceReactiveUseCase.execute(List.of(slow, missing, fast)))
+        .expectNext(List.of(Optional.of(slowPrice), Optional.empty(), Optional.of(fastPrice)))
+        .verifyComplete();
+  }
+}
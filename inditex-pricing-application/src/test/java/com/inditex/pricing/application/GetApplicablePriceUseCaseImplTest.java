@@ -6,13 +6,17 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 import com.inditex.pricing.application.port.in.GetApplicablePriceUseCase;
 import com.inditex.pricing.application.services.GetApplicablePriceUseCaseImpl;
 import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
 import com.inditex.pricing.domain.port.out.PriceQueryPort;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.instancio.Instancio;
 import org.instancio.junit.InstancioExtension;
 import org.junit.jupiter.api.Test;
@@ -25,7 +29,8 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 @ExtendWith({MockitoExtension.class, InstancioExtension.class})
 @SpringBootTest(
-    classes = {GetApplicablePriceUseCaseImpl.class}
+    classes = {GetApplicablePriceUseCaseImpl.class, SimpleMeterRegistry.class},
+    properties = "pricing.query.adapter=in-memory"
 )
 class GetApplicablePriceUseCaseImplTest {
 
@@ -35,6 +40,9 @@ class GetApplicablePriceUseCaseImplTest {
   @MockitoBean
   PriceQueryPort priceQueryPort;
 
+  @Autowired
+  MeterRegistry meterRegistry;
+
   @Test
   void shouldLoadContext_whenDependenciesAreInjected() {
     // Arrange
@@ -75,4 +83,39 @@ class GetApplicablePriceUseCaseImplTest {
     assertNotNull(result);
     assertTrue(result.isEmpty());
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldTimeLookupByBrandOutcomeAndAdapter_whenPriceIsLookedUp() {
+    // Arrange
+    Instant applicationDate = Instancio.create(Instant.class);
+    Mockito.when(priceQueryPort.findApplicable(1, 35455, applicationDate)).thenReturn(Optional.of(Instancio.create(Price.class)));
+    Mockito.when(priceQueryPort.findApplicable(1, 35456, applicationDate)).thenReturn(Optional.empty());
+
+    // Act
+    getApplicablePriceUseCase.execute(1, 35455, applicationDate);
+    getApplicablePriceUseCase.execute(1, 35456, applicationDate);
+    getApplicablePriceUseCase.execute(1, 35456, applicationDate);
+
+    // Assert
+    assertEquals(1, this.meterRegistry.get("pricing.usecase.lookups")
+        .tags("brand", "1", "outcome", "found", "adapter", "in-memory").timer().count());
+    assertEquals(2, this.meterRegistry.get("pricing.usecase.lookups")
+        .tags("brand", "1", "outcome", "not_found", "adapter", "in-memory").timer().count());
+  }
+
+  @Test
+  void shouldReturnPricesInQueryOrder_whenPortResolvesBatch() {
+    // Arrange
+    List<PriceQuery> queries = Instancio.ofList(PriceQuery.class).size(2).create();
+    Price price = Instancio.of(Price.class).create();
+    List<Optional<Price>> prices = List.of(Optional.of(price), Optional.empty());
+    Mockito.when(priceQueryPort.findAllApplicable(queries)).thenReturn(prices);
+
+    // Act
+    List<Optional<Price>> result = getApplicablePriceUseCase.execute(queries);
+
+    // Assert
+    assertEquals(prices, result);
+    Mockito.verify(priceQueryPort).findAllApplicable(queries);
+  }
+}
@@ -0,0 +1,90 @@
+package com.inditex.pricing.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import com.inditex.pricing.application.port.in.GetPriceTimelineUseCase;
+import com.inditex.pricing.application.services.GetPriceTimelineUseCaseImpl;
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceTimeline;
+import com.inditex.pricing.domain.port.out.PriceQueryPort;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@ExtendWith(MockitoExtension.class)
+@SpringBootTest(
+    classes = {GetPriceTimelineUseCaseImpl.class}
+)
+class GetPriceTimelineUseCaseImplTest {
+
+  @Autowired
+  GetPriceTimelineUseCase getPriceTimelineUseCase;
+
+  @MockitoBean
+  PriceQueryPort priceQueryPort;
+
+  @Test
+  void shouldLoadContext_whenDependenciesAreInjected() {
+    // Arrange
+    // Act & Assert
+    assertNotNull(this.getPriceTimelineUseCase);
+  }
+
+  @Test
+  void shouldReturnWinningSegmentsClippedToRange_whenCandidatesOverlap() {
+    // Arrange
+    Period range = new Period(Instant.parse("2020-06-14T00:00:00Z"), Instant.parse("2020-06-14T23:59:59Z"));
+    Price base = price(1L, 1, 0, "2020-06-13T22:00:00Z", "2020-12-31T22:59:59Z");
+    Price promotion = price(2L, 2, 1, "2020-06-14T13:00:00Z", "2020-06-14T16:30:00Z");
+    when(this.priceQueryPort.findCandidates(1, 35455, range)).thenReturn(List.of(base, promotion));
+
+    // Act
+    List<PriceTimeline.Segment> result = this.getPriceTimelineUseCase.execute(1, 35455, range);
+
+    // Assert
+    assertEquals(List.of(base, promotion, base), result.stream().map(PriceTimeline.Segment::price).toList());
+    assertEquals(range.start(), result.get(0).period().start());
+    assertEquals(promotion.getPeriod(), result.get(1).period());
+    assertEquals(range.end(), result.get(2).period().end());
+    verify(this.priceQueryPort).findCandidates(1, 35455, range);
+  }
+
+  @Test
+  void shouldReturnNoSegment_whenThereIsNoCandidate() {
+    // Arrange
+    Period range = new Period(Instant.parse("2020-06-14T00:00:00Z"), Instant.parse("2020-06-14T23:59:59Z"));
+    when(this.priceQueryPort.findCandidates(1, 99999, range)).thenReturn(List.of());
+
+    // Act
+    List<PriceTimeline.Segment> result = this.getPriceTimelineUseCase.execute(1, 99999, range);
+
+    // Assert
+    assertTrue(result.isEmpty());
+  }
+
+  private static Price price(Long id, int priceList, int priority, String start, String end) {
+    Price price = new Price();
+    price.setId(id);
+    price.setBrandId(1);
+    price.setProductId(35455);
+    price.setPriceList((short) priceList);
+    price.setPriority(priority);
+    price.setPeriod(new Period(Instant.parse(start), Instant.parse(end)));
+    price.setMoney(new Money(BigDecimal.TEN, "EUR"));
+    return price;
+  }
+}
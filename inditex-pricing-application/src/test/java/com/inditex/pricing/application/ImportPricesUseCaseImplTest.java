@@ -0,0 +1,121 @@
+
+package com.inditex.pricing.application;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.inditex.pricing.application.port.in.ImportPricesUseCase;
+import com.inditex.pricing.application.services.ImportPricesUseCaseImpl;
+import com.inditex.pricing.domain.event.PricesImportedEvent;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceFileFormat;
+import com.inditex.pricing.domain.model.PriceImportRejection;
+import com.inditex.pricing.domain.model.PriceImportReport;
+import com.inditex.pricing.domain.port.out.PriceCommandPort;
+import com.inditex.pricing.domain.port.out.PriceEventPublisher;
+import com.inditex.pricing.domain.port.out.PriceFileReaderPort;
+
+import org.instancio.Instancio;
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {ImportPricesUseCaseImpl.class}
+)
+class ImportPricesUseCaseImplTest {
+
+  static final InputStream INPUT = new ByteArrayInputStream(new byte[0]);
+
+  @Autowired
+  ImportPricesUseCase importPricesUseCase;
+
+  @MockitoBean
+  PriceFileReaderPort priceFileReaderPort;
+
+  @MockitoBean
+  PriceCommandPort priceCommandPort;
+
+  @MockitoBean
+  PriceEventPublisher priceEventPublisher;
+
+  @Test
+  void shouldLoadContext_whenDependenciesAreInjected() {
+    // Arrange
+    // Act & Assert
+    assertNotNull(this.importPricesUseCase);
+  }
+
+  @Test
+  void shouldWritePricesInChunks_whenFileIsLargerThanAChunk() {
+    // Arrange
+    Price price = Instancio.create(Price.class);
+    this.givenFile(handler -> {
+      for (int line = 1; line <= 10_001; line++) {
+        handler.accept(line, price);
+      }
+      handler.reject(10_002, "end >= start");
+    });
+    List<Integer> chunks = this.recordChunkSizes();
+
+    // Act
+    PriceImportReport report = this.importPricesUseCase.execute(PriceFileFormat.CSV, INPUT);
+
+    // Assert
+    assertEquals(List.of(10_000, 1), chunks);
+    assertEquals(10_001, report.accepted());
+    assertEquals(1, report.rejected());
+    assertEquals(List.of(new PriceImportRejection(10_002, "end >= start")), report.rejections());
+    verify(this.priceEventPublisher).publish(new PricesImportedEvent(10_001));
+  }
+
+  @Test
+  void shouldReportFirstRejectionsOnly_whenManyLinesAreRejected() {
+    // Arrange
+    this.givenFile(handler -> {
+      for (int line = 1; line <= 1_500; line++) {
+        handler.reject(line, "currency must be ISO 4217 alpha-3");
+      }
+    });
+
+    // Act
+    PriceImportReport report = this.importPricesUseCase.execute(PriceFileFormat.JSONL, INPUT);
+
+    // Assert
+    assertEquals(0, report.accepted());
+    assertEquals(1_500, report.rejected());
+    assertEquals(1_000, report.rejections().size());
+    verify(this.priceCommandPort, never()).saveAll(anyList());
+    verify(this.priceEventPublisher, never()).publish(any(PricesImportedEvent.class));
+  }
+
+  void givenFile(Consumer<PriceFileReaderPort.Handler> lines) {
+    doAnswer(invocation -> {
+      lines.accept(invocation.getArgument(2));
+      return null;
+    }).when(this.priceFileReaderPort).read(any(), eq(INPUT), any());
+  }
+
+  List<Integer> recordChunkSizes() {
+    List<Integer> sizes = new ArrayList<>();
+    doAnswer(invocation -> sizes.add(invocation.<List<Price>>getArgument(0).size())).when(this.priceCommandPort).saveAll(anyList());
+    return sizes;
+  }
+}
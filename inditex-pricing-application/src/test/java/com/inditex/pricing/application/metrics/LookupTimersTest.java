@@ -0,0 +1,67 @@
+
+package com.inditex.pricing.application.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+class LookupTimersTest {
+
+  @Test
+  void shouldRecordUnderOtherBrands_whenBrandLimitIsReached() {
+    // Arrange
+    MeterRegistry registry = new SimpleMeterRegistry();
+    LookupTimers timers = new LookupTimers(registry, "lookups", "Lookups", Tags.of("layer", "test"), 2);
+
+    // Act
+    timers.record(1, LookupOutcome.FOUND, 1_000);
+    timers.record(2, LookupOutcome.FOUND, 1_000);
+    timers.record(3, LookupOutcome.NOT_FOUND, 1_000);
+    timers.record(1, LookupOutcome.ERROR, 1_000);
+    timers.record(null, LookupOutcome.ERROR, 1_000);
+
+    // Assert
+    assertEquals(1, registry.get("lookups").tags("brand", "1", "outcome", "found", "layer", "test").timer().count());
+    assertEquals(1, registry.get("lookups").tags("brand", "1", "outcome", "error").timer().count());
+    assertEquals(1, registry.get("lookups").tags("brand", "2", "outcome", "found").timer().count());
+    assertEquals(1, registry.get("lookups").tags("brand", LookupTimers.OTHER_BRANDS, "outcome", "not_found").timer().count());
+    assertEquals(1, registry.get("lookups").tags("brand", LookupTimers.OTHER_BRANDS, "outcome", "error").timer().count());
+    assertTrue(registry.find("lookups").tags("brand", "3").timers().isEmpty());
+  }
+
+  @Test
+  void shouldKeepSlotsForBrandsWithPrices_whenUnknownBrandsAreProbed() {
+    // Arrange
+    MeterRegistry registry = new SimpleMeterRegistry();
+    LookupTimers timers = new LookupTimers(registry, "lookups", "Lookups", Tags.empty(), 2);
+
+    // Act
+    for (int brandId = 100; brandId < 200; brandId++) {
+      timers.record(brandId, LookupOutcome.NOT_FOUND, 1_000);
+      timers.record(brandId, LookupOutcome.ERROR, 1_000);
+    }
+    timers.record(1, LookupOutcome.NOT_FOUND, 1_000);
+    timers.record(1, LookupOutcome.FOUND, 1_000);
+    timers.record(1, LookupOutcome.NOT_FOUND, 1_000);
+
+    // Assert
+    assertEquals(1, registry.get("lookups").tags("brand", "1", "outcome", "found").timer().count());
+    assertEquals(1, registry.get("lookups").tags("brand", "1", "outcome", "not_found").timer().count());
+    assertEquals(101, registry.get("lookups").tags("brand", LookupTimers.OTHER_BRANDS, "outcome", "not_found").timer().count());
+    assertEquals(100, registry.get("lookups").tags("brand", LookupTimers.OTHER_BRANDS, "outcome", "error").timer().count());
+    assertTrue(registry.find("lookups").tags("brand", "100").timers().isEmpty());
+  }
+
+  @Test
+  void shouldRecordNothing_whenThereIsNoRegistry() {
+    // Arrange
+    LookupTimers timers = new LookupTimers(null, "lookups", "Lookups", Tags.empty(), 2);
+
+    // Act & Assert
+    timers.record(1, LookupOutcome.FOUND, 1_000);
+  }
+}
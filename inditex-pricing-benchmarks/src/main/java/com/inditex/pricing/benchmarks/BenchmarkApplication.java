@@ -0,0 +1,54 @@
+
+package com.inditex.pricing.benchmarks;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Spring configuration of the benchmarks. It wires the application, infrastructure and mapping beans exactly as the boot module does,
+ * but without the web layer, so the measured path starts at the use case. The database can be slowed down with
+ * {@code benchmark.db-latency-millis}, like in {@link RestBenchmarkApplication}.
+ */
+@SpringBootApplication(scanBasePackages = {
+    "com.inditex.pricing.application",
+    "com.inditex.pricing.infrastructure",
+    "com.inditex.pricing.rest.delegates.mappers"
+})
+@EnableJpaRepositories("com.inditex.pricing.infrastructure.jpa")
+@EntityScan("com.inditex.pricing.infrastructure.jpa")
+public class BenchmarkApplication {
+
+  /**
+   * Wraps the data source so that every query takes at least the configured latency, while holding its pooled connection.
+   *
+   * @param environment the environment the latency is read from
+   * @return the post processor
+   */
+  @Bean
+  static BeanPostProcessor latencyInjectingDataSourcePostProcessor(Environment environment) {
+    return LatencyInjectingDataSource.postProcessor(environment);
+  }
+
+  /**
+   * Starts a non-web application context on top of the given properties, which take precedence over {@code application.yaml}.
+   *
+   * @param properties the properties of the benchmark trial
+   * @return the started context, to be closed by the caller
+   */
+  public static ConfigurableApplicationContext start(Map<String, Object> properties) {
+    return new SpringApplicationBuilder(BenchmarkApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(properties)
+        .run();
+  }
+
+}
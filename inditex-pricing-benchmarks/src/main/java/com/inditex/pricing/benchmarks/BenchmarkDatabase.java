@@ -0,0 +1,158 @@
+
+package com.inditex.pricing.benchmarks;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.infrastructure.scale.PriceCatalogueGenerator;
+import com.inditex.pricing.infrastructure.scale.PriceCatalogueProperties;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+/**
+ * In-memory H2 database seeded with a configurable catalogue. Every product of brand 1 gets the four tariffs of the reference data set,
+ * so any query built by {@link #sampleQueries(int, int)} has the same shape as the ones of the acceptance tests. The databases of
+ * {@link #createScale(PriceCatalogueProperties)} hold the synthetic catalogue of the {@code scale} profile instead, with overlapping
+ * promotions of uneven lengths.
+ */
+public final class BenchmarkDatabase {
+
+  private static final String URL = "jdbc:h2:mem:%s;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+  private static final String SEED = """
+      INSERT INTO PRICES (BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_EPOCH, END_EPOCH)
+      SELECT 1, "X", ?, ?, ?, 'EUR', ?, ? FROM SYSTEM_RANGE(1, ?)""";
+
+  private static final Object[][] TARIFFS = {
+      {1, 0, "35.50", "2020-06-14T00:00:00", "2020-12-31T23:59:59"},
+      {2, 1, "25.45", "2020-06-14T15:00:00", "2020-06-14T18:30:00"},
+      {3, 1, "30.50", "2020-06-15T00:00:00", "2020-06-15T11:00:00"},
+      {4, 1, "38.95", "2020-06-15T16:00:00", "2020-12-31T23:59:59"}
+  };
+
+  private static final LocalDateTime[] APPLICATION_DATES = {
+      LocalDateTime.parse("2020-06-14T10:00:00"),
+      LocalDateTime.parse("2020-06-14T16:00:00"),
+      LocalDateTime.parse("2020-06-14T21:00:00"),
+      LocalDateTime.parse("2020-06-15T10:00:00"),
+      LocalDateTime.parse("2020-06-16T21:00:00")
+  };
+
+  private static final ZoneId ZONE = ZoneId.of("Europe/Madrid");
+
+  private BenchmarkDatabase() {
+  }
+
+  /**
+   * Creates a new database with the application schema and {@code 4 * products} prices.
+   *
+   * @param products the number of products to seed
+   * @return the JDBC URL of the database
+   */
+  public static String create(int products) {
+    String url = URL.formatted("bench-" + UUID.randomUUID());
+    try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+      ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/schema.sql"));
+      try (PreparedStatement statement = connection.prepareStatement(SEED)) {
+        for (Object[] tariff : TARIFFS) {
+          statement.setInt(1, (Integer) tariff[0]);
+          statement.setInt(2, (Integer) tariff[1]);
+          statement.setBigDecimal(3, new BigDecimal((String) tariff[2]));
+          statement.setLong(4, LocalDateTime.parse((String) tariff[3]).atZone(ZONE).toEpochSecond());
+          statement.setLong(5, LocalDateTime.parse((String) tariff[4]).atZone(ZONE).toEpochSecond());
+          statement.setInt(6, products);
+          statement.executeUpdate();
+        }
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException("Unable to seed the benchmark database", e);
+    }
+    return url;
+  }
+
+  /**
+   * Creates a new database with the application schema and the synthetic catalogue of the {@code scale} profile.
+   *
+   * @param catalogue the shape of the catalogue
+   * @return the JDBC URL of the database
+   */
+  public static String createScale(PriceCatalogueProperties catalogue) {
+    String url = URL.formatted("bench-scale-" + UUID.randomUUID());
+    try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+      ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/schema.sql"));
+      new PriceCatalogueGenerator(catalogue).generate(connection);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Unable to seed the benchmark database", e);
+    }
+    return url;
+  }
+
+  /**
+   * Drops the given database.
+   *
+   * @param url the JDBC URL returned by {@link #create(int)} or {@link #createScale(PriceCatalogueProperties)}
+   */
+  public static void drop(String url) {
+    try (Connection connection = DriverManager.getConnection(url, "sa", "");
+        Statement statement = connection.createStatement()) {
+      statement.execute("SHUTDOWN");
+    } catch (SQLException e) {
+      throw new IllegalStateException("Unable to drop the benchmark database", e);
+    }
+  }
+
+  /**
+   * Builds a reproducible sequence of queries spread uniformly over the seeded products and the reference application dates.
+   *
+   * @param products the number of seeded products
+   * @param count the number of queries, must be a power of two
+   * @return the queries
+   */
+  public static PriceQuery[] sampleQueries(int products, int count) {
+    if (Integer.bitCount(count) != 1) {
+      throw new IllegalArgumentException("count must be a power of two");
+    }
+    SplittableRandom random = new SplittableRandom(42);
+    PriceQuery[] queries = new PriceQuery[count];
+    for (int i = 0; i < count; i++) {
+      LocalDateTime at = APPLICATION_DATES[random.nextInt(APPLICATION_DATES.length)];
+      queries[i] = new PriceQuery(1, random.nextInt(products) + 1, at.atZone(ZONE).toInstant());
+    }
+    return queries;
+  }
+
+  /**
+   * Builds a reproducible sequence of queries spread uniformly over the brands and products of a synthetic catalogue and over its
+   * season, at second precision.
+   *
+   * @param catalogue the shape of the catalogue passed to {@link #createScale(PriceCatalogueProperties)}
+   * @param count the number of queries, must be a power of two
+   * @return the queries
+   */
+  public static PriceQuery[] sampleQueries(PriceCatalogueProperties catalogue, int count) {
+    if (Integer.bitCount(count) != 1) {
+      throw new IllegalArgumentException("count must be a power of two");
+    }
+    long seasonStart = catalogue.seasonStart().getEpochSecond();
+    long seasonLength = catalogue.seasonEnd().getEpochSecond() - seasonStart + 1;
+    SplittableRandom random = new SplittableRandom(42);
+    PriceQuery[] queries = new PriceQuery[count];
+    for (int i = 0; i < count; i++) {
+      queries[i] = new PriceQuery(random.nextInt(catalogue.brands()) + 1, catalogue.firstProductId() + random.nextInt(catalogue.products()),
+          Instant.ofEpochSecond(seasonStart + random.nextLong(seasonLength)));
+    }
+    return queries;
+  }
+
+}
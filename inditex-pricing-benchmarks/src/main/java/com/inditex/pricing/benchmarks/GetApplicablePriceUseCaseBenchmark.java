@@ -0,0 +1,126 @@
+
+package com.inditex.pricing.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.inditex.pricing.application.port.in.GetApplicablePriceUseCase;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.rest.delegates.mappers.PriceDTOMapper;
+import com.inditex.pricing.rest.dto.PriceDTO;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Measures the lookup from the use case down, for each adapter. The lookup path carries no AOP logging advice; requests are logged once
+ * each by the request log of the boot module, outside this benchmark. The {@code cached} adapter is the JPA adapter behind its
+ * read-through cache; every sampled product fits in the cache, so after warm-up it measures hits. The {@code snapshot} adapter writes
+ * its file into a temporary one at startup and maps it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class GetApplicablePriceUseCaseBenchmark {
+
+  @Param({"10000"})
+  int products;
+
+  @Param({"jpa", "cached", "in-memory", "snapshot"})
+  String adapter;
+
+  PriceQuery[] queries;
+
+  String url;
+
+  Path snapshotFile;
+
+  ConfigurableApplicationContext context;
+
+  GetApplicablePriceUseCase useCase;
+
+  PriceDTOMapper priceDTOMapper;
+
+  /**
+   * Seeds the database and starts the context with the selected adapter.
+   */
+  @Setup
+  public void setUp() {
+    this.url = BenchmarkDatabase.create(this.products);
+    try {
+      this.snapshotFile = Files.createTempFile("prices", ".snapshot");
+      Files.delete(this.snapshotFile);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    this.context = BenchmarkApplication.start(Map.of(
+        "spring.datasource.url", this.url,
+        "pricing.query.adapter", "cached".equals(this.adapter) ? "jpa" : this.adapter,
+        "pricing.query.cache.enabled", "cached".equals(this.adapter),
+        "pricing.query.snapshot.file", this.snapshotFile.toString()));
+    this.useCase = this.context.getBean(GetApplicablePriceUseCase.class);
+    this.priceDTOMapper = this.context.getBean(PriceDTOMapper.class);
+    this.queries = BenchmarkDatabase.sampleQueries(this.products, 4096);
+  }
+
+  /**
+   * Closes the context and drops the database.
+   */
+  @TearDown
+  public void tearDown() {
+    this.context.close();
+    BenchmarkDatabase.drop(this.url);
+    try {
+      Files.deleteIfExists(this.snapshotFile);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Use case call, through its validation and transaction proxies.
+   *
+   * @param cursor the per-thread query cursor
+   * @return the applicable price
+   */
+  @Benchmark
+  public Optional<Price> execute(QueryCursor cursor) {
+    PriceQuery query = cursor.next(this.queries);
+    return this.useCase.execute(query.brandId(), query.productId(), query.at());
+  }
+
+  /**
+   * Use case call followed by the DTO mapping, which is everything the REST delegate does for a found price.
+   *
+   * @param cursor the per-thread query cursor
+   * @return the response DTO, or null when no price applies
+   */
+  @Benchmark
+  public PriceDTO lookup(QueryCursor cursor) {
+    PriceQuery query = cursor.next(this.queries);
+    return this.useCase.execute(query.brandId(), query.productId(), query.at())
+        .map(this.priceDTOMapper::toDto)
+        .orElse(null);
+  }
+
+}
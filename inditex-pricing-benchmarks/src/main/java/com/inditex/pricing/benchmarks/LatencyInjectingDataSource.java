@@ -0,0 +1,82 @@
+
+package com.inditex.pricing.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Data source whose statements sleep for a fixed latency before executing, standing in for the network and server time of a remote
+ * database. The sleep happens while the pooled connection is held, so the pool saturates as it would against a slow database, and it
+ * parks virtual threads instead of blocking their carrier.
+ */
+final class LatencyInjectingDataSource extends DelegatingDataSource {
+
+  private final long latencyMillis;
+
+  LatencyInjectingDataSource(DataSource target, long latencyMillis) {
+    super(target);
+    this.latencyMillis = latencyMillis;
+  }
+
+  /**
+   * Returns a post processor wrapping the data source of a benchmark context, so that every query takes at least
+   * {@code benchmark.db-latency-millis} while holding its pooled connection. Without that property the data source is left as is.
+   *
+   * @param environment the environment the latency is read from
+   * @return the post processor
+   */
+  static BeanPostProcessor postProcessor(Environment environment) {
+    long latencyMillis = environment.getProperty("benchmark.db-latency-millis", Long.class, 0L);
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource && latencyMillis > 0
+            ? new LatencyInjectingDataSource(dataSource, latencyMillis)
+            : bean;
+      }
+    };
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return this.proxy(Connection.class, super.getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return this.proxy(Connection.class, super.getConnection(username, password));
+  }
+
+  private <T> T proxy(Class<T> type, T target) {
+    InvocationHandler handler = (proxy, method, args) -> this.invoke(target, method, args);
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+  }
+
+  private Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    if (target instanceof Statement && method.getName().startsWith("execute")) {
+      Thread.sleep(this.latencyMillis);
+    }
+    Object result;
+    try {
+      result = method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+    if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+      return this.proxy(PreparedStatement.class, statement);
+    }
+    return result;
+  }
+
+}
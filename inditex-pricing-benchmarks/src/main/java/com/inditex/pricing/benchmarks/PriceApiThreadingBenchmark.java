@@ -0,0 +1,114 @@
+
+package com.inditex.pricing.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.inditex.pricing.domain.model.PriceQuery;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Closed-loop load test of {@code GET /prices} over HTTP, comparing Tomcat on its 200 platform threads with Tomcat on virtual threads
+ * ({@code spring.threads.virtual.enabled}). Every JMH thread is a client that sends its next request as soon as the previous one is
+ * answered, and every lookup reaches the database through the uncached JPA adapter, slowed down by {@code dbLatencyMillis} per query.
+ * With more clients than Tomcat threads, the platform configuration queues requests in Tomcat while the virtual one queues them on the
+ * connection pool, so {@code poolSize} decides which one is the bottleneck.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 20)
+@Measurement(iterations = 3, time = 20)
+@Threads(400)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PriceApiThreadingBenchmark {
+
+  @Param({"platform", "virtual"})
+  String threads;
+
+  @Param({"20", "400"})
+  int poolSize;
+
+  @Param({"100"})
+  long dbLatencyMillis;
+
+  @Param({"10000"})
+  int products;
+
+  PriceQuery[] queries;
+
+  String baseUrl;
+
+  String url;
+
+  ConfigurableApplicationContext context;
+
+  HttpClient client;
+
+  /**
+   * Seeds the database and starts the server with the selected threads and pool size.
+   */
+  @Setup
+  public void setUp() {
+    this.url = BenchmarkDatabase.create(this.products);
+    this.context = RestBenchmarkApplication.start(Map.of(
+        "spring.datasource.url", this.url,
+        "spring.datasource.hikari.maximum-pool-size", this.poolSize,
+        "spring.datasource.hikari.connection-timeout", TimeUnit.MINUTES.toMillis(1),
+        "spring.threads.virtual.enabled", "virtual".equals(this.threads),
+        "pricing.query.adapter", "jpa",
+        "pricing.query.cache.enabled", false,
+        "im.aop.loggers.enabled", false,
+        "benchmark.db-latency-millis", this.dbLatencyMillis));
+    this.baseUrl = "http://localhost:" + ((WebServerApplicationContext) this.context).getWebServer().getPort();
+    this.queries = BenchmarkDatabase.sampleQueries(this.products, 4096);
+    this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+  }
+
+  /**
+   * Closes the client and the context, and drops the database.
+   */
+  @TearDown
+  public void tearDown() {
+    this.client.close();
+    this.context.close();
+    BenchmarkDatabase.drop(this.url);
+  }
+
+  /**
+   * One request, answered with the applicable price.
+   *
+   * @param cursor the per-thread query cursor
+   * @return the response status
+   * @throws IOException if the request fails
+   * @throws InterruptedException if the client thread is interrupted
+   */
+  @Benchmark
+  public int getPrice(QueryCursor cursor) throws IOException, InterruptedException {
+    PriceQuery query = cursor.next(this.queries);
+    HttpRequest request = HttpRequest.newBuilder(URI.create("%s/prices?applicationDate=%s&productId=%d&brandId=%d"
+        .formatted(this.baseUrl, query.at(), query.productId(), query.brandId()))).build();
+    return this.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+}
@@ -0,0 +1,146 @@
+package com.inditex.pricing.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.infrastructure.adapter.PriceQueryJpaAdapter;
+import com.inditex.pricing.infrastructure.jdbc.PriceLookupBatcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Throughput and latency of {@link PriceQueryJpaAdapter#findApplicable} with the {@link PriceLookupBatcher} off or on, under a closed
+ * loop of 1, 16 and 128 callers, each calling again as soon as its lookup is answered. Without batching every lookup holds a pooled
+ * connection for a whole query, so once the callers outnumber the {@code poolSize} connections they queue on the pool; with batching
+ * up to {@code maxSize} of them share one statement, at the cost of waiting up to {@code window} for each other. A single caller shows
+ * that cost alone. The database can be slowed down by {@code dbLatencyMillis} per statement to stand in for a remote one, where the
+ * round trip saved by a batch dominates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PriceLookupBatchingBenchmark {
+
+  /**
+   * Batch window, or {@code off} for one query per lookup.
+   */
+  @Param({"off", "0", "200us", "1ms"})
+  String window;
+
+  @Param({"64"})
+  int maxSize;
+
+  @Param({"0", "1"})
+  long dbLatencyMillis;
+
+  @Param({"10"})
+  int poolSize;
+
+  @Param({"100000"})
+  int products;
+
+  PriceQuery[] queries;
+
+  String url;
+
+  ConfigurableApplicationContext context;
+
+  PriceQueryJpaAdapter adapter;
+
+  /**
+   * Seeds the database and starts the context with the uncached JPA adapter, batched unless the window is {@code off}. Coalescing is
+   * disabled so that every lookup reaches the adapter.
+   */
+  @Setup
+  public void setUp() {
+    this.url = BenchmarkDatabase.create(this.products);
+    Map<String, Object> properties = new HashMap<>(Map.of(
+        "spring.datasource.url", this.url,
+        "spring.datasource.hikari.maximum-pool-size", this.poolSize,
+        "spring.datasource.hikari.connection-timeout", TimeUnit.MINUTES.toMillis(1),
+        "pricing.query.adapter", "jpa",
+        "pricing.query.cache.enabled", false,
+        "pricing.query.coalescing.enabled", false,
+        "pricing.query.batching.enabled", !"off".equals(this.window),
+        "pricing.query.batching.max-size", this.maxSize,
+        "im.aop.loggers.enabled", false,
+        "benchmark.db-latency-millis", this.dbLatencyMillis));
+    if (!"off".equals(this.window)) {
+      properties.put("pricing.query.batching.window", this.window);
+    }
+    this.context = BenchmarkApplication.start(properties);
+    this.adapter = this.context.getBean(PriceQueryJpaAdapter.class);
+    this.queries = BenchmarkDatabase.sampleQueries(this.products, 4096);
+  }
+
+  /**
+   * Closes the context and drops the database.
+   */
+  @TearDown
+  public void tearDown() {
+    this.context.close();
+    BenchmarkDatabase.drop(this.url);
+  }
+
+  /**
+   * One caller: no lookup ever has company, so batching only adds its window.
+   *
+   * @param cursor the per-thread query cursor
+   * @return the applicable price
+   */
+  @Benchmark
+  @Threads(1)
+  public Optional<Price> oneCaller(QueryCursor cursor) {
+    return this.lookup(cursor);
+  }
+
+  /**
+   * Sixteen callers, slightly more than the connections of the pool.
+   *
+   * @param cursor the per-thread query cursor
+   * @return the applicable price
+   */
+  @Benchmark
+  @Threads(16)
+  public Optional<Price> sixteenCallers(QueryCursor cursor) {
+    return this.lookup(cursor);
+  }
+
+  /**
+   * A hundred and twenty-eight callers, enough to fill batches of the default size twice over.
+   *
+   * @param cursor the per-thread query cursor
+   * @return the applicable price
+   */
+  @Benchmark
+  @Threads(128)
+  public Optional<Price> manyCallers(QueryCursor cursor) {
+    return this.lookup(cursor);
+  }
+
+  private Optional<Price> lookup(QueryCursor cursor) {
+    PriceQuery query = cursor.next(this.queries);
+    return this.adapter.findApplicable(query.brandId(), query.productId(), query.at());
+  }
+
+}
@@ -0,0 +1,221 @@
+
+package com.inditex.pricing.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapper;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
+import com.inditex.pricing.infrastructure.jpa.PriceEntity;
+import com.inditex.pricing.rest.delegates.mappers.DateMapper;
+import com.inditex.pricing.rest.delegates.mappers.PriceDTOMapper;
+import com.inditex.pricing.rest.delegates.mappers.PriceJsonWriter;
+import com.inditex.pricing.rest.dto.PriceDTO;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * Measures the entity to domain to DTO mapping chain that every lookup goes through, step by step and as a whole. The mappers are the
+ * generated MapStruct implementations, wired by Spring as in the application. The JSON benchmarks compare the DTO serialization with
+ * {@link PriceJsonWriter}; both write into a reused buffer, so {@code gc.alloc.rate.norm} only counts what the mapping itself allocates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceMappingBenchmark {
+
+  AnnotationConfigApplicationContext context;
+
+  PriceEntityMapper priceEntityMapper;
+
+  PriceDTOMapper priceDTOMapper;
+
+  DateMapper dateMapper;
+
+  PriceEntity entity;
+
+  Price price;
+
+  OffsetDateTime applicationDate;
+
+  PriceRow row;
+
+  ObjectWriter dtoWriter;
+
+  ByteArrayOutputStream sink;
+
+  JsonGenerator generator;
+
+  PriceJsonWriter priceJsonWriter;
+
+  /**
+   * Wires the mappers and builds the source objects.
+   */
+  @Setup
+  public void setUp() {
+    this.context = new AnnotationConfigApplicationContext(
+        "com.inditex.pricing.infrastructure.adapter.mappers", "com.inditex.pricing.rest.delegates.mappers");
+    this.priceEntityMapper = this.context.getBean(PriceEntityMapper.class);
+    this.priceDTOMapper = this.context.getBean(PriceDTOMapper.class);
+    this.dateMapper = this.context.getBean(DateMapper.class);
+
+    this.entity = new PriceEntity();
+    this.entity.setId(2L);
+    this.entity.setBrandId(1);
+    this.entity.setProductId(35455);
+    this.entity.setPriceList(2);
+    this.entity.setPriority(1);
+    this.entity.setPrice(new BigDecimal("25.45"));
+    this.entity.setCurr("EUR");
+    this.entity.setStartEpoch(1_592_139_600L);
+    this.entity.setEndEpoch(1_592_152_200L);
+    this.price = this.priceEntityMapper.toModel(this.entity);
+    this.applicationDate = OffsetDateTime.parse("2020-06-14T16:00:00+02:00");
+    this.row = new PriceRow(2L, 1, 35455, 2, 1, new BigDecimal("25.45"), "EUR", 1_592_139_600L, 1_592_152_200L);
+
+    ObjectMapper objectMapper = JsonMapper.builder()
+        .addModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    this.dtoWriter = objectMapper.writerFor(PriceDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    this.sink = new ByteArrayOutputStream(512);
+    try {
+      this.generator = objectMapper.createGenerator(this.sink);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    this.generator.setRootValueSeparator(null);
+    this.priceJsonWriter = new PriceJsonWriter(this.generator);
+  }
+
+  /**
+   * Closes the mapper context.
+   */
+  @TearDown
+  public void tearDown() {
+    this.context.close();
+  }
+
+  /**
+   * Request date conversion.
+   *
+   * @return the application instant
+   */
+  @Benchmark
+  public Instant requestDate() {
+    return this.dateMapper.toInstant(this.applicationDate);
+  }
+
+  /**
+   * Entity to domain mapping, including the epoch second to {@code Instant} conversion of both bounds.
+   *
+   * @return the domain price
+   */
+  @Benchmark
+  public Price entityToDomain() {
+    return this.priceEntityMapper.toModel(this.entity);
+  }
+
+  /**
+   * JDBC row to domain mapping, as done by the JPA adapter batch and export paths and by the in-memory index.
+   *
+   * @return the domain price
+   */
+  @Benchmark
+  public Price rowToDomain() {
+    return this.priceEntityMapper.toModel(this.row);
+  }
+
+  /**
+   * Domain to DTO mapping, including the amount scaling and the UTC offset dates.
+   *
+   * @return the response DTO
+   */
+  @Benchmark
+  public PriceDTO domainToDto() {
+    return this.priceDTOMapper.toDto(this.price);
+  }
+
+  /**
+   * Whole chain of a lookup: request date, entity to domain and domain to DTO.
+   *
+   * @param blackhole sink for the converted request date
+   * @return the response DTO
+   */
+  @Benchmark
+  public PriceDTO fullChain(Blackhole blackhole) {
+    blackhole.consume(this.dateMapper.toInstant(this.applicationDate));
+    return this.priceDTOMapper.toDto(this.priceEntityMapper.toModel(this.entity));
+  }
+
+  /**
+   * Domain to JSON through the DTO, as the export wrote every price before {@link PriceJsonWriter}.
+   *
+   * @return the number of bytes written
+   * @throws IOException never, the sink is in memory
+   */
+  @Benchmark
+  public int dtoJson() throws IOException {
+    this.dtoWriter.writeValue(this.generator, this.priceDTOMapper.toDto(this.price));
+    return this.drain();
+  }
+
+  /**
+   * Domain to JSON through {@link PriceJsonWriter}.
+   *
+   * @return the number of bytes written
+   * @throws IOException never, the sink is in memory
+   */
+  @Benchmark
+  public int priceJson() throws IOException {
+    this.priceJsonWriter.write(this.price);
+    return this.drain();
+  }
+
+  /**
+   * Whole export chain of a price: JDBC row to domain, then JSON through {@link PriceJsonWriter}.
+   *
+   * @return the number of bytes written
+   * @throws IOException never, the sink is in memory
+   */
+  @Benchmark
+  public int rowToJson() throws IOException {
+    this.priceJsonWriter.write(this.priceEntityMapper.toModel(this.row));
+    return this.drain();
+  }
+
+  private int drain() throws IOException {
+    this.generator.flush();
+    int size = this.sink.size();
+    this.sink.reset();
+    return size;
+  }
+
+}
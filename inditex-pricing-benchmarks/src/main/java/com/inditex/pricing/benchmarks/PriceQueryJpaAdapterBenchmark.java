@@ -0,0 +1,111 @@
+
+package com.inditex.pricing.benchmarks;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.infrastructure.adapter.PriceQueryJpaAdapter;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
+import com.inditex.pricing.infrastructure.scale.PriceCatalogueProperties;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Measures {@link PriceQueryJpaAdapter#findApplicable} against an H2 database. The repository query is also measured on its own, so the
+ * share of the row mapping and of the adapter proxies can be told apart. The {@code reference} catalogue repeats the four tariffs of
+ * the reference data set for {@code products} products of brand 1; the {@code scale} one is the synthetic catalogue of the {@code scale}
+ * profile, {@code products} products spread over ten brands with overlapping promotions, where a query plan regression shows first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PriceQueryJpaAdapterBenchmark {
+
+  @Param({"1000", "100000"})
+  int products;
+
+  @Param({"reference", "scale"})
+  String catalogue;
+
+  PriceQuery[] queries;
+
+  String url;
+
+  ConfigurableApplicationContext context;
+
+  PriceQueryJpaAdapter adapter;
+
+  PriceJdbcRepository repository;
+
+  /**
+   * Seeds the database and starts the context with the JPA adapter.
+   */
+  @Setup
+  public void setUp() {
+    PriceCatalogueProperties scale = new PriceCatalogueProperties(10, this.products / 10, 1, 4, Instant.parse("2020-06-14T00:00:00Z"),
+        Instant.parse("2020-12-31T23:59:59Z"), 42, 10000);
+    this.url = "scale".equals(this.catalogue) ? BenchmarkDatabase.createScale(scale) : BenchmarkDatabase.create(this.products);
+    this.context = BenchmarkApplication.start(Map.of(
+        "spring.datasource.url", this.url,
+        "pricing.query.adapter", "jpa",
+        "im.aop.loggers.enabled", false));
+    this.adapter = this.context.getBean(PriceQueryJpaAdapter.class);
+    this.repository = this.context.getBean(PriceJdbcRepository.class);
+    this.queries = "scale".equals(this.catalogue) ? BenchmarkDatabase.sampleQueries(scale, 4096)
+        : BenchmarkDatabase.sampleQueries(this.products, 4096);
+  }
+
+  /**
+   * Closes the context and drops the database.
+   */
+  @TearDown
+  public void tearDown() {
+    this.context.close();
+    BenchmarkDatabase.drop(this.url);
+  }
+
+  /**
+   * Adapter lookup: query, row to domain mapping, timers and the adapter proxies.
+   *
+   * @param cursor the per-thread query cursor
+   * @return the applicable price
+   */
+  @Benchmark
+  public Optional<Price> findApplicable(QueryCursor cursor) {
+    PriceQuery query = cursor.next(this.queries);
+    return this.adapter.findApplicable(query.brandId(), query.productId(), query.at());
+  }
+
+  /**
+   * Repository query alone, outside any transaction like the adapter.
+   *
+   * @param cursor the per-thread query cursor
+   * @return the best row
+   */
+  @Benchmark
+  public Optional<PriceRow> findBestRow(QueryCursor cursor) {
+    PriceQuery query = cursor.next(this.queries);
+    return this.repository.findBest(query.brandId(), query.productId(), query.at());
+  }
+
+}
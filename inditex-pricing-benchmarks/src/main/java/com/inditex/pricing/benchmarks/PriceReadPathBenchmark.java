@@ -0,0 +1,160 @@
+package com.inditex.pricing.benchmarks;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapper;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jpa.PriceEntity;
+import com.inditex.pricing.infrastructure.scale.PriceCatalogueProperties;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares the ways of reading the best price of a lookup into a {@link Price}, all running {@link PriceJdbcRepository#SELECT_ONE_BEST}
+ * against the synthetic catalogue of the {@code scale} profile:
+ *
+ * <ul>
+ *   <li>{@code managedEntity}: a {@link PriceEntity} loaded by the shared {@link EntityManager} within a read-only transaction, the
+ *   former read path of the {@code jpa} adapter, so the persistence context registers and snapshots every entity;</li>
+ *   <li>{@code statelessSession}: the same entity loaded through a Hibernate {@link StatelessSession}, with no persistence context
+ *   and no transaction;</li>
+ *   <li>{@code jdbcRow}: the current read path, a {@code PriceRow} read by {@link PriceJdbcRepository} with neither.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PriceReadPathBenchmark {
+
+  @Param({"100000"})
+  int products;
+
+  PriceQuery[] queries;
+
+  String url;
+
+  ConfigurableApplicationContext context;
+
+  PriceJdbcRepository repository;
+
+  PriceEntityMapper mapper;
+
+  EntityManager entityManager;
+
+  SessionFactory sessionFactory;
+
+  TransactionTemplate readOnly;
+
+  /**
+   * Seeds the database with {@code products} products spread over ten brands and starts the context.
+   */
+  @Setup
+  public void setUp() {
+    PriceCatalogueProperties catalogue = new PriceCatalogueProperties(10, this.products / 10, 1, 4,
+        Instant.parse("2020-06-14T00:00:00Z"), Instant.parse("2020-12-31T23:59:59Z"), 42, 10000);
+    this.url = BenchmarkDatabase.createScale(catalogue);
+    this.context = BenchmarkApplication.start(Map.of(
+        "spring.datasource.url", this.url,
+        "pricing.query.adapter", "jpa",
+        "im.aop.loggers.enabled", false));
+    this.repository = this.context.getBean(PriceJdbcRepository.class);
+    this.mapper = this.context.getBean(PriceEntityMapper.class);
+    EntityManagerFactory entityManagerFactory = this.context.getBean(EntityManagerFactory.class);
+    this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+    this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    this.readOnly = new TransactionTemplate(this.context.getBean(PlatformTransactionManager.class));
+    this.readOnly.setReadOnly(true);
+    this.queries = BenchmarkDatabase.sampleQueries(catalogue, 4096);
+  }
+
+  /**
+   * Closes the context and drops the database.
+   */
+  @TearDown
+  public void tearDown() {
+    this.context.close();
+    BenchmarkDatabase.drop(this.url);
+  }
+
+  /**
+   * Managed entity within a read-only transaction.
+   *
+   * @param cursor the per-thread query cursor
+   * @return the applicable price
+   */
+  @Benchmark
+  public Optional<Price> managedEntity(QueryCursor cursor) {
+    PriceQuery query = cursor.next(this.queries);
+    return this.readOnly.execute(status -> first(this.entityManager
+        .createNativeQuery(PriceJdbcRepository.SELECT_ONE_BEST, PriceEntity.class)
+        .setParameter(1, query.brandId())
+        .setParameter(2, query.productId())
+        .setParameter(3, PriceEntityMapper.floorSecond(query.at()))
+        .setParameter(4, PriceEntityMapper.ceilSecond(query.at()))
+        .getResultList()));
+  }
+
+  /**
+   * Detached entity of a stateless session.
+   *
+   * @param cursor the per-thread query cursor
+   * @return the applicable price
+   */
+  @Benchmark
+  public Optional<Price> statelessSession(QueryCursor cursor) {
+    PriceQuery query = cursor.next(this.queries);
+    try (StatelessSession session = this.sessionFactory.openStatelessSession()) {
+      return first(session.createNativeQuery(PriceJdbcRepository.SELECT_ONE_BEST, PriceEntity.class)
+          .setParameter(1, query.brandId())
+          .setParameter(2, query.productId())
+          .setParameter(3, PriceEntityMapper.floorSecond(query.at()))
+          .setParameter(4, PriceEntityMapper.ceilSecond(query.at()))
+          .getResultList());
+    }
+  }
+
+  /**
+   * Record read through plain JDBC.
+   *
+   * @param cursor the per-thread query cursor
+   * @return the applicable price
+   */
+  @Benchmark
+  public Optional<Price> jdbcRow(QueryCursor cursor) {
+    PriceQuery query = cursor.next(this.queries);
+    return this.repository.findBest(query.brandId(), query.productId(), query.at()).map(this.mapper::toModel);
+  }
+
+  private Optional<Price> first(List<?> entities) {
+    return entities.stream().findFirst().map(entity -> this.mapper.toModel((PriceEntity) entity));
+  }
+
+}
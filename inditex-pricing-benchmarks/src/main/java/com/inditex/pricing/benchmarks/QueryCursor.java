@@ -0,0 +1,27 @@
+
+package com.inditex.pricing.benchmarks;
+
+import com.inditex.pricing.domain.model.PriceQuery;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-thread position in a shared array of queries, so concurrent benchmark threads walk the same workload without contending on it.
+ */
+@State(Scope.Thread)
+public class QueryCursor {
+
+  private int position;
+
+  /**
+   * Returns the next query, wrapping around at the end of the array.
+   *
+   * @param queries the queries, whose length must be a power of two
+   * @return the next query
+   */
+  public PriceQuery next(PriceQuery[] queries) {
+    return queries[this.position++ & (queries.length - 1)];
+  }
+
+}
@@ -0,0 +1,56 @@
+
+package com.inditex.pricing.benchmarks;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Spring configuration of the HTTP benchmarks. It wires the whole application as the boot module does, REST controllers and embedded
+ * Tomcat included, so requests go through the same server threads and proxies as in production. The database can be slowed down with
+ * {@code benchmark.db-latency-millis} to reproduce a remote database on top of the in-memory H2.
+ */
+@SpringBootApplication(scanBasePackages = {
+    "com.inditex.pricing.application",
+    "com.inditex.pricing.infrastructure",
+    "com.inditex.pricing.rest"
+})
+@EnableJpaRepositories("com.inditex.pricing.infrastructure.jpa")
+@EntityScan("com.inditex.pricing.infrastructure.jpa")
+public class RestBenchmarkApplication {
+
+  /**
+   * Wraps the data source so that every query takes at least the configured latency, while holding its pooled connection.
+   *
+   * @param environment the environment the latency is read from
+   * @return the post processor
+   */
+  @Bean
+  static BeanPostProcessor latencyInjectingDataSourcePostProcessor(Environment environment) {
+    return LatencyInjectingDataSource.postProcessor(environment);
+  }
+
+  /**
+   * Starts a web application context on a random port on top of the given properties, which take precedence over
+   * {@code application.yaml}.
+   *
+   * @param properties the properties of the benchmark trial
+   * @return the started context, to be closed by the caller
+   */
+  public static ConfigurableApplicationContext start(Map<String, Object> properties) {
+    return new SpringApplicationBuilder(RestBenchmarkApplication.class)
+        .web(WebApplicationType.SERVLET)
+        .properties(properties)
+        .properties(Map.of("server.port", 0))
+        .run();
+  }
+
+}
@@ -0,0 +1,44 @@
+
+package com.inditex.pricing;
+
+import com.inditex.pricing.application.services.GetApplicablePriceReactiveUseCaseImpl;
+import com.inditex.pricing.application.services.GetPriceTimelineReactiveUseCaseImpl;
+import com.inditex.pricing.infrastructure.adapter.PriceQueryR2dbcAdapter;
+import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapperImpl;
+import com.inditex.pricing.rest.delegates.ReactivePricesApiController;
+import com.inditex.pricing.rest.delegates.mappers.DateMapperImpl;
+import com.inditex.pricing.rest.delegates.mappers.PriceDTOMapperImpl;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Main class to run the reactive deployment of the service, on WebFlux and R2DBC. The beans are imported one by one instead of scanned,
+ * as the modules also hold the servlet and JDBC implementations of the same ports.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@Import({
+    ReactivePricesApiController.class,
+    GetApplicablePriceReactiveUseCaseImpl.class,
+    GetPriceTimelineReactiveUseCaseImpl.class,
+    PriceQueryR2dbcAdapter.class,
+    PriceDTOMapperImpl.class,
+    DateMapperImpl.class,
+    PriceEntityMapperImpl.class,
+    ReactiveErrorAttributes.class
+})
+public class ReactiveApplication {
+
+  /**
+   * Main method to start the application.
+   *
+   * @param args command line arguments
+   */
+  public static void main(String[] args) {
+    SpringApplication.run(ReactiveApplication.class, args);
+  }
+
+}
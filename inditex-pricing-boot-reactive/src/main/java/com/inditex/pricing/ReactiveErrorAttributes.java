@@ -0,0 +1,25 @@
+
+package com.inditex.pricing;
+
+import java.util.Map;
+
+import org.springframework.boot.web.error.ErrorAttributeOptions;
+import org.springframework.boot.web.reactive.error.DefaultErrorAttributes;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+/**
+ * Error attributes of the reactive deployment, without the {@code requestId} that WebFlux adds, so that error bodies are the same as
+ * the servlet ones.
+ */
+public class ReactiveErrorAttributes extends DefaultErrorAttributes {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Map<String, Object> getErrorAttributes(ServerRequest request, ErrorAttributeOptions options) {
+    Map<String, Object> errorAttributes = super.getErrorAttributes(request, options);
+    errorAttributes.remove("requestId");
+    return errorAttributes;
+  }
+}
@@ -0,0 +1,193 @@
+
+package com.inditex.pricing.rest;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.json.JsonCompareMode;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactivePriceApiControllerIT {
+
+  static final String PRICE_LIST_1 = """
+      {"productId":35455,"brandId":1,"priceList":1,"startDate":"2020-06-13T22:00:00Z","endDate":"2020-12-31T22:59:59Z","price":35.5,\
+      "curr":"EUR"}""";
+
+  static final String PRICE_LIST_2 = """
+      {"productId":35455,"brandId":1,"priceList":2,"startDate":"2020-06-14T13:00:00Z","endDate":"2020-06-14T16:30:00Z","price":25.45,\
+      "curr":"EUR"}""";
+
+  static final String PRICE_LIST_4 = """
+      {"productId":35455,"brandId":1,"priceList":4,"startDate":"2020-06-15T14:00:00Z","endDate":"2020-12-31T22:59:59Z","price":38.95,\
+      "curr":"EUR"}""";
+
+  @Autowired
+  WebTestClient webTestClient;
+
+  // Same bodies as PriceApiControllerIT expects from the servlet deployment
+  static Stream<Arguments> cases() {
+    return Stream.of(
+        Arguments.of("2020-06-14T10:00:00Z", PRICE_LIST_1),
+        Arguments.of("2020-06-14T16:00:00Z", PRICE_LIST_2),
+        Arguments.of("2020-06-14T21:00:00Z", PRICE_LIST_1),
+        Arguments.of("2020-06-15T10:00:00Z", PRICE_LIST_1),
+        Arguments.of("2020-06-16T21:00:00Z", PRICE_LIST_4),
+        Arguments.of("2020-06-14T16:30:00Z", PRICE_LIST_2),
+        Arguments.of("2020-06-14T16:30:00.5Z", PRICE_LIST_1)
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("cases")
+  void should_return_applicable_price(String isoDate, String expectedBody) {
+
+    this.webTestClient.get()
+        .uri(uri -> uri.path("/prices")
+            .queryParam("applicationDate", isoDate)
+            .queryParam("productId", 35455)
+            .queryParam("brandId", 1)
+            .build())
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody().json(expectedBody, JsonCompareMode.STRICT);
+  }
+
+  @Test
+  void should_answer_not_modified_while_the_etag_matches() {
+
+    String etag = this.webTestClient.get()
+        .uri("/prices?applicationDate=2020-06-14T16:00:00Z&productId=35455&brandId=1")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueMatches(HttpHeaders.ETAG, "W/\"2-2-[0-9a-f]+\"")
+        .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=60, public")
+        .expectHeader().exists(HttpHeaders.EXPIRES)
+        .returnResult(String.class).getResponseHeaders().getETag();
+
+    this.webTestClient.get()
+        .uri("/prices?applicationDate=2020-06-14T16:00:00Z&productId=35455&brandId=1")
+        .header(HttpHeaders.IF_NONE_MATCH, etag)
+        .exchange()
+        .expectStatus().isNotModified()
+        .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+        .expectBody().isEmpty();
+  }
+
+  @Test
+  void should_return_not_found_for_an_unknown_product() {
+
+    for (int i = 0; i < 2; i++) {
+      this.webTestClient.get()
+          .uri("/prices?applicationDate=2020-06-14T10:00:00Z&productId=99999&brandId=1")
+          .exchange()
+          .expectStatus().isNotFound()
+          .expectBody()
+          .jsonPath("$.status").isEqualTo(404)
+          .jsonPath("$.error").isEqualTo("Not Found")
+          .jsonPath("$.path").isEqualTo("/prices")
+          .jsonPath("$.timestamp").exists()
+          .jsonPath("$.requestId").doesNotExist();
+    }
+  }
+
+  @Test
+  void should_reject_a_malformed_date() {
+
+    this.webTestClient.get()
+        .uri("/prices?applicationDate=bad&productId=35455&brandId=1")
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody()
+        .jsonPath("$.error").isEqualTo("Bad Request")
+        .jsonPath("$.path").isEqualTo("/prices");
+  }
+
+  @Test
+  void should_resolve_every_item_of_a_batch() {
+
+    this.webTestClient.post()
+        .uri("/prices/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("""
+            {"items": [
+              {"brandId": 1, "productId": 35455, "applicationDate": "2020-06-14T10:00:00Z"},
+              {"brandId": 1, "productId": 35455, "applicationDate": "2020-06-14T16:00:00Z"},
+              {"brandId": 2, "productId": 35455, "applicationDate": "2020-06-14T16:00:00Z"},
+              {"brandId": 1, "productId": 35455, "applicationDate": "2020-06-16T21:00:00Z"}
+            ]}
+            """)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody().json("""
+            {"items":[
+              {"brandId":1,"productId":35455,"applicationDate":"2020-06-14T10:00:00Z","status":"FOUND","price":%s},
+              {"brandId":1,"productId":35455,"applicationDate":"2020-06-14T16:00:00Z","status":"FOUND","price":%s},
+              {"brandId":2,"productId":35455,"applicationDate":"2020-06-14T16:00:00Z","status":"NOT_FOUND","price":null},
+              {"brandId":1,"productId":35455,"applicationDate":"2020-06-16T21:00:00Z","status":"FOUND","price":%s}
+            ]}""".formatted(PRICE_LIST_1, PRICE_LIST_2, PRICE_LIST_4), JsonCompareMode.STRICT);
+  }
+
+  @Test
+  void should_reject_an_empty_batch() {
+
+    this.webTestClient.post()
+        .uri("/prices/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"items\": []}")
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void should_flatten_the_timeline_of_a_range() {
+
+    this.webTestClient.get()
+        .uri("/prices/timeline?startDate=2020-06-14T00:00:00Z&endDate=2020-06-15T23:59:59Z&productId=35455&brandId=1")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.segments.length()").isEqualTo(6)
+        .jsonPath("$.segments[*].priceList").isEqualTo(List.of(1, 2, 1, 3, 1, 4))
+        .jsonPath("$.segments[0].startDate").isEqualTo("2020-06-14T00:00:00Z")
+        .jsonPath("$.segments[1].startDate").isEqualTo("2020-06-14T13:00:00Z")
+        .jsonPath("$.segments[1].endDate").isEqualTo("2020-06-14T16:30:00Z")
+        .jsonPath("$.segments[5].startDate").isEqualTo("2020-06-15T14:00:00Z")
+        .jsonPath("$.segments[5].endDate").isEqualTo("2020-06-15T23:59:59Z");
+  }
+
+  @Test
+  void should_return_an_empty_timeline_for_an_unknown_product() {
+
+    this.webTestClient.get()
+        .uri("/prices/timeline?startDate=2020-06-14T00:00:00Z&endDate=2020-06-15T23:59:59Z&productId=99999&brandId=1")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.productId").isEqualTo(99999)
+        .jsonPath("$.segments.length()").isEqualTo(0);
+  }
+
+  @Test
+  void should_reject_a_timeline_ending_before_it_starts() {
+
+    this.webTestClient.get()
+        .uri("/prices/timeline?startDate=2020-06-15T00:00:00Z&endDate=2020-06-14T00:00:00Z&productId=35455&brandId=1")
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody()
+        .jsonPath("$.error").isEqualTo("Bad Request")
+        .jsonPath("$.path").isEqualTo("/prices/timeline");
+  }
+
+}
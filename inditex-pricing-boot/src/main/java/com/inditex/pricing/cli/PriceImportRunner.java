@@ -0,0 +1,93 @@
+
+package com.inditex.pricing.cli;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+
+import com.inditex.pricing.application.port.in.ImportPricesUseCase;
+import com.inditex.pricing.domain.model.PriceFileFormat;
+import com.inditex.pricing.domain.model.PriceImportReport;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * Imports a price file on startup, before the application starts serving requests. Enabled with {@code pricing.import.file}, e.g.
+ * {@code java -jar inditex-pricing-boot.jar --pricing.import.file=/data/prices-fw24.csv}. The location is a file system path or a
+ * Spring resource URL such as {@code classpath:}; the format is taken from its extension, {@code .csv}, {@code .jsonl} or
+ * {@code .ndjson}.
+ *
+ * <p>A file that cannot be read, or whose CSV header lacks a column, stops the application.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "pricing.import", name = "file")
+public class PriceImportRunner implements ApplicationRunner {
+
+  /**
+   * Number of rejected lines logged; the full list is in the report.
+   */
+  static final int LOGGED_REJECTIONS = 10;
+
+  private final ImportPricesUseCase importPricesUseCase;
+
+  private final Resource file;
+
+  /**
+   * Creates the runner for the given file location.
+   *
+   * @param importPricesUseCase the import use case
+   * @param resourceLoader the loader of resource URL locations
+   * @param location the file system path or resource URL of the file to import
+   */
+  public PriceImportRunner(ImportPricesUseCase importPricesUseCase, ResourceLoader resourceLoader,
+      @Value("${pricing.import.file}") String location) {
+    this.importPricesUseCase = importPricesUseCase;
+    this.file = ResourceUtils.isUrl(location) ? resourceLoader.getResource(location) : new FileSystemResource(location);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void run(ApplicationArguments args) throws IOException {
+    PriceFileFormat format = format(this.file.getFilename());
+    log.info("Importing {} as {}", this.file.getDescription(), format);
+    PriceImportReport report;
+    try (InputStream input = this.file.getInputStream()) {
+      report = this.importPricesUseCase.execute(format, input);
+    }
+    log.info("Imported {} prices and rejected {} lines in {} ms ({} lines/s)", report.accepted(), report.rejected(),
+        report.elapsed().toMillis(), report.linesPerSecond());
+    report.rejections().stream()
+        .limit(LOGGED_REJECTIONS)
+        .forEach(rejection -> log.warn("Rejected line {}: {}", rejection.line(), rejection.reason()));
+  }
+
+  /**
+   * Infers the format of a file from its extension.
+   *
+   * @param filename the name of the file
+   * @return the format of the file
+   * @throws IllegalArgumentException if the extension is not a known one
+   */
+  static PriceFileFormat format(String filename) {
+    String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+    if (name.endsWith(".csv")) {
+      return PriceFileFormat.CSV;
+    }
+    if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+      return PriceFileFormat.JSONL;
+    }
+    throw new IllegalArgumentException("Cannot tell the format of " + filename + ": expected a .csv, .jsonl or .ndjson file");
+  }
+}
@@ -0,0 +1,215 @@
+package com.inditex.pricing.logging;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Structured log of the HTTP requests, one line per request on the {@code com.inditex.pricing.requests} logger. Requests slower than
+ * {@code pricing.request-log.slow-threshold} are always logged, faster ones only at {@code pricing.request-log.sample-rate}.
+ *
+ * <p>Request threads only fill a preallocated slot of a bounded ring buffer; the line is formatted and written by a single writer
+ * thread, so a slow appender never holds a request. When the buffer is full the event is dropped rather than waited for, and counted
+ * in {@code pricing.request.log.dropped}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pricing.request-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(RequestLogProperties.class)
+public class RequestLog implements SmartLifecycle {
+
+  private static final Logger REQUESTS = LoggerFactory.getLogger("com.inditex.pricing.requests");
+
+  /**
+   * Time the writer sleeps when the buffer is empty.
+   */
+  private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final Slot[] slots;
+
+  private final int mask;
+
+  private final double sampleRate;
+
+  private final long slowThresholdNanos;
+
+  /**
+   * Sequence of the next slot to be claimed by a request thread.
+   */
+  private final AtomicLong claimed = new AtomicLong();
+
+  private final AtomicLong dropped = new AtomicLong();
+
+  /**
+   * Sequence of the next slot to be written by the writer thread; every slot before it can be claimed again.
+   */
+  private volatile long written;
+
+  private volatile boolean running;
+
+  private Thread writer;
+
+  /**
+   * Creates the request log and its buffer. The writer thread is started with the application context.
+   *
+   * @param properties the request log settings
+   * @param meterRegistry the registry the dropped events are counted in, if any
+   */
+  public RequestLog(RequestLogProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+    final int capacity = 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(2, properties.bufferSize()) - 1));
+    this.slots = new Slot[capacity];
+    for (int i = 0; i < capacity; i++) {
+      this.slots[i] = new Slot();
+    }
+    this.mask = capacity - 1;
+    this.sampleRate = properties.sampleRate();
+    this.slowThresholdNanos = properties.slowThreshold().toNanos();
+    meterRegistry.ifAvailable(registry -> FunctionCounter.builder("pricing.request.log.dropped", this.dropped, AtomicLong::get)
+        .description("Request log events dropped because the buffer was full")
+        .register(registry));
+  }
+
+  /**
+   * Queues the event of a finished request if it is slow or sampled. Never blocks: the event is dropped when the buffer is full.
+   *
+   * @param method the HTTP method
+   * @param path the request path
+   * @param query the query string, or null
+   * @param status the response status
+   * @param startMillis the epoch millisecond the request started at
+   * @param elapsedNanos the time spent serving the request
+   */
+  public void record(String method, String path, String query, int status, long startMillis, long elapsedNanos) {
+    boolean slow = elapsedNanos >= this.slowThresholdNanos;
+    if (!slow && (this.sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= this.sampleRate)) {
+      return;
+    }
+    long sequence;
+    do {
+      sequence = this.claimed.get();
+      if (sequence - this.written >= this.slots.length) {
+        this.dropped.incrementAndGet();
+        return;
+      }
+    } while (!this.claimed.compareAndSet(sequence, sequence + 1));
+    Slot slot = this.slots[(int) (sequence & this.mask)];
+    slot.method = method;
+    slot.path = path;
+    slot.query = query;
+    slot.status = status;
+    slot.startMillis = startMillis;
+    slot.elapsedNanos = elapsedNanos;
+    slot.slow = slow;
+    slot.published = sequence;
+  }
+
+  /**
+   * Returns the number of events dropped because the buffer was full.
+   *
+   * @return the dropped events
+   */
+  public long dropped() {
+    return this.dropped.get();
+  }
+
+  /**
+   * Starts the writer thread.
+   */
+  @Override
+  public synchronized void start() {
+    if (this.running) {
+      return;
+    }
+    this.running = true;
+    this.writer = Thread.ofPlatform().name("request-log").daemon().start(this::drain);
+  }
+
+  /**
+   * Stops the writer thread once it has written the events already published.
+   */
+  @Override
+  public synchronized void stop() {
+    if (!this.running) {
+      return;
+    }
+    this.running = false;
+    LockSupport.unpark(this.writer);
+    try {
+      this.writer.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /**
+   * Started before and stopped after the web server, so requests served during a graceful shutdown are still logged.
+   */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  private void drain() {
+    long next = this.written;
+    while (true) {
+      Slot slot = this.slots[(int) (next & this.mask)];
+      if (slot.published != next) {
+        if (!this.running) {
+          return;
+        }
+        LockSupport.parkNanos(IDLE_NANOS);
+        continue;
+      }
+      write(slot);
+      next++;
+      this.written = next;
+    }
+  }
+
+  private static void write(Slot slot) {
+    REQUESTS.info("method={} path={} query={} status={} elapsed_us={} slow={} start={}", slot.method, slot.path,
+        slot.query == null ? "" : slot.query, slot.status, slot.elapsedNanos / 1_000, slot.slow, Instant.ofEpochMilli(slot.startMillis));
+  }
+
+  /**
+   * Reused event of a request. The fields are written by the request thread that claimed the slot before it publishes the sequence,
+   * and read by the writer thread after it sees the sequence.
+   */
+  private static final class Slot {
+
+    private volatile long published = -1;
+
+    private String method;
+
+    private String path;
+
+    private String query;
+
+    private int status;
+
+    private long startMillis;
+
+    private long elapsedNanos;
+
+    private boolean slow;
+  }
+}
@@ -0,0 +1,52 @@
+package com.inditex.pricing.logging;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Times every HTTP request and hands it to the {@link RequestLog} once the response is complete. Runs first in the filter chain, so the
+ * elapsed time covers the other filters too. A request that ends with an exception is recorded with status 500.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "pricing.request-log", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestLogFilter extends OncePerRequestFilter {
+
+  private final RequestLog requestLog;
+
+  /**
+   * Creates the filter.
+   *
+   * @param requestLog the log the requests are recorded in
+   */
+  public RequestLogFilter(RequestLog requestLog) {
+    this.requestLog = requestLog;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    final long startMillis = System.currentTimeMillis();
+    final long startNanos = System.nanoTime();
+    boolean failed = true;
+    try {
+      filterChain.doFilter(request, response);
+      failed = false;
+    } finally {
+      this.requestLog.record(request.getMethod(), request.getRequestURI(), request.getQueryString(),
+          failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(), startMillis, System.nanoTime() - startNanos);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.inditex.pricing.logging;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the request log, bound from {@code pricing.request-log}.
+ *
+ * @param enabled whether HTTP requests are logged at all
+ * @param sampleRate share of the requests faster than the slow threshold that are logged, from 0 (none) to 1 (all)
+ * @param slowThreshold elapsed time from which a request is always logged, whatever the sample rate
+ * @param bufferSize number of events waiting to be written before new ones are dropped, rounded up to a power of two
+ */
+@ConfigurationProperties(prefix = "pricing.request-log")
+public record RequestLogProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("0.01") double sampleRate,
+    @DefaultValue("100ms") Duration slowThreshold,
+    @DefaultValue("4096") int bufferSize) {
+
+}
@@ -0,0 +1,36 @@
+package com.inditex.pricing.shard;
+
+import com.inditex.pricing.infrastructure.shard.MisdirectedLookupException;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Answers 421 Misdirected Request to a lookup forwarded by a peer for a brand and product that this node does not own, so the peer
+ * fails instead of the lookup bouncing between two nodes that disagree on the membership. Enabled with
+ * {@code pricing.shard.enabled=true}.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(prefix = "pricing.shard", name = "enabled", havingValue = "true")
+public class MisdirectedLookupHandler {
+
+  /**
+   * 421 Misdirected Request, which {@link org.springframework.http.HttpStatus} does not list.
+   */
+  static final HttpStatusCode MISDIRECTED_REQUEST = HttpStatusCode.valueOf(421);
+
+  /**
+   * Answers a misdirected lookup.
+   *
+   * @param exception the refused lookup
+   * @return the 421 problem detail
+   */
+  @ExceptionHandler(MisdirectedLookupException.class)
+  public ResponseEntity<ProblemDetail> handle(MisdirectedLookupException exception) {
+    return ResponseEntity.status(MISDIRECTED_REQUEST).body(ProblemDetail.forStatusAndDetail(MISDIRECTED_REQUEST, exception.getMessage()));
+  }
+}
@@ -0,0 +1,94 @@
+package com.inditex.pricing.shard;
+
+import java.io.IOException;
+
+import com.inditex.pricing.infrastructure.shard.PricePeerClient;
+import com.inditex.pricing.infrastructure.shard.PriceShard;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Redirects the lookups of a single brand and product that reach a node other than their owner, so clients that do not route by shard
+ * pay one extra round trip instead of a forwarded lookup on every request. {@code GET /prices} and {@code GET /prices/timeline} are
+ * answered 307 Temporary Redirect to the same path and query on the owning node of the {@link PriceShard}; any other request, or one
+ * without valid IDs, goes on to be handled, and validated, here. Enabled with {@code pricing.shard.enabled=true}.
+ *
+ * <p>Lookups forwarded by a peer, which carry the {@value PricePeerClient#FORWARDED_BY_HEADER} header, are never redirected nor
+ * forwarded again: they are handled here with the {@link PriceShard} marked as forwarded, and those of another shard are answered 421
+ * Misdirected Request by {@link MisdirectedLookupHandler}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pricing.shard", name = "enabled", havingValue = "true")
+public class PriceShardRoutingFilter extends OncePerRequestFilter {
+
+  private final PriceShard shard;
+
+  /**
+   * Creates the filter.
+   *
+   * @param shard the shard of this node
+   */
+  public PriceShardRoutingFilter(PriceShard shard) {
+    this.shard = shard;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String path = path(request);
+    return !("/prices".equals(path) || "/prices/timeline".equals(path) || "/prices/batch".equals(path));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    if (request.getHeader(PricePeerClient.FORWARDED_BY_HEADER) != null) {
+      this.shard.setForwarded(true);
+      try {
+        filterChain.doFilter(request, response);
+      } finally {
+        this.shard.setForwarded(false);
+      }
+      return;
+    }
+    if (!"GET".equals(request.getMethod())) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    Integer brandId = parseId(request.getParameter("brandId"));
+    Integer productId = parseId(request.getParameter("productId"));
+    if (brandId == null || productId == null || this.shard.owns(brandId, productId)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    String owner = this.shard.uri(this.shard.owner(brandId, productId)).toString();
+    String base = owner.endsWith("/") ? owner.substring(0, owner.length() - 1) : owner;
+    response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+    String query = request.getQueryString();
+    response.setHeader(HttpHeaders.LOCATION, base + path(request) + (query == null ? "" : '?' + query));
+  }
+
+  private static String path(HttpServletRequest request) {
+    return request.getRequestURI().substring(request.getContextPath().length());
+  }
+
+  private static Integer parseId(String value) {
+    try {
+      return value == null ? null : Integer.valueOf(value);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
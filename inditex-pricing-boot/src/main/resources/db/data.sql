@@ -1,6 +1,7 @@
 -- data.sql
-INSERT INTO PRICES (BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_DATE, END_DATE)
-VALUES (1, 35455, 1, 0, 35.50, 'EUR', '2020-06-14 00:00:00', '2020-12-31 23:59:59'),
-       (1, 35455, 2, 1, 25.45, 'EUR', '2020-06-14 15:00:00', '2020-06-14 18:30:00'),
-       (1, 35455, 3, 1, 30.50, 'EUR', '2020-06-15 00:00:00', '2020-06-15 11:00:00'),
-       (1, 35455, 4, 1, 38.95, 'EUR', '2020-06-15 16:00:00', '2020-12-31 23:59:59');
+-- Bounds are UTC epoch seconds; the comments give the original Europe/Madrid local times of each tariff.
+INSERT INTO PRICES (BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_EPOCH, END_EPOCH)
+VALUES (1, 35455, 1, 0, 35.50, 'EUR', 1592085600, 1609455599), -- 2020-06-14 00:00:00 .. 2020-12-31 23:59:59
+       (1, 35455, 2, 1, 25.45, 'EUR', 1592139600, 1592152200), -- 2020-06-14 15:00:00 .. 2020-06-14 18:30:00
+       (1, 35455, 3, 1, 30.50, 'EUR', 1592172000, 1592211600), -- 2020-06-15 00:00:00 .. 2020-06-15 11:00:00
+       (1, 35455, 4, 1, 38.95, 'EUR', 1592229600, 1609455599); -- 2020-06-15 16:00:00 .. 2020-12-31 23:59:59
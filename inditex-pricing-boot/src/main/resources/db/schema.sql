@@ -1,19 +1,26 @@
 -- schema.sql
+-- START_EPOCH / END_EPOCH hold the validity bounds as UTC epoch seconds, both inclusive. They replace the former START_DATE / END_DATE
+-- Europe/Madrid local TIMESTAMP columns, which needed a time zone conversion per lookup and were ambiguous during the autumn DST overlap.
 CREATE TABLE PRICES
 (
-    ID         INT AUTO_INCREMENT PRIMARY KEY,
-    BRAND_ID   INT       NOT NULL,
-    PRODUCT_ID INT       NOT NULL,
-    PRICE_LIST INT       NOT NULL,
-    PRIORITY   TINYINT        NOT NULL,
-    PRICE      DECIMAL(10, 2) NOT NULL,
-    CURR       CHAR(3)        NOT NULL,
-    START_DATE TIMESTAMP      NOT NULL,
-    END_DATE   TIMESTAMP      NOT NULL
+    ID          INT AUTO_INCREMENT PRIMARY KEY,
+    BRAND_ID    INT            NOT NULL,
+    PRODUCT_ID  INT            NOT NULL,
+    PRICE_LIST  INT            NOT NULL,
+    PRIORITY    TINYINT        NOT NULL,
+    PRICE       DECIMAL(10, 2) NOT NULL,
+    CURR        CHAR(3)        NOT NULL,
+    START_EPOCH BIGINT         NOT NULL,
+    END_EPOCH   BIGINT         NOT NULL
 );
 DROP INDEX IF EXISTS IX_PRICE_RANGE;
+-- Access path of the applicable price lookup: the brand and product are matched by equality, then the index is read in the order of
+-- the ORDER BY (PRIORITY DESC, START_EPOCH DESC, ID DESC), so the first row whose period covers the instant is the answer and no sort is
+-- needed. ID breaks ties the way the set-based queries and the in-memory index do. END_EPOCH is filtered from the index, and
+-- PRICE_LIST, PRICE and CURR make it covering, so engines with index-only scans never read the table row.
+DROP INDEX IF EXISTS IX_PRICE_SEARCH;
 CREATE INDEX IX_PRICE_SEARCH
-    ON PRICES (BRAND_ID, PRODUCT_ID, START_DATE, END_DATE, PRIORITY);
+    ON PRICES (BRAND_ID, PRODUCT_ID, PRIORITY DESC, START_EPOCH DESC, ID DESC, END_EPOCH, PRICE_LIST, PRICE, CURR);
 
 ALTER TABLE PRICES
     ADD CONSTRAINT UQ_PRICE_TARIFF
@@ -0,0 +1,110 @@
+package com.inditex.pricing.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+@ExtendWith(OutputCaptureExtension.class)
+class RequestLogTest {
+
+  private static final long FAST_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+  private static final long SLOW_NANOS = TimeUnit.MILLISECONDS.toNanos(150);
+
+  @Test
+  void shouldLogSlowRequest_whenNotSampled(CapturedOutput output) {
+    // Arrange
+    RequestLog requestLog = requestLog(0, 16, new StaticListableBeanFactory());
+    requestLog.start();
+
+    // Act
+    requestLog.record("GET", "/prices", "brandId=1&productId=35455", 200, 1_592_128_800_000L, SLOW_NANOS);
+    requestLog.stop();
+
+    // Assert
+    assertThat(output).contains("method=GET path=/prices query=brandId=1&productId=35455 status=200 elapsed_us=150000 slow=true "
+        + "start=2020-06-14T10:00:00Z");
+  }
+
+  @Test
+  void shouldSkipFastRequest_whenNotSampled(CapturedOutput output) {
+    // Arrange
+    RequestLog requestLog = requestLog(0, 16, new StaticListableBeanFactory());
+    requestLog.start();
+
+    // Act
+    requestLog.record("GET", "/prices", null, 200, 1_592_128_800_000L, FAST_NANOS);
+    requestLog.stop();
+
+    // Assert
+    assertThat(output).doesNotContain("path=/prices");
+  }
+
+  @Test
+  void shouldLogFastRequest_whenSampled(CapturedOutput output) {
+    // Arrange
+    RequestLog requestLog = requestLog(1, 16, new StaticListableBeanFactory());
+    requestLog.start();
+
+    // Act
+    requestLog.record("POST", "/prices/batch", null, 404, 1_592_128_800_000L, FAST_NANOS);
+    requestLog.stop();
+
+    // Assert
+    assertThat(output).contains("method=POST path=/prices/batch query= status=404 elapsed_us=2000 slow=false");
+  }
+
+  @Test
+  void shouldDropAndCountEvents_whenBufferIsFull(CapturedOutput output) {
+    // Arrange
+    MeterRegistry registry = new SimpleMeterRegistry();
+    RequestLog requestLog = requestLog(1, 2, new StaticListableBeanFactory(Map.of("meterRegistry", registry)));
+
+    // Act
+    requestLog.record("GET", "/prices/1", null, 200, 1_592_128_800_000L, FAST_NANOS);
+    requestLog.record("GET", "/prices/2", null, 200, 1_592_128_800_000L, FAST_NANOS);
+    requestLog.record("GET", "/prices/3", null, 200, 1_592_128_800_000L, FAST_NANOS);
+    requestLog.start();
+    requestLog.stop();
+
+    // Assert
+    assertEquals(1, requestLog.dropped());
+    assertEquals(1, registry.get("pricing.request.log.dropped").functionCounter().count());
+    assertThat(output).contains("path=/prices/1 ", "path=/prices/2 ").doesNotContain("path=/prices/3 ");
+  }
+
+  @Test
+  void shouldReuseSlots_whenEventsAreWritten(CapturedOutput output) {
+    // Arrange
+    RequestLog requestLog = requestLog(1, 2, new StaticListableBeanFactory());
+    requestLog.start();
+
+    // Act
+    for (int i = 0; i < 5; i++) {
+      requestLog.record("GET", "/prices/" + i, null, 200, 1_592_128_800_000L, SLOW_NANOS);
+      requestLog.stop();
+      requestLog.start();
+    }
+    requestLog.stop();
+
+    // Assert
+    assertEquals(0, requestLog.dropped());
+    assertThat(output).contains("path=/prices/0 ", "path=/prices/4 ");
+  }
+
+  private static RequestLog requestLog(double sampleRate, int bufferSize, StaticListableBeanFactory beanFactory) {
+    RequestLogProperties properties = new RequestLogProperties(true, sampleRate, Duration.ofMillis(100), bufferSize);
+    return new RequestLog(properties, beanFactory.getBeanProvider(MeterRegistry.class));
+  }
+}
@@ -0,0 +1,8 @@
+package com.inditex.pricing.rest;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {"pricing.query.cache.enabled=false", "pricing.query.batching.enabled=true"})
+class PriceApiControllerBatchedIT extends PriceApiControllerIT {
+
+}
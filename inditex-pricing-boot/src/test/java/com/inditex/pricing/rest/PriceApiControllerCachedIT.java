@@ -0,0 +1,8 @@
+package com.inditex.pricing.rest;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "pricing.query.cache.enabled=true")
+class PriceApiControllerCachedIT extends PriceApiControllerIT {
+
+}
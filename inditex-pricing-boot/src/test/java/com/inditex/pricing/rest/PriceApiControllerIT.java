@@ -2,19 +2,29 @@
 package com.inditex.pricing.rest;
 
 import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.stream.Stream;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.json.JsonCompareMode;
 import org.springframework.test.web.servlet.MockMvc;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -22,6 +32,18 @@ import org.springframework.test.web.servlet.MockMvc;
 @ActiveProfiles("test")
 class PriceApiControllerIT {
 
+  static final String PRICE_LIST_1 = """
+      {"productId":35455,"brandId":1,"priceList":1,"startDate":"2020-06-13T22:00:00Z","endDate":"2020-12-31T22:59:59Z","price":35.5,\
+      "curr":"EUR"}""";
+
+  static final String PRICE_LIST_2 = """
+      {"productId":35455,"brandId":1,"priceList":2,"startDate":"2020-06-14T13:00:00Z","endDate":"2020-06-14T16:30:00Z","price":25.45,\
+      "curr":"EUR"}""";
+
+  static final String PRICE_LIST_4 = """
+      {"productId":35455,"brandId":1,"priceList":4,"startDate":"2020-06-15T14:00:00Z","endDate":"2020-12-31T22:59:59Z","price":38.95,\
+      "curr":"EUR"}""";
+
   @Autowired
   MockMvc mockMvc;
 
@@ -31,7 +53,9 @@ class PriceApiControllerIT {
         Arguments.of("2020-06-14T16:00:00Z", 2, 25.45),
         Arguments.of("2020-06-14T21:00:00Z", 1, 35.50),
         Arguments.of("2020-06-15T10:00:00Z", 1, 35.50),
-        Arguments.of("2020-06-16T21:00:00Z", 4, 38.95)
+        Arguments.of("2020-06-16T21:00:00Z", 4, 38.95),
+        Arguments.of("2020-06-14T16:30:00Z", 2, 25.45),
+        Arguments.of("2020-06-14T16:30:00.5Z", 1, 35.50)
     );
   }
 
@@ -49,4 +73,151 @@ class PriceApiControllerIT {
         .andExpect(jsonPath("$.curr").value("EUR"));
   }
 
+  // Same bodies as ReactivePriceApiControllerIT expects from the reactive deployment
+  static Stream<Arguments> bodies() {
+    return Stream.of(
+        Arguments.of("2020-06-14T10:00:00Z", PRICE_LIST_1),
+        Arguments.of("2020-06-14T16:00:00Z", PRICE_LIST_2),
+        Arguments.of("2020-06-16T21:00:00Z", PRICE_LIST_4),
+        Arguments.of("2020-06-14T16:30:00.5Z", PRICE_LIST_1)
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("bodies")
+  void should_return_the_same_body_as_the_reactive_stack(String isoDate, String expectedBody) throws Exception {
+
+    this.mockMvc.perform(get("/prices")
+        .param("applicationDate", isoDate)
+        .param("productId", "35455")
+        .param("brandId", "1"))
+        .andExpect(status().isOk())
+        .andExpect(content().json(expectedBody, JsonCompareMode.STRICT));
+  }
+
+  @Test
+  void should_return_not_found_for_an_unknown_product() throws Exception {
+
+    for (int i = 0; i < 2; i++) {
+      this.mockMvc.perform(get("/prices")
+          .param("applicationDate", "2020-06-14T10:00:00Z")
+          .param("productId", "99999")
+          .param("brandId", "1"))
+          .andExpect(status().isNotFound());
+    }
+  }
+
+  @Test
+  void should_answer_not_modified_while_the_etag_matches() throws Exception {
+
+    String etag = this.mockMvc.perform(get("/prices")
+        .param("applicationDate", "2020-06-14T16:00:00Z")
+        .param("productId", "35455")
+        .param("brandId", "1"))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, matchesPattern("W/\"2-2-[0-9a-f]+\"")))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+        .andExpect(header().exists(HttpHeaders.EXPIRES))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    this.mockMvc.perform(get("/prices")
+        .param("applicationDate", "2020-06-14T16:00:00Z")
+        .param("productId", "35455")
+        .param("brandId", "1")
+        .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, etag))
+        .andExpect(content().string(""));
+
+    this.mockMvc.perform(get("/prices")
+        .param("applicationDate", "2020-06-14T10:00:00Z")
+        .param("productId", "35455")
+        .param("brandId", "1")
+        .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.priceList").value(1));
+  }
+
+  @Test
+  void should_resolve_every_item_of_a_batch() throws Exception {
+
+    this.mockMvc.perform(post("/prices/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("""
+            {"items": [
+              {"brandId": 1, "productId": 35455, "applicationDate": "2020-06-14T10:00:00Z"},
+              {"brandId": 1, "productId": 35455, "applicationDate": "2020-06-14T16:00:00Z"},
+              {"brandId": 2, "productId": 35455, "applicationDate": "2020-06-14T16:00:00Z"},
+              {"brandId": 1, "productId": 35455, "applicationDate": "2020-06-16T21:00:00Z"}
+            ]}
+            """))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(4))
+        .andExpect(jsonPath("$.items[0].status").value("FOUND"))
+        .andExpect(jsonPath("$.items[0].price.priceList").value(1))
+        .andExpect(jsonPath("$.items[1].price.priceList").value(2))
+        .andExpect(jsonPath("$.items[1].price.price").value(closeTo(25.45, 0.0001)))
+        .andExpect(jsonPath("$.items[2].status").value("NOT_FOUND"))
+        .andExpect(jsonPath("$.items[2].brandId").value(2))
+        .andExpect(jsonPath("$.items[2].price").value(nullValue()))
+        .andExpect(jsonPath("$.items[3].price.priceList").value(4));
+  }
+
+  @Test
+  void should_reject_an_empty_batch() throws Exception {
+
+    this.mockMvc.perform(post("/prices/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"items\": []}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void should_flatten_the_timeline_of_a_range() throws Exception {
+
+    this.mockMvc.perform(get("/prices/timeline")
+        .param("startDate", "2020-06-14T00:00:00Z")
+        .param("endDate", "2020-06-15T23:59:59Z")
+        .param("productId", "35455")
+        .param("brandId", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.segments.length()").value(6))
+        .andExpect(jsonPath("$.segments[*].priceList").value(contains(1, 2, 1, 3, 1, 4)))
+        .andExpect(jsonPath("$.segments[0].startDate").value("2020-06-14T00:00:00Z"))
+        .andExpect(jsonPath("$.segments[1].startDate").value("2020-06-14T13:00:00Z"))
+        .andExpect(jsonPath("$.segments[1].endDate").value("2020-06-14T16:30:00Z"))
+        .andExpect(jsonPath("$.segments[5].startDate").value("2020-06-15T14:00:00Z"))
+        .andExpect(jsonPath("$.segments[5].endDate").value("2020-06-15T23:59:59Z"));
+  }
+
+  @Test
+  void should_reject_a_timeline_ending_before_it_starts() throws Exception {
+
+    this.mockMvc.perform(get("/prices/timeline")
+        .param("startDate", "2020-06-15T00:00:00Z")
+        .param("endDate", "2020-06-14T00:00:00Z")
+        .param("productId", "35455")
+        .param("brandId", "1"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void should_stream_one_line_per_product() throws Exception {
+
+    this.mockMvc.perform(get("/prices/export")
+        .param("applicationDate", "2020-06-14T16:00:00Z"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andExpect(content().string(matchesPattern("\\{[^\\n]*\"priceList\":2[^\\n]*}\\n")));
+  }
+
+  @Test
+  void should_stream_nothing_when_no_price_applies() throws Exception {
+
+    this.mockMvc.perform(get("/prices/export")
+        .param("applicationDate", "2019-01-01T00:00:00Z"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(""));
+  }
+
 }
@@ -0,0 +1,78 @@
+
+package com.inditex.pricing.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "virtual-threads"})
+@TestPropertySource(properties = {"pricing.query.cache.enabled=false", "spring.datasource.hikari.maximum-pool-size=2"})
+class PriceApiVirtualThreadsIT {
+
+  static final int REQUESTS = 200;
+
+  @LocalServerPort
+  int port;
+
+  @Autowired
+  ServletWebServerApplicationContext context;
+
+  @Test
+  void should_handle_requests_on_virtual_threads() {
+
+    TomcatWebServer webServer = (TomcatWebServer) this.context.getWebServer();
+
+    assertInstanceOf(VirtualThreadExecutor.class, webServer.getTomcat().getConnector().getProtocolHandler().getExecutor());
+  }
+
+  @Test
+  void should_not_pin_carrier_threads_while_waiting_for_a_connection() throws Exception {
+
+    List<RecordedEvent> pinned = new CopyOnWriteArrayList<>();
+    try (RecordingStream recording = new RecordingStream();
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient client = HttpClient.newBuilder().executor(clients).build()) {
+      recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+      recording.onEvent("jdk.VirtualThreadPinned", pinned::add);
+      recording.startAsync();
+      HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + this.port
+          + "/prices?applicationDate=2020-06-14T10:00:00Z&productId=35455&brandId=1")).build();
+      List<Future<Integer>> statuses = new ArrayList<>();
+      for (int i = 0; i < REQUESTS; i++) {
+        statuses.add(clients.submit(() -> client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+      }
+      for (Future<Integer> status : statuses) {
+        assertEquals(200, status.get());
+      }
+      recording.stop();
+    }
+
+    assertTrue(pinned.isEmpty(), () -> "Pinned virtual threads: " + pinned.stream().map(RecordedEvent::getStackTrace).toList());
+  }
+
+}
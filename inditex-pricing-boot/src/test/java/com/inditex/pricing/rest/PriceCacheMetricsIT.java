@@ -0,0 +1,61 @@
+
+package com.inditex.pricing.rest;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "pricing.query.cache.enabled=true")
+class PriceCacheMetricsIT {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Test
+  void should_expose_hits_and_misses_of_the_price_cache() throws Exception {
+
+    for (int i = 0; i < 2; i++) {
+      this.mockMvc.perform(get("/prices")
+          .param("applicationDate", "2020-06-14T10:00:00Z")
+          .param("productId", "35455")
+          .param("brandId", "1"))
+          .andExpect(status().isOk());
+    }
+
+    this.mockMvc.perform(get("/actuator/metrics/cache.gets")
+        .param("tag", "cache:prices"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.availableTags[*].tag").value(hasItem("result")));
+    this.mockMvc.perform(get("/actuator/metrics/cache.gets")
+        .param("tag", "cache:prices")
+        .param("tag", "result:hit"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.measurements[0].value").value(greaterThanOrEqualTo(1.0)));
+  }
+
+  @Test
+  void should_expose_the_size_of_the_known_products_filter() throws Exception {
+
+    this.mockMvc.perform(get("/actuator/metrics/pricing.query.filter.size"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.baseUnit").value("bytes"))
+        .andExpect(jsonPath("$.measurements[0].value").value(greaterThan(0.0)));
+    this.mockMvc.perform(get("/actuator/metrics/pricing.query.filter.false.positive.probability"))
+        .andExpect(status().isOk());
+  }
+
+}
@@ -0,0 +1,81 @@
+
+package com.inditex.pricing.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles({"test", "scale"})
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:prices-scale;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "pricing.scale.brands=2",
+    "pricing.scale.products=2000"})
+class PriceCatalogueScaleIT {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  JdbcTemplate jdbcTemplate;
+
+  @Test
+  void should_generate_the_catalogue_on_top_of_the_reference_prices() {
+
+    assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES WHERE PRODUCT_ID = 35455", Long.class)).isEqualTo(4);
+    assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES WHERE PRODUCT_ID >= 100000 AND PRICE_LIST = 1", Long.class))
+        .isEqualTo(4000);
+    assertThat(this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PRICES WHERE PRICE_LIST > 1 AND PRODUCT_ID >= 100000", Long.class))
+        .isGreaterThan(4000);
+  }
+
+  @Test
+  void should_read_the_best_price_in_search_index_order() {
+
+    String plan = this.jdbcTemplate.queryForObject("EXPLAIN " + PriceJdbcRepository.SELECT_ONE_BEST, String.class, 1, 100000, 1592128800L,
+        1592128800L);
+
+    assertThat(plan).containsIgnoringCase("IX_PRICE_SEARCH").contains("/* index sorted */").doesNotContainIgnoringCase("tableScan");
+  }
+
+  @Test
+  void should_read_the_candidates_of_a_range_in_search_index_order() {
+
+    String plan = this.jdbcTemplate.queryForObject("EXPLAIN " + PriceJdbcRepository.SELECT_OVERLAPPING, String.class, 1, 100000,
+        1592733600L, 1592128800L);
+
+    assertThat(plan).containsIgnoringCase("IX_PRICE_SEARCH").contains("/* index sorted */").doesNotContainIgnoringCase("tableScan");
+  }
+
+  @Test
+  void should_serve_reference_and_generated_prices() throws Exception {
+
+    this.mockMvc.perform(get("/prices")
+        .param("applicationDate", "2020-06-14T14:00:00Z")
+        .param("productId", "35455")
+        .param("brandId", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.priceList").value(2));
+
+    this.mockMvc.perform(get("/prices")
+        .param("applicationDate", "2020-12-31T23:59:59Z")
+        .param("productId", "101999")
+        .param("brandId", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.productId").value(101999));
+  }
+
+}
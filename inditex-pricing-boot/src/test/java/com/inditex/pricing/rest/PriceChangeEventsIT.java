@@ -0,0 +1,105 @@
+
+package com.inditex.pricing.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.inditex.pricing.application.port.in.ChangePriceUseCase;
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PriceChangeEventsIT {
+
+  static final short FLASH_SALE_LIST = 9;
+
+  static final short TIED_LIST = 8;
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  ChangePriceUseCase changePriceUseCase;
+
+  @Test
+  void should_serve_a_committed_price_change_on_the_next_request() throws Exception {
+
+    this.getPrice().andExpect(jsonPath("$.priceList").value(1));
+
+    try {
+      this.changePriceUseCase.upsert(flashSale(new BigDecimal("19.99")));
+      this.getPrice()
+          .andExpect(jsonPath("$.priceList").value((int) FLASH_SALE_LIST))
+          .andExpect(jsonPath("$.price").value(19.99));
+
+      this.changePriceUseCase.upsert(flashSale(new BigDecimal("17.50")));
+      this.getPrice()
+          .andExpect(jsonPath("$.priceList").value((int) FLASH_SALE_LIST))
+          .andExpect(jsonPath("$.price").value(17.5));
+    } finally {
+      this.changePriceUseCase.delete(1, 35455, FLASH_SALE_LIST);
+    }
+
+    this.getPrice().andExpect(jsonPath("$.priceList").value(1));
+  }
+
+  @Test
+  void should_break_a_tie_by_the_newest_price_in_single_and_batch_lookups() throws Exception {
+
+    Price tied = flashSale(new BigDecimal("21.00"));
+    tied.setPriceList(TIED_LIST);
+    try {
+      // Inserted first, so the price of the same priority and start inserted after it has the higher ID and wins
+      this.changePriceUseCase.upsert(tied);
+      this.changePriceUseCase.upsert(flashSale(new BigDecimal("19.99")));
+
+      this.getPrice().andExpect(jsonPath("$.priceList").value((int) FLASH_SALE_LIST));
+      this.mockMvc.perform(post("/prices/batch")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content("""
+              {"items": [{"brandId": 1, "productId": 35455, "applicationDate": "2020-06-14T10:15:00Z"}]}"""))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.items[0].price.priceList").value((int) FLASH_SALE_LIST));
+    } finally {
+      this.changePriceUseCase.delete(1, 35455, FLASH_SALE_LIST);
+      this.changePriceUseCase.delete(1, 35455, TIED_LIST);
+    }
+  }
+
+  ResultActions getPrice() throws Exception {
+    return this.mockMvc.perform(get("/prices")
+        .param("applicationDate", "2020-06-14T10:15:00Z")
+        .param("productId", "35455")
+        .param("brandId", "1"))
+        .andExpect(status().isOk());
+  }
+
+  static Price flashSale(BigDecimal amount) {
+    Price price = new Price();
+    price.setBrandId(1);
+    price.setProductId(35455);
+    price.setPriceList(FLASH_SALE_LIST);
+    price.setPriority(2);
+    price.setPeriod(new Period(Instant.parse("2020-06-14T10:00:00Z"), Instant.parse("2020-06-14T10:30:00Z")));
+    price.setMoney(new Money(amount, "EUR"));
+    return price;
+  }
+
+}
@@ -0,0 +1,9 @@
+
+package com.inditex.pricing.rest;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = "pricing.query.adapter=in-memory")
+class PriceChangeEventsInMemoryIT extends PriceChangeEventsIT {
+
+}
@@ -0,0 +1,8 @@
+package com.inditex.pricing.rest;
+
+import org.springframework.test.context.TestPropertySource;
+
+@TestPropertySource(properties = {"pricing.query.adapter=snapshot", "pricing.query.snapshot.file=target/snapshots/${random.uuid}.snapshot"})
+class PriceChangeEventsSnapshotIT extends PriceChangeEventsIT {
+
+}
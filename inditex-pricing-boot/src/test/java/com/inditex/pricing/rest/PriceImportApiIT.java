@@ -0,0 +1,145 @@
+
+package com.inditex.pricing.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.inditex.pricing.application.port.in.ChangePriceUseCase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PriceImportApiIT {
+
+  static final String CSV_HEADER = "BRAND_ID,PRODUCT_ID,PRICE_LIST,PRIORITY,START_DATE,END_DATE,PRICE,CURR\n";
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  ChangePriceUseCase changePriceUseCase;
+
+  @AfterEach
+  void tearDown() {
+    for (int productId = 910001; productId <= 910002; productId++) {
+      for (short priceList = 1; priceList <= 2; priceList++) {
+        this.changePriceUseCase.delete(1, productId, priceList);
+      }
+    }
+  }
+
+  @Test
+  void should_import_a_csv_file_and_serve_its_prices() throws Exception {
+
+    this.mockMvc.perform(post("/admin/prices/import")
+        .contentType("text/csv")
+        .content(CSV_HEADER
+            + "1,910001,1,0,2020-06-14T00:00:00Z,2020-12-31T23:59:59Z,12.50,EUR\n"
+            + "1,910002,1,0,2020-06-14T00:00:00Z,2020-12-31T23:59:59Z,14.00,EUR\n"
+            + "1,910002,2,1,2020-06-14T12:00:00Z,2020-06-14T10:00:00Z,9.99,EUR\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.accepted").value(2))
+        .andExpect(jsonPath("$.rejected").value(1))
+        .andExpect(jsonPath("$.rejections[0].line").value(4))
+        .andExpect(jsonPath("$.rejections[0].reason").value("end >= start"));
+
+    this.getPrice(910001).andExpect(jsonPath("$.price").value(12.5));
+    this.getPrice(910002).andExpect(jsonPath("$.price").value(14.0));
+  }
+
+  @Test
+  void should_upsert_prices_of_the_same_tariff() throws Exception {
+
+    this.importCsv("1,910001,1,0,2020-06-14T00:00:00Z,2020-12-31T23:59:59Z,12.50,EUR\n");
+    this.getPrice(910001).andExpect(jsonPath("$.price").value(12.5));
+
+    this.importCsv("1,910001,1,0,2020-06-14T00:00:00Z,2020-12-31T23:59:59Z,11.00,EUR\n"
+        + "1,910001,2,1,2020-06-14T10:00:00Z,2020-06-14T12:00:00Z,9.99,EUR\n");
+
+    this.getPrice(910001)
+        .andExpect(jsonPath("$.priceList").value(2))
+        .andExpect(jsonPath("$.price").value(9.99));
+    this.mockMvc.perform(get("/prices")
+        .param("applicationDate", "2020-06-14T13:00:00Z")
+        .param("productId", "910001")
+        .param("brandId", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.price").value(11.0));
+  }
+
+  @Test
+  void should_keep_the_last_price_of_a_tariff_repeated_in_the_file() throws Exception {
+
+    this.importCsv("1,910001,1,0,2020-06-14T00:00:00Z,2020-12-31T23:59:59Z,12.50,EUR\n"
+        + "1,910002,1,0,2020-06-14T00:00:00Z,2020-12-31T23:59:59Z,14.00,EUR\n"
+        + "1,910001,1,0,2020-06-14T00:00:00Z,2020-12-31T23:59:59Z,13.75,EUR\n");
+
+    this.getPrice(910001).andExpect(jsonPath("$.price").value(13.75));
+    this.getPrice(910002).andExpect(jsonPath("$.price").value(14.0));
+  }
+
+  @Test
+  void should_import_a_json_lines_file() throws Exception {
+
+    this.mockMvc.perform(post("/admin/prices/import")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .content("""
+            {"productId":910001,"brandId":1,"priceList":1,"priority":0,"startDate":"2020-06-14T00:00:00Z",\
+            "endDate":"2020-12-31T23:59:59Z","price":12.5,"curr":"EUR"}
+            {"productId":910001,"brandId":1,"priceList":2}
+            """))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.accepted").value(1))
+        .andExpect(jsonPath("$.rejected").value(1))
+        .andExpect(jsonPath("$.rejections[0].reason").value("priority is required"));
+
+    this.getPrice(910001).andExpect(jsonPath("$.price").value(12.5));
+  }
+
+  @Test
+  void should_return_400_when_the_csv_header_lacks_a_column() throws Exception {
+
+    this.mockMvc.perform(post("/admin/prices/import")
+        .contentType("text/csv")
+        .content("BRAND_ID,PRODUCT_ID\n1,910001\n"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void should_return_415_when_the_file_format_is_unknown() throws Exception {
+
+    this.mockMvc.perform(post("/admin/prices/import")
+        .contentType(MediaType.APPLICATION_XML)
+        .content("<prices/>"))
+        .andExpect(status().isUnsupportedMediaType());
+  }
+
+  void importCsv(String rows) throws Exception {
+    this.mockMvc.perform(post("/admin/prices/import")
+        .contentType("text/csv")
+        .content(CSV_HEADER + rows))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.rejected").value(0));
+  }
+
+  ResultActions getPrice(int productId) throws Exception {
+    return this.mockMvc.perform(get("/prices")
+        .param("applicationDate", "2020-06-14T11:00:00Z")
+        .param("productId", String.valueOf(productId))
+        .param("brandId", "1"))
+        .andExpect(status().isOk());
+  }
+
+}
@@ -0,0 +1,49 @@
+
+package com.inditex.pricing.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.inditex.pricing.application.port.in.ChangePriceUseCase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "pricing.import.file=classpath:import/prices.jsonl")
+class PriceImportRunnerIT {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Autowired
+  ChangePriceUseCase changePriceUseCase;
+
+  @AfterEach
+  void tearDown() {
+    this.changePriceUseCase.delete(1, 920001, (short) 1);
+    this.changePriceUseCase.delete(1, 920001, (short) 2);
+  }
+
+  @Test
+  void should_serve_the_prices_imported_on_startup() throws Exception {
+
+    this.mockMvc.perform(get("/prices")
+        .param("applicationDate", "2020-06-14T11:00:00Z")
+        .param("productId", "920001")
+        .param("brandId", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.priceList").value(2))
+        .andExpect(jsonPath("$.price").value(9.99));
+  }
+
+}
@@ -0,0 +1,53 @@
+
+package com.inditex.pricing.rest;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class PriceLookupMetricsIT {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Test
+  void should_expose_lookup_timers_with_slo_buckets_to_prometheus() throws Exception {
+
+    this.mockMvc.perform(get("/prices")
+        .param("applicationDate", "2020-06-14T10:00:00Z")
+        .param("productId", "35455")
+        .param("brandId", "1"))
+        .andExpect(status().isOk());
+    this.mockMvc.perform(get("/prices")
+        .param("applicationDate", "2020-06-14T10:00:00Z")
+        .param("productId", "99999")
+        .param("brandId", "1"))
+        .andExpect(status().isNotFound());
+
+    this.mockMvc.perform(get("/actuator/prometheus"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(matchesPattern(
+            "(?s).*pricing_api_lookups_seconds_count\\{[^}]*brand=\"1\"[^}]*outcome=\"found\"[^}]*} [1-9].*")))
+        .andExpect(content().string(matchesPattern(
+            "(?s).*pricing_api_lookups_seconds_count\\{[^}]*brand=\"1\"[^}]*outcome=\"not_found\"[^}]*} [1-9].*")))
+        .andExpect(content().string(matchesPattern(
+            "(?s).*pricing_usecase_lookups_seconds_bucket\\{adapter=\"jpa\"[^}]*le=\"0\\.005\"[^}]*}.*")))
+        .andExpect(content().string(containsString("pricing_query_jpa_lookups_seconds_count{")))
+        .andExpect(content().string(containsString("hikaricp_connections_active{")));
+  }
+
+}
@@ -0,0 +1,123 @@
+package com.inditex.pricing.rest;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.inditex.pricing.Application;
+import com.inditex.pricing.infrastructure.shard.ConsistentHashRing;
+import com.inditex.pricing.infrastructure.shard.PricePeerClient;
+
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Two nodes that disagree on the membership: the peer is started with fewer virtual nodes, so some products are owned by the peer for
+ * the node under test and by the node under test for the peer. Their lookups must fail instead of being forwarded back and forth.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PriceShardMembershipIT {
+
+  static final ConsistentHashRing RING = ConsistentHashRing.of(List.of("a", "b"), 128);
+
+  static final ConsistentHashRing PEER_RING = ConsistentHashRing.of(List.of("a", "b"), 16);
+
+  static final int SELF_PORT = PriceShardRoutingIT.freePort();
+
+  static final int PEER_PORT = PriceShardRoutingIT.freePort();
+
+  static ConfigurableApplicationContext peer;
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @DynamicPropertySource
+  static void shardProperties(DynamicPropertyRegistry registry) {
+    registry.add("server.port", () -> SELF_PORT);
+    registry.add("pricing.query.adapter", () -> "in-memory");
+    registry.add("pricing.shard.enabled", () -> true);
+    registry.add("pricing.shard.self", () -> "a");
+    registry.add("pricing.shard.nodes.a", () -> "http://localhost:" + SELF_PORT);
+    registry.add("pricing.shard.nodes.b", () -> "http://localhost:" + PEER_PORT);
+  }
+
+  @BeforeAll
+  static void startPeer() {
+    peer = new SpringApplicationBuilder(Application.class)
+        .profiles("test")
+        .run("--server.port=" + PEER_PORT,
+            "--spring.datasource.url=jdbc:h2:mem:prices-misdirected-peer;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "--pricing.query.adapter=in-memory",
+            "--pricing.shard.enabled=true",
+            "--pricing.shard.self=b",
+            "--pricing.shard.virtual-nodes=16",
+            "--pricing.shard.nodes.a=http://localhost:" + SELF_PORT,
+            "--pricing.shard.nodes.b=http://localhost:" + PEER_PORT);
+  }
+
+  @AfterAll
+  static void stopPeer() {
+    peer.close();
+  }
+
+  @Test
+  void should_answer_misdirected_to_a_forwarded_batch_it_does_not_own() throws Exception {
+
+    this.mockMvc.perform(post("/prices/batch")
+        .header(PricePeerClient.FORWARDED_BY_HEADER, "b")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("""
+            {"items": [{"brandId": 1, "productId": %d, "applicationDate": "2020-06-14T16:00:00Z"}]}""".formatted(disputedProduct())))
+        .andExpect(status().is(421));
+  }
+
+  @Test
+  void should_answer_misdirected_instead_of_redirecting_a_forwarded_lookup() throws Exception {
+
+    this.mockMvc.perform(get("/prices")
+        .header(PricePeerClient.FORWARDED_BY_HEADER, "b")
+        .param("applicationDate", "2020-06-14T16:00:00Z")
+        .param("productId", String.valueOf(disputedProduct()))
+        .param("brandId", "1"))
+        .andExpect(status().is(421));
+  }
+
+  @Test
+  void should_fail_instead_of_bouncing_a_batch_between_the_nodes() {
+
+    ServletException exception = assertThrows(ServletException.class, () -> this.mockMvc.perform(post("/prices/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("""
+            {"items": [{"brandId": 1, "productId": %d, "applicationDate": "2020-06-14T16:00:00Z"}]}""".formatted(disputedProduct()))));
+    assertTrue(exception.getRootCause().getMessage().startsWith("Peer answered 421"), exception.getRootCause().getMessage());
+  }
+
+  /**
+   * Returns a product that each node believes is owned by the other.
+   */
+  static int disputedProduct() {
+    return IntStream.iterate(35455, productId -> productId + 1)
+        .filter(productId -> "b".equals(RING.owner(1, productId)) && "a".equals(PEER_RING.owner(1, productId)))
+        .findFirst()
+        .orElseThrow();
+  }
+}
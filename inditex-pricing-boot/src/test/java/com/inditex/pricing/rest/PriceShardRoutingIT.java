@@ -0,0 +1,135 @@
+
+package com.inditex.pricing.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.inditex.pricing.Application;
+import com.inditex.pricing.infrastructure.shard.ConsistentHashRing;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Two nodes of a sharded deployment in the same JVM: the node under test, and its peer started on a database of its own. The reference
+ * product is owned by the peer, so the node under test has to redirect or forward every lookup of it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PriceShardRoutingIT {
+
+  static final ConsistentHashRing RING = ConsistentHashRing.of(List.of("a", "b"), 128);
+
+  static final String PEER = RING.owner(1, 35455);
+
+  static final String SELF = "a".equals(PEER) ? "b" : "a";
+
+  static final int SELF_PORT = freePort();
+
+  static final int PEER_PORT = freePort();
+
+  static ConfigurableApplicationContext peer;
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @DynamicPropertySource
+  static void shardProperties(DynamicPropertyRegistry registry) {
+    registry.add("server.port", () -> SELF_PORT);
+    registry.add("pricing.query.adapter", () -> "in-memory");
+    registry.add("pricing.shard.enabled", () -> true);
+    registry.add("pricing.shard.self", () -> SELF);
+    registry.add("pricing.shard.nodes." + SELF, () -> "http://localhost:" + SELF_PORT);
+    registry.add("pricing.shard.nodes." + PEER, () -> "http://localhost:" + PEER_PORT);
+  }
+
+  @BeforeAll
+  static void startPeer() {
+    peer = new SpringApplicationBuilder(Application.class)
+        .profiles("test")
+        .run("--server.port=" + PEER_PORT,
+            "--spring.datasource.url=jdbc:h2:mem:prices-peer;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "--pricing.query.adapter=in-memory",
+            "--pricing.shard.enabled=true",
+            "--pricing.shard.self=" + PEER,
+            "--pricing.shard.nodes." + SELF + "=http://localhost:" + SELF_PORT,
+            "--pricing.shard.nodes." + PEER + "=http://localhost:" + PEER_PORT);
+  }
+
+  @AfterAll
+  static void stopPeer() {
+    peer.close();
+  }
+
+  @Test
+  void should_redirect_a_lookup_to_the_owning_node() throws Exception {
+
+    this.mockMvc.perform(get("/prices?applicationDate=2020-06-14T14:00:00Z&productId=35455&brandId=1"))
+        .andExpect(status().isTemporaryRedirect())
+        .andExpect(header().string("Location", "http://localhost:" + PEER_PORT
+            + "/prices?applicationDate=2020-06-14T14:00:00Z&productId=35455&brandId=1"));
+  }
+
+  @Test
+  void should_answer_a_lookup_of_its_own_shard() throws Exception {
+
+    this.mockMvc.perform(get("/prices")
+        .param("applicationDate", "2020-06-14T14:00:00Z")
+        .param("productId", String.valueOf(ownedProduct()))
+        .param("brandId", "1"))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void should_forward_the_items_of_a_batch_owned_by_the_peer() throws Exception {
+
+    this.mockMvc.perform(post("/prices/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("""
+            {"items": [
+              {"brandId": 1, "productId": 35455, "applicationDate": "2020-06-14T16:00:00Z"},
+              {"brandId": 1, "productId": %d, "applicationDate": "2020-06-14T16:00:00Z"},
+              {"brandId": 1, "productId": 35455, "applicationDate": "2020-06-16T21:00:00Z"}
+            ]}""".formatted(ownedProduct())))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items[0].status").value("FOUND"))
+        .andExpect(jsonPath("$.items[0].price.priceList").value(2))
+        .andExpect(jsonPath("$.items[0].price.price").value(25.45))
+        .andExpect(jsonPath("$.items[1].status").value("NOT_FOUND"))
+        .andExpect(jsonPath("$.items[2].price.priceList").value(4));
+  }
+
+  static int ownedProduct() {
+    return IntStream.iterate(35456, productId -> productId + 1).filter(productId -> SELF.equals(RING.owner(1, productId))).findFirst()
+        .orElseThrow();
+  }
+
+  static int freePort() {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
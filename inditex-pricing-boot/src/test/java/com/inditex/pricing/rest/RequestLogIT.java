@@ -0,0 +1,45 @@
+package com.inditex.pricing.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = "pricing.request-log.sample-rate=1")
+@ExtendWith(OutputCaptureExtension.class)
+class RequestLogIT {
+
+  @Autowired
+  MockMvc mockMvc;
+
+  @Test
+  void should_write_one_structured_line_per_request(CapturedOutput output) throws Exception {
+
+    this.mockMvc.perform(get("/prices?applicationDate=2020-06-14T10:00:00Z&productId=35455&brandId=1"))
+        .andExpect(status().isOk());
+    this.mockMvc.perform(get("/prices?applicationDate=2020-06-14T10:00:00Z&productId=99999&brandId=1"))
+        .andExpect(status().isNotFound());
+
+    await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(output.getOut())
+        .containsPattern("method=GET path=/prices query=applicationDate=2020-06-14T10:00:00Z&productId=35455&brandId=1 status=200 "
+            + "elapsed_us=\\d+ slow=(true|false) start=\\S+")
+        .contains("productId=99999&brandId=1 status=404 "));
+  }
+
+}
@@ -0,0 +1,31 @@
+
+package com.inditex.pricing.domain.event;
+
+import java.util.Objects;
+
+import com.inditex.pricing.domain.model.Period;
+
+/**
+ * Domain event published after the prices of a brand and product have been written. Readers that keep prices in memory only need to
+ * refresh that brand and product; the period tells which instants may now resolve to a different price.
+ *
+ * @param brandId the brand ID, must not be null
+ * @param productId the product ID, must not be null
+ * @param period the period whose applicable price may have changed, must not be null
+ */
+public record PriceChangedEvent(Integer brandId, Integer productId, Period period) {
+
+  /**
+   * Constructs a PriceChangedEvent instance ensuring that none of its components is null.
+   *
+   * @param brandId the brand ID, must not be null
+   * @param productId the product ID, must not be null
+   * @param period the period whose applicable price may have changed, must not be null
+   * @throws NullPointerException if any component is null
+   */
+  public PriceChangedEvent {
+    Objects.requireNonNull(brandId, "brandId must not be null");
+    Objects.requireNonNull(productId, "productId must not be null");
+    Objects.requireNonNull(period, "period must not be null");
+  }
+}
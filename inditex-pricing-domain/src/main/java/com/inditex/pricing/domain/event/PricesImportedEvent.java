@@ -0,0 +1,23 @@
+
+package com.inditex.pricing.domain.event;
+
+/**
+ * Domain event published after a price file has been imported. An import may touch any brand and product, so readers that keep prices
+ * in memory are expected to refresh all of them at once rather than one by one.
+ *
+ * @param count the number of prices written, never negative
+ */
+public record PricesImportedEvent(long count) {
+
+  /**
+   * Constructs a PricesImportedEvent instance ensuring that the count is not negative.
+   *
+   * @param count the number of prices written, never negative
+   * @throws IllegalArgumentException if count is negative
+   */
+  public PricesImportedEvent {
+    if (count < 0) {
+      throw new IllegalArgumentException("count >= 0");
+    }
+  }
+}
@@ -29,4 +29,24 @@ public record Period(Instant start, Instant end) {
     }
   }
 
+  /**
+   * Checks whether the given instant falls within this period. Both bounds are inclusive.
+   *
+   * @param at the instant to check, must not be null
+   * @return true if start &lt;= at &lt;= end, false otherwise
+   */
+  public boolean contains(Instant at) {
+    return !at.isBefore(this.start) && !at.isAfter(this.end);
+  }
+
+  /**
+   * Returns the smallest period covering both this period and the given one, including the gap between them if they don't overlap.
+   *
+   * @param other the other period, must not be null
+   * @return the covering period
+   */
+  public Period span(Period other) {
+    return new Period(this.start.isBefore(other.start) ? this.start : other.start, this.end.isAfter(other.end) ? this.end : other.end);
+  }
+
 }
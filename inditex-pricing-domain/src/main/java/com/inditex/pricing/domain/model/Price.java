@@ -24,6 +24,9 @@ public class Price {
   @NotNull
   private Short priceList;
 
+  @NotNull
+  private Integer priority;
+
   @NotNull
   private Period period;
 
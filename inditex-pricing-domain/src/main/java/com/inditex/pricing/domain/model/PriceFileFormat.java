@@ -0,0 +1,20 @@
+
+package com.inditex.pricing.domain.model;
+
+/**
+ * Formats of the price files that can be imported. Both carry one price per line.
+ */
+public enum PriceFileFormat {
+
+  /**
+   * Comma-separated values with a header line naming the columns of the PRICES table: {@code BRAND_ID}, {@code PRODUCT_ID},
+   * {@code PRICE_LIST}, {@code PRIORITY}, {@code START_DATE}, {@code END_DATE}, {@code PRICE} and {@code CURR}. Dates are ISO-8601 with
+   * an offset.
+   */
+  CSV,
+
+  /**
+   * Newline-delimited JSON objects with the fields of the {@code Price} resource of the API plus {@code priority}.
+   */
+  JSONL
+}
@@ -0,0 +1,24 @@
+
+package com.inditex.pricing.domain.model;
+
+import java.util.Objects;
+
+/**
+ * Value Object describing a line of a price file that was not imported.
+ *
+ * @param line the line number in the file, starting at 1
+ * @param reason why the line was rejected, must not be null
+ */
+public record PriceImportRejection(long line, String reason) {
+
+  /**
+   * Constructs a PriceImportRejection instance ensuring that the reason is not null.
+   *
+   * @param line the line number in the file, starting at 1
+   * @param reason why the line was rejected, must not be null
+   * @throws NullPointerException if reason is null
+   */
+  public PriceImportRejection {
+    Objects.requireNonNull(reason, "reason must not be null");
+  }
+}
@@ -0,0 +1,41 @@
+
+package com.inditex.pricing.domain.model;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Value Object summarizing the import of a price file.
+ *
+ * @param accepted the number of prices written
+ * @param rejected the number of lines rejected
+ * @param rejections the first rejected lines, at most as many as the importer reports; never more than {@code rejected}
+ * @param elapsed the time the import took, must not be null
+ */
+public record PriceImportReport(long accepted, long rejected, List<PriceImportRejection> rejections, Duration elapsed) {
+
+  /**
+   * Constructs a PriceImportReport instance ensuring that rejections and elapsed are not null. The rejections are copied.
+   *
+   * @param accepted the number of prices written
+   * @param rejected the number of lines rejected
+   * @param rejections the first rejected lines, must not be null
+   * @param elapsed the time the import took, must not be null
+   * @throws NullPointerException if rejections or elapsed is null
+   */
+  public PriceImportReport {
+    rejections = List.copyOf(Objects.requireNonNull(rejections, "rejections must not be null"));
+    Objects.requireNonNull(elapsed, "elapsed must not be null");
+  }
+
+  /**
+   * Returns the throughput of the import, counting both accepted and rejected lines.
+   *
+   * @return the number of lines processed per second, or 0 if no time elapsed
+   */
+  public long linesPerSecond() {
+    long nanos = this.elapsed.toNanos();
+    return nanos == 0 ? 0 : (this.accepted + this.rejected) * 1_000_000_000L / nanos;
+  }
+}
@@ -0,0 +1,29 @@
+
+package com.inditex.pricing.domain.model;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Value Object representing a request for the price of a product of a brand at a given instant.
+ *
+ * @param brandId the brand ID, must not be null
+ * @param productId the product ID, must not be null
+ * @param at the application date, must not be null
+ */
+public record PriceQuery(Integer brandId, Integer productId, Instant at) {
+
+  /**
+   * Constructs a PriceQuery instance ensuring that none of its components is null.
+   *
+   * @param brandId the brand ID, must not be null
+   * @param productId the product ID, must not be null
+   * @param at the application date, must not be null
+   * @throws NullPointerException if any component is null
+   */
+  public PriceQuery {
+    Objects.requireNonNull(brandId, "brandId must not be null");
+    Objects.requireNonNull(productId, "productId must not be null");
+    Objects.requireNonNull(at, "at must not be null");
+  }
+}
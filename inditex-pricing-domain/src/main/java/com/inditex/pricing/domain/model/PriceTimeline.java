@@ -0,0 +1,178 @@
+
+package com.inditex.pricing.domain.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * Value Object representing the resolved price timeline of a single brand and product. Candidate prices are flattened with a sweep-line
+ * into contiguous sub-intervals, each one holding the price that wins the priority rule while it lasts, so that any instant is resolved
+ * with a binary search.
+ */
+public final class PriceTimeline {
+
+  /**
+   * Precedence between overlapping prices: highest priority first, then the most recent start date. The price ID is used as a last resort
+   * to keep the order total.
+   */
+  public static final Comparator<Price> PRECEDENCE = Comparator.comparing(Price::getPriority)
+      .thenComparing(p -> p.getPeriod().start())
+      .thenComparing(Price::getId);
+
+  private static final PriceTimeline EMPTY = new PriceTimeline(new Instant[0], new Price[0]);
+
+  /**
+   * Sorted start instants of every sub-interval. Sub-interval {@code i} spans {@code [boundaries[i], boundaries[i + 1])}.
+   */
+  private final Instant[] boundaries;
+
+  /**
+   * Winning price of every sub-interval, or null when no price applies.
+   */
+  private final Price[] winners;
+
+  private PriceTimeline(Instant[] boundaries, Price[] winners) {
+    this.boundaries = boundaries;
+    this.winners = winners;
+  }
+
+  /**
+   * Returns a timeline without any applicable price.
+   *
+   * @return the empty timeline
+   */
+  public static PriceTimeline empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Builds the timeline of the given candidate prices, which are expected to belong to the same brand and product.
+   *
+   * @param candidates the candidate prices, must not be null
+   * @return the resolved timeline
+   */
+  public static PriceTimeline of(Collection<Price> candidates) {
+    if (candidates.isEmpty()) {
+      return EMPTY;
+    }
+    List<Price> byStart = new ArrayList<>(candidates);
+    byStart.sort(Comparator.comparing(p -> p.getPeriod().start()));
+    List<Price> byEnd = new ArrayList<>(candidates);
+    byEnd.sort(Comparator.comparing(PriceTimeline::exclusiveEnd));
+
+    TreeSet<Instant> points = new TreeSet<>();
+    candidates.forEach(p -> {
+      points.add(p.getPeriod().start());
+      points.add(exclusiveEnd(p));
+    });
+
+    List<Instant> boundaries = new ArrayList<>(points.size());
+    List<Price> winners = new ArrayList<>(points.size());
+    TreeSet<Price> active = new TreeSet<>(PRECEDENCE);
+    int nextStart = 0;
+    int nextEnd = 0;
+    for (Instant point : points) {
+      while (nextStart < byStart.size() && !byStart.get(nextStart).getPeriod().start().isAfter(point)) {
+        active.add(byStart.get(nextStart++));
+      }
+      while (nextEnd < byEnd.size() && !exclusiveEnd(byEnd.get(nextEnd)).isAfter(point)) {
+        active.remove(byEnd.get(nextEnd++));
+      }
+      Price winner = active.isEmpty() ? null : active.last();
+      if (winners.isEmpty() || winners.get(winners.size() - 1) != winner) {
+        boundaries.add(point);
+        winners.add(winner);
+      }
+    }
+    return new PriceTimeline(boundaries.toArray(Instant[]::new), winners.toArray(Price[]::new));
+  }
+
+  /**
+   * Selects the applicable price among the given candidates at the given instant, without building a timeline.
+   *
+   * @param candidates the candidate prices, must not be null
+   * @param at the application date, must not be null
+   * @return an Optional containing the applicable Price if any, otherwise an empty Optional
+   */
+  public static Optional<Price> selectApplicable(Collection<Price> candidates, Instant at) {
+    return candidates.stream()
+        .filter(p -> p.getPeriod().contains(at))
+        .max(PRECEDENCE);
+  }
+
+  /**
+   * Resolves the applicable price at the given instant.
+   *
+   * @param at the application date, must not be null
+   * @return an Optional containing the applicable Price if any, otherwise an empty Optional
+   */
+  public Optional<Price> priceAt(Instant at) {
+    int index = Arrays.binarySearch(this.boundaries, at);
+    int segment = index >= 0 ? index : -index - 2;
+    return segment < 0 ? Optional.empty() : Optional.ofNullable(this.winners[segment]);
+  }
+
+  /**
+   * Returns the non-overlapping segments of this timeline in chronological order, skipping the gaps where no price applies.
+   *
+   * @return the list of segments with their winning price
+   */
+  public List<Segment> segments() {
+    List<Segment> segments = new ArrayList<>(this.winners.length);
+    for (int i = 0; i < this.winners.length - 1; i++) {
+      if (this.winners[i] != null) {
+        segments.add(new Segment(new Period(this.boundaries[i], this.boundaries[i + 1].minusNanos(1)), this.winners[i]));
+      }
+    }
+    return segments;
+  }
+
+  /**
+   * Returns the segments of this timeline that overlap the given range, in chronological order and clipped to it, skipping the gaps where
+   * no price applies.
+   *
+   * @param range the range to cover, both bounds inclusive
+   * @return the list of segments with their winning price
+   */
+  public List<Segment> segments(Period range) {
+    List<Segment> segments = new ArrayList<>();
+    for (int i = 0; i < this.winners.length - 1; i++) {
+      Instant start = this.boundaries[i];
+      Instant end = this.boundaries[i + 1].minusNanos(1);
+      if (this.winners[i] != null && !start.isAfter(range.end()) && !end.isBefore(range.start())) {
+        Period period = new Period(start.isBefore(range.start()) ? range.start() : start, end.isAfter(range.end()) ? range.end() : end);
+        segments.add(new Segment(period, this.winners[i]));
+      }
+    }
+    return segments;
+  }
+
+  /**
+   * Checks whether this timeline has no applicable price at any instant.
+   *
+   * @return true if the timeline is empty
+   */
+  public boolean isEmpty() {
+    return this.winners.length == 0;
+  }
+
+  private static Instant exclusiveEnd(Price price) {
+    return price.getPeriod().end().plusNanos(1);
+  }
+
+  /**
+   * A contiguous part of the timeline in which a single price applies.
+   *
+   * @param period the period covered by the segment, both bounds inclusive
+   * @param price the winning price during the period
+   */
+  public record Segment(Period period, Price price) {
+
+  }
+}
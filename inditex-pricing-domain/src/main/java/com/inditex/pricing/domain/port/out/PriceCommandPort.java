@@ -0,0 +1,52 @@
+
+package com.inditex.pricing.domain.port.out;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.inditex.pricing.domain.model.Price;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Repository interface for writing Price data. A price is identified by its brand ID, product ID and price list.
+ */
+public interface PriceCommandPort {
+
+  /**
+   * Finds the price of the given brand, product and price list.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param priceList the price list ID
+   * @return an Optional containing the stored Price if any, otherwise an empty Optional
+   */
+  Optional<Price> findByPriceList(@NotNull Integer brandId, @NotNull Integer productId, @NotNull Short priceList);
+
+  /**
+   * Inserts the given price, or replaces the stored price of the same brand, product and price list. The ID of the given price is
+   * ignored. Bounds are stored with whole second precision, so any fraction of a second is dropped.
+   *
+   * @param price the price to store
+   * @return the stored Price, with its ID
+   */
+  Price save(@NotNull Price price);
+
+  /**
+   * Inserts or replaces the given prices as {@link #save(Price)} does, in bulk and without reading them back. Prices of the same brand,
+   * product and price list overwrite each other in list order.
+   *
+   * @param prices the prices to store
+   */
+  void saveAll(@NotNull List<Price> prices);
+
+  /**
+   * Deletes the price of the given brand, product and price list.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param priceList the price list ID
+   * @return an Optional containing the deleted Price if there was one, otherwise an empty Optional
+   */
+  Optional<Price> delete(@NotNull Integer brandId, @NotNull Integer productId, @NotNull Short priceList);
+}
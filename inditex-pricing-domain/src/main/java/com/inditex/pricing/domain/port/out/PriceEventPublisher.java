@@ -0,0 +1,27 @@
+
+package com.inditex.pricing.domain.port.out;
+
+import com.inditex.pricing.domain.event.PriceChangedEvent;
+import com.inditex.pricing.domain.event.PricesImportedEvent;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Outbound port through which price changes are announced to the readers that keep prices in memory.
+ */
+public interface PriceEventPublisher {
+
+  /**
+   * Publishes the given event. Within a transaction, subscribers are only notified once it commits.
+   *
+   * @param event the event to publish
+   */
+  void publish(@NotNull PriceChangedEvent event);
+
+  /**
+   * Publishes the given event. Within a transaction, subscribers are only notified once it commits.
+   *
+   * @param event the event to publish
+   */
+  void publish(@NotNull PricesImportedEvent event);
+}
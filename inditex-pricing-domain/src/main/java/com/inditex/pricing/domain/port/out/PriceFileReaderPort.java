@@ -0,0 +1,49 @@
+
+package com.inditex.pricing.domain.port.out;
+
+import java.io.InputStream;
+
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceFileFormat;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Outbound port that parses price files. Lines are streamed to a {@link Handler} as they are read, so files of any size can be read in
+ * constant memory.
+ */
+public interface PriceFileReaderPort {
+
+  /**
+   * Reads every line of the given input. Each line becomes either a {@link Price} that satisfies the {@code Money} and {@code Period}
+   * invariants, or a rejection with the reason why it could not be built. The input is not closed.
+   *
+   * @param format the format of the input
+   * @param input the file contents, UTF-8 encoded
+   * @param handler the receiver of the prices and rejections, in file order
+   * @throws java.io.UncheckedIOException if the input cannot be read
+   */
+  void read(@NotNull PriceFileFormat format, @NotNull InputStream input, @NotNull Handler handler);
+
+  /**
+   * Receiver of the lines of a price file.
+   */
+  interface Handler {
+
+    /**
+     * Receives a valid price. Its ID is null.
+     *
+     * @param line the line number, starting at 1
+     * @param price the price read
+     */
+    void accept(long line, Price price);
+
+    /**
+     * Receives a line that is not a valid price.
+     *
+     * @param line the line number, starting at 1
+     * @param reason why the line was rejected
+     */
+    void reject(long line, String reason);
+  }
+}
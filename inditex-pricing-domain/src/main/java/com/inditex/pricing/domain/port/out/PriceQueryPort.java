@@ -2,9 +2,13 @@
 package com.inditex.pricing.domain.port.out;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import com.inditex.pricing.domain.model.Period;
 import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
 
 import jakarta.validation.constraints.NotNull;
 
@@ -22,4 +26,38 @@ public interface PriceQueryPort {
    * @return a list of Price entities matching the criteria
    */
   Optional<Price> findApplicable(@NotNull Integer brandId, @NotNull Integer productId, @NotNull Instant at);
+
+  /**
+   * Finds the applicable price of each of the given queries. The default implementation resolves them one by one; adapters backed by a
+   * remote store should override it to resolve them in a single round trip.
+   *
+   * @param queries the queries to resolve
+   * @return the applicable price of each query, in the same order as the queries
+   */
+  default List<Optional<Price>> findAllApplicable(@NotNull List<PriceQuery> queries) {
+    return queries.stream()
+        .map(q -> this.findApplicable(q.brandId(), q.productId(), q.at()))
+        .toList();
+  }
+
+  /**
+   * Finds the candidate prices of a brand and product over a range, in a single read: every price that applies at some instant of the
+   * range, possibly along with other prices that never win within it. Building a
+   * {@link com.inditex.pricing.domain.model.PriceTimeline} of them resolves the precedence rule over the whole range at once.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param range the range, both bounds inclusive
+   * @return the candidate prices, in no particular order
+   */
+  List<Price> findCandidates(@NotNull Integer brandId, @NotNull Integer productId, @NotNull Period range);
+
+  /**
+   * Streams the applicable price of every brand and product at the given instant, ordered by brand ID and product ID. Prices are handed
+   * to the consumer one at a time and must not be retained by the adapter.
+   *
+   * @param at the application date
+   * @param consumer the consumer of each applicable price
+   */
+  void forEachApplicable(@NotNull Instant at, @NotNull Consumer<Price> consumer);
 }
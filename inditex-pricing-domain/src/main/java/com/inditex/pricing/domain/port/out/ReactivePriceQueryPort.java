@@ -0,0 +1,39 @@
+
+package com.inditex.pricing.domain.port.out;
+
+import java.time.Instant;
+
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+
+import jakarta.validation.constraints.NotNull;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link PriceQueryPort}, for adapters backed by a reactive driver.
+ */
+public interface ReactivePriceQueryPort {
+
+  /**
+   * Finds the applicable price by brand ID, product ID, and application date, with the same rules as
+   * {@link PriceQueryPort#findApplicable(Integer, Integer, Instant)}.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param at the application date
+   * @return a Mono emitting the applicable Price, or completing empty when none applies
+   */
+  Mono<Price> findApplicable(@NotNull Integer brandId, @NotNull Integer productId, @NotNull Instant at);
+
+  /**
+   * Finds the candidate prices of a brand and product over a range, in a single read, with the same rules as
+   * {@link PriceQueryPort#findCandidates(Integer, Integer, Period)}.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param range the range, both bounds inclusive
+   * @return a Flux emitting the candidate prices, in no particular order
+   */
+  Flux<Price> findCandidates(@NotNull Integer brandId, @NotNull Integer productId, @NotNull Period range);
+}
@@ -0,0 +1,44 @@
+
+package com.inditex.pricing.domain.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+
+import com.inditex.pricing.domain.model.Period;
+
+import org.instancio.Instancio;
+import org.junit.jupiter.api.Test;
+
+class PriceChangedEventTest {
+
+  @Test
+  void shouldCreateEventWithValidComponents() {
+    Instant start = Instancio.create(Instant.class);
+    Period period = new Period(start, start.plusSeconds(3600));
+    PriceChangedEvent event = new PriceChangedEvent(1, 35455, period);
+    assertEquals(1, event.brandId());
+    assertEquals(35455, event.productId());
+    assertEquals(period, event.period());
+  }
+
+  @Test
+  void shouldThrowExceptionWhenBrandIdIsNull() {
+    Instant start = Instancio.create(Instant.class);
+    Period period = new Period(start, start);
+    assertThrows(NullPointerException.class, () -> new PriceChangedEvent(null, 35455, period));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenProductIdIsNull() {
+    Instant start = Instancio.create(Instant.class);
+    Period period = new Period(start, start);
+    assertThrows(NullPointerException.class, () -> new PriceChangedEvent(1, null, period));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenPeriodIsNull() {
+    assertThrows(NullPointerException.class, () -> new PriceChangedEvent(1, 35455, null));
+  }
+}
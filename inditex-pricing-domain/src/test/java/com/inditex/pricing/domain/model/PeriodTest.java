@@ -2,7 +2,9 @@
 package com.inditex.pricing.domain.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.time.Instant;
 
@@ -38,4 +40,39 @@ class PeriodTest {
     Instant start = Instancio.create(Instant.class);
     assertThrows(NullPointerException.class, () -> new Period(start, null));
   }
-}
\ No newline at end of file
+
+  @Test
+  void shouldContainInstant_whenInstantIsWithinBounds() {
+    Instant start = Instancio.create(Instant.class);
+    Period period = new Period(start, start.plusSeconds(3600));
+    assertTrue(period.contains(start));
+    assertTrue(period.contains(start.plusSeconds(1800)));
+    assertTrue(period.contains(start.plusSeconds(3600)));
+  }
+
+  @Test
+  void shouldNotContainInstant_whenInstantIsOutsideBounds() {
+    Instant start = Instancio.create(Instant.class);
+    Period period = new Period(start, start.plusSeconds(3600));
+    assertFalse(period.contains(start.minusNanos(1)));
+    assertFalse(period.contains(start.plusSeconds(3600).plusNanos(1)));
+  }
+
+  @Test
+  void shouldCoverBothPeriodsAndTheGap_whenSpanningDisjointPeriods() {
+    Instant start = Instancio.create(Instant.class);
+    Period first = new Period(start, start.plusSeconds(60));
+    Period second = new Period(start.plusSeconds(3600), start.plusSeconds(7200));
+    assertEquals(new Period(start, start.plusSeconds(7200)), first.span(second));
+    assertEquals(new Period(start, start.plusSeconds(7200)), second.span(first));
+  }
+
+  @Test
+  void shouldReturnOuterPeriod_whenSpanningNestedPeriods() {
+    Instant start = Instancio.create(Instant.class);
+    Period outer = new Period(start, start.plusSeconds(3600));
+    Period inner = new Period(start.plusSeconds(60), start.plusSeconds(120));
+    assertEquals(outer, outer.span(inner));
+    assertEquals(outer, inner.span(outer));
+  }
+}
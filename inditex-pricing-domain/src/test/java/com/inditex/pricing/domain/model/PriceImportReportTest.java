@@ -0,0 +1,40 @@
+
+package com.inditex.pricing.domain.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PriceImportReportTest {
+
+  @Test
+  void shouldCountAcceptedAndRejectedLines_whenComputingThroughput() {
+    PriceImportReport report = new PriceImportReport(750, 250, List.of(), Duration.ofMillis(500));
+    assertEquals(2_000, report.linesPerSecond());
+  }
+
+  @Test
+  void shouldReturnZeroThroughput_whenNoTimeElapsed() {
+    PriceImportReport report = new PriceImportReport(1, 0, List.of(), Duration.ZERO);
+    assertEquals(0, report.linesPerSecond());
+  }
+
+  @Test
+  void shouldCopyRejections() {
+    List<PriceImportRejection> rejections = new ArrayList<>(List.of(new PriceImportRejection(2, "currency must be ISO 4217 alpha-3")));
+    PriceImportReport report = new PriceImportReport(0, 1, rejections, Duration.ZERO);
+    rejections.clear();
+    assertEquals(1, report.rejections().size());
+  }
+
+  @Test
+  void shouldThrowExceptionWhenElapsedIsNull() {
+    List<PriceImportRejection> rejections = List.of();
+    assertThrows(NullPointerException.class, () -> new PriceImportReport(0, 0, rejections, null));
+  }
+}
@@ -0,0 +1,38 @@
+
+package com.inditex.pricing.domain.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+
+import org.instancio.Instancio;
+import org.junit.jupiter.api.Test;
+
+class PriceQueryTest {
+
+  @Test
+  void shouldCreateQueryWithValidComponents() {
+    Instant at = Instancio.create(Instant.class);
+    PriceQuery query = new PriceQuery(1, 35455, at);
+    assertEquals(1, query.brandId());
+    assertEquals(35455, query.productId());
+    assertEquals(at, query.at());
+  }
+
+  @Test
+  void shouldThrowExceptionWhenBrandIdIsNull() {
+    Instant at = Instancio.create(Instant.class);
+    assertThrows(NullPointerException.class, () -> new PriceQuery(null, 35455, at));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenProductIdIsNull() {
+    Instant at = Instancio.create(Instant.class);
+    assertThrows(NullPointerException.class, () -> new PriceQuery(1, null, at));
+  }
+
+  @Test
+  void shouldThrowExceptionWhenInstantIsNull() {
+    assertThrows(NullPointerException.class, () -> new PriceQuery(1, 35455, null));
+  }
+}
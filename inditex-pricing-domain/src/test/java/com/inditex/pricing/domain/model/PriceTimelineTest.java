@@ -0,0 +1,122 @@
+
+package com.inditex.pricing.domain.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class PriceTimelineTest {
+
+  static final List<Price> CANDIDATES = List.of(
+      price(1L, 1, 0, "2020-06-13T22:00:00Z", "2020-12-31T22:59:59Z"),
+      price(2L, 2, 1, "2020-06-14T13:00:00Z", "2020-06-14T16:30:00Z"),
+      price(3L, 3, 1, "2020-06-14T22:00:00Z", "2020-06-15T09:00:00Z"),
+      price(4L, 4, 1, "2020-06-15T14:00:00Z", "2020-12-31T22:59:59Z"));
+
+  static Stream<Arguments> cases() {
+    return Stream.of(
+        Arguments.of("2020-06-14T10:00:00Z", 1),
+        Arguments.of("2020-06-14T16:00:00Z", 2),
+        Arguments.of("2020-06-14T16:30:00Z", 2),
+        Arguments.of("2020-06-14T16:30:00.000000001Z", 1),
+        Arguments.of("2020-06-14T21:00:00Z", 1),
+        Arguments.of("2020-06-15T10:00:00Z", 1),
+        Arguments.of("2020-06-16T21:00:00Z", 4),
+        Arguments.of("2020-12-31T22:59:59Z", 4));
+  }
+
+  @ParameterizedTest
+  @MethodSource("cases")
+  void priceAt_shouldReturnWinningPrice_whenInstantIsCovered(String at, int expectedList) {
+    PriceTimeline timeline = PriceTimeline.of(CANDIDATES);
+    Optional<Price> result = timeline.priceAt(Instant.parse(at));
+    assertTrue(result.isPresent());
+    assertEquals(expectedList, result.get().getPriceList().intValue());
+  }
+
+  @ParameterizedTest
+  @MethodSource("cases")
+  void priceAt_shouldAgreeWithSelectApplicable_forEveryCase(String at, int expectedList) {
+    Instant instant = Instant.parse(at);
+    assertEquals(PriceTimeline.selectApplicable(CANDIDATES, instant), PriceTimeline.of(CANDIDATES).priceAt(instant));
+  }
+
+  @Test
+  void priceAt_shouldReturnEmpty_whenInstantIsOutsideEveryPeriod() {
+    PriceTimeline timeline = PriceTimeline.of(CANDIDATES);
+    assertTrue(timeline.priceAt(Instant.parse("2020-06-13T21:59:59Z")).isEmpty());
+    assertTrue(timeline.priceAt(Instant.parse("2021-01-01T00:00:00Z")).isEmpty());
+  }
+
+  @Test
+  void priceAt_shouldReturnEmpty_whenInstantFallsInAGap() {
+    PriceTimeline timeline = PriceTimeline.of(List.of(
+        price(1L, 1, 0, "2020-01-01T00:00:00Z", "2020-01-31T23:59:59Z"),
+        price(2L, 2, 0, "2020-03-01T00:00:00Z", "2020-03-31T23:59:59Z")));
+    assertTrue(timeline.priceAt(Instant.parse("2020-02-15T00:00:00Z")).isEmpty());
+    assertEquals(2, timeline.priceAt(Instant.parse("2020-03-15T00:00:00Z")).orElseThrow().getPriceList().intValue());
+  }
+
+  @Test
+  void priceAt_shouldPreferLatestStart_whenPrioritiesAreEqual() {
+    PriceTimeline timeline = PriceTimeline.of(List.of(
+        price(1L, 1, 1, "2020-01-01T00:00:00Z", "2020-12-31T23:59:59Z"),
+        price(2L, 2, 1, "2020-06-01T00:00:00Z", "2020-12-31T23:59:59Z")));
+    assertEquals(1, timeline.priceAt(Instant.parse("2020-05-31T00:00:00Z")).orElseThrow().getPriceList().intValue());
+    assertEquals(2, timeline.priceAt(Instant.parse("2020-06-01T00:00:00Z")).orElseThrow().getPriceList().intValue());
+  }
+
+  @Test
+  void segments_shouldReturnNonOverlappingWinners_inChronologicalOrder() {
+    List<PriceTimeline.Segment> segments = PriceTimeline.of(CANDIDATES).segments();
+    assertEquals(List.of(1, 2, 1, 3, 1, 4), segments.stream().map(s -> s.price().getPriceList().intValue()).toList());
+    assertEquals(Instant.parse("2020-06-14T12:59:59.999999999Z"), segments.get(0).period().end());
+    assertEquals(Instant.parse("2020-06-14T13:00:00Z"), segments.get(1).period().start());
+    assertEquals(Instant.parse("2020-06-14T16:30:00Z"), segments.get(1).period().end());
+    for (int i = 1; i < segments.size(); i++) {
+      assertEquals(segments.get(i - 1).period().end().plusNanos(1), segments.get(i).period().start());
+    }
+  }
+
+  @Test
+  void segments_shouldClipToRange_whenRangeStartsAndEndsWithinSegments() {
+    Period range = new Period(Instant.parse("2020-06-14T15:00:00Z"), Instant.parse("2020-06-15T00:00:00Z"));
+    List<PriceTimeline.Segment> segments = PriceTimeline.of(CANDIDATES).segments(range);
+    assertEquals(List.of(2, 1, 3), segments.stream().map(s -> s.price().getPriceList().intValue()).toList());
+    assertEquals(range.start(), segments.get(0).period().start());
+    assertEquals(Instant.parse("2020-06-14T16:30:00.000000001Z"), segments.get(1).period().start());
+    assertEquals(range.end(), segments.get(2).period().end());
+    Period after = new Period(Instant.parse("2021-01-01T00:00:00Z"), Instant.parse("2021-12-31T00:00:00Z"));
+    assertTrue(PriceTimeline.of(CANDIDATES).segments(after).isEmpty());
+  }
+
+  @Test
+  void of_shouldReturnEmptyTimeline_whenThereAreNoCandidates() {
+    PriceTimeline timeline = PriceTimeline.of(List.of());
+    assertTrue(timeline.isEmpty());
+    assertTrue(timeline.segments().isEmpty());
+    assertTrue(timeline.priceAt(Instant.now()).isEmpty());
+  }
+
+  static Price price(Long id, int priceList, int priority, String start, String end) {
+    Price price = new Price();
+    price.setId(id);
+    price.setBrandId(1);
+    price.setProductId(35455);
+    price.setPriceList((short) priceList);
+    price.setPriority(priority);
+    price.setPeriod(new Period(Instant.parse(start), Instant.parse(end)));
+    price.setMoney(new Money(BigDecimal.TEN, "EUR"));
+    return price;
+  }
+}
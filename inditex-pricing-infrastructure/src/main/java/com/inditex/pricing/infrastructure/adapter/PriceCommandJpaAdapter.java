@@ -0,0 +1,121 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.port.out.PriceCommandPort;
+import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapper;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jpa.PriceEntity;
+import com.inditex.pricing.infrastructure.jpa.PriceJpaRepository;
+
+import im.aop.loggers.Level;
+import im.aop.loggers.advice.before.LogBefore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * JPA adapter implementation for writing prices to the database. Prices are matched by brand ID, product ID and price list, the columns
+ * of the UQ_PRICE_TARIFF constraint.
+ *
+ * <p>Bulk writes skip JPA altogether: they are sent as JDBC batches of {@code pricing.import.batch-size} MERGE statements, and each
+ * call is timed as {@code pricing.import.writes}.
+ */
+@Validated
+@Service
+@EnableConfigurationProperties(PriceImportProperties.class)
+public class PriceCommandJpaAdapter implements PriceCommandPort {
+
+  private final PriceJpaRepository priceJpaRepository;
+
+  private final PriceJdbcRepository priceJdbcRepository;
+
+  private final PriceEntityMapper priceEntityMapper;
+
+  private final PriceImportProperties properties;
+
+  private final Timer writes;
+
+  /**
+   * Creates the adapter and registers the bulk write timer in the meter registry, if any.
+   *
+   * @param priceJpaRepository the repository of single price writes
+   * @param priceJdbcRepository the repository of bulk writes
+   * @param priceEntityMapper the mapper between entities and prices
+   * @param properties the bulk write settings
+   * @param meterRegistry the registry the bulk write timer is published to
+   */
+  public PriceCommandJpaAdapter(PriceJpaRepository priceJpaRepository, PriceJdbcRepository priceJdbcRepository,
+      PriceEntityMapper priceEntityMapper, PriceImportProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+    this.priceJpaRepository = priceJpaRepository;
+    this.priceJdbcRepository = priceJdbcRepository;
+    this.priceEntityMapper = priceEntityMapper;
+    this.properties = properties;
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    this.writes = registry == null ? null : Timer.builder("pricing.import.writes")
+        .description("Bulk price writes, one per chunk of imported prices")
+        .register(registry);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @Transactional(readOnly = true)
+  @LogBefore(level = Level.DEBUG)
+  public Optional<Price> findByPriceList(@NotNull final Integer brandId, @NotNull final Integer productId,
+      @NotNull final Short priceList) {
+    return this.priceJpaRepository.findByBrandIdAndProductIdAndPriceList(brandId, productId, priceList.intValue())
+        .map(this.priceEntityMapper::toModel);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @Transactional
+  @LogBefore(level = Level.DEBUG)
+  public Price save(@NotNull final Price price) {
+    PriceEntity entity = this.priceJpaRepository
+        .findByBrandIdAndProductIdAndPriceList(price.getBrandId(), price.getProductId(), price.getPriceList().intValue())
+        .orElseGet(PriceEntity::new);
+    this.priceEntityMapper.updateEntity(price, entity);
+    return this.priceEntityMapper.toModel(this.priceJpaRepository.saveAndFlush(entity));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The prices are written in a single transaction with JDBC batches, bypassing the persistence context.
+   */
+  @Override
+  @Transactional
+  public void saveAll(@NotNull final List<Price> prices) {
+    final long startNanos = System.nanoTime();
+    this.priceJdbcRepository.upsertAll(prices, this.properties.batchSize());
+    if (this.writes != null) {
+      this.writes.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @Transactional
+  @LogBefore(level = Level.DEBUG)
+  public Optional<Price> delete(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Short priceList) {
+    Optional<PriceEntity> entity = this.priceJpaRepository.findByBrandIdAndProductIdAndPriceList(brandId, productId, priceList.intValue());
+    entity.ifPresent(this.priceJpaRepository::delete);
+    return entity.map(this.priceEntityMapper::toModel);
+  }
+}
@@ -0,0 +1,41 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import com.inditex.pricing.domain.event.PriceChangedEvent;
+import com.inditex.pricing.domain.event.PricesImportedEvent;
+import com.inditex.pricing.domain.port.out.PriceEventPublisher;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * In-process event bus for price changes, on top of the application context events. Subscribers declare a
+ * {@link org.springframework.transaction.event.TransactionalEventListener} on {@link PriceChangedEvent} or {@link PricesImportedEvent},
+ * so that they only see committed changes and never reload a brand and product before its new prices are visible.
+ */
+@Validated
+@Service
+@RequiredArgsConstructor
+public class PriceEventBusAdapter implements PriceEventPublisher {
+
+  private final ApplicationEventPublisher applicationEventPublisher;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void publish(@NotNull final PriceChangedEvent event) {
+    this.applicationEventPublisher.publishEvent(event);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void publish(@NotNull final PricesImportedEvent event) {
+    this.applicationEventPublisher.publishEvent(event);
+  }
+}
@@ -0,0 +1,333 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceFileFormat;
+import com.inditex.pricing.domain.port.out.PriceFileReaderPort;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Adapter that parses CSV and JSON Lines price files. Lines are read one at a time and handed over as soon as they are parsed.
+ *
+ * <p>Besides the {@code Money} and {@code Period} invariants, a line is only accepted if it fits the PRICES columns, so that a single
+ * line can never make a whole batch insert fail. Progress is published as {@code pricing.import.lines}, tagged with the result.
+ */
+@Validated
+@Service
+public class PriceFileReaderAdapter implements PriceFileReaderPort {
+
+  static final List<String> CSV_COLUMNS = List.of("BRAND_ID", "PRODUCT_ID", "PRICE_LIST", "PRIORITY", "START_DATE", "END_DATE", "PRICE",
+      "CURR");
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * Largest amount the PRICE column, a DECIMAL(10, 2), can hold, in digits before the decimal point.
+   */
+  private static final int MAX_AMOUNT_INTEGER_DIGITS = 8;
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  private final Counter accepted;
+
+  private final Counter rejected;
+
+  /**
+   * Creates the adapter and registers the line counters in the meter registry, if any.
+   *
+   * @param meterRegistry the registry the line counters are published to
+   */
+  public PriceFileReaderAdapter(ObjectProvider<MeterRegistry> meterRegistry) {
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    this.accepted = registry == null ? null : lines(registry, "accepted");
+    this.rejected = registry == null ? null : lines(registry, "rejected");
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Blank lines are skipped. CSV fields are not quoted; the header may list the columns in any order and in any case.
+   *
+   * @throws IllegalArgumentException if the CSV header lacks a column
+   */
+  @Override
+  public void read(@NotNull final PriceFileFormat format, @NotNull final InputStream input, @NotNull final Handler handler) {
+    Handler counted = this.accepted == null ? handler : new CountingHandler(handler, this.accepted, this.rejected);
+    BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+    try {
+      switch (format) {
+        case CSV -> this.readCsv(reader, counted);
+        case JSONL -> this.readJsonLines(reader, counted);
+        default -> throw new IllegalArgumentException("Unsupported format " + format);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void readCsv(BufferedReader reader, Handler handler) throws IOException {
+    String header = reader.readLine();
+    if (header == null) {
+      return;
+    }
+    final String[] names = header.split(",", -1);
+    final int[] positions = csvPositions(names);
+    final int[] starts = new int[names.length + 1];
+    long line = 1;
+    for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+      line++;
+      if (text.isBlank()) {
+        continue;
+      }
+      if (split(text, starts) != names.length) {
+        handler.reject(line, "expected " + names.length + " fields but found " + (text.chars().filter(c -> c == ',').count() + 1));
+        continue;
+      }
+      try {
+        handler.accept(line, toPrice(
+            parseInt(text, starts, positions[0], "BRAND_ID"),
+            parseInt(text, starts, positions[1], "PRODUCT_ID"),
+            parseInt(text, starts, positions[2], "PRICE_LIST"),
+            parseInt(text, starts, positions[3], "PRIORITY"),
+            parseInstant(field(text, starts, positions[4]), "START_DATE"),
+            parseInstant(field(text, starts, positions[5]), "END_DATE"),
+            parseDecimal(field(text, starts, positions[6]), "PRICE"),
+            field(text, starts, positions[7])));
+      } catch (IllegalArgumentException | NullPointerException e) {
+        handler.reject(line, e.getMessage());
+      }
+    }
+  }
+
+  private void readJsonLines(BufferedReader reader, Handler handler) throws IOException {
+    long line = 0;
+    for (String text = reader.readLine(); text != null; text = reader.readLine()) {
+      line++;
+      if (text.isBlank()) {
+        continue;
+      }
+      try (JsonParser parser = this.jsonFactory.createParser(text)) {
+        handler.accept(line, this.parseJson(parser));
+      } catch (JsonProcessingException e) {
+        handler.reject(line, "malformed JSON: " + e.getOriginalMessage());
+      } catch (IllegalArgumentException | NullPointerException e) {
+        handler.reject(line, e.getMessage());
+      }
+    }
+  }
+
+  private Price parseJson(JsonParser parser) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new IllegalArgumentException("line is not a JSON object");
+    }
+    Integer brandId = null;
+    Integer productId = null;
+    Integer priceList = null;
+    Integer priority = null;
+    Instant start = null;
+    Instant end = null;
+    BigDecimal amount = null;
+    String currency = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      JsonToken value = parser.nextToken();
+      switch (name) {
+        case "brandId" -> brandId = jsonInt(parser, value, name);
+        case "productId" -> productId = jsonInt(parser, value, name);
+        case "priceList" -> priceList = jsonInt(parser, value, name);
+        case "priority" -> priority = jsonInt(parser, value, name);
+        case "startDate" -> start = parseInstant(jsonText(parser, value), name);
+        case "endDate" -> end = parseInstant(jsonText(parser, value), name);
+        case "price" -> amount = value.isNumeric() ? parser.getDecimalValue() : parseDecimal(jsonText(parser, value), name);
+        case "curr" -> currency = jsonText(parser, value);
+        default -> parser.skipChildren();
+      }
+    }
+    if (parser.nextToken() != null) {
+      throw new IllegalArgumentException("line holds more than one JSON value");
+    }
+    return toPrice(required(brandId, "brandId"), required(productId, "productId"), required(priceList, "priceList"),
+        required(priority, "priority"), start, end, amount, currency);
+  }
+
+  /**
+   * Builds a price from its parsed fields, checking them against the domain invariants and the PRICES columns.
+   */
+  static Price toPrice(int brandId, int productId, int priceList, int priority, Instant start, Instant end, BigDecimal amount,
+      String currency) {
+    if (brandId < 1 || brandId > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("brandId must be between 1 and " + Short.MAX_VALUE);
+    }
+    if (productId < 1) {
+      throw new IllegalArgumentException("productId must be positive");
+    }
+    if (priceList < 1 || priceList > Short.MAX_VALUE) {
+      throw new IllegalArgumentException("priceList must be between 1 and " + Short.MAX_VALUE);
+    }
+    if (priority < Byte.MIN_VALUE || priority > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("priority must be between " + Byte.MIN_VALUE + " and " + Byte.MAX_VALUE);
+    }
+    Money money = new Money(amount == null ? null : amount.setScale(2, RoundingMode.HALF_UP), currency);
+    if (money.amount().precision() - money.amount().scale() > MAX_AMOUNT_INTEGER_DIGITS) {
+      throw new IllegalArgumentException("amount must have at most " + MAX_AMOUNT_INTEGER_DIGITS + " integer digits");
+    }
+    if (start == null || end == null) {
+      throw new IllegalArgumentException("start and end dates are required");
+    }
+    Price price = new Price();
+    price.setBrandId(brandId);
+    price.setProductId(productId);
+    price.setPriceList((short) priceList);
+    price.setPriority(priority);
+    price.setPeriod(new Period(start, end));
+    price.setMoney(money);
+    return price;
+  }
+
+  /**
+   * Maps each of {@link #CSV_COLUMNS} to its position among the header names.
+   */
+  static int[] csvPositions(String[] names) {
+    List<String> normalized = Arrays.stream(names).map(name -> name.strip().toUpperCase(Locale.ROOT)).toList();
+    int[] positions = new int[CSV_COLUMNS.size()];
+    for (int column = 0; column < positions.length; column++) {
+      positions[column] = normalized.indexOf(CSV_COLUMNS.get(column));
+      if (positions[column] < 0) {
+        throw new IllegalArgumentException("CSV header lacks column " + CSV_COLUMNS.get(column));
+      }
+    }
+    return positions;
+  }
+
+  /**
+   * Records where each field of the line starts, plus one past the end of the line, and returns the number of fields. Lines with more
+   * fields than {@code starts} has room for are not split further and report one field more than that.
+   */
+  static int split(String text, int[] starts) {
+    int fields = 1;
+    starts[0] = 0;
+    for (int comma = text.indexOf(','); comma >= 0; comma = text.indexOf(',', comma + 1)) {
+      if (fields == starts.length - 1) {
+        return starts.length;
+      }
+      starts[fields++] = comma + 1;
+    }
+    starts[fields] = text.length() + 1;
+    return fields;
+  }
+
+  private static String field(String text, int[] starts, int position) {
+    return text.substring(starts[position], starts[position + 1] - 1).strip();
+  }
+
+  private static int parseInt(String text, int[] starts, int position, String column) {
+    int begin = starts[position];
+    int end = starts[position + 1] - 1;
+    while (begin < end && Character.isWhitespace(text.charAt(begin))) {
+      begin++;
+    }
+    while (end > begin && Character.isWhitespace(text.charAt(end - 1))) {
+      end--;
+    }
+    try {
+      return Integer.parseInt(text, begin, end, 10);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(column + " is not an integer: " + text.substring(begin, end), e);
+    }
+  }
+
+  private static Instant parseInstant(String text, String column) {
+    if (text == null || text.isEmpty()) {
+      return null;
+    }
+    try {
+      return DateTimeFormatter.ISO_OFFSET_DATE_TIME.parse(text, Instant::from);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException(column + " is not an ISO-8601 date and time with offset: " + text, e);
+    }
+  }
+
+  private static BigDecimal parseDecimal(String text, String column) {
+    if (text == null || text.isEmpty()) {
+      return null;
+    }
+    try {
+      return new BigDecimal(text);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(column + " is not a number: " + text, e);
+    }
+  }
+
+  private static Integer jsonInt(JsonParser parser, JsonToken value, String name) throws IOException {
+    if (value == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    if (value != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() != JsonParser.NumberType.INT) {
+      throw new IllegalArgumentException(name + " is not an integer");
+    }
+    return parser.getIntValue();
+  }
+
+  private static String jsonText(JsonParser parser, JsonToken value) throws IOException {
+    return value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+  }
+
+  private static int required(Integer value, String name) {
+    if (value == null) {
+      throw new IllegalArgumentException(name + " is required");
+    }
+    return value;
+  }
+
+  private static Counter lines(MeterRegistry registry, String result) {
+    return Counter.builder("pricing.import.lines")
+        .description("Lines of imported price files")
+        .tag("result", result)
+        .register(registry);
+  }
+
+  /**
+   * Counts the lines handed over before passing them on.
+   */
+  private record CountingHandler(Handler delegate, Counter accepted, Counter rejected) implements Handler {
+
+    @Override
+    public void accept(long line, Price price) {
+      this.accepted.increment();
+      this.delegate.accept(line, price);
+    }
+
+    @Override
+    public void reject(long line, String reason) {
+      this.rejected.increment();
+      this.delegate.reject(line, reason);
+    }
+  }
+}
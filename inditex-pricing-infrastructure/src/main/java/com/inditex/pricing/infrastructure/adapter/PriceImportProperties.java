@@ -0,0 +1,17 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the bulk price import, bound from {@code pricing.import}.
+ *
+ * @param batchSize number of rows sent to the database per JDBC batch; larger batches save round trips but hold more statement
+ *     parameters in memory
+ */
+@ConfigurationProperties(prefix = "pricing.import")
+public record PriceImportProperties(
+    @DefaultValue("1000") int batchSize) {
+
+}
@@ -0,0 +1,31 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the read-through cache in front of the JPA adapter, bound from {@code pricing.query.cache}.
+ *
+ * @param enabled whether lookups go through the cache
+ * @param maximumSize maximum number of brand and product timelines kept, evicted with Caffeine's W-TinyLFU policy
+ * @param expireAfterWrite time after which a timeline is reloaded from the database, which bounds how stale a cached price can be
+ * @param negativeMaximumSize maximum number of brand and product pairs remembered as having no price
+ * @param negativeExpireAfterWrite time a pair is remembered as having no price, kept short so new products show up quickly
+ * @param filterFalsePositiveProbability false positive probability the Bloom filter of known pairs is sized for
+ * @param filterRefreshInterval age after which the next lookup rebuilds the Bloom filter from the database, which bounds how long a pair
+ *     whose first prices were written by another instance, or straight into the database, is rejected
+ */
+@ConfigurationProperties(prefix = "pricing.query.cache")
+public record PriceQueryCacheProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("10000") long maximumSize,
+    @DefaultValue("5m") Duration expireAfterWrite,
+    @DefaultValue("100000") long negativeMaximumSize,
+    @DefaultValue("30s") Duration negativeExpireAfterWrite,
+    @DefaultValue("0.01") double filterFalsePositiveProbability,
+    @DefaultValue("1m") Duration filterRefreshInterval) {
+
+}
@@ -0,0 +1,405 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import com.inditex.pricing.domain.event.PriceChangedEvent;
+import com.inditex.pricing.domain.event.PricesImportedEvent;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.domain.model.PriceTimeline;
+import com.inditex.pricing.domain.port.out.PriceQueryPort;
+import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapper;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jdbc.PriceKey;
+import com.inditex.pricing.infrastructure.memory.PriceKeyBloomFilter;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import im.aop.loggers.Level;
+import im.aop.loggers.advice.before.LogBefore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Read-through cache decorating the {@link PriceQueryJpaAdapter}. Every price of a brand and product is loaded at once and kept as a
+ * {@link PriceTimeline}, so any later instant of the same product is answered in memory by the domain precedence rule. Enabled with
+ * {@code pricing.query.cache.enabled=true} while {@code pricing.query.adapter} is {@code jpa}; being {@link Primary}, it is the
+ * {@link PriceQueryPort} the use cases get.
+ *
+ * <p>The cache is bounded by {@code pricing.query.cache.maximum-size} and entries expire {@code pricing.query.cache.expire-after-write}
+ * after being loaded. Hits, misses, loads and evictions are published as the {@code cache.*} meters tagged {@code cache=prices} when a
+ * {@link MeterRegistry} is available.
+ *
+ * <p>Unknown products never reach the database nor take room in the cache: a {@link PriceKeyBloomFilter} of every brand and product
+ * with prices rejects most of them, and the few that get through and turn out to have no price are remembered for
+ * {@code pricing.query.cache.negative-expire-after-write} in a separate cache ({@code cache=price-misses}). The filter only learns
+ * about the brands and products invalidated on this instance, so it is also rebuilt in the background by the first lookup made once it
+ * is older than {@code pricing.query.cache.filter-refresh-interval}: a brand and product whose first prices were committed by another
+ * instance, or straight into the database, is rejected for that long at most.
+ *
+ * <p>Written prices are picked up as soon as they are committed: every {@link PriceChangedEvent} evicts the timeline of its brand and
+ * product only, so the rest of the cache keeps serving hits while prices are being changed. A {@link PricesImportedEvent} may touch any
+ * of them, so it discards the whole cache instead.
+ *
+ * <p>Timelines are loaded on virtual threads of their own and callers wait on the load future. A synchronous Caffeine load runs inside
+ * {@code ConcurrentHashMap.compute}, whose monitor would pin the carrier of a virtual request thread for the whole database round trip.
+ */
+@Slf4j
+@Validated
+@Primary
+@Service
+@EnableConfigurationProperties(PriceQueryCacheProperties.class)
+@ConditionalOnExpression("'${pricing.query.adapter:jpa}' == 'jpa' and ${pricing.query.cache.enabled:false}")
+public class PriceQueryCachingAdapter implements PriceQueryPort {
+
+  static final String CACHE_NAME = "prices";
+
+  static final String NEGATIVE_CACHE_NAME = "price-misses";
+
+  private final PriceQueryPort delegate;
+
+  private final PriceJdbcRepository priceJdbcRepository;
+
+  private final PriceEntityMapper priceEntityMapper;
+
+  private final PriceQueryCacheProperties properties;
+
+  private final Executor loader = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("price-cache-loader-", 0).factory());
+
+  private final AsyncLoadingCache<PriceKey, PriceTimeline> cache;
+
+  private final Cache<PriceKey, Boolean> misses;
+
+  private final Counter falsePositives;
+
+  /**
+   * Serializes the rebuilds of the filter. Never held by {@link #invalidate}, so a commit does not wait for a scan of the whole table.
+   */
+  private final ReentrantLock reloadLock = new ReentrantLock();
+
+  /**
+   * Number of invalidations so far, read by the loads to tell whether a brand and product may have been written while they ran.
+   */
+  private final AtomicLong invalidations = new AtomicLong();
+
+  /**
+   * Whether a background rebuild of the filter has been started and not finished yet, so that stale lookups start only one.
+   */
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+
+  private volatile PriceKeyBloomFilter filter = PriceKeyBloomFilter.all();
+
+  /**
+   * {@link System#nanoTime()} at which the scan of the current filter started.
+   */
+  private volatile long filterScannedNanos = System.nanoTime();
+
+  /**
+   * Keys invalidated while the filter is being rebuilt, which the scan may have missed; null when no rebuild runs.
+   */
+  private volatile Set<PriceKey> invalidatedDuringReload;
+
+  /**
+   * Creates the caches and binds their statistics and the filter gauges to the meter registry, if any.
+   *
+   * @param delegate the JPA adapter, which still serves the exports
+   * @param priceJdbcRepository the repository the timelines are loaded from
+   * @param priceEntityMapper the mapper of the loaded rows
+   * @param properties the cache settings
+   * @param meterRegistry the registry the cache statistics are published to
+   */
+  public PriceQueryCachingAdapter(PriceQueryJpaAdapter delegate, PriceJdbcRepository priceJdbcRepository,
+      PriceEntityMapper priceEntityMapper, PriceQueryCacheProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+    this.delegate = delegate;
+    this.priceJdbcRepository = priceJdbcRepository;
+    this.priceEntityMapper = priceEntityMapper;
+    this.properties = properties;
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(properties.maximumSize())
+        .expireAfterWrite(properties.expireAfterWrite())
+        .recordStats()
+        .executor(this.loader)
+        .buildAsync(CacheLoader.<PriceKey, PriceTimeline>bulk(this::load));
+    this.misses = Caffeine.newBuilder()
+        .maximumSize(properties.negativeMaximumSize())
+        .expireAfterWrite(properties.negativeExpireAfterWrite())
+        .recordStats()
+        .build();
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    if (registry == null) {
+      this.falsePositives = null;
+      return;
+    }
+    CaffeineCacheMetrics.monitor(registry, this.cache, CACHE_NAME);
+    CaffeineCacheMetrics.monitor(registry, this.misses, NEGATIVE_CACHE_NAME);
+    Gauge.builder("pricing.query.filter.false.positive.probability", this, adapter -> adapter.filter.falsePositiveProbability())
+        .description("Estimated probability that the Bloom filter lets through a brand and product without prices")
+        .register(registry);
+    Gauge.builder("pricing.query.filter.size", this, adapter -> adapter.filter.footprintBytes())
+        .description("Size of the Bloom filter bit array")
+        .baseUnit(BaseUnits.BYTES)
+        .register(registry);
+    this.falsePositives = Counter.builder("pricing.query.filter.false.positives")
+        .description("Brand and product pairs let through by the Bloom filter that had no prices")
+        .register(registry);
+  }
+
+  /**
+   * Rebuilds the Bloom filter of known brands and products from the database and swaps it atomically. Until the first build completes
+   * the filter lets every key through.
+   *
+   * <p>A brand and product committed after the scan went past it is invalidated into the filter being replaced; such keys are recorded
+   * while the rebuild runs and added to the new filter once it is in place, so the filter never rejects a brand and product with prices.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void reload() {
+    this.reloadLock.lock();
+    try {
+      this.rebuildFilter();
+    } finally {
+      this.reloadLock.unlock();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Only the first lookup of a brand and product reaches the database, and none if it is known to have no price.
+   */
+  @Override
+  public Optional<Price> findApplicable(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Instant at) {
+    PriceKey key = new PriceKey(brandId, productId);
+    if (this.isKnownMissing(key)) {
+      return Optional.empty();
+    }
+    PriceTimeline timeline = join(this.cache.get(key));
+    return timeline == null ? Optional.empty() : timeline.priceAt(at);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The brands and products missing from the cache are loaded together with a single set-based statement.
+   */
+  @Override
+  public List<Optional<Price>> findAllApplicable(@NotNull final List<PriceQuery> queries) {
+    Map<PriceKey, PriceTimeline> timelines = join(this.cache.getAll(queries.stream()
+        .map(PriceQueryCachingAdapter::key)
+        .filter(key -> !this.isKnownMissing(key))
+        .toList()));
+    return queries.stream()
+        .map(query -> {
+          PriceTimeline timeline = timelines.get(key(query));
+          return timeline == null ? Optional.<Price>empty() : timeline.priceAt(query.at());
+        })
+        .toList();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Answered from the cached timeline of the brand and product, loading it on a miss: its winners within the range are the candidates.
+   */
+  @Override
+  public List<Price> findCandidates(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Period range) {
+    PriceKey key = new PriceKey(brandId, productId);
+    if (this.isKnownMissing(key)) {
+      return List.of();
+    }
+    PriceTimeline timeline = join(this.cache.get(key));
+    return timeline == null ? List.of() : timeline.segments(range).stream().map(PriceTimeline.Segment::price).distinct().toList();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Exports read the whole table and are delegated to the JPA adapter, bypassing the cache.
+   */
+  @Override
+  @LogBefore(level = Level.DEBUG)
+  public void forEachApplicable(@NotNull final Instant at, @NotNull final Consumer<Price> consumer) {
+    this.delegate.forEachApplicable(at, consumer);
+  }
+
+  /**
+   * Discards everything cached about a brand and product, so that its next lookup reloads it, and adds it to the Bloom filter in case
+   * it is new. To be called whenever its prices change.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   */
+  public void invalidate(@NotNull final Integer brandId, @NotNull final Integer productId) {
+    PriceKey key = new PriceKey(brandId, productId);
+    Set<PriceKey> invalidated = this.invalidatedDuringReload;
+    if (invalidated != null) {
+      invalidated.add(key);
+    }
+    this.filter.put(brandId, productId);
+    this.invalidations.incrementAndGet();
+    this.misses.invalidate(key);
+    this.cache.synchronous().invalidate(key);
+  }
+
+  /**
+   * Evicts the brand and product of a committed price change. Outside a transaction the event is handled right away.
+   *
+   * @param event the price change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPriceChanged(PriceChangedEvent event) {
+    this.invalidate(event.brandId(), event.productId());
+  }
+
+  /**
+   * Discards the whole cache after a bulk import. Outside a transaction the event is handled right away.
+   *
+   * @param event the import
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPricesImported(PricesImportedEvent event) {
+    this.invalidateAll();
+  }
+
+  /**
+   * Discards every cached timeline and miss, and rebuilds the Bloom filter so that deleted products are rejected again.
+   */
+  public void invalidateAll() {
+    this.reload();
+    this.misses.invalidateAll();
+    this.cache.synchronous().invalidateAll();
+  }
+
+  private void rebuildFilter() {
+    long startNanos = System.nanoTime();
+    // Brands and products committed elsewhere after this point are left to the next refresh
+    Set<PriceKey> invalidated = ConcurrentHashMap.newKeySet();
+    this.invalidatedDuringReload = invalidated;
+    PriceKeyBloomFilter rebuilt = PriceKeyBloomFilter.create(this.priceJdbcRepository.countKeys(),
+        this.properties.filterFalsePositiveProbability());
+    try {
+      this.priceJdbcRepository.forEachKey(key -> rebuilt.put(key.brandId(), key.productId()));
+      this.filter = rebuilt;
+      this.filterScannedNanos = startNanos;
+      // An invalidation either was recorded before this point, or reads the new filter after recording itself
+      invalidated.forEach(key -> rebuilt.put(key.brandId(), key.productId()));
+    } finally {
+      this.invalidatedDuringReload = null;
+    }
+    log.info("Price key filter loaded ({} KiB, {} false positive probability) in {} ms", rebuilt.footprintBytes() / 1024,
+        rebuilt.falsePositiveProbability(), (System.nanoTime() - startNanos) / 1_000_000);
+  }
+
+  private boolean isKnownMissing(PriceKey key) {
+    this.refreshFilterIfStale();
+    return !this.filter.mightContain(key.brandId(), key.productId()) || this.misses.getIfPresent(key) != null;
+  }
+
+  /**
+   * Starts a background rebuild of the filter once it is older than the refresh interval. Lookups keep using the current filter
+   * meanwhile, and a failed rebuild is retried by a later lookup.
+   */
+  private void refreshFilterIfStale() {
+    if (System.nanoTime() - this.filterScannedNanos < this.properties.filterRefreshInterval().toNanos()
+        || !this.refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    this.loader.execute(() -> {
+      try {
+        this.reload();
+      } catch (RuntimeException e) {
+        log.warn("Price key filter refresh failed", e);
+      } finally {
+        this.refreshing.set(false);
+      }
+    });
+  }
+
+  /**
+   * Loads the timeline of each key. Keys without prices are left out of the result, so that they are not cached as timelines, and are
+   * remembered as misses instead, unless an invalidation ran since the load started: its prices may have been committed after the
+   * query read the table, and the miss put back after the invalidation cleared it would hide them until it expires.
+   */
+  private Map<PriceKey, PriceTimeline> load(Set<? extends PriceKey> keys) {
+    final long invalidationsBefore = this.invalidations.get();
+    Map<PriceKey, List<Price>> candidates = HashMap.newHashMap(keys.size());
+    this.priceJdbcRepository.forEachOf(keys, row -> candidates
+        .computeIfAbsent(new PriceKey(row.brandId(), row.productId()), key -> new ArrayList<>())
+        .add(this.priceEntityMapper.toModel(row)));
+    for (PriceKey key : keys) {
+      if (!candidates.containsKey(key)) {
+        this.rememberMiss(key, invalidationsBefore);
+        if (this.falsePositives != null) {
+          this.falsePositives.increment();
+        }
+      }
+    }
+    Map<PriceKey, PriceTimeline> timelines = HashMap.newHashMap(candidates.size());
+    candidates.forEach((key, prices) -> timelines.put(key, PriceTimeline.of(prices)));
+    return timelines;
+  }
+
+  /**
+   * Remembers a key as having no price. The count is checked again after the put, since an invalidation may clear the misses between
+   * the first check and the put, in which case the miss is dropped here instead.
+   */
+  private void rememberMiss(PriceKey key, long invalidationsBefore) {
+    if (this.invalidations.get() != invalidationsBefore) {
+      return;
+    }
+    this.misses.put(key, Boolean.TRUE);
+    if (this.invalidations.get() != invalidationsBefore) {
+      this.misses.invalidate(key);
+    }
+  }
+
+  /**
+   * Waits for a load, rethrowing its failure as it was thrown by the loader.
+   */
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private static PriceKey key(PriceQuery query) {
+    return new PriceKey(query.brandId(), query.productId());
+  }
+}
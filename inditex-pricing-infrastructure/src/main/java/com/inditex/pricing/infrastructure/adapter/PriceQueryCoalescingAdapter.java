@@ -0,0 +1,149 @@
+package com.inditex.pricing.infrastructure.adapter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.domain.port.out.PriceQueryPort;
+
+import im.aop.loggers.Level;
+import im.aop.loggers.advice.before.LogBefore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Single-flight coalescing of the lookups of the {@link PriceQueryJpaAdapter}: concurrent identical lookups share one database query,
+ * run by the first of them on its own thread, and all of them get its result. Enabled with {@code pricing.query.coalescing.enabled=true}
+ * while {@code pricing.query.adapter} is {@code jpa} and the cache is disabled, as the cache already shares the load of a timeline;
+ * being {@link Primary}, it is the {@link PriceQueryPort} the use cases get.
+ *
+ * <p>Two lookups are identical when they have the same brand, product and second of application date, and both fall on the second or
+ * both within it: bounds are whole seconds, so such instants always resolve to the same price. In-flight lookups are kept in a
+ * {@link ConcurrentHashMap}: joining one is a lock-free read, and starting one only locks a bin of the map for the insertion, never
+ * while the query runs. A lookup is forgotten as soon as it completes, so nothing is cached and a later lookup sees later writes.
+ *
+ * <p>Lookups that joined another one are counted as {@code pricing.query.coalesced} when a {@link MeterRegistry} is available.
+ */
+@Validated
+@Primary
+@Service
+@ConditionalOnExpression("'${pricing.query.adapter:jpa}' == 'jpa' and !${pricing.query.cache.enabled:false}"
+    + " and ${pricing.query.coalescing.enabled:false}")
+public class PriceQueryCoalescingAdapter implements PriceQueryPort {
+
+  private final PriceQueryPort delegate;
+
+  private final ConcurrentHashMap<Lookup, CompletableFuture<Optional<Price>>> inFlight = new ConcurrentHashMap<>();
+
+  private final Counter coalesced;
+
+  /**
+   * Creates the adapter and registers its counter in the meter registry, if any.
+   *
+   * @param delegate the JPA adapter running the queries
+   * @param meterRegistry the registry the counter is published to
+   */
+  public PriceQueryCoalescingAdapter(PriceQueryJpaAdapter delegate, ObjectProvider<MeterRegistry> meterRegistry) {
+    this.delegate = delegate;
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    this.coalesced = registry == null ? null : Counter.builder("pricing.query.coalesced")
+        .description("Price lookups answered by the database query of an identical concurrent lookup")
+        .register(registry);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<Price> findApplicable(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Instant at) {
+    Lookup lookup = new Lookup(brandId, productId, at.getEpochSecond(), at.getNano() != 0);
+    CompletableFuture<Optional<Price>> running = this.inFlight.get(lookup);
+    if (running == null) {
+      CompletableFuture<Optional<Price>> started = new CompletableFuture<>();
+      running = this.inFlight.putIfAbsent(lookup, started);
+      if (running == null) {
+        return this.run(lookup, started, at);
+      }
+    }
+    if (this.coalesced != null) {
+      this.coalesced.increment();
+    }
+    return join(running);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>A batch is a single query already, so it is not coalesced.
+   */
+  @Override
+  public List<Optional<Price>> findAllApplicable(@NotNull final List<PriceQuery> queries) {
+    return this.delegate.findAllApplicable(queries);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Price> findCandidates(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Period range) {
+    return this.delegate.findCandidates(brandId, productId, range);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @LogBefore(level = Level.DEBUG)
+  public void forEachApplicable(@NotNull final Instant at, @NotNull final Consumer<Price> consumer) {
+    this.delegate.forEachApplicable(at, consumer);
+  }
+
+  private Optional<Price> run(Lookup lookup, CompletableFuture<Optional<Price>> started, Instant at) {
+    try {
+      Optional<Price> price = this.delegate.findApplicable(lookup.brandId(), lookup.productId(), at);
+      started.complete(price);
+      return price;
+    } catch (RuntimeException | Error e) {
+      started.completeExceptionally(e);
+      throw e;
+    } finally {
+      this.inFlight.remove(lookup, started);
+    }
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Identity of a lookup.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param epochSecond the second of the application date
+   * @param fractional whether the application date falls within the second rather than on it
+   */
+  private record Lookup(int brandId, int productId, long epochSecond, boolean fractional) {
+
+  }
+}
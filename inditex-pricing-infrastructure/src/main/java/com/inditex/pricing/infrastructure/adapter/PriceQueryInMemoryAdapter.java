@@ -0,0 +1,141 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.inditex.pricing.domain.event.PriceChangedEvent;
+import com.inditex.pricing.domain.event.PricesImportedEvent;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.port.out.PriceQueryPort;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jdbc.PriceKey;
+import com.inditex.pricing.infrastructure.memory.PriceIntervalIndex;
+import com.inditex.pricing.infrastructure.memory.PricePatches;
+import com.inditex.pricing.infrastructure.shard.PriceShard;
+
+import im.aop.loggers.Level;
+import im.aop.loggers.advice.before.LogBefore;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * In-memory adapter implementation for querying prices. The PRICES table is loaded once into a {@link PriceIntervalIndex}, so lookups
+ * don't touch JDBC, the Hibernate session or the entity mapper. Enabled with {@code pricing.query.adapter=in-memory}.
+ *
+ * <p>The index is immutable, so committed price changes are patched on top of it: every {@link PriceChangedEvent} reloads the rows of
+ * its brand and product into {@link PricePatches}, which take precedence over the main index until the next {@link #reload()}.
+ * A {@link PricesImportedEvent} may touch any of them, so it rebuilds the whole index instead.
+ *
+ * <p>When the deployment is sharded, only the brands and products of this node's {@link PriceShard} are loaded and patched, and the
+ * {@link PriceQueryShardingAdapter} in front of this adapter forwards the others to their owner.
+ */
+@Slf4j
+@Validated
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "pricing.query", name = "adapter", havingValue = "in-memory")
+public class PriceQueryInMemoryAdapter implements PriceQueryPort {
+
+  private final PriceJdbcRepository priceJdbcRepository;
+
+  private final ObjectProvider<PriceShard> shard;
+
+  private final PricePatches patches = new PricePatches();
+
+  private volatile PriceIntervalIndex index = PriceIntervalIndex.empty();
+
+  /**
+   * Rebuilds the index from the database and swaps it atomically. Lookups keep being served by the previous index while it is rebuilt.
+   * Rows are streamed straight into primitive columns, so no entity is ever materialized. Patches read before the rebuild started are
+   * folded into it and dropped.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void reload() {
+    final long startNanos = System.nanoTime();
+    long version = this.patches.version();
+    PriceIntervalIndex.Builder builder = PriceIntervalIndex.builder();
+    PriceShard owned = this.shard.getIfAvailable();
+    if (owned == null) {
+      this.priceJdbcRepository.forEach(builder::add);
+    } else {
+      this.priceJdbcRepository.forEach(row -> {
+        if (owned.owns(row.brandId(), row.productId())) {
+          builder.add(row);
+        }
+      });
+    }
+    this.index = builder.build();
+    this.patches.dropUpTo(version);
+    log.info("Price index loaded with {} prices in {} timelines ({} KiB) in {} ms", this.index.rowCount(), this.index.size(),
+        this.index.footprintBytes() / 1024, (System.nanoTime() - startNanos) / 1_000_000);
+  }
+
+  /**
+   * Reloads the brand and product of a committed price change into a patch, unless another node owns it. Outside a transaction the event
+   * is handled right away.
+   *
+   * @param event the price change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPriceChanged(PriceChangedEvent event) {
+    PriceShard owned = this.shard.getIfAvailable();
+    if (owned != null && !owned.owns(event.brandId(), event.productId())) {
+      return;
+    }
+    PriceKey key = new PriceKey(event.brandId(), event.productId());
+    long version = this.patches.nextVersion();
+    PriceIntervalIndex.Builder builder = PriceIntervalIndex.builder();
+    this.priceJdbcRepository.forEachOf(Set.of(key), builder::add);
+    this.patches.put(key, builder.build(), version);
+  }
+
+  /**
+   * Rebuilds the whole index after a bulk import. Outside a transaction the event is handled right away.
+   *
+   * @param event the import
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPricesImported(PricesImportedEvent event) {
+    this.reload();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<Price> findApplicable(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Instant at) {
+    PriceIntervalIndex patch = this.patches.get(brandId, productId);
+    return (patch == null ? this.index : patch).find(brandId, productId, at);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Price> findCandidates(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Period range) {
+    PriceIntervalIndex patch = this.patches.get(brandId, productId);
+    return (patch == null ? this.index : patch).findCandidates(brandId, productId, range);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @LogBefore(level = Level.DEBUG)
+  public void forEachApplicable(@NotNull final Instant at, @NotNull final Consumer<Price> consumer) {
+    this.patches.forEach(at, consumer, this.index::forEach);
+  }
+}
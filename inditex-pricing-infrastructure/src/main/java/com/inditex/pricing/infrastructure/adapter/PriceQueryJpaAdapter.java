@@ -2,42 +2,155 @@
 package com.inditex.pricing.infrastructure.adapter;
 
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
+import com.inditex.pricing.domain.model.Period;
 import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
 import com.inditex.pricing.domain.port.out.PriceQueryPort;
 import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapper;
-import com.inditex.pricing.infrastructure.jpa.PriceJpaRepository;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jdbc.PriceLookupBatcher;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
 
 import im.aop.loggers.Level;
 import im.aop.loggers.advice.before.LogBefore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.validation.constraints.NotNull;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 /**
- * JPA adapter implementation for querying prices from the database.
+ * JPA adapter implementation for querying prices from the database. This is the default adapter, used unless another one is selected
+ * through {@code pricing.query.adapter}.
+ *
+ * <p>Reads go through {@link PriceJdbcRepository} rather than JPA: single lookups run outside any transaction and read the best row
+ * straight into a {@link PriceRow}, so Hibernate opens no session and manages no entity per request. With
+ * {@code pricing.query.batching.enabled=true} they are merged with the concurrent ones by the {@link PriceLookupBatcher} instead.
+ *
+ * <p>Single lookups are timed as {@code pricing.query.jpa.lookups}, split by {@code phase}: the {@code database} query, tagged with its
+ * outcome and including the wait for a batch, and the {@code mapping} of the row found.
  */
 @Validated
 @Service
-@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "pricing.query", name = "adapter", havingValue = "jpa", matchIfMissing = true)
 public class PriceQueryJpaAdapter implements PriceQueryPort {
 
-  private final PriceJpaRepository priceJpaRepository;
+  private final PriceJdbcRepository priceJdbcRepository;
 
   private final PriceEntityMapper priceEntityMapper;
 
+  private final PriceLookupBatcher batcher;
+
+  private final Timer databaseFound;
+
+  private final Timer databaseNotFound;
+
+  private final Timer mapping;
+
+  /**
+   * Creates the adapter and registers its lookup timers in the meter registry, if any.
+   *
+   * @param priceJdbcRepository the repository of single and batch lookups and of the export
+   * @param priceEntityMapper the mapper between entities and prices
+   * @param batcher the micro-batching of single lookups, if enabled
+   * @param meterRegistry the registry the lookup timers are published to
+   */
+  public PriceQueryJpaAdapter(PriceJdbcRepository priceJdbcRepository, PriceEntityMapper priceEntityMapper,
+      ObjectProvider<PriceLookupBatcher> batcher, ObjectProvider<MeterRegistry> meterRegistry) {
+    this.priceJdbcRepository = priceJdbcRepository;
+    this.priceEntityMapper = priceEntityMapper;
+    this.batcher = batcher.getIfAvailable();
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    this.databaseFound = lookups(registry, "database", "found");
+    this.databaseNotFound = lookups(registry, "database", "not_found");
+    this.mapping = lookups(registry, "mapping", "found");
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
-  @LogBefore(level = Level.DEBUG)
   public Optional<Price> findApplicable(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Instant at) {
-    LocalDateTime atDb = LocalDateTime.ofInstant(at, ZoneId.of("Europe/Madrid"));
-    return this.priceJpaRepository.findBest(brandId, productId, atDb)
-        .map(this.priceEntityMapper::toModel);
+    final long startNanos = System.nanoTime();
+    Optional<PriceRow> row = this.batcher == null ? this.priceJdbcRepository.findBest(brandId, productId, at)
+        : join(this.batcher.findBest(new PriceQuery(brandId, productId, at)));
+    final long queriedNanos = System.nanoTime();
+    Optional<Price> price = row.map(this.priceEntityMapper::toModel);
+    if (this.mapping != null) {
+      (row.isPresent() ? this.databaseFound : this.databaseNotFound).record(queriedNanos - startNanos, TimeUnit.NANOSECONDS);
+      if (row.isPresent()) {
+        this.mapping.record(System.nanoTime() - queriedNanos, TimeUnit.NANOSECONDS);
+      }
+    }
+    return price;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>All the queries are resolved with a single set-based statement instead of one {@code findBest} call each.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public List<Optional<Price>> findAllApplicable(@NotNull final List<PriceQuery> queries) {
+    Map<Integer, PriceRow> rows = this.priceJdbcRepository.findBest(queries);
+    return IntStream.range(0, queries.size())
+        .mapToObj(i -> Optional.ofNullable(rows.get(i)).map(this.priceEntityMapper::toModel))
+        .toList();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The prices overlapping the range are read with a single statement, outside any transaction like single lookups.
+   */
+  @Override
+  public List<Price> findCandidates(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Period range) {
+    return this.priceJdbcRepository.findOverlapping(brandId, productId, range).stream()
+        .map(this.priceEntityMapper::toModel)
+        .toList();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Rows are read through a forward-only cursor and mapped one at a time, so the whole export never sits in memory.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  @LogBefore(level = Level.DEBUG)
+  public void forEachApplicable(@NotNull final Instant at, @NotNull final Consumer<Price> consumer) {
+    this.priceJdbcRepository.forEachBest(at, row -> consumer.accept(this.priceEntityMapper.toModel(row)));
+  }
+
+  private static Optional<PriceRow> join(CompletableFuture<Optional<PriceRow>> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private static Timer lookups(MeterRegistry registry, String phase, String outcome) {
+    return registry == null ? null : Timer.builder("pricing.query.jpa.lookups")
+        .description("Applicable price lookups of the JPA adapter, by phase")
+        .tag("phase", phase)
+        .tag("outcome", outcome)
+        .register(registry);
   }
 }
@@ -0,0 +1,99 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.port.out.ReactivePriceQueryPort;
+import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapper;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
+
+import io.r2dbc.spi.Readable;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC adapter implementation for querying prices from the database without blocking, only active with the {@code reactive} profile.
+ */
+@Validated
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class PriceQueryR2dbcAdapter implements ReactivePriceQueryPort {
+
+  /**
+   * Same statement as {@link PriceJdbcRepository#SELECT_ONE_BEST}, with named parameters.
+   */
+  static final String SELECT_BEST = """
+      SELECT ID, BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_EPOCH, END_EPOCH FROM PRICES
+      WHERE BRAND_ID = :brandId AND PRODUCT_ID = :productId
+      AND START_EPOCH <= :atFloor AND :atCeil <= END_EPOCH
+      ORDER BY BRAND_ID, PRODUCT_ID, PRIORITY DESC, START_EPOCH DESC, ID DESC
+      LIMIT 1""";
+
+  /**
+   * Same statement as {@link PriceJdbcRepository#SELECT_OVERLAPPING}, with named parameters.
+   */
+  static final String SELECT_OVERLAPPING = """
+      SELECT ID, BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_EPOCH, END_EPOCH FROM PRICES
+      WHERE BRAND_ID = :brandId AND PRODUCT_ID = :productId
+      AND START_EPOCH <= :endFloor AND :startCeil <= END_EPOCH
+      ORDER BY BRAND_ID, PRODUCT_ID, PRIORITY DESC, START_EPOCH DESC""";
+
+  private final DatabaseClient databaseClient;
+
+  private final PriceEntityMapper priceEntityMapper;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Mono<Price> findApplicable(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Instant at) {
+    return this.databaseClient.sql(SELECT_BEST)
+        .bind("brandId", brandId)
+        .bind("productId", productId)
+        .bind("atFloor", PriceEntityMapper.floorSecond(at))
+        .bind("atCeil", PriceEntityMapper.ceilSecond(at))
+        .map(PriceQueryR2dbcAdapter::toRow)
+        .first()
+        .map(this.priceEntityMapper::toModel);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Flux<Price> findCandidates(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Period range) {
+    return this.databaseClient.sql(SELECT_OVERLAPPING)
+        .bind("brandId", brandId)
+        .bind("productId", productId)
+        .bind("endFloor", PriceEntityMapper.floorSecond(range.end()))
+        .bind("startCeil", PriceEntityMapper.ceilSecond(range.start()))
+        .map(PriceQueryR2dbcAdapter::toRow)
+        .all()
+        .map(this.priceEntityMapper::toModel);
+  }
+
+  /**
+   * Reads a row by position. Integer columns are read as whatever {@link Number} the driver decodes them to, since drivers only convert
+   * to the exact Java type of the column.
+   */
+  private static PriceRow toRow(Readable row) {
+    return new PriceRow(number(row, 0).longValue(), number(row, 1).intValue(), number(row, 2).intValue(), number(row, 3).intValue(),
+        number(row, 4).intValue(), row.get(5, BigDecimal.class), row.get(6, String.class), number(row, 7).longValue(),
+        number(row, 8).longValue());
+  }
+
+  private static Number number(Readable row, int index) {
+    return (Number) row.get(index);
+  }
+}
@@ -0,0 +1,155 @@
+package com.inditex.pricing.infrastructure.adapter;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.domain.port.out.PriceQueryPort;
+import com.inditex.pricing.infrastructure.shard.MisdirectedLookupException;
+import com.inditex.pricing.infrastructure.shard.PricePeerClient;
+import com.inditex.pricing.infrastructure.shard.PriceShard;
+
+import im.aop.loggers.Level;
+import im.aop.loggers.advice.before.LogBefore;
+import jakarta.validation.constraints.NotNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Routes the lookups of a sharded deployment, decorating the {@link PriceQueryInMemoryAdapter} that only holds the brands and products
+ * of this node's {@link PriceShard}. Enabled with {@code pricing.shard.enabled=true} while {@code pricing.query.adapter} is
+ * {@code in-memory}; being {@link Primary}, it is the {@link PriceQueryPort} the use cases get.
+ *
+ * <p>Brands and products of this shard are answered by the index; the others are forwarded to their owner through the
+ * {@link PricePeerClient}, a batch sending one request per owner, all of them in flight at once. The export only walks this shard, so
+ * a full export reads every node.
+ *
+ * <p>Lookups of a request forwarded by a peer are only answered by the index: a brand and product of another shard then throws a
+ * {@link MisdirectedLookupException}, as the two nodes disagree on its owner and forwarding it again could bounce it back.
+ */
+@Validated
+@Primary
+@Service
+@RequiredArgsConstructor
+@ConditionalOnExpression("'${pricing.query.adapter:jpa}' == 'in-memory' and ${pricing.shard.enabled:false}")
+public class PriceQueryShardingAdapter implements PriceQueryPort {
+
+  private final PriceQueryInMemoryAdapter local;
+
+  private final PriceShard shard;
+
+  private final PricePeerClient peers;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<Price> findApplicable(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Instant at) {
+    if (this.shard.owns(brandId, productId)) {
+      return this.local.findApplicable(brandId, productId, at);
+    }
+    return join(this.peers.findAllApplicable(this.peer(brandId, productId), List.of(new PriceQuery(brandId, productId, at)))).get(0);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The queries are split by owner, and the lookups of this shard are resolved while the peers answer theirs.
+   */
+  @Override
+  public List<Optional<Price>> findAllApplicable(@NotNull final List<PriceQuery> queries) {
+    Map<String, List<Integer>> positionsByOwner = new LinkedHashMap<>();
+    for (int i = 0; i < queries.size(); i++) {
+      PriceQuery query = queries.get(i);
+      positionsByOwner.computeIfAbsent(this.shard.owner(query.brandId(), query.productId()), owner -> new ArrayList<>()).add(i);
+    }
+    Map<List<Integer>, CompletableFuture<List<Optional<Price>>>> forwarded = new LinkedHashMap<>();
+    positionsByOwner.forEach((owner, positions) -> {
+      if (!owner.equals(this.shard.self())) {
+        PriceQuery first = queries.get(positions.get(0));
+        forwarded.put(positions, this.peers.findAllApplicable(this.peer(first.brandId(), first.productId()), select(queries, positions)));
+      }
+    });
+    @SuppressWarnings("unchecked")
+    Optional<Price>[] prices = new Optional[queries.size()];
+    List<Integer> own = positionsByOwner.get(this.shard.self());
+    if (own != null) {
+      scatter(prices, own, this.local.findAllApplicable(select(queries, own)));
+    }
+    forwarded.forEach((positions, future) -> scatter(prices, positions, join(future)));
+    return Arrays.asList(prices);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The owner of another shard answers with the segments of its timeline over the range, which resolve to the same timeline.
+   */
+  @Override
+  public List<Price> findCandidates(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Period range) {
+    if (this.shard.owns(brandId, productId)) {
+      return this.local.findCandidates(brandId, productId, range);
+    }
+    return join(this.peers.findCandidates(this.peer(brandId, productId), brandId, productId, range));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Only the prices of this shard are exported.
+   */
+  @Override
+  @LogBefore(level = Level.DEBUG)
+  public void forEachApplicable(@NotNull final Instant at, @NotNull final Consumer<Price> consumer) {
+    this.local.forEachApplicable(at, consumer);
+  }
+
+  /**
+   * Returns the base URL of the peer owning a brand and product, unless the lookup was itself forwarded.
+   */
+  private URI peer(int brandId, int productId) {
+    String owner = this.shard.owner(brandId, productId);
+    if (this.shard.isForwarded()) {
+      throw new MisdirectedLookupException(brandId, productId, owner);
+    }
+    return this.shard.uri(owner);
+  }
+
+  private static List<PriceQuery> select(List<PriceQuery> queries, List<Integer> positions) {
+    return positions.stream().map(queries::get).toList();
+  }
+
+  private static void scatter(Optional<Price>[] prices, List<Integer> positions, List<Optional<Price>> answers) {
+    if (answers.size() != positions.size()) {
+      throw new IllegalStateException("Expected " + positions.size() + " prices, got " + answers.size());
+    }
+    for (int i = 0; i < positions.size(); i++) {
+      prices[positions.get(i)] = answers.get(i);
+    }
+  }
+
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,231 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import com.inditex.pricing.domain.event.PriceChangedEvent;
+import com.inditex.pricing.domain.event.PricesImportedEvent;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.port.out.PriceQueryPort;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jdbc.PriceKey;
+import com.inditex.pricing.infrastructure.jdbc.PriceWatermark;
+import com.inditex.pricing.infrastructure.memory.PriceIntervalIndex;
+import com.inditex.pricing.infrastructure.memory.PricePatches;
+import com.inditex.pricing.infrastructure.memory.PriceSnapshot;
+
+import im.aop.loggers.Level;
+import im.aop.loggers.advice.before.LogBefore;
+import jakarta.validation.constraints.NotNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Adapter implementation for querying prices from a memory-mapped {@link PriceSnapshot}. Opening the snapshot only maps the file, so the
+ * adapter is ready as soon as it is created whatever the size of the catalogue, and the prices live in the page cache instead of the
+ * heap. Enabled with {@code pricing.query.adapter=snapshot}.
+ *
+ * <p>The snapshot file is written from the PRICES table when it is missing at startup, unless
+ * {@code pricing.query.snapshot.create-if-missing} is off, and rewritten after every {@link PricesImportedEvent}. An existing file is
+ * also rewritten at startup when the {@link PriceWatermark} it was written with no longer matches the table, so prices inserted or
+ * deleted since then are not served from the older file.
+ *
+ * <p>A {@link PriceChangedEvent} reloads its brand and product into {@link PricePatches} right away, which take precedence over the
+ * snapshot, and the file is rewritten with it {@code pricing.query.snapshot.rewrite-delay} later on a virtual thread, together with
+ * the changes made meanwhile. A pod restarted within that delay serves the older file for those changes.
+ */
+@Slf4j
+@Validated
+@Service
+@ConditionalOnProperty(prefix = "pricing.query", name = "adapter", havingValue = "snapshot")
+@EnableConfigurationProperties(PriceSnapshotProperties.class)
+public class PriceQuerySnapshotAdapter implements PriceQueryPort {
+
+  private final PriceJdbcRepository priceJdbcRepository;
+
+  private final Path file;
+
+  private final PriceSnapshotProperties properties;
+
+  private final PricePatches patches = new PricePatches();
+
+  private final ScheduledExecutorService rewriter = Executors.newSingleThreadScheduledExecutor(
+      Thread.ofVirtual().name("price-snapshot-rewriter").factory());
+
+  /**
+   * Whether a rewrite has been scheduled and has not started yet, so that the changes made meanwhile share it.
+   */
+  private final AtomicBoolean rewriteScheduled = new AtomicBoolean();
+
+  /**
+   * Serializes the rewrites of the file.
+   */
+  private final ReentrantLock refreshLock = new ReentrantLock();
+
+  private volatile PriceSnapshot snapshot;
+
+  /**
+   * Creates the adapter and maps the snapshot file, writing it first if it is missing and allowed to, or if it no longer matches the
+   * table.
+   *
+   * @param priceJdbcRepository the repository the snapshot is written from
+   * @param properties the snapshot settings
+   */
+  public PriceQuerySnapshotAdapter(PriceJdbcRepository priceJdbcRepository, PriceSnapshotProperties properties) {
+    this.priceJdbcRepository = priceJdbcRepository;
+    this.file = properties.file();
+    this.properties = properties;
+    if (Files.exists(this.file)) {
+      this.snapshot = this.openIfCurrent();
+      if (this.snapshot == null) {
+        this.refresh();
+      }
+    } else if (properties.createIfMissing()) {
+      this.refresh();
+    } else {
+      throw new IllegalStateException("Price snapshot " + this.file.toAbsolutePath() + " not found");
+    }
+  }
+
+  /**
+   * Rewrites the snapshot file from the database and maps it. Lookups keep being served by the previous snapshot while it is written.
+   * Patches read before the rewrite started are folded into it and dropped.
+   */
+  public void refresh() {
+    this.refreshLock.lock();
+    try {
+      final long startNanos = System.nanoTime();
+      final long version = this.patches.version();
+      // Read first, so that a price written during the scan makes the watermark older than the file rather than newer
+      PriceWatermark watermark = this.priceJdbcRepository.watermark();
+      PriceIntervalIndex.Builder builder = PriceIntervalIndex.builder();
+      this.priceJdbcRepository.forEach(builder::add);
+      try {
+        PriceSnapshot.write(builder.build(), watermark, this.file);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      log.info("Price snapshot {} written in {} ms", this.file, (System.nanoTime() - startNanos) / 1_000_000);
+      this.snapshot = this.open();
+      this.patches.dropUpTo(version);
+    } finally {
+      this.refreshLock.unlock();
+    }
+  }
+
+  /**
+   * Reloads the brand and product of a committed price change into a patch, and schedules the rewrite of the file that will make it
+   * survive a restart. Outside a transaction the event is handled right away.
+   *
+   * @param event the price change
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPriceChanged(PriceChangedEvent event) {
+    PriceKey key = new PriceKey(event.brandId(), event.productId());
+    long version = this.patches.nextVersion();
+    PriceIntervalIndex.Builder builder = PriceIntervalIndex.builder();
+    this.priceJdbcRepository.forEachOf(Set.of(key), builder::add);
+    this.patches.put(key, builder.build(), version);
+    if (this.rewriteScheduled.compareAndSet(false, true)) {
+      this.rewriter.schedule(this::rewrite, this.properties.rewriteDelay().toMillis(), TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Rewrites the whole snapshot after a bulk import. Outside a transaction the event is handled right away.
+   *
+   * @param event the import
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onPricesImported(PricesImportedEvent event) {
+    this.refresh();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<Price> findApplicable(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Instant at) {
+    PriceIntervalIndex patch = this.patches.get(brandId, productId);
+    return patch == null ? this.snapshot.find(brandId, productId, at) : patch.find(brandId, productId, at);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<Price> findCandidates(@NotNull final Integer brandId, @NotNull final Integer productId, @NotNull final Period range) {
+    PriceIntervalIndex patch = this.patches.get(brandId, productId);
+    return patch == null ? this.snapshot.findCandidates(brandId, productId, range) : patch.findCandidates(brandId, productId, range);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @LogBefore(level = Level.DEBUG)
+  public void forEachApplicable(@NotNull final Instant at, @NotNull final Consumer<Price> consumer) {
+    this.patches.forEach(at, consumer, this.snapshot::forEach);
+  }
+
+  /**
+   * Rewrites the file with the patches made so far. A failed rewrite leaves them in memory until the next one.
+   */
+  private void rewrite() {
+    this.rewriteScheduled.set(false);
+    try {
+      this.refresh();
+    } catch (RuntimeException e) {
+      log.warn("Price snapshot {} could not be rewritten with the latest price changes", this.file, e);
+    }
+  }
+
+  /**
+   * Maps the existing file, unless it cannot be mapped, which includes files of an older format, or does not match the table.
+   */
+  private PriceSnapshot openIfCurrent() {
+    PriceSnapshot existing;
+    try {
+      existing = this.open();
+    } catch (UncheckedIOException e) {
+      log.warn("Price snapshot {} cannot be mapped, rewriting it: {}", this.file, e.getCause().getMessage());
+      return null;
+    }
+    PriceWatermark watermark = this.priceJdbcRepository.watermark();
+    if (!watermark.equals(existing.watermark())) {
+      log.info("Price snapshot {} was written at {} and the table is at {}, rewriting it", this.file, existing.watermark(), watermark);
+      return null;
+    }
+    return existing;
+  }
+
+  private PriceSnapshot open() {
+    final long startNanos = System.nanoTime();
+    try {
+      PriceSnapshot mapped = PriceSnapshot.open(this.file);
+      log.info("Price snapshot {} mapped with {} prices in {} timelines ({} KiB) in {} ms", this.file, mapped.rowCount(), mapped.size(),
+          mapped.fileSize() / 1024, (System.nanoTime() - startNanos) / 1_000_000);
+      return mapped;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
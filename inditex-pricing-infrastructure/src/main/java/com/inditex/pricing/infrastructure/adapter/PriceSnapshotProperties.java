@@ -0,0 +1,24 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the memory-mapped snapshot adapter, bound from {@code pricing.query.snapshot}.
+ *
+ * @param file the snapshot file, usually on a volume shared by the pods or baked into the image
+ * @param createIfMissing whether a missing file is written from the database at startup, instead of failing it
+ * @param rewriteDelay time after a price change at which the file is rewritten with it, so that the changes made meanwhile share one
+ *     rewrite
+ */
+@ConfigurationProperties(prefix = "pricing.query.snapshot")
+public record PriceSnapshotProperties(
+    @DefaultValue("prices.snapshot") Path file,
+    @DefaultValue("true") boolean createIfMissing,
+    @DefaultValue("5s") Duration rewriteDelay) {
+
+}
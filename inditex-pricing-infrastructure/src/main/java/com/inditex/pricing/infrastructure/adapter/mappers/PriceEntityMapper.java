@@ -1,20 +1,18 @@
 
 package com.inditex.pricing.infrastructure.adapter.mappers;
 
+import java.math.BigDecimal;
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.util.Optional;
 
 import com.inditex.pricing.domain.model.Money;
 import com.inditex.pricing.domain.model.Period;
 import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
 import com.inditex.pricing.infrastructure.jpa.PriceEntity;
 
-import org.apache.commons.lang3.ObjectUtils;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
 
 /**
@@ -33,6 +31,30 @@ public interface PriceEntityMapper {
   @Mapping(target = "money", source = "source", qualifiedByName = "toMoney")
   Price toModel(PriceEntity source);
 
+  /**
+   * Maps a PriceRow read through JDBC to a Price domain model.
+   *
+   * @param source the PriceRow to map
+   * @return the corresponding Price domain model
+   */
+  @Mapping(target = "period", source = "source", qualifiedByName = "rowToPeriod")
+  @Mapping(target = "money", source = "source", qualifiedByName = "rowToMoney")
+  Price toModel(PriceRow source);
+
+  /**
+   * Copies a Price domain model onto a PriceEntity, keeping the ID of the entity. Bounds are stored as whole UTC epoch seconds, so any
+   * fraction of a second is dropped.
+   *
+   * @param source the Price to copy
+   * @param target the PriceEntity to update
+   */
+  @Mapping(target = "id", ignore = true)
+  @Mapping(target = "price", source = "money.amount")
+  @Mapping(target = "curr", source = "money.currency")
+  @Mapping(target = "startEpoch", source = "period.start", qualifiedByName = "toEpochSecond")
+  @Mapping(target = "endEpoch", source = "period.end", qualifiedByName = "toEpochSecond")
+  void updateEntity(Price source, @MappingTarget PriceEntity target);
+
   /**
    * Converts a PriceEntity to a Money object.
    *
@@ -41,10 +63,7 @@ public interface PriceEntityMapper {
    */
   @Named("toMoney")
   default Money toMoney(PriceEntity source) {
-    return Optional.ofNullable(source)
-        .filter(e -> ObjectUtils.allNotNull(e.getPrice(), e.getCurr()))
-        .map(e -> new Money(e.getPrice(), e.getCurr()))
-        .orElse(null);
+    return source == null ? null : toMoney(source.getPrice(), source.getCurr());
   }
 
   /**
@@ -55,23 +74,92 @@ public interface PriceEntityMapper {
    */
   @Named("toPeriod")
   default Period toPeriod(PriceEntity source) {
-    return Optional.ofNullable(source)
-        .map(e -> {
-          Instant start = toInstant(e.getStartDate(), null);
-          Instant end = toInstant(e.getEndDate(), null);
-          return ObjectUtils.allNotNull(start, end) ? new Period(start, end) : null;
-        })
-        .orElse(null);
+    return source == null ? null : toPeriod(source.getStartEpoch(), source.getEndEpoch());
+  }
+
+  /**
+   * Converts a PriceRow to a Money object.
+   *
+   * @param source the PriceRow containing price and currency information
+   * @return the corresponding Money object, or null if the row is null
+   */
+  @Named("rowToMoney")
+  default Money rowToMoney(PriceRow source) {
+    return source == null ? null : toMoney(source.price(), source.curr());
+  }
+
+  /**
+   * Converts a PriceRow to a Period object.
+   *
+   * @param source the PriceRow containing start and end date information
+   * @return the corresponding Period object, or null if the row is null or dates are missing
+   */
+  @Named("rowToPeriod")
+  default Period rowToPeriod(PriceRow source) {
+    return source == null ? null : toPeriod(source.startEpoch(), source.endEpoch());
+  }
+
+  /**
+   * Builds a Money object from its stored columns.
+   *
+   * @param amount the stored amount
+   * @param currency the stored currency code
+   * @return the corresponding Money object, or null if any column is missing
+   */
+  private static Money toMoney(BigDecimal amount, String currency) {
+    return amount == null || currency == null ? null : new Money(amount, currency);
+  }
+
+  /**
+   * Builds a Period object from its stored bounds.
+   *
+   * @param start the stored start, in UTC epoch seconds
+   * @param end the stored end, in UTC epoch seconds
+   * @return the corresponding Period object, or null if any bound is missing
+   */
+  private static Period toPeriod(Long start, Long end) {
+    return start == null || end == null ? null : new Period(Instant.ofEpochSecond(start), Instant.ofEpochSecond(end));
+  }
+
+  /**
+   * Converts a stored bound to an Instant.
+   *
+   * @param epochSecond the stored bound, in UTC epoch seconds
+   * @return the corresponding Instant, or null if the bound is missing
+   */
+  static Instant toInstant(Long epochSecond) {
+    return epochSecond == null ? null : Instant.ofEpochSecond(epochSecond);
+  }
+
+  /**
+   * Converts an Instant to the bound stored for it.
+   *
+   * @param source the Instant to convert
+   * @return the epoch second of the Instant, or null if the Instant is missing
+   */
+  @Named("toEpochSecond")
+  static Long toEpochSecond(Instant source) {
+    return source == null ? null : source.getEpochSecond();
+  }
+
+  /**
+   * Rounds an Instant down to the whole UTC epoch second a stored start bound is compared with.
+   *
+   * @param source the Instant to convert
+   * @return the epoch second of the Instant
+   */
+  static long floorSecond(Instant source) {
+    return source.getEpochSecond();
   }
 
   /**
-   * Converts a LocalDateTime to an Instant, returning a default value if the source is null.
+   * Rounds an Instant up to the whole UTC epoch second a stored end bound is compared with, so that an instant a fraction of a second
+   * past the end of a period is not taken as inside it.
    *
-   * @param source the LocalDateTime to convert
-   * @param defaultValue the default Instant to return if source is null
-   * @return the corresponding Instant, or the default value if source is null
+   * @param source the Instant to convert
+   * @return the epoch second of the Instant, plus one if it has a fraction of a second
    */
-  static Instant toInstant(LocalDateTime source, Instant defaultValue) {
-    return Optional.ofNullable(source).map(t -> t.atZone(ZoneId.of("Europe/Madrid"))).map(ZonedDateTime::toInstant).orElse(defaultValue);
+  static long ceilSecond(Instant source) {
+    return source.getNano() == 0 ? source.getEpochSecond() : source.getEpochSecond() + 1;
   }
 }
@@ -0,0 +1,388 @@
+
+package com.inditex.pricing.infrastructure.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapper;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Plain JDBC repository for the reads of the PRICES table: bulk reads, where going through JPA entities would cost too much heap, and the
+ * single lookups, which would otherwise pay for a persistence context per request.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PriceJdbcRepository {
+
+  static final int FETCH_SIZE = 10_000;
+
+  /**
+   * Maximum number of queries sent in a single statement, to keep the number of bind parameters bounded.
+   */
+  static final int MAX_QUERIES_PER_STATEMENT = 500;
+
+  static final String SELECT_ALL = "SELECT ID, BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_EPOCH, END_EPOCH FROM PRICES";
+
+  /**
+   * Best price of a brand and product at an instant (highest priority, then latest start, then highest ID, instant within range). Bounds
+   * are inclusive UTC epoch seconds, so an instant with a fraction of a second must be covered both by its floor and by its ceiling
+   * second. Only the columns of IX_PRICE_SEARCH are selected, and its leading equality columns are repeated in the ORDER BY, which does
+   * not change the order but lets H2 read the index in that order and stop at the first match.
+   */
+  public static final String SELECT_ONE_BEST = """
+      SELECT ID, BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_EPOCH, END_EPOCH FROM PRICES
+      WHERE BRAND_ID = ? AND PRODUCT_ID = ?
+      AND START_EPOCH <= ? AND ? <= END_EPOCH
+      ORDER BY BRAND_ID, PRODUCT_ID, PRIORITY DESC, START_EPOCH DESC, ID DESC
+      LIMIT 1""";
+
+  /**
+   * Best price per query: the queries are joined as a VALUES table and ranked with the same order as {@link #SELECT_ONE_BEST}.
+   */
+  static final String SELECT_BEST = """
+      SELECT * FROM (
+        SELECT Q.IDX, P.ID, P.BRAND_ID, P.PRODUCT_ID, P.PRICE_LIST, P.PRIORITY, P.PRICE, P.CURR, P.START_EPOCH, P.END_EPOCH,
+               ROW_NUMBER() OVER (PARTITION BY Q.IDX ORDER BY P.PRIORITY DESC, P.START_EPOCH DESC, P.ID DESC) AS RN
+        FROM (VALUES %s) AS Q(IDX, BRAND_ID, PRODUCT_ID, AT_FLOOR, AT_CEIL)
+        JOIN PRICES P ON P.BRAND_ID = Q.BRAND_ID AND P.PRODUCT_ID = Q.PRODUCT_ID
+                     AND P.START_EPOCH <= Q.AT_FLOOR AND Q.AT_CEIL <= P.END_EPOCH
+      ) R WHERE R.RN = 1""";
+
+  /**
+   * Best price of every brand and product at an instant, ranked with the same order as {@link #SELECT_ONE_BEST}.
+   */
+  static final String SELECT_ALL_BEST = """
+      SELECT ID, BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_EPOCH, END_EPOCH FROM (
+        SELECT P.*, ROW_NUMBER() OVER (PARTITION BY P.BRAND_ID, P.PRODUCT_ID ORDER BY P.PRIORITY DESC, P.START_EPOCH DESC, P.ID DESC) AS RN
+        FROM PRICES P WHERE P.START_EPOCH <= ? AND ? <= P.END_EPOCH
+      ) R WHERE R.RN = 1 ORDER BY BRAND_ID, PRODUCT_ID""";
+
+  /**
+   * Every price of a brand and product whose period overlaps a range, read in IX_PRICE_SEARCH order. A price overlaps the range when it
+   * starts no later than the floor second of its end and ends no earlier than the ceiling second of its start.
+   */
+  public static final String SELECT_OVERLAPPING = """
+      SELECT ID, BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_EPOCH, END_EPOCH FROM PRICES
+      WHERE BRAND_ID = ? AND PRODUCT_ID = ?
+      AND START_EPOCH <= ? AND ? <= END_EPOCH
+      ORDER BY BRAND_ID, PRODUCT_ID, PRIORITY DESC, START_EPOCH DESC""";
+
+  /**
+   * Every price of each brand and product, whatever its validity period: the keys are joined as a VALUES table.
+   */
+  static final String SELECT_BY_KEYS = """
+      SELECT P.ID, P.BRAND_ID, P.PRODUCT_ID, P.PRICE_LIST, P.PRIORITY, P.PRICE, P.CURR, P.START_EPOCH, P.END_EPOCH
+      FROM (VALUES %s) AS K(BRAND_ID, PRODUCT_ID)
+      JOIN PRICES P ON P.BRAND_ID = K.BRAND_ID AND P.PRODUCT_ID = K.PRODUCT_ID""";
+
+  static final String COUNT_KEYS = "SELECT COUNT(*) FROM (SELECT DISTINCT BRAND_ID, PRODUCT_ID FROM PRICES) K";
+
+  static final String SELECT_KEYS = "SELECT DISTINCT BRAND_ID, PRODUCT_ID FROM PRICES";
+
+  static final String SELECT_WATERMARK = "SELECT COUNT(*), COALESCE(MAX(ID), 0) FROM PRICES";
+
+  /**
+   * Insert, or update of the price with the same brand, product and price list: the columns of the UQ_PRICE_TARIFF constraint. Written
+   * in the MariaDB dialect, which H2 accepts in MariaDB mode, so the same statement runs against both.
+   */
+  static final String UPSERT = """
+      INSERT INTO PRICES (BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_EPOCH, END_EPOCH)
+      VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+      ON DUPLICATE KEY UPDATE PRIORITY = VALUES(PRIORITY), PRICE = VALUES(PRICE), CURR = VALUES(CURR),
+      START_EPOCH = VALUES(START_EPOCH), END_EPOCH = VALUES(END_EPOCH)""";
+
+  /**
+   * Plain insert of a price whose tariff is not in the table yet. It skips the conflict handling of {@link #UPSERT}, which H2 emulates
+   * at a cost per row even when there is no conflict.
+   */
+  static final String INSERT = """
+      INSERT INTO PRICES (BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_EPOCH, END_EPOCH)
+      VALUES (?, ?, ?, ?, ?, ?, ?, ?)""";
+
+  /**
+   * Update of the price of an existing tariff, found through the UQ_PRICE_TARIFF index.
+   */
+  static final String UPDATE = """
+      UPDATE PRICES SET PRIORITY = ?, PRICE = ?, CURR = ?, START_EPOCH = ?, END_EPOCH = ?
+      WHERE BRAND_ID = ? AND PRODUCT_ID = ? AND PRICE_LIST = ?""";
+
+  /**
+   * Tariffs of a list of prices that are already in the table: the tariffs are joined as a VALUES table.
+   */
+  static final String SELECT_TARIFFS = """
+      SELECT P.BRAND_ID, P.PRODUCT_ID, P.PRICE_LIST
+      FROM (VALUES %s) AS T(BRAND_ID, PRODUCT_ID, PRICE_LIST)
+      JOIN PRICES P ON P.BRAND_ID = T.BRAND_ID AND P.PRODUCT_ID = T.PRODUCT_ID AND P.PRICE_LIST = T.PRICE_LIST""";
+
+  static final String TARIFF_ROW = "(CAST(? AS INT), CAST(? AS INT), CAST(? AS INT))";
+
+  static final String KEY_ROW = "(CAST(? AS INT), CAST(? AS INT))";
+
+  static final String VALUES_ROW = "(CAST(? AS INT), CAST(? AS INT), CAST(? AS INT), CAST(? AS BIGINT), CAST(? AS BIGINT))";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Streams every row of the PRICES table to the given consumer using a forward-only cursor, so rows are never held in a list.
+   *
+   * @param consumer the consumer of each row
+   */
+  public void forEach(Consumer<PriceRow> consumer) {
+    this.stream(SELECT_ALL, consumer);
+  }
+
+  /**
+   * Streams the best row of every brand and product at the given date and time using a forward-only cursor, ordered by brand and
+   * product.
+   *
+   * @param at the instant
+   * @param consumer the consumer of each row
+   */
+  public void forEachBest(Instant at, Consumer<PriceRow> consumer) {
+    this.stream(SELECT_ALL_BEST, consumer, PriceEntityMapper.floorSecond(at), PriceEntityMapper.ceilSecond(at));
+  }
+
+  /**
+   * Finds the best row of a brand and product at the given instant. The row is read straight into a {@link PriceRow}: no entity, no
+   * persistence context and, outside a transaction, no transaction either.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param at the instant
+   * @return the best row, if any
+   */
+  public Optional<PriceRow> findBest(int brandId, int productId, Instant at) {
+    return this.jdbcTemplate.query(SELECT_ONE_BEST, (ResultSetExtractor<Optional<PriceRow>>) rs -> rs.next() ? Optional.of(toRow(rs))
+        : Optional.empty(), brandId, productId, PriceEntityMapper.floorSecond(at), PriceEntityMapper.ceilSecond(at));
+  }
+
+  /**
+   * Finds every row of a brand and product whose period overlaps the given range, with a single statement.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param range the range, both bounds inclusive
+   * @return the overlapping rows, by descending priority and start date
+   */
+  public List<PriceRow> findOverlapping(int brandId, int productId, Period range) {
+    return this.jdbcTemplate.query(SELECT_OVERLAPPING, (rs, rowNum) -> toRow(rs), brandId, productId,
+        PriceEntityMapper.floorSecond(range.end()), PriceEntityMapper.ceilSecond(range.start()));
+  }
+
+  /**
+   * Finds the best row of each query with one set-based statement per {@value #MAX_QUERIES_PER_STATEMENT} queries.
+   *
+   * @param queries the queries to resolve
+   * @return the best row of each query keyed by its position in the list; queries without an applicable row are absent
+   */
+  public Map<Integer, PriceRow> findBest(List<PriceQuery> queries) {
+    Map<Integer, PriceRow> rows = HashMap.newHashMap(queries.size());
+    for (int from = 0; from < queries.size(); from += MAX_QUERIES_PER_STATEMENT) {
+      List<PriceQuery> chunk = queries.subList(from, Math.min(from + MAX_QUERIES_PER_STATEMENT, queries.size()));
+      List<Object> args = new ArrayList<>(chunk.size() * 5);
+      for (int i = 0; i < chunk.size(); i++) {
+        PriceQuery query = chunk.get(i);
+        args.add(from + i);
+        args.add(query.brandId());
+        args.add(query.productId());
+        args.add(PriceEntityMapper.floorSecond(query.at()));
+        args.add(PriceEntityMapper.ceilSecond(query.at()));
+      }
+      String sql = SELECT_BEST.formatted(String.join(", ", Collections.nCopies(chunk.size(), VALUES_ROW)));
+      this.jdbcTemplate.query(sql, (RowCallbackHandler) rs -> rows.put(rs.getInt("IDX"), toRow(rs)), args.toArray());
+    }
+    return rows;
+  }
+
+  /**
+   * Counts the distinct brand and product pairs that have at least one price.
+   *
+   * @return the number of pairs
+   */
+  public long countKeys() {
+    Long count = this.jdbcTemplate.queryForObject(COUNT_KEYS, Long.class);
+    return count == null ? 0 : count;
+  }
+
+  /**
+   * Reads the row count and the highest ID of the table.
+   *
+   * @return the current watermark
+   */
+  public PriceWatermark watermark() {
+    return this.jdbcTemplate.queryForObject(SELECT_WATERMARK, (rs, rowNum) -> new PriceWatermark(rs.getLong(1), rs.getLong(2)));
+  }
+
+  /**
+   * Streams every distinct brand and product pair that has at least one price, using a forward-only cursor.
+   *
+   * @param consumer the consumer of each pair
+   */
+  public void forEachKey(Consumer<PriceKey> consumer) {
+    this.jdbcTemplate.query(con -> {
+      var statement = con.prepareStatement(SELECT_KEYS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      statement.setFetchSize(FETCH_SIZE);
+      return statement;
+    }, (RowCallbackHandler) rs -> consumer.accept(new PriceKey(rs.getInt("BRAND_ID"), rs.getInt("PRODUCT_ID"))));
+  }
+
+  /**
+   * Streams every row of the given brands and products to the given consumer, with one set-based statement per
+   * {@value #MAX_QUERIES_PER_STATEMENT} keys. Rows of the same key are not guaranteed to be contiguous.
+   *
+   * @param keys the brands and products to read
+   * @param consumer the consumer of each row
+   */
+  public void forEachOf(Collection<? extends PriceKey> keys, Consumer<PriceRow> consumer) {
+    List<PriceKey> all = List.copyOf(keys);
+    for (int from = 0; from < all.size(); from += MAX_QUERIES_PER_STATEMENT) {
+      List<PriceKey> chunk = all.subList(from, Math.min(from + MAX_QUERIES_PER_STATEMENT, all.size()));
+      List<Object> args = new ArrayList<>(chunk.size() * 2);
+      for (PriceKey key : chunk) {
+        args.add(key.brandId());
+        args.add(key.productId());
+      }
+      String sql = SELECT_BY_KEYS.formatted(String.join(", ", Collections.nCopies(chunk.size(), KEY_ROW)));
+      this.jdbcTemplate.query(sql, (RowCallbackHandler) rs -> consumer.accept(toRow(rs)), args.toArray());
+    }
+  }
+
+  /**
+   * Inserts or updates the given prices with JDBC batches of the given size. Bounds are stored as whole UTC epoch seconds.
+   *
+   * <p>The tariffs already in the table are looked up first, with one set-based statement per {@value #MAX_QUERIES_PER_STATEMENT}
+   * prices. New tariffs are then written with a plain {@link #INSERT} and existing ones with an {@link #UPDATE}. {@link #UPSERT} is
+   * only the fallback: for the new tariffs when one of them is repeated in the list or was inserted by another writer since the lookup,
+   * and for the existing ones that were deleted since.
+   *
+   * @param prices the prices to write; their IDs are ignored
+   * @param batchSize the number of rows sent to the database per round trip
+   */
+  public void upsertAll(List<Price> prices, int batchSize) {
+    Set<Tariff> existing = this.findExistingTariffs(prices);
+    List<Price> inserts = new ArrayList<>(prices.size() - existing.size());
+    List<Price> updates = new ArrayList<>(existing.size());
+    for (Price price : prices) {
+      (existing.contains(Tariff.of(price)) ? updates : inserts).add(price);
+    }
+    try {
+      this.jdbcTemplate.batchUpdate(INSERT, inserts, batchSize, PriceJdbcRepository::bindInsert);
+    } catch (DuplicateKeyException e) {
+      this.jdbcTemplate.batchUpdate(UPSERT, inserts, batchSize, PriceJdbcRepository::bindInsert);
+    }
+    int[][] counts = this.jdbcTemplate.batchUpdate(UPDATE, updates, batchSize, PriceJdbcRepository::bindUpdate);
+    List<Price> deleted = new ArrayList<>();
+    for (int batch = 0; batch < counts.length; batch++) {
+      for (int i = 0; i < counts[batch].length; i++) {
+        if (counts[batch][i] == 0) {
+          deleted.add(updates.get(batch * batchSize + i));
+        }
+      }
+    }
+    if (!deleted.isEmpty()) {
+      this.jdbcTemplate.batchUpdate(UPSERT, deleted, batchSize, PriceJdbcRepository::bindInsert);
+    }
+  }
+
+  private Set<Tariff> findExistingTariffs(List<Price> prices) {
+    Set<Tariff> tariffs = HashSet.newHashSet(prices.size());
+    for (int from = 0; from < prices.size(); from += MAX_QUERIES_PER_STATEMENT) {
+      List<Price> chunk = prices.subList(from, Math.min(from + MAX_QUERIES_PER_STATEMENT, prices.size()));
+      List<Object> args = new ArrayList<>(chunk.size() * 3);
+      for (Price price : chunk) {
+        args.add(price.getBrandId());
+        args.add(price.getProductId());
+        args.add(price.getPriceList().intValue());
+      }
+      String sql = SELECT_TARIFFS.formatted(String.join(", ", Collections.nCopies(chunk.size(), TARIFF_ROW)));
+      this.jdbcTemplate.query(sql, (RowCallbackHandler) rs -> tariffs.add(new Tariff(rs.getInt(1), rs.getInt(2), rs.getInt(3))),
+          args.toArray());
+    }
+    return tariffs;
+  }
+
+  private static void bindInsert(PreparedStatement statement, Price price) throws SQLException {
+    statement.setInt(1, price.getBrandId());
+    statement.setInt(2, price.getProductId());
+    statement.setInt(3, price.getPriceList());
+    statement.setInt(4, price.getPriority());
+    statement.setBigDecimal(5, price.getMoney().amount());
+    statement.setString(6, price.getMoney().currency());
+    statement.setLong(7, price.getPeriod().start().getEpochSecond());
+    statement.setLong(8, price.getPeriod().end().getEpochSecond());
+  }
+
+  private static void bindUpdate(PreparedStatement statement, Price price) throws SQLException {
+    statement.setInt(1, price.getPriority());
+    statement.setBigDecimal(2, price.getMoney().amount());
+    statement.setString(3, price.getMoney().currency());
+    statement.setLong(4, price.getPeriod().start().getEpochSecond());
+    statement.setLong(5, price.getPeriod().end().getEpochSecond());
+    statement.setInt(6, price.getBrandId());
+    statement.setInt(7, price.getProductId());
+    statement.setInt(8, price.getPriceList());
+  }
+
+  private void stream(String sql, Consumer<PriceRow> consumer, Object... args) {
+    this.jdbcTemplate.query(con -> {
+      var statement = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      statement.setFetchSize(FETCH_SIZE);
+      for (int i = 0; i < args.length; i++) {
+        statement.setObject(i + 1, args[i]);
+      }
+      return statement;
+    }, (RowCallbackHandler) rs -> consumer.accept(toRow(rs)));
+  }
+
+  /**
+   * Maps the current row of the given result set.
+   *
+   * @param rs the result set positioned on a row
+   * @return the mapped row
+   * @throws SQLException if a column cannot be read
+   */
+  static PriceRow toRow(ResultSet rs) throws SQLException {
+    return new PriceRow(
+        rs.getLong("ID"),
+        rs.getInt("BRAND_ID"),
+        rs.getInt("PRODUCT_ID"),
+        rs.getInt("PRICE_LIST"),
+        rs.getInt("PRIORITY"),
+        rs.getBigDecimal("PRICE"),
+        rs.getString("CURR"),
+        rs.getLong("START_EPOCH"),
+        rs.getLong("END_EPOCH"));
+  }
+
+  /**
+   * The columns of the UQ_PRICE_TARIFF constraint.
+   */
+  private record Tariff(int brandId, int productId, int priceList) {
+
+    static Tariff of(Price price) {
+      return new Tariff(price.getBrandId(), price.getProductId(), price.getPriceList());
+    }
+  }
+}
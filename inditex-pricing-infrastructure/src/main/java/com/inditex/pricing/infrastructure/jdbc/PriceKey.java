@@ -0,0 +1,12 @@
+
+package com.inditex.pricing.infrastructure.jdbc;
+
+/**
+ * Brand and product pair that identifies the candidate prices of a product.
+ *
+ * @param brandId the brand ID
+ * @param productId the product ID
+ */
+public record PriceKey(Integer brandId, Integer productId) {
+
+}
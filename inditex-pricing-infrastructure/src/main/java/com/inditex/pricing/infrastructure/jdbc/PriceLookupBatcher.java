@@ -0,0 +1,221 @@
+package com.inditex.pricing.infrastructure.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.inditex.pricing.domain.model.PriceQuery;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micro-batching of single lookups: concurrent calls of {@link #findBest(PriceQuery)} are merged into one set-based
+ * {@link PriceJdbcRepository#findBest(List)} statement, so under load the database runs one query per batch instead of one per lookup.
+ * Enabled with {@code pricing.query.batching.enabled=true} while {@code pricing.query.adapter} is {@code jpa}.
+ *
+ * <p>Lookups are queued and collected by a single dispatcher thread. A batch is sent as soon as it holds
+ * {@code pricing.query.batching.max-size} lookups, or once its first lookup has waited {@code pricing.query.batching.window}, which
+ * bounds the latency batching adds to a lookup. Batches run on virtual threads, so the dispatcher collects the next batch while the
+ * previous ones are in the database, whose connection pool still bounds the statements in flight. A batch of one lookup runs the
+ * single-row statement, so an idle service only pays the window.
+ *
+ * <p>Lookups made while the dispatcher is stopped run on the calling thread. Batch sizes are published as
+ * {@code pricing.query.batch.size} when a {@link MeterRegistry} is available.
+ */
+@Component
+@ConditionalOnExpression("'${pricing.query.adapter:jpa}' == 'jpa' and ${pricing.query.batching.enabled:false}")
+@EnableConfigurationProperties(PriceLookupBatchingProperties.class)
+public class PriceLookupBatcher implements SmartLifecycle {
+
+  /**
+   * Time the dispatcher waits for a lookup before checking whether it was stopped.
+   */
+  private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final PriceJdbcRepository repository;
+
+  private final long windowNanos;
+
+  private final int maxSize;
+
+  private final BlockingQueue<Lookup> queue = new LinkedBlockingQueue<>();
+
+  private final Executor executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("price-batch-", 0).factory());
+
+  private final DistributionSummary sizes;
+
+  private volatile boolean running;
+
+  private Thread dispatcher;
+
+  /**
+   * Creates the batcher. The dispatcher thread is started with the application context.
+   *
+   * @param repository the repository running the batches
+   * @param properties the batching settings
+   * @param meterRegistry the registry the batch sizes are published to, if any
+   */
+  public PriceLookupBatcher(PriceJdbcRepository repository, PriceLookupBatchingProperties properties,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    if (properties.maxSize() < 1 || properties.window().isNegative()) {
+      throw new IllegalArgumentException("A lookup batch needs a positive maximum size and a window that is not negative");
+    }
+    this.repository = repository;
+    this.windowNanos = properties.window().toNanos();
+    this.maxSize = properties.maxSize();
+    MeterRegistry registry = meterRegistry.getIfAvailable();
+    this.sizes = registry == null ? null : DistributionSummary.builder("pricing.query.batch.size")
+        .description("Single price lookups merged into one database statement")
+        .baseUnit("lookups")
+        .register(registry);
+  }
+
+  /**
+   * Queues a lookup into the batch being collected.
+   *
+   * @param query the lookup
+   * @return the best row of the lookup, if any, completed once its batch has been resolved
+   */
+  public CompletableFuture<Optional<PriceRow>> findBest(PriceQuery query) {
+    Lookup lookup = new Lookup(query, System.nanoTime(), new CompletableFuture<>());
+    if (this.running) {
+      this.queue.add(lookup);
+      // A lookup queued after the dispatcher drained the queue on stop is taken back, unless a batch already holds it
+      if (this.running || !this.queue.remove(lookup)) {
+        return lookup.result();
+      }
+    }
+    this.resolve(List.of(lookup));
+    return lookup.result();
+  }
+
+  /**
+   * Starts the dispatcher thread.
+   */
+  @Override
+  public synchronized void start() {
+    if (this.running) {
+      return;
+    }
+    this.running = true;
+    this.dispatcher = Thread.ofPlatform().name("price-batch-dispatcher").daemon().start(this::dispatch);
+  }
+
+  /**
+   * Stops the dispatcher thread once it has sent the lookups already queued. Batches in flight complete on their own.
+   */
+  @Override
+  public synchronized void stop() {
+    if (!this.running) {
+      return;
+    }
+    this.running = false;
+    this.dispatcher.interrupt();
+    try {
+      this.dispatcher.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /**
+   * Started before and stopped after the web server, so lookups served during a graceful shutdown are still batched.
+   */
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  private void dispatch() {
+    List<Lookup> batch = new ArrayList<>(this.maxSize);
+    while (true) {
+      Lookup first = this.poll(IDLE_NANOS);
+      if (first == null) {
+        if (!this.running && this.queue.isEmpty()) {
+          return;
+        }
+        continue;
+      }
+      batch.add(first);
+      // The window runs from the arrival of the first lookup, so one that queued up behind a full batch is sent right away
+      final long deadline = first.queuedNanos() + this.windowNanos;
+      while (batch.size() < this.maxSize) {
+        this.queue.drainTo(batch, this.maxSize - batch.size());
+        long remaining = deadline - System.nanoTime();
+        if (batch.size() == this.maxSize || remaining <= 0) {
+          break;
+        }
+        Lookup next = this.poll(remaining);
+        if (next == null) {
+          break;
+        }
+        batch.add(next);
+      }
+      if (this.sizes != null) {
+        this.sizes.record(batch.size());
+      }
+      List<Lookup> sent = List.copyOf(batch);
+      batch.clear();
+      this.executor.execute(() -> this.resolve(sent));
+    }
+  }
+
+  /**
+   * Waits for the next lookup. Stopping interrupts the wait, which then sends the batch collected so far.
+   */
+  private Lookup poll(long timeoutNanos) {
+    try {
+      return this.queue.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (InterruptedException e) {
+      return null;
+    }
+  }
+
+  private void resolve(List<Lookup> batch) {
+    try {
+      if (batch.size() == 1) {
+        PriceQuery query = batch.get(0).query();
+        batch.get(0).result().complete(this.repository.findBest(query.brandId(), query.productId(), query.at()));
+        return;
+      }
+      Map<Integer, PriceRow> rows = this.repository.findBest(batch.stream().map(Lookup::query).toList());
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).result().complete(Optional.ofNullable(rows.get(i)));
+      }
+    } catch (RuntimeException | Error e) {
+      batch.forEach(lookup -> lookup.result().completeExceptionally(e));
+    }
+  }
+
+  /**
+   * Queued lookup. Its future is only equal to itself, so the same query made twice is two lookups.
+   *
+   * @param query the lookup
+   * @param queuedNanos the {@link System#nanoTime()} it was queued at
+   * @param result the future of its best row
+   */
+  private record Lookup(PriceQuery query, long queuedNanos, CompletableFuture<Optional<PriceRow>> result) {
+
+  }
+}
@@ -0,0 +1,22 @@
+package com.inditex.pricing.infrastructure.jdbc;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the micro-batching of single lookups, bound from {@code pricing.query.batching}.
+ *
+ * @param enabled whether the single lookups of the JPA adapter are merged into set-based queries
+ * @param window longest time a lookup waits for others to join its batch, which bounds the latency batching adds; zero only merges
+ *     the lookups that queued up while the previous batch was being collected
+ * @param maxSize number of lookups that sends a batch without waiting for the end of its window
+ */
+@ConfigurationProperties(prefix = "pricing.query.batching")
+public record PriceLookupBatchingProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("200us") Duration window,
+    @DefaultValue("64") int maxSize) {
+
+}
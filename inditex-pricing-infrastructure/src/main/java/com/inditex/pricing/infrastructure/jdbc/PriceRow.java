@@ -0,0 +1,22 @@
+
+package com.inditex.pricing.infrastructure.jdbc;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable projection of a PRICES row read through plain JDBC, never managed by the persistence context.
+ *
+ * @param id the price ID
+ * @param brandId the brand ID
+ * @param productId the product ID
+ * @param priceList the price list ID
+ * @param priority the priority used to resolve overlapping prices
+ * @param price the amount
+ * @param curr the ISO 4217 alpha-3 currency code
+ * @param startEpoch the inclusive start of the validity period, in UTC epoch seconds
+ * @param endEpoch the inclusive end of the validity period, in UTC epoch seconds
+ */
+public record PriceRow(Long id, Integer brandId, Integer productId, Integer priceList, Integer priority, BigDecimal price, String curr,
+    Long startEpoch, Long endEpoch) {
+
+}
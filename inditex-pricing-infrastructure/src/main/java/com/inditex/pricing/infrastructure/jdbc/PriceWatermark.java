@@ -0,0 +1,11 @@
+package com.inditex.pricing.infrastructure.jdbc;
+
+/**
+ * Row count and highest ID of the PRICES table, which tell whether prices were inserted or deleted since they were read.
+ *
+ * @param rowCount the number of prices
+ * @param maxId the highest price ID, or 0 when there are none
+ */
+public record PriceWatermark(long rowCount, long maxId) {
+
+}
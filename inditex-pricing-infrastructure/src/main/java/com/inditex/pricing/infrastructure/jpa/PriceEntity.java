@@ -4,11 +4,11 @@ package com.inditex.pricing.infrastructure.jpa;
 import java.io.Serial;
 import java.io.Serializable;
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Data;
@@ -27,7 +27,7 @@ public class PriceEntity implements Serializable {
   private static final long serialVersionUID = 1L;
 
   @Id
-  @GeneratedValue
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
   private Integer brandId;
@@ -43,7 +43,13 @@ public class PriceEntity implements Serializable {
 
   private String curr;
 
-  private LocalDateTime startDate;
+  /**
+   * Inclusive start of the validity period, in UTC epoch seconds.
+   */
+  private Long startEpoch;
 
-  private LocalDateTime endDate;
+  /**
+   * Inclusive end of the validity period, in UTC epoch seconds.
+   */
+  private Long endEpoch;
 }
@@ -0,0 +1,120 @@
+
+package com.inditex.pricing.infrastructure.memory;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive {@code long} keys to non-negative {@code int} values, using linear probing. It avoids the boxed
+ * keys and per-entry nodes of {@link java.util.HashMap}, costing 12 bytes per slot.
+ */
+final class LongIntHashMap {
+
+  /**
+   * Value returned when a key is not present.
+   */
+  static final int MISSING = -1;
+
+  private static final float LOAD_FACTOR = 0.5f;
+
+  private long[] keys;
+
+  private int[] values;
+
+  private int size;
+
+  private int mask;
+
+  /**
+   * Creates a map sized to hold the given number of entries without rehashing.
+   *
+   * @param expectedSize the expected number of entries
+   */
+  LongIntHashMap(int expectedSize) {
+    int capacity = Integer.highestOneBit(Math.max(2, (int) Math.ceil(expectedSize / LOAD_FACTOR)) - 1) << 1;
+    this.allocate(capacity);
+  }
+
+  /**
+   * Returns the value associated with the given key.
+   *
+   * @param key the key
+   * @return the associated value, or {@link #MISSING} if the key is not present
+   */
+  int get(long key) {
+    int slot = this.slot(key);
+    while (this.values[slot] != MISSING) {
+      if (this.keys[slot] == key) {
+        return this.values[slot];
+      }
+      slot = (slot + 1) & this.mask;
+    }
+    return MISSING;
+  }
+
+  /**
+   * Associates the given value with the given key, replacing any previous value.
+   *
+   * @param key the key
+   * @param value the value, must not be negative
+   */
+  void put(long key, int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("value must not be negative");
+    }
+    int slot = this.slot(key);
+    while (this.values[slot] != MISSING) {
+      if (this.keys[slot] == key) {
+        this.values[slot] = value;
+        return;
+      }
+      slot = (slot + 1) & this.mask;
+    }
+    this.keys[slot] = key;
+    this.values[slot] = value;
+    if (++this.size > this.keys.length * LOAD_FACTOR) {
+      this.rehash();
+    }
+  }
+
+  /**
+   * Returns the number of entries in the map.
+   *
+   * @return the number of entries
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the heap used by the backing arrays, in bytes, ignoring object headers.
+   *
+   * @return the approximate retained size
+   */
+  long footprintBytes() {
+    return (long) this.keys.length * (Long.BYTES + Integer.BYTES);
+  }
+
+  private int slot(long key) {
+    long hash = key * 0x9E3779B97F4A7C15L;
+    return (int) (hash ^ (hash >>> 32)) & this.mask;
+  }
+
+  private void allocate(int capacity) {
+    this.keys = new long[capacity];
+    this.values = new int[capacity];
+    Arrays.fill(this.values, MISSING);
+    this.mask = capacity - 1;
+  }
+
+  private void rehash() {
+    long[] oldKeys = this.keys;
+    int[] oldValues = this.values;
+    this.allocate(oldKeys.length << 1);
+    this.size = 0;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldValues[i] != MISSING) {
+        this.put(oldKeys[i], oldValues[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,562 @@
+
+package com.inditex.pricing.infrastructure.memory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapper;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
+
+/**
+ * Immutable in-memory index of price timelines keyed by brand and product. Each timeline holds the precomputed priority winner of every
+ * sub-interval, so a lookup is a hash probe followed by a binary search.
+ *
+ * <p>Data is stored column-wise in primitive arrays: epoch-second bounds, price lists, priorities, amounts as unscaled cents and an
+ * interned currency table, addressed through a packed {@code brandId << 32 | productId} key in a primitive hash map. {@link Price} objects
+ * are only materialized for the returned result. Periods must have second precision, as the PRICES timestamps do.
+ */
+public final class PriceIntervalIndex {
+
+  private static final int NO_ROW = -1;
+
+  private static final PriceIntervalIndex EMPTY = builder().build();
+
+  /**
+   * Ordinal of every packed brand and product key. Ordinals follow the natural order of the keys.
+   */
+  private final LongIntHashMap ordinals;
+
+  /**
+   * Packed brand and product key of every ordinal.
+   */
+  private final long[] keys;
+
+  /**
+   * First row of every key ordinal, plus a trailing sentinel. Rows of a key are sorted by start date.
+   */
+  private final int[] rowOffsets;
+
+  /**
+   * First segment of every key ordinal, plus a trailing sentinel.
+   */
+  private final int[] segmentOffsets;
+
+  /**
+   * Start epoch second of every segment. A segment lasts until the start of the next segment of the same key.
+   */
+  private final long[] segmentStarts;
+
+  /**
+   * Winning row of every segment, or {@link #NO_ROW} when no price applies.
+   */
+  private final int[] segmentRows;
+
+  private final long[] ids;
+
+  private final int[] priceLists;
+
+  private final byte[] priorities;
+
+  private final long[] starts;
+
+  private final long[] ends;
+
+  private final long[] amounts;
+
+  private final short[] currencies;
+
+  private final String[] currencyCodes;
+
+  private PriceIntervalIndex(Builder builder, LongIntHashMap ordinals, long[] keys, int[] rowOffsets, int[] order) {
+    this.ordinals = ordinals;
+    this.keys = keys;
+    this.rowOffsets = rowOffsets;
+    this.ids = new long[order.length];
+    this.priceLists = new int[order.length];
+    this.priorities = new byte[order.length];
+    this.starts = new long[order.length];
+    this.ends = new long[order.length];
+    this.amounts = new long[order.length];
+    this.currencies = new short[order.length];
+    for (int i = 0; i < order.length; i++) {
+      int source = order[i];
+      this.ids[i] = builder.ids[source];
+      this.priceLists[i] = builder.priceLists[source];
+      this.priorities[i] = builder.priorities[source];
+      this.starts[i] = builder.starts[source];
+      this.ends[i] = builder.ends[source];
+      this.amounts[i] = builder.amounts[source];
+      this.currencies[i] = builder.currencies[source];
+    }
+    this.currencyCodes = builder.currencyCodes.toArray(String[]::new);
+
+    int keyCount = rowOffsets.length - 1;
+    this.segmentOffsets = new int[keyCount + 1];
+    SegmentSink sink = new SegmentSink(order.length);
+    int[] heap = new int[order.length];
+    for (int ordinal = 0; ordinal < keyCount; ordinal++) {
+      this.segmentOffsets[ordinal] = sink.size;
+      this.sweep(rowOffsets[ordinal], rowOffsets[ordinal + 1], heap, sink);
+    }
+    this.segmentOffsets[keyCount] = sink.size;
+    this.segmentStarts = Arrays.copyOf(sink.starts, sink.size);
+    this.segmentRows = Arrays.copyOf(sink.rows, sink.size);
+  }
+
+  /**
+   * Returns an index without any price.
+   *
+   * @return the empty index
+   */
+  public static PriceIntervalIndex empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Creates a builder to load prices into a new index.
+   *
+   * @return a new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Finds the applicable price for the given brand and product at the given instant.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param at the application date
+   * @return an Optional containing the applicable Price if found, otherwise an empty Optional
+   */
+  public Optional<Price> find(int brandId, int productId, Instant at) {
+    int ordinal = this.ordinals.get(key(brandId, productId));
+    int row = ordinal == LongIntHashMap.MISSING ? NO_ROW : this.findRow(ordinal, at.getEpochSecond(), at.getNano());
+    return row == NO_ROW ? Optional.empty() : Optional.of(this.toPrice(row, brandId, productId));
+  }
+
+  /**
+   * Finds the prices of the given brand and product whose period overlaps the given range.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param range the range, both bounds inclusive
+   * @return the overlapping prices, by start date
+   */
+  public List<Price> findCandidates(int brandId, int productId, Period range) {
+    int ordinal = this.ordinals.get(key(brandId, productId));
+    if (ordinal == LongIntHashMap.MISSING) {
+      return List.of();
+    }
+    long from = PriceEntityMapper.ceilSecond(range.start());
+    long to = PriceEntityMapper.floorSecond(range.end());
+    List<Price> candidates = new ArrayList<>();
+    for (int row = this.rowOffsets[ordinal]; row < this.rowOffsets[ordinal + 1] && this.starts[row] <= to; row++) {
+      if (this.ends[row] >= from) {
+        candidates.add(this.toPrice(row, brandId, productId));
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * Hands the applicable price of every brand and product at the given instant to the given consumer, ordered by brand ID and product ID.
+   *
+   * @param at the application date
+   * @param consumer the consumer of each applicable price
+   */
+  public void forEach(Instant at, Consumer<Price> consumer) {
+    for (int ordinal = 0; ordinal < this.keys.length; ordinal++) {
+      int row = this.findRow(ordinal, at.getEpochSecond(), at.getNano());
+      if (row != NO_ROW) {
+        consumer.accept(this.toPrice(row, (int) (this.keys[ordinal] >>> 32), (int) this.keys[ordinal]));
+      }
+    }
+  }
+
+  /**
+   * Returns the number of brand and product pairs held by the index.
+   *
+   * @return the number of indexed timelines
+   */
+  public int size() {
+    return this.rowOffsets.length - 1;
+  }
+
+  /**
+   * Returns the number of prices held by the index.
+   *
+   * @return the number of indexed prices
+   */
+  public int rowCount() {
+    return this.ids.length;
+  }
+
+  /**
+   * Returns the heap retained by the backing arrays, in bytes, ignoring object headers and the currency table.
+   *
+   * @return the approximate retained size
+   */
+  public long footprintBytes() {
+    long perRow = Long.BYTES * 4L + Integer.BYTES + Byte.BYTES + Short.BYTES;
+    long perSegment = Long.BYTES + Integer.BYTES;
+    long perKey = Long.BYTES + Integer.BYTES * 2L;
+    return this.ordinals.footprintBytes() + perKey * this.rowOffsets.length + perRow * this.ids.length
+        + perSegment * this.segmentStarts.length;
+  }
+
+  /**
+   * Hands the keys, the segments with their winners and the rows of the index to a snapshot sink, in that order. Every winning segment
+   * also carries the row that applies within the last second of its winner, which {@link #find} otherwise computes on the fly.
+   *
+   * @param sink the sink to write to
+   * @throws IOException if the sink fails to write
+   */
+  void writeTo(PriceSnapshot.Sink sink) throws IOException {
+    sink.begin(this.keys.length, this.segmentStarts.length, this.ids.length, this.currencyCodes);
+    for (int ordinal = 0; ordinal < this.keys.length; ordinal++) {
+      sink.key(this.keys[ordinal], this.segmentOffsets[ordinal], this.segmentOffsets[ordinal + 1] - this.segmentOffsets[ordinal]);
+    }
+    for (int ordinal = 0; ordinal < this.keys.length; ordinal++) {
+      int from = this.rowOffsets[ordinal];
+      int to = this.rowOffsets[ordinal + 1];
+      for (int segment = this.segmentOffsets[ordinal]; segment < this.segmentOffsets[ordinal + 1]; segment++) {
+        int row = this.segmentRows[segment];
+        sink.segment(this.segmentStarts[segment], row, row == NO_ROW ? NO_ROW : this.bestCovering(from, to, this.ends[row] + 1));
+      }
+    }
+    for (int row = 0; row < this.ids.length; row++) {
+      sink.row(this.ids[row], this.priceLists[row], this.priorities[row], this.starts[row], this.ends[row], this.amounts[row],
+          this.currencies[row]);
+    }
+  }
+
+  /**
+   * Packs a brand ID and a product ID into a single key.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @return the packed key
+   */
+  static long key(int brandId, int productId) {
+    return ((long) brandId << 32) | (productId & 0xFFFFFFFFL);
+  }
+
+  private int findRow(int ordinal, long second, int nano) {
+    int low = this.segmentOffsets[ordinal];
+    int high = this.segmentOffsets[ordinal + 1] - 1;
+    int segment = NO_ROW;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (this.segmentStarts[mid] <= second) {
+        segment = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    if (segment == NO_ROW) {
+      return NO_ROW;
+    }
+    int row = this.segmentRows[segment];
+    if (nano > 0 && row != NO_ROW && this.ends[row] == second) {
+      // The instant is past the inclusive end of the winner, within its last second: only prices lasting longer apply
+      row = this.bestCovering(this.rowOffsets[ordinal], this.rowOffsets[ordinal + 1], second + 1);
+    }
+    return row;
+  }
+
+  private int bestCovering(int from, int to, long second) {
+    int best = NO_ROW;
+    for (int row = from; row < to && this.starts[row] < second; row++) {
+      if (this.ends[row] >= second && (best == NO_ROW || this.compare(row, best) > 0)) {
+        best = row;
+      }
+    }
+    return best;
+  }
+
+  private void sweep(int from, int to, int[] heap, SegmentSink sink) {
+    long[] points = new long[(to - from) * 2];
+    for (int row = from; row < to; row++) {
+      points[(row - from) * 2] = this.starts[row];
+      points[(row - from) * 2 + 1] = this.ends[row] + 1;
+    }
+    Arrays.sort(points);
+    int heapSize = 0;
+    int next = from;
+    int first = sink.size;
+    for (int i = 0; i < points.length; i++) {
+      long point = points[i];
+      if (i > 0 && points[i - 1] == point) {
+        continue;
+      }
+      while (next < to && this.starts[next] <= point) {
+        heap[heapSize] = next++;
+        this.siftUp(heap, heapSize++);
+      }
+      while (heapSize > 0 && this.ends[heap[0]] < point) {
+        heap[0] = heap[--heapSize];
+        this.siftDown(heap, heapSize);
+      }
+      int winner = heapSize > 0 ? heap[0] : NO_ROW;
+      if (sink.size == first || sink.rows[sink.size - 1] != winner) {
+        sink.add(point, winner);
+      }
+    }
+  }
+
+  private void siftUp(int[] heap, int index) {
+    int row = heap[index];
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (this.compare(row, heap[parent]) <= 0) {
+        break;
+      }
+      heap[index] = heap[parent];
+      index = parent;
+    }
+    heap[index] = row;
+  }
+
+  private void siftDown(int[] heap, int size) {
+    int index = 0;
+    int row = heap[0];
+    while (true) {
+      int child = index * 2 + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && this.compare(heap[child + 1], heap[child]) > 0) {
+        child++;
+      }
+      if (this.compare(heap[child], row) <= 0) {
+        break;
+      }
+      heap[index] = heap[child];
+      index = child;
+    }
+    heap[index] = row;
+  }
+
+  /**
+   * Compares two rows with the same precedence as {@link com.inditex.pricing.domain.model.PriceTimeline#PRECEDENCE}.
+   */
+  private int compare(int left, int right) {
+    int result = Byte.compare(this.priorities[left], this.priorities[right]);
+    if (result == 0) {
+      result = Long.compare(this.starts[left], this.starts[right]);
+    }
+    return result != 0 ? result : Long.compare(this.ids[left], this.ids[right]);
+  }
+
+  private Price toPrice(int row, int brandId, int productId) {
+    Price price = new Price();
+    price.setId(this.ids[row]);
+    price.setBrandId(brandId);
+    price.setProductId(productId);
+    price.setPriceList((short) this.priceLists[row]);
+    price.setPriority((int) this.priorities[row]);
+    price.setPeriod(new Period(Instant.ofEpochSecond(this.starts[row]), Instant.ofEpochSecond(this.ends[row])));
+    price.setMoney(new Money(BigDecimal.valueOf(this.amounts[row], 2), this.currencyCodes[this.currencies[row]]));
+    return price;
+  }
+
+  /**
+   * Growable primitive storage for segments while sweeping.
+   */
+  private static final class SegmentSink {
+
+    private long[] starts;
+
+    private int[] rows;
+
+    private int size;
+
+    SegmentSink(int expectedSize) {
+      this.starts = new long[Math.max(16, expectedSize)];
+      this.rows = new int[this.starts.length];
+    }
+
+    void add(long start, int row) {
+      if (this.size == this.starts.length) {
+        this.starts = Arrays.copyOf(this.starts, this.size * 2);
+        this.rows = Arrays.copyOf(this.rows, this.size * 2);
+      }
+      this.starts[this.size] = start;
+      this.rows[this.size++] = row;
+    }
+  }
+
+  /**
+   * Accumulates prices into growable primitive columns and builds the index.
+   */
+  public static final class Builder {
+
+    /**
+     * Start dates are packed together with a row position to sort them as plain longs, which bounds them to about a thousand years
+     * around the epoch.
+     */
+    private static final int POSITION_BITS = 28;
+
+    private static final long MAX_EPOCH_SECOND = 1L << (Long.SIZE - 1 - POSITION_BITS);
+
+    private final Map<String, Short> currencyIndex = new HashMap<>();
+
+    private final List<String> currencyCodes = new ArrayList<>();
+
+    private int size;
+
+    private long[] keys = new long[16];
+
+    private long[] ids = new long[16];
+
+    private int[] priceLists = new int[16];
+
+    private byte[] priorities = new byte[16];
+
+    private long[] starts = new long[16];
+
+    private long[] ends = new long[16];
+
+    private long[] amounts = new long[16];
+
+    private short[] currencies = new short[16];
+
+    private Builder() {
+    }
+
+    /**
+     * Adds a row read from the PRICES table.
+     *
+     * @param row the row to add
+     * @return this builder
+     */
+    public Builder add(PriceRow row) {
+      return this.add(row.id(), row.brandId(), row.productId(), row.priceList(), row.priority(),
+          PriceEntityMapper.toInstant(row.startEpoch()), PriceEntityMapper.toInstant(row.endEpoch()), row.price(), row.curr());
+    }
+
+    /**
+     * Adds a domain price.
+     *
+     * @param price the price to add
+     * @return this builder
+     */
+    public Builder add(Price price) {
+      return this.add(price.getId(), price.getBrandId(), price.getProductId(), price.getPriceList().intValue(), price.getPriority(),
+          price.getPeriod().start(), price.getPeriod().end(), price.getMoney().amount(), price.getMoney().currency());
+    }
+
+    /**
+     * Builds the index from the prices added so far.
+     *
+     * @return the built index
+     */
+    public PriceIntervalIndex build() {
+      long[] distinctKeys = Arrays.stream(this.keys, 0, this.size).sorted().distinct().toArray();
+      int keyCount = distinctKeys.length;
+      LongIntHashMap ordinals = new LongIntHashMap(keyCount);
+      for (int ordinal = 0; ordinal < keyCount; ordinal++) {
+        ordinals.put(distinctKeys[ordinal], ordinal);
+      }
+      int[] rowOrdinals = new int[this.size];
+      int[] counts = new int[keyCount];
+      for (int row = 0; row < this.size; row++) {
+        rowOrdinals[row] = ordinals.get(this.keys[row]);
+        counts[rowOrdinals[row]]++;
+      }
+
+      int[] rowOffsets = new int[keyCount + 1];
+      for (int ordinal = 0; ordinal < keyCount; ordinal++) {
+        rowOffsets[ordinal + 1] = rowOffsets[ordinal] + counts[ordinal];
+      }
+      int[] order = new int[this.size];
+      int[] cursors = Arrays.copyOf(rowOffsets, keyCount);
+      for (int row = 0; row < this.size; row++) {
+        order[cursors[rowOrdinals[row]]++] = row;
+      }
+      for (int ordinal = 0; ordinal < keyCount; ordinal++) {
+        this.sortByStart(order, rowOffsets[ordinal], rowOffsets[ordinal + 1]);
+      }
+      return new PriceIntervalIndex(this, ordinals, distinctKeys, rowOffsets, order);
+    }
+
+    private Builder add(Long id, Integer brandId, Integer productId, Integer priceList, Integer priority, Instant start, Instant end,
+        BigDecimal amount, String currency) {
+      Objects.requireNonNull(id, "id must not be null");
+      Objects.requireNonNull(start, "start must not be null");
+      Objects.requireNonNull(end, "end must not be null");
+      Objects.requireNonNull(currency, "currency must not be null");
+      if (start.getNano() != 0 || end.getNano() != 0) {
+        throw new IllegalArgumentException("period must have second precision");
+      }
+      if (Math.abs(start.getEpochSecond()) >= MAX_EPOCH_SECOND || Math.abs(end.getEpochSecond()) >= MAX_EPOCH_SECOND) {
+        throw new IllegalArgumentException("period out of range");
+      }
+      if (priority != priority.byteValue()) {
+        throw new IllegalArgumentException("priority must fit in a TINYINT");
+      }
+      if (this.size == this.ids.length) {
+        this.grow();
+      }
+      this.keys[this.size] = key(brandId, productId);
+      this.ids[this.size] = id;
+      this.priceLists[this.size] = priceList;
+      this.priorities[this.size] = priority.byteValue();
+      this.starts[this.size] = start.getEpochSecond();
+      this.ends[this.size] = end.getEpochSecond();
+      this.amounts[this.size] = amount.movePointRight(2).longValueExact();
+      this.currencies[this.size] = this.currencyIndex.computeIfAbsent(currency, c -> {
+        this.currencyCodes.add(c);
+        return (short) (this.currencyCodes.size() - 1);
+      });
+      this.size++;
+      return this;
+    }
+
+    private void grow() {
+      int capacity = this.ids.length * 2;
+      this.keys = Arrays.copyOf(this.keys, capacity);
+      this.ids = Arrays.copyOf(this.ids, capacity);
+      this.priceLists = Arrays.copyOf(this.priceLists, capacity);
+      this.priorities = Arrays.copyOf(this.priorities, capacity);
+      this.starts = Arrays.copyOf(this.starts, capacity);
+      this.ends = Arrays.copyOf(this.ends, capacity);
+      this.amounts = Arrays.copyOf(this.amounts, capacity);
+      this.currencies = Arrays.copyOf(this.currencies, capacity);
+    }
+
+    private void sortByStart(int[] order, int from, int to) {
+      int length = to - from;
+      if (length < 2) {
+        return;
+      }
+      if (length >= 1 << POSITION_BITS) {
+        throw new IllegalStateException("too many prices for a single brand and product");
+      }
+      long[] packed = new long[length];
+      for (int i = 0; i < length; i++) {
+        packed[i] = (this.starts[order[from + i]] << POSITION_BITS) | i;
+      }
+      Arrays.sort(packed);
+      int[] sorted = new int[length];
+      for (int i = 0; i < length; i++) {
+        sorted[i] = order[from + (int) (packed[i] & ((1 << POSITION_BITS) - 1))];
+      }
+      System.arraycopy(sorted, 0, order, from, length);
+    }
+  }
+}
@@ -0,0 +1,128 @@
+
+package com.inditex.pricing.infrastructure.memory;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over brand and product pairs. It answers whether a pair might have prices: a negative answer is certain, a positive one is
+ * wrong with the probability the filter was sized for. Bits live in a single {@code long} array, so the filter costs about 9.6 bits per
+ * key at 1% false positives, whatever the number of prices per key.
+ *
+ * <p>Keys can be added concurrently with lookups but never removed; a filter that has to forget keys is rebuilt and swapped.
+ */
+public final class PriceKeyBloomFilter {
+
+  private static final double LN2 = Math.log(2);
+
+  private final AtomicLongArray bits;
+
+  private final long bitCount;
+
+  private final int hashCount;
+
+  private PriceKeyBloomFilter(long bitCount, int hashCount) {
+    this.bits = new AtomicLongArray((int) (bitCount >>> 6));
+    this.bitCount = bitCount;
+    this.hashCount = hashCount;
+  }
+
+  /**
+   * Creates an empty filter sized for the given number of keys and false positive probability.
+   *
+   * @param expectedKeys the number of keys the filter will hold
+   * @param falsePositiveProbability the false positive probability once the expected keys are added, between 0 and 1 exclusive
+   * @return the empty filter
+   */
+  public static PriceKeyBloomFilter create(long expectedKeys, double falsePositiveProbability) {
+    if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new IllegalArgumentException("falsePositiveProbability must be between 0 and 1 exclusive");
+    }
+    long keys = Math.max(1, expectedKeys);
+    long optimalBits = (long) Math.ceil(-keys * Math.log(falsePositiveProbability) / (LN2 * LN2));
+    long bitCount = Math.min(Math.max(64, (optimalBits + 63) & ~63L), (long) Integer.MAX_VALUE << 6);
+    int hashCount = (int) Math.max(1, Math.round((double) bitCount / keys * LN2));
+    return new PriceKeyBloomFilter(bitCount, hashCount);
+  }
+
+  /**
+   * Returns a filter that might contain every key, to be used until the real one is built.
+   *
+   * @return a filter with all its bits set
+   */
+  public static PriceKeyBloomFilter all() {
+    PriceKeyBloomFilter filter = new PriceKeyBloomFilter(64, 1);
+    filter.bits.set(0, -1L);
+    return filter;
+  }
+
+  /**
+   * Adds a brand and product pair.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   */
+  public void put(int brandId, int productId) {
+    long hash1 = mix(PriceIntervalIndex.key(brandId, productId));
+    long hash2 = mix(hash1) | 1;
+    for (int i = 0; i < this.hashCount; i++) {
+      long bit = Math.floorMod(hash1 + i * hash2, this.bitCount);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current = this.bits.get(word);
+      while ((current & mask) == 0 && !this.bits.compareAndSet(word, current, current | mask)) {
+        current = this.bits.get(word);
+      }
+    }
+  }
+
+  /**
+   * Checks whether a brand and product pair might have been added.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @return false if the pair was certainly never added
+   */
+  public boolean mightContain(int brandId, int productId) {
+    long hash1 = mix(PriceIntervalIndex.key(brandId, productId));
+    long hash2 = mix(hash1) | 1;
+    for (int i = 0; i < this.hashCount; i++) {
+      long bit = Math.floorMod(hash1 + i * hash2, this.bitCount);
+      if ((this.bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Estimates the current false positive probability from the fraction of bits set, which grows as keys are added past the expected
+   * count.
+   *
+   * @return the probability that a key never added is reported as present
+   */
+  public double falsePositiveProbability() {
+    long set = 0;
+    for (int i = 0; i < this.bits.length(); i++) {
+      set += Long.bitCount(this.bits.get(i));
+    }
+    return Math.pow((double) set / this.bitCount, this.hashCount);
+  }
+
+  /**
+   * Returns the size of the bit array.
+   *
+   * @return the size in bytes
+   */
+  public long footprintBytes() {
+    return this.bitCount >>> 3;
+  }
+
+  /**
+   * Finalizer of SplitMix64, spreading the packed key over the 64 bits.
+   */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,159 @@
+
+package com.inditex.pricing.infrastructure.memory;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.infrastructure.jdbc.PriceKey;
+
+/**
+ * Brands and products reloaded after a committed change, each in a small {@link PriceIntervalIndex} of its own that takes precedence
+ * over the immutable store they were changed in, until that store is rebuilt.
+ *
+ * <p>Patches are versioned in the order they were read, so a rebuild can drop only the patches it has already seen and a late reload of
+ * a brand and product never overrides a newer one.
+ */
+public final class PricePatches {
+
+  /**
+   * Same order as the keys of {@link PriceIntervalIndex}, for IDs that are not negative.
+   */
+  private static final Comparator<PriceKey> KEY_ORDER = Comparator.comparing(PriceKey::brandId).thenComparing(PriceKey::productId);
+
+  private final ConcurrentSkipListMap<PriceKey, Patch> patches = new ConcurrentSkipListMap<>(KEY_ORDER);
+
+  private final AtomicLong versions = new AtomicLong();
+
+  /**
+   * Returns the version of the last patch, to be passed to {@link #dropUpTo(long)} once a rebuild started now is in place.
+   *
+   * @return the current version
+   */
+  public long version() {
+    return this.versions.get();
+  }
+
+  /**
+   * Reserves the version of a patch about to be read.
+   *
+   * @return the new version
+   */
+  public long nextVersion() {
+    return this.versions.incrementAndGet();
+  }
+
+  /**
+   * Stores the reloaded rows of a brand and product, unless a patch read later is already there.
+   *
+   * @param key the brand and product
+   * @param index the index holding only that brand and product
+   * @param version the version reserved before reading the rows
+   */
+  public void put(PriceKey key, PriceIntervalIndex index, long version) {
+    this.patches.merge(key, new Patch(index, version), (current, patch) -> current.version() > patch.version() ? current : patch);
+  }
+
+  /**
+   * Drops the patches read up to the given version.
+   *
+   * @param version the version returned by {@link #version()} before the rebuild started
+   */
+  public void dropUpTo(long version) {
+    this.patches.values().removeIf(patch -> patch.version() <= version);
+  }
+
+  /**
+   * Returns the patch of a brand and product.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @return the patched index, or null when the brand and product is not patched
+   */
+  public PriceIntervalIndex get(int brandId, int productId) {
+    if (this.patches.isEmpty()) {
+      return null;
+    }
+    Patch patch = this.patches.get(new PriceKey(brandId, productId));
+    return patch == null ? null : patch.index();
+  }
+
+  /**
+   * Hands the applicable price of every brand and product at the given instant to the given consumer, ordered by brand ID and product ID,
+   * taking them from the patches when patched and from the given store otherwise.
+   *
+   * @param at the application date
+   * @param consumer the consumer of each applicable price
+   * @param store the ordered export of the patched store
+   */
+  public void forEach(Instant at, Consumer<Price> consumer, BiConsumer<Instant, Consumer<Price>> store) {
+    if (this.patches.isEmpty()) {
+      store.accept(at, consumer);
+      return;
+    }
+    Merger merger = new Merger(this.patches.entrySet().iterator(), at, consumer);
+    store.accept(at, merger);
+    merger.drain();
+  }
+
+  /**
+   * Rows of a brand and product reloaded after a change.
+   *
+   * @param index the index holding only that brand and product
+   * @param version the order in which the patch was read
+   */
+  private record Patch(PriceIntervalIndex index, long version) {
+
+  }
+
+  /**
+   * Interleaves the patched brands and products with the prices of the store, keeping the export ordered by brand and product.
+   */
+  private static final class Merger implements Consumer<Price> {
+
+    private final Iterator<Map.Entry<PriceKey, Patch>> patches;
+
+    private final Instant at;
+
+    private final Consumer<Price> consumer;
+
+    private Map.Entry<PriceKey, Patch> next;
+
+    Merger(Iterator<Map.Entry<PriceKey, Patch>> patches, Instant at, Consumer<Price> consumer) {
+      this.patches = patches;
+      this.at = at;
+      this.consumer = consumer;
+      this.next = patches.hasNext() ? patches.next() : null;
+    }
+
+    @Override
+    public void accept(Price price) {
+      PriceKey key = new PriceKey(price.getBrandId(), price.getProductId());
+      while (this.next != null && KEY_ORDER.compare(this.next.getKey(), key) < 0) {
+        this.emitNext();
+      }
+      if (this.next != null && this.next.getKey().equals(key)) {
+        this.emitNext();
+        return;
+      }
+      this.consumer.accept(price);
+    }
+
+    void drain() {
+      while (this.next != null) {
+        this.emitNext();
+      }
+    }
+
+    private void emitNext() {
+      this.next.getValue().index().forEach(this.at, this.consumer);
+      this.next = this.patches.hasNext() ? this.patches.next() : null;
+    }
+  }
+}
@@ -0,0 +1,398 @@
+
+package com.inditex.pricing.infrastructure.memory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.infrastructure.jdbc.PriceWatermark;
+
+/**
+ * Read-only price timelines served from a memory-mapped file. The file holds what a {@link PriceIntervalIndex} computes when it is built,
+ * so opening it only maps it: pages are faulted in by the lookups that touch them, live in the page cache rather than on the heap, and
+ * are shared by every process mapping the same file.
+ *
+ * <p>The file is big-endian and made of fixed-width records, so every field is read at a computed offset:
+ * <ul>
+ *   <li>a 48-byte header: magic, format version, key, segment, row and currency counts, then the {@link PriceWatermark} of the table
+ *   the file was written from;</li>
+ *   <li>the key directory, sorted by packed {@code brandId << 32 | productId} key: key, first segment and segment count (16 bytes);</li>
+ *   <li>the timeline segments of every key, sorted by start: start epoch second, winning row and the row that applies within the last
+ *   second of the winner (16 bytes);</li>
+ *   <li>the rows: ID, start and end epoch seconds, amount in cents, price list, currency and priority (40 bytes);</li>
+ *   <li>the currency codes, as length-prefixed UTF-8, which are the only data copied to the heap.</li>
+ * </ul>
+ *
+ * <p>Buffers are only read with absolute gets, so a snapshot is safe to share between threads. Each section is mapped on its own and is
+ * limited to 2 GiB, about 50 million prices.
+ */
+public final class PriceSnapshot {
+
+  private static final long MAGIC = 0x5052_4943_4553_4E50L;
+
+  private static final int VERSION = 2;
+
+  private static final int HEADER_BYTES = 48;
+
+  private static final int KEY_BYTES = 16;
+
+  private static final int SEGMENT_BYTES = 16;
+
+  private static final int ROW_BYTES = 40;
+
+  private static final int NO_ROW = -1;
+
+  private final ByteBuffer keys;
+
+  private final ByteBuffer segments;
+
+  private final ByteBuffer rows;
+
+  private final String[] currencyCodes;
+
+  private final int keyCount;
+
+  private final int rowCount;
+
+  private final long fileSize;
+
+  private final PriceWatermark watermark;
+
+  private PriceSnapshot(ByteBuffer keys, ByteBuffer segments, ByteBuffer rows, String[] currencyCodes, int keyCount, int rowCount,
+      long fileSize, PriceWatermark watermark) {
+    this.keys = keys;
+    this.segments = segments;
+    this.rows = rows;
+    this.currencyCodes = currencyCodes;
+    this.keyCount = keyCount;
+    this.rowCount = rowCount;
+    this.fileSize = fileSize;
+    this.watermark = watermark;
+  }
+
+  /**
+   * Writes the given index as a snapshot file. The file is written next to the target and moved into place, so readers never see a
+   * partial snapshot and those that mapped the previous file keep reading it.
+   *
+   * @param index the index to write
+   * @param watermark the watermark of the table, read before the index was
+   * @param file the snapshot file
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(PriceIntervalIndex index, PriceWatermark watermark, Path file) throws IOException {
+    Path target = file.toAbsolutePath();
+    Files.createDirectories(target.getParent());
+    Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+    try {
+      try (Writer writer = new Writer(new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16)), watermark)) {
+        index.writeTo(writer);
+      }
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Maps a snapshot file. Nothing but the header and the currency codes is read.
+   *
+   * @param file the snapshot file
+   * @return the mapped snapshot
+   * @throws IOException if the file cannot be mapped or is not a snapshot of this version
+   */
+  public static PriceSnapshot open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long fileSize = channel.size();
+      if (fileSize < HEADER_BYTES) {
+        throw new IOException("Not a price snapshot: " + file);
+      }
+      ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+      if (header.getLong(0) != MAGIC) {
+        throw new IOException("Not a price snapshot: " + file);
+      }
+      if (header.getInt(8) != VERSION) {
+        throw new IOException("Unsupported price snapshot version " + header.getInt(8) + ": " + file);
+      }
+      final int keyCount = header.getInt(12);
+      final int segmentCount = header.getInt(16);
+      final int rowCount = header.getInt(20);
+      final int currencyCount = header.getInt(24);
+      PriceWatermark watermark = new PriceWatermark(header.getLong(32), header.getLong(40));
+      long keysOffset = HEADER_BYTES;
+      long segmentsOffset = keysOffset + (long) keyCount * KEY_BYTES;
+      long rowsOffset = segmentsOffset + (long) segmentCount * SEGMENT_BYTES;
+      long currenciesOffset = rowsOffset + (long) rowCount * ROW_BYTES;
+      if (fileSize < currenciesOffset) {
+        throw new IOException("Truncated price snapshot: " + file);
+      }
+      ByteBuffer currencies = channel.map(FileChannel.MapMode.READ_ONLY, currenciesOffset, fileSize - currenciesOffset);
+      String[] currencyCodes = new String[currencyCount];
+      for (int i = 0; i < currencyCount; i++) {
+        byte[] code = new byte[currencies.getShort()];
+        currencies.get(code);
+        currencyCodes[i] = new String(code, StandardCharsets.UTF_8);
+      }
+      return new PriceSnapshot(map(channel, keysOffset, segmentsOffset), map(channel, segmentsOffset, rowsOffset),
+          map(channel, rowsOffset, currenciesOffset), currencyCodes, keyCount, rowCount, fileSize, watermark);
+    }
+  }
+
+  private static ByteBuffer map(FileChannel channel, long from, long to) throws IOException {
+    if (to - from > Integer.MAX_VALUE) {
+      throw new IOException("Price snapshot section too large to map: " + (to - from) + " bytes");
+    }
+    return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+  }
+
+  /**
+   * Finds the applicable price for the given brand and product at the given instant.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param at the application date
+   * @return an Optional containing the applicable Price if found, otherwise an empty Optional
+   */
+  public Optional<Price> find(int brandId, int productId, Instant at) {
+    int ordinal = this.ordinal(PriceIntervalIndex.key(brandId, productId));
+    int row = ordinal == NO_ROW ? NO_ROW : this.findRow(ordinal, at.getEpochSecond(), at.getNano());
+    return row == NO_ROW ? Optional.empty() : Optional.of(this.toPrice(row, brandId, productId));
+  }
+
+  /**
+   * Finds the prices of the given brand and product that win somewhere within the given range: the winners of the segments overlapping
+   * it, and the rows that apply within their last second. Rows are only addressed through segments, so the prices that never win are
+   * not read.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param range the range, both bounds inclusive
+   * @return the candidate prices, in no particular order
+   */
+  public List<Price> findCandidates(int brandId, int productId, Period range) {
+    int ordinal = this.ordinal(PriceIntervalIndex.key(brandId, productId));
+    if (ordinal == NO_ROW) {
+      return List.of();
+    }
+    long from = range.start().getEpochSecond();
+    long to = range.end().getEpochSecond();
+    int first = this.keys.getInt(ordinal * KEY_BYTES + 8);
+    int last = first + this.keys.getInt(ordinal * KEY_BYTES + 12) - 1;
+    IntStream.Builder rows = IntStream.builder();
+    for (int segment = first; segment <= last && this.segments.getLong(segment * SEGMENT_BYTES) <= to; segment++) {
+      if (segment == last || this.segments.getLong((segment + 1) * SEGMENT_BYTES) > from) {
+        rows.add(this.segments.getInt(segment * SEGMENT_BYTES + 8));
+        rows.add(this.segments.getInt(segment * SEGMENT_BYTES + 12));
+      }
+    }
+    return rows.build()
+        .filter(row -> row != NO_ROW)
+        .distinct()
+        .mapToObj(row -> this.toPrice(row, brandId, productId))
+        .toList();
+  }
+
+  /**
+   * Hands the applicable price of every brand and product at the given instant to the given consumer, ordered by brand ID and product ID.
+   *
+   * @param at the application date
+   * @param consumer the consumer of each applicable price
+   */
+  public void forEach(Instant at, Consumer<Price> consumer) {
+    for (int ordinal = 0; ordinal < this.keyCount; ordinal++) {
+      int row = this.findRow(ordinal, at.getEpochSecond(), at.getNano());
+      if (row != NO_ROW) {
+        long key = this.keys.getLong(ordinal * KEY_BYTES);
+        consumer.accept(this.toPrice(row, (int) (key >>> 32), (int) key));
+      }
+    }
+  }
+
+  /**
+   * Returns the number of brand and product pairs held by the snapshot.
+   *
+   * @return the number of timelines
+   */
+  public int size() {
+    return this.keyCount;
+  }
+
+  /**
+   * Returns the number of prices held by the snapshot.
+   *
+   * @return the number of prices
+   */
+  public int rowCount() {
+    return this.rowCount;
+  }
+
+  /**
+   * Returns the size of the mapped file.
+   *
+   * @return the file size, in bytes
+   */
+  public long fileSize() {
+    return this.fileSize;
+  }
+
+  /**
+   * Returns the watermark of the table the snapshot was written from.
+   *
+   * @return the watermark
+   */
+  public PriceWatermark watermark() {
+    return this.watermark;
+  }
+
+  private int ordinal(long key) {
+    int low = 0;
+    int high = this.keyCount - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      long midKey = this.keys.getLong(mid * KEY_BYTES);
+      if (midKey < key) {
+        low = mid + 1;
+      } else if (midKey > key) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return NO_ROW;
+  }
+
+  private int findRow(int ordinal, long second, int nano) {
+    int low = this.keys.getInt(ordinal * KEY_BYTES + 8);
+    int high = low + this.keys.getInt(ordinal * KEY_BYTES + 12) - 1;
+    int segment = NO_ROW;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (this.segments.getLong(mid * SEGMENT_BYTES) <= second) {
+        segment = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    if (segment == NO_ROW) {
+      return NO_ROW;
+    }
+    int row = this.segments.getInt(segment * SEGMENT_BYTES + 8);
+    if (nano > 0 && row != NO_ROW && this.rows.getLong(row * ROW_BYTES + 16) == second) {
+      // The instant is past the inclusive end of the winner, within its last second: the precomputed tail winner applies
+      row = this.segments.getInt(segment * SEGMENT_BYTES + 12);
+    }
+    return row;
+  }
+
+  private Price toPrice(int row, int brandId, int productId) {
+    int offset = row * ROW_BYTES;
+    Price price = new Price();
+    price.setId(this.rows.getLong(offset));
+    price.setBrandId(brandId);
+    price.setProductId(productId);
+    price.setPriceList((short) this.rows.getInt(offset + 32));
+    price.setPriority((int) this.rows.get(offset + 38));
+    Instant start = Instant.ofEpochSecond(this.rows.getLong(offset + 8));
+    price.setPeriod(new Period(start, Instant.ofEpochSecond(this.rows.getLong(offset + 16))));
+    BigDecimal amount = BigDecimal.valueOf(this.rows.getLong(offset + 24), 2);
+    price.setMoney(new Money(amount, this.currencyCodes[this.rows.getShort(offset + 36)]));
+    return price;
+  }
+
+  /**
+   * Receives the content of a {@link PriceIntervalIndex}: the counts first, then every key, every segment and every row, in order.
+   */
+  interface Sink {
+
+    void begin(int keyCount, int segmentCount, int rowCount, String[] currencyCodes) throws IOException;
+
+    void key(long key, int firstSegment, int segmentCount) throws IOException;
+
+    void segment(long start, int row, int tailRow) throws IOException;
+
+    void row(long id, int priceList, byte priority, long start, long end, long amount, short currency) throws IOException;
+  }
+
+  /**
+   * Writes the records in file order, keeping the currency codes for the end of the file.
+   */
+  private static final class Writer implements Sink, AutoCloseable {
+
+    private final DataOutputStream out;
+
+    private final PriceWatermark watermark;
+
+    private String[] currencyCodes = new String[0];
+
+    Writer(DataOutputStream out, PriceWatermark watermark) {
+      this.out = out;
+      this.watermark = watermark;
+    }
+
+    @Override
+    public void begin(int keyCount, int segmentCount, int rowCount, String[] currencyCodes) throws IOException {
+      this.currencyCodes = currencyCodes.clone();
+      this.out.writeLong(MAGIC);
+      this.out.writeInt(VERSION);
+      this.out.writeInt(keyCount);
+      this.out.writeInt(segmentCount);
+      this.out.writeInt(rowCount);
+      this.out.writeInt(currencyCodes.length);
+      this.out.writeInt(0);
+      this.out.writeLong(this.watermark.rowCount());
+      this.out.writeLong(this.watermark.maxId());
+    }
+
+    @Override
+    public void key(long key, int firstSegment, int segmentCount) throws IOException {
+      this.out.writeLong(key);
+      this.out.writeInt(firstSegment);
+      this.out.writeInt(segmentCount);
+    }
+
+    @Override
+    public void segment(long start, int row, int tailRow) throws IOException {
+      this.out.writeLong(start);
+      this.out.writeInt(row);
+      this.out.writeInt(tailRow);
+    }
+
+    @Override
+    public void row(long id, int priceList, byte priority, long start, long end, long amount, short currency) throws IOException {
+      this.out.writeLong(id);
+      this.out.writeLong(start);
+      this.out.writeLong(end);
+      this.out.writeLong(amount);
+      this.out.writeInt(priceList);
+      this.out.writeShort(currency);
+      this.out.writeByte(priority);
+      this.out.writeByte(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+      for (String code : this.currencyCodes) {
+        byte[] bytes = code.getBytes(StandardCharsets.UTF_8);
+        this.out.writeShort(bytes.length);
+        this.out.write(bytes);
+      }
+      this.out.close();
+    }
+  }
+}
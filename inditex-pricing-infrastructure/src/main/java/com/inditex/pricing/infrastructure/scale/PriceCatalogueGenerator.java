@@ -0,0 +1,121 @@
+
+package com.inditex.pricing.infrastructure.scale;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a synthetic catalogue into the PRICES table, shaped like a real one rather than like the four rows of the reference data set.
+ * Every product has a base price list of priority 0 for the whole season, and up to {@code priceLists - 1} promotions on top of it:
+ *
+ * <ul>
+ *   <li>priority 1 for 70% of the promotions, 2 for 25% and 3 for 5%, so promotions of the same priority overlap too;</li>
+ *   <li>durations log-uniformly distributed from one hour to 30 days, so most promotions are short and a few last weeks;</li>
+ *   <li>starts uniformly distributed within the season, and prices 5% to 50% below the base price.</li>
+ * </ul>
+ *
+ * <p>Rows are inserted with JDBC batches on a single connection, committed once a batch reaches {@code batchSize} rows. The catalogue
+ * only depends on the {@link PriceCatalogueProperties}, so two databases generated with the same settings hold the same rows.
+ */
+public final class PriceCatalogueGenerator {
+
+  static final String INSERT = """
+      INSERT INTO PRICES (BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_EPOCH, END_EPOCH)
+      VALUES (?, ?, ?, ?, ?, ?, ?, ?)""";
+
+  static final String CURRENCY = "EUR";
+
+  private static final double LOG_MIN_PROMOTION_SECONDS = Math.log(Duration.ofHours(1).toSeconds());
+
+  private static final double LOG_MAX_PROMOTION_SECONDS = Math.log(Duration.ofDays(30).toSeconds());
+
+  private final PriceCatalogueProperties properties;
+
+  /**
+   * Creates a generator of the given catalogue.
+   *
+   * @param properties the shape of the catalogue
+   * @throws IllegalArgumentException if a size is not positive or the season is empty
+   */
+  public PriceCatalogueGenerator(PriceCatalogueProperties properties) {
+    if (properties.brands() < 1 || properties.products() < 1 || properties.priceLists() < 1 || properties.batchSize() < 1
+        || !properties.seasonStart().isBefore(properties.seasonEnd())) {
+      throw new IllegalArgumentException("Synthetic catalogue needs positive sizes and a season start before its end: " + properties);
+    }
+    this.properties = properties;
+  }
+
+  /**
+   * Inserts the catalogue in transactions of its own, then restores the auto-commit mode of the connection.
+   *
+   * @param connection the connection to the database holding the PRICES table
+   * @return the number of rows inserted
+   * @throws SQLException if a row cannot be inserted
+   */
+  public long generate(Connection connection) throws SQLException {
+    final boolean autoCommit = connection.getAutoCommit();
+    connection.setAutoCommit(false);
+    final long seasonStart = this.properties.seasonStart().getEpochSecond();
+    final long seasonEnd = this.properties.seasonEnd().getEpochSecond();
+    final SplittableRandom random = new SplittableRandom(this.properties.seed());
+    long rows = 0;
+    int pending = 0;
+    try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+      for (int brandId = 1; brandId <= this.properties.brands(); brandId++) {
+        for (int i = 0; i < this.properties.products(); i++) {
+          int productId = this.properties.firstProductId() + i;
+          long baseCents = 500 + random.nextInt(19_501);
+          add(statement, brandId, productId, 1, 0, baseCents, seasonStart, seasonEnd);
+          int promotions = random.nextInt(this.properties.priceLists());
+          for (int promotion = 0; promotion < promotions; promotion++) {
+            long seconds = Math.min(seasonEnd - seasonStart + 1, Math.round(Math.exp(LOG_MIN_PROMOTION_SECONDS
+                + random.nextDouble() * (LOG_MAX_PROMOTION_SECONDS - LOG_MIN_PROMOTION_SECONDS))));
+            long start = seasonStart + random.nextLong(seasonEnd - seasonStart - seconds + 2);
+            add(statement, brandId, productId, promotion + 2, priority(random), baseCents * (50 + random.nextInt(46)) / 100, start,
+                start + seconds - 1);
+          }
+          rows += 1 + promotions;
+          pending += 1 + promotions;
+          if (pending >= this.properties.batchSize()) {
+            statement.executeBatch();
+            connection.commit();
+            pending = 0;
+          }
+        }
+      }
+      statement.executeBatch();
+      connection.commit();
+    } catch (SQLException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(autoCommit);
+    }
+    return rows;
+  }
+
+  private static int priority(SplittableRandom random) {
+    double draw = random.nextDouble();
+    if (draw < 0.70) {
+      return 1;
+    }
+    return draw < 0.95 ? 2 : 3;
+  }
+
+  private static void add(PreparedStatement statement, int brandId, int productId, int priceList, int priority, long cents, long start,
+      long end) throws SQLException {
+    statement.setInt(1, brandId);
+    statement.setInt(2, productId);
+    statement.setInt(3, priceList);
+    statement.setInt(4, priority);
+    statement.setBigDecimal(5, BigDecimal.valueOf(cents, 2));
+    statement.setString(6, CURRENCY);
+    statement.setLong(7, start);
+    statement.setLong(8, end);
+    statement.addBatch();
+  }
+}
@@ -0,0 +1,62 @@
+
+package com.inditex.pricing.infrastructure.scale;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates the synthetic catalogue of the {@code scale} profile at startup, on top of the reference data set.
+ *
+ * <p>It is a database initializer for Spring Boot, like the one running {@code schema.sql} and {@code data.sql} that it runs after, so
+ * every bean that reads the database at startup, such as the {@code in-memory} adapter or the cache's Bloom filter, sees the whole
+ * catalogue.
+ */
+@Slf4j
+@Component
+@Profile("scale")
+@DependsOn("dataSourceScriptDatabaseInitializer")
+@EnableConfigurationProperties(PriceCatalogueProperties.class)
+public class PriceCatalogueInitializer extends DataSourceScriptDatabaseInitializer {
+
+  private final PriceCatalogueProperties properties;
+
+  /**
+   * Creates the initializer.
+   *
+   * @param dataSource the data source holding the PRICES table
+   * @param properties the shape of the catalogue
+   */
+  public PriceCatalogueInitializer(DataSource dataSource, PriceCatalogueProperties properties) {
+    super(dataSource, new DatabaseInitializationSettings());
+    this.properties = properties;
+  }
+
+  /**
+   * Generates the catalogue.
+   *
+   * @return true, the database being always initialized
+   */
+  @Override
+  public boolean initializeDatabase() {
+    final long startNanos = System.nanoTime();
+    long rows;
+    try (Connection connection = this.getDataSource().getConnection()) {
+      rows = new PriceCatalogueGenerator(this.properties).generate(connection);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Unable to generate the synthetic price catalogue", e);
+    }
+    long millis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+    log.info("Generated {} prices for {} brands x {} products in {} ms ({} rows/s)", rows, this.properties.brands(),
+        this.properties.products(), millis, rows * 1000 / millis);
+    return true;
+  }
+}
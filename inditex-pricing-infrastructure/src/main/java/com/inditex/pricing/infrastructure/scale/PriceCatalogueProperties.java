@@ -0,0 +1,33 @@
+
+package com.inditex.pricing.infrastructure.scale;
+
+import java.time.Instant;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Shape of the synthetic catalogue of the {@code scale} profile, bound from {@code pricing.scale}.
+ *
+ * @param brands the number of brands, with IDs from 1
+ * @param products the number of products of each brand
+ * @param firstProductId the ID of the first product of each brand, the others following it; above the reference product 35455 by
+ *     default, so that both catalogues can live in the same table
+ * @param priceLists the largest number of price lists of a product: the base one plus up to {@code priceLists - 1} promotions
+ * @param seasonStart the start of every base price list
+ * @param seasonEnd the inclusive end of every base price list; promotions fall within the season
+ * @param seed the seed of the catalogue, which only depends on it and on the sizes above
+ * @param batchSize the number of rows sent to the database per JDBC batch and committed together
+ */
+@ConfigurationProperties(prefix = "pricing.scale")
+public record PriceCatalogueProperties(
+    @DefaultValue("10") int brands,
+    @DefaultValue("10000") int products,
+    @DefaultValue("100000") int firstProductId,
+    @DefaultValue("4") int priceLists,
+    @DefaultValue("2020-06-14T00:00:00Z") Instant seasonStart,
+    @DefaultValue("2020-12-31T23:59:59Z") Instant seasonEnd,
+    @DefaultValue("42") long seed,
+    @DefaultValue("10000") int batchSize) {
+
+}
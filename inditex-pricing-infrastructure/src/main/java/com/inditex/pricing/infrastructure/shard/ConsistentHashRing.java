@@ -0,0 +1,126 @@
+
+package com.inditex.pricing.infrastructure.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Consistent hash ring assigning every brand and product to one of a fixed set of nodes.
+ *
+ * <p>Each node is placed at {@code virtualNodes} points of a 64-bit ring, and a brand and product belongs to the node of the first point
+ * at or after its own hash, wrapping around. Adding a node only takes over the arcs that end at its points, and removing one only hands
+ * its arcs to the following points, so every other key stays where it was. Hashes depend on the node names alone, so nodes built from
+ * the same membership agree on every owner without talking to each other.
+ */
+public final class ConsistentHashRing {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  private final Set<String> nodes;
+
+  /**
+   * Sorted points of the ring.
+   */
+  private final long[] points;
+
+  /**
+   * Node of every point.
+   */
+  private final String[] owners;
+
+  private ConsistentHashRing(Set<String> nodes, long[] points, String[] owners) {
+    this.nodes = nodes;
+    this.points = points;
+    this.owners = owners;
+  }
+
+  /**
+   * Builds the ring of the given nodes.
+   *
+   * @param nodes the names of the nodes, at least one
+   * @param virtualNodes the number of points of every node, at least one
+   * @return the ring
+   * @throws IllegalArgumentException if there is no node or no point per node
+   */
+  public static ConsistentHashRing of(Collection<String> nodes, int virtualNodes) {
+    if (nodes.isEmpty() || virtualNodes < 1) {
+      throw new IllegalArgumentException("A hash ring needs at least one node and one point per node");
+    }
+    Set<String> names = new TreeSet<>(nodes);
+    Point[] ring = new Point[names.size() * virtualNodes];
+    int i = 0;
+    for (String node : names) {
+      long seed = fnv1a(node);
+      for (int v = 0; v < virtualNodes; v++) {
+        ring[i++] = new Point(mix(seed + v * GOLDEN_GAMMA), node);
+      }
+    }
+    // Colliding points are ordered by node name, so every node resolves them the same way
+    Arrays.sort(ring, Comparator.comparingLong(Point::hash).thenComparing(Point::node));
+    return new ConsistentHashRing(Set.copyOf(names), Arrays.stream(ring).mapToLong(Point::hash).toArray(),
+        Arrays.stream(ring).map(Point::node).toArray(String[]::new));
+  }
+
+  /**
+   * Returns the node owning a brand and product.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @return the name of the owning node
+   */
+  public String owner(int brandId, int productId) {
+    long hash = mix(((long) brandId << Integer.SIZE) | (productId & 0xffffffffL));
+    int index = Arrays.binarySearch(this.points, hash);
+    if (index < 0) {
+      index = -index - 1;
+    } else {
+      // First of the points sharing that hash
+      while (index > 0 && this.points[index - 1] == hash) {
+        index--;
+      }
+    }
+    return this.owners[index == this.points.length ? 0 : index];
+  }
+
+  /**
+   * Returns the names of the nodes of the ring.
+   *
+   * @return the nodes
+   */
+  public Set<String> nodes() {
+    return this.nodes;
+  }
+
+  private static long fnv1a(String name) {
+    long hash = FNV_OFFSET_BASIS;
+    for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+      hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+    }
+    return hash;
+  }
+
+  /**
+   * Finalizer of MurmurHash3, which spreads consecutive product IDs over the whole ring.
+   */
+  private static long mix(long value) {
+    long h = value;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private record Point(long hash, String node) {
+
+  }
+}
@@ -0,0 +1,24 @@
+package com.inditex.pricing.infrastructure.shard;
+
+import java.io.Serial;
+
+/**
+ * Lookup forwarded by a peer for a brand and product that this node does not own either. The two nodes disagree on the membership, so
+ * the lookup is refused instead of being forwarded again, which would bounce it between them.
+ */
+public class MisdirectedLookupException extends RuntimeException {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Creates the exception.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param owner the node this one believes owns them
+   */
+  public MisdirectedLookupException(int brandId, int productId, String owner) {
+    super("Brand " + brandId + " and product " + productId + " are owned by node " + owner + ", not by the node they were forwarded to");
+  }
+}
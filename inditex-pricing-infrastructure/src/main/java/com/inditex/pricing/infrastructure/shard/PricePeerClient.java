@@ -0,0 +1,245 @@
+
+package com.inditex.pricing.infrastructure.shard;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * HTTP client of the Prices API of the other nodes, used to forward the lookups of brands and products owned by a peer.
+ *
+ * <p>Lookups are sent as one {@code POST /prices/batch} per peer and timelines as {@code GET /prices/timeline}, both read with a
+ * streaming parser, like the price files. Neither answer carries the ID nor the priority of a price: forwarded prices have no ID, and
+ * the segments of a forwarded timeline come back as prices of priority 0 numbered by position, which are valid candidates as they
+ * never overlap. Every request carries the {@value #FORWARDED_BY_HEADER} header, so the peer answers it from its own shard: one that
+ * does not own a key answers 421 Misdirected Request, and redirects are not followed, so nodes that disagree on the membership fail
+ * instead of bouncing a lookup between them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "pricing.shard", name = "enabled", havingValue = "true")
+public class PricePeerClient {
+
+  /**
+   * Header naming the node that forwarded a request.
+   */
+  public static final String FORWARDED_BY_HEADER = "X-Pricing-Forwarded-By";
+
+  private final JsonFactory jsonFactory = new JsonFactory();
+
+  private final HttpClient httpClient;
+
+  private final Duration timeout;
+
+  private final String self;
+
+  /**
+   * Creates the client.
+   *
+   * @param properties the membership of the deployment, whose timeout bounds every exchange with a peer
+   */
+  public PricePeerClient(PriceShardProperties properties) {
+    this.timeout = properties.timeout();
+    this.self = properties.self();
+    this.httpClient = HttpClient.newBuilder()
+        .connectTimeout(this.timeout)
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .build();
+  }
+
+  /**
+   * Resolves lookups on a peer.
+   *
+   * @param node the base URL of the peer
+   * @param queries the lookups, all owned by the peer
+   * @return the applicable price of each query, in the same order as the queries
+   */
+  public CompletableFuture<List<Optional<Price>>> findAllApplicable(URI node, List<PriceQuery> queries) {
+    HttpRequest request = HttpRequest.newBuilder(endpoint(node, "/prices/batch"))
+        .timeout(this.timeout)
+        .header(FORWARDED_BY_HEADER, this.self)
+        .header("Content-Type", "application/json")
+        .header("Accept", "application/json")
+        .POST(HttpRequest.BodyPublishers.ofByteArray(this.writeBatch(queries)))
+        .build();
+    return this.send(request).thenApply(body -> this.parse(body, this::readBatch));
+  }
+
+  /**
+   * Reads the timeline of a brand and product from a peer.
+   *
+   * @param node the base URL of the peer
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @param range the range, both bounds inclusive
+   * @return the segments of the timeline as candidate prices
+   */
+  public CompletableFuture<List<Price>> findCandidates(URI node, int brandId, int productId, Period range) {
+    HttpRequest request = HttpRequest.newBuilder(endpoint(node, "/prices/timeline?startDate=" + range.start() + "&endDate=" + range.end()
+            + "&productId=" + productId + "&brandId=" + brandId))
+        .timeout(this.timeout)
+        .header(FORWARDED_BY_HEADER, this.self)
+        .header("Accept", "application/json")
+        .GET()
+        .build();
+    return this.send(request).thenApply(body -> this.parse(body, parser -> this.readTimeline(parser, brandId, productId)));
+  }
+
+  private CompletableFuture<byte[]> send(HttpRequest request) {
+    return this.httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).thenApply(response -> {
+      if (response.statusCode() != 200) {
+        throw new IllegalStateException("Peer answered " + response.statusCode() + " to " + request.method() + ' ' + request.uri());
+      }
+      return response.body();
+    });
+  }
+
+  private byte[] writeBatch(List<PriceQuery> queries) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(64 + 80 * queries.size());
+    try (JsonGenerator generator = this.jsonFactory.createGenerator(out)) {
+      generator.writeStartObject();
+      generator.writeArrayFieldStart("items");
+      for (PriceQuery query : queries) {
+        generator.writeStartObject();
+        generator.writeNumberField("brandId", query.brandId());
+        generator.writeNumberField("productId", query.productId());
+        generator.writeStringField("applicationDate", query.at().toString());
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  private <T> T parse(byte[] body, Reader<T> reader) {
+    try (JsonParser parser = this.jsonFactory.createParser(body)) {
+      expect(parser.nextToken(), JsonToken.START_OBJECT);
+      return reader.read(parser);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private List<Optional<Price>> readBatch(JsonParser parser) throws IOException {
+    List<Optional<Price>> prices = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      if ("items".equals(parser.currentName())) {
+        expect(parser.nextToken(), JsonToken.START_ARRAY);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          Price price = null;
+          while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            boolean isPrice = "price".equals(parser.currentName());
+            if (parser.nextToken() == JsonToken.START_OBJECT && isPrice) {
+              price = new Price();
+              readPrice(parser, price);
+            } else {
+              parser.skipChildren();
+            }
+          }
+          prices.add(Optional.ofNullable(price));
+        }
+      } else {
+        skipValue(parser);
+      }
+    }
+    return prices;
+  }
+
+  private List<Price> readTimeline(JsonParser parser, int brandId, int productId) throws IOException {
+    List<Price> prices = new ArrayList<>();
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      if ("segments".equals(parser.currentName())) {
+        expect(parser.nextToken(), JsonToken.START_ARRAY);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          Price price = new Price();
+          price.setId(prices.size() + 1L);
+          price.setBrandId(brandId);
+          price.setProductId(productId);
+          price.setPriority(0);
+          readPrice(parser, price);
+          prices.add(price);
+        }
+      } else {
+        skipValue(parser);
+      }
+    }
+    return prices;
+  }
+
+  /**
+   * Reads the fields of a price object, the parser standing on its start.
+   */
+  private static void readPrice(JsonParser parser, Price price) throws IOException {
+    Instant start = null;
+    Instant end = null;
+    String currency = null;
+    BigDecimal amount = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      parser.nextToken();
+      switch (name) {
+        case "brandId" -> price.setBrandId(parser.getIntValue());
+        case "productId" -> price.setProductId(parser.getIntValue());
+        case "priceList" -> price.setPriceList(parser.getShortValue());
+        case "startDate" -> start = OffsetDateTime.parse(parser.getText()).toInstant();
+        case "endDate" -> end = OffsetDateTime.parse(parser.getText()).toInstant();
+        case "price" -> amount = parser.getDecimalValue();
+        case "curr" -> currency = parser.getText();
+        default -> parser.skipChildren();
+      }
+    }
+    price.setPeriod(new Period(start, end));
+    price.setMoney(new Money(amount, currency));
+  }
+
+  private static void skipValue(JsonParser parser) throws IOException {
+    parser.nextToken();
+    parser.skipChildren();
+  }
+
+  private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+    if (actual != expected) {
+      throw new IOException("Unexpected peer answer: " + actual + " instead of " + expected);
+    }
+  }
+
+  private static URI endpoint(URI node, String path) {
+    String base = node.toString();
+    return URI.create((base.endsWith("/") ? base.substring(0, base.length() - 1) : base) + path);
+  }
+
+  /**
+   * Reads the fields of the answer object, the parser standing on its start.
+   */
+  @FunctionalInterface
+  private interface Reader<T> {
+
+    T read(JsonParser parser) throws IOException;
+  }
+}
@@ -0,0 +1,110 @@
+package com.inditex.pricing.infrastructure.shard;
+
+import java.net.URI;
+import java.util.Map;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * The shard of this node: the brands and products that the {@link ConsistentHashRing} of the configured nodes assigns to it. Enabled with
+ * {@code pricing.shard.enabled=true}.
+ *
+ * <p>It also tells whether the current thread is handling a request forwarded by a peer, whose lookups must be answered here and never
+ * forwarded again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "pricing.shard", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(PriceShardProperties.class)
+public class PriceShard {
+
+  private final String self;
+
+  private final Map<String, URI> nodes;
+
+  private final ConsistentHashRing ring;
+
+  private final ThreadLocal<Boolean> forwarded = ThreadLocal.withInitial(() -> false);
+
+  /**
+   * Creates the shard of this node.
+   *
+   * @param properties the membership of the deployment
+   * @throws IllegalArgumentException if there is no node or this node is not one of them
+   */
+  public PriceShard(PriceShardProperties properties) {
+    if (properties.nodes() == null || !properties.nodes().containsKey(properties.self())) {
+      throw new IllegalArgumentException("pricing.shard.self must name one of pricing.shard.nodes, got " + properties.self());
+    }
+    this.self = properties.self();
+    this.nodes = Map.copyOf(properties.nodes());
+    this.ring = ConsistentHashRing.of(this.nodes.keySet(), properties.virtualNodes());
+    log.info("Node {} of the price shards {}", this.self, this.nodes);
+  }
+
+  /**
+   * Returns the name of this node.
+   *
+   * @return the node name
+   */
+  public String self() {
+    return this.self;
+  }
+
+  /**
+   * Checks whether a brand and product belongs to this node.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @return true if this node owns it
+   */
+  public boolean owns(int brandId, int productId) {
+    return this.self.equals(this.ring.owner(brandId, productId));
+  }
+
+  /**
+   * Returns the node owning a brand and product.
+   *
+   * @param brandId the brand ID
+   * @param productId the product ID
+   * @return the name of the owning node
+   */
+  public String owner(int brandId, int productId) {
+    return this.ring.owner(brandId, productId);
+  }
+
+  /**
+   * Returns the base URL of a node.
+   *
+   * @param node the node name
+   * @return the base URL
+   */
+  public URI uri(String node) {
+    return this.nodes.get(node);
+  }
+
+  /**
+   * Marks whether the current thread is handling a request forwarded by a peer.
+   *
+   * @param forwarded true while the forwarded request is handled, false once it is done
+   */
+  public void setForwarded(boolean forwarded) {
+    if (forwarded) {
+      this.forwarded.set(true);
+    } else {
+      this.forwarded.remove();
+    }
+  }
+
+  /**
+   * Checks whether the current thread is handling a request forwarded by a peer.
+   *
+   * @return true if the lookups of the thread must not be forwarded
+   */
+  public boolean isForwarded() {
+    return this.forwarded.get();
+  }
+}
@@ -0,0 +1,28 @@
+package com.inditex.pricing.infrastructure.shard;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Static membership of the sharded deployment, bound from {@code pricing.shard}. Every node must be given the same nodes and virtual
+ * nodes, so that all of them agree on the owner of each brand and product.
+ *
+ * @param enabled whether brands and products are partitioned across the nodes
+ * @param self the name of this node, one of the nodes
+ * @param nodes the base URL of every node by name, this one included
+ * @param virtualNodes the number of points of every node on the hash ring, the higher the more even the shards
+ * @param timeout time to connect to a peer and time it has to answer a forwarded lookup
+ */
+@ConfigurationProperties(prefix = "pricing.shard")
+public record PriceShardProperties(
+    @DefaultValue("false") boolean enabled,
+    String self,
+    Map<String, URI> nodes,
+    @DefaultValue("128") int virtualNodes,
+    @DefaultValue("2s") Duration timeout) {
+
+}
@@ -0,0 +1,187 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapperImpl;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jpa.PriceEntity;
+import com.inditex.pricing.infrastructure.jpa.PriceJpaRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {PriceCommandJpaAdapter.class, PriceEntityMapperImpl.class, SimpleMeterRegistry.class},
+    properties = "pricing.import.batch-size=500"
+)
+class PriceCommandJpaAdapterTest {
+
+  static final Instant START = Instant.parse("2020-06-14T13:00:00Z");
+
+  static final Instant END = Instant.parse("2020-06-14T16:30:00Z");
+
+  @Autowired
+  PriceCommandJpaAdapter priceCommandJpaAdapter;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @MockitoBean
+  PriceJpaRepository priceJpaRepository;
+
+  @MockitoBean
+  PriceJdbcRepository priceJdbcRepository;
+
+  @Test
+  void shouldLoadContext_whenDependenciesAreInjected() {
+    // Arrange
+    // Act & Assert
+    assertNotNull(this.priceCommandJpaAdapter);
+  }
+
+  @Test
+  void shouldReturnPrice_whenPriceListExists() {
+    // Arrange
+    when(this.priceJpaRepository.findByBrandIdAndProductIdAndPriceList(1, 35455, 2)).thenReturn(Optional.of(entity(7L)));
+
+    // Act
+    Optional<Price> result = this.priceCommandJpaAdapter.findByPriceList(1, 35455, (short) 2);
+
+    // Assert
+    assertEquals(7L, result.orElseThrow().getId());
+    assertEquals(new Period(START, END), result.get().getPeriod());
+  }
+
+  @Test
+  void shouldInsertEntity_whenPriceListDoesNotExist() {
+    // Arrange
+    when(this.priceJpaRepository.findByBrandIdAndProductIdAndPriceList(1, 35455, 2)).thenReturn(Optional.empty());
+    when(this.priceJpaRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+      PriceEntity saved = invocation.getArgument(0);
+      saved.setId(9L);
+      return saved;
+    });
+    ArgumentCaptor<PriceEntity> captor = ArgumentCaptor.forClass(PriceEntity.class);
+
+    // Act
+    Price result = this.priceCommandJpaAdapter.save(price(START.plusMillis(500)));
+
+    // Assert
+    verify(this.priceJpaRepository).saveAndFlush(captor.capture());
+    assertEquals(9L, result.getId());
+    assertEquals(START.getEpochSecond(), captor.getValue().getStartEpoch());
+    assertEquals(END.getEpochSecond(), captor.getValue().getEndEpoch());
+    assertEquals(new BigDecimal("25.45"), captor.getValue().getPrice());
+    assertEquals("EUR", captor.getValue().getCurr());
+    assertEquals(new Period(START, END), result.getPeriod());
+  }
+
+  @Test
+  void shouldUpdateEntityKeepingItsId_whenPriceListExists() {
+    // Arrange
+    PriceEntity existing = entity(7L);
+    existing.setPrice(new BigDecimal("10.00"));
+    when(this.priceJpaRepository.findByBrandIdAndProductIdAndPriceList(1, 35455, 2)).thenReturn(Optional.of(existing));
+    when(this.priceJpaRepository.saveAndFlush(existing)).thenReturn(existing);
+    Price price = price(START);
+    price.setId(99L);
+
+    // Act
+    Price result = this.priceCommandJpaAdapter.save(price);
+
+    // Assert
+    assertEquals(7L, result.getId());
+    assertEquals(new BigDecimal("25.45"), existing.getPrice());
+  }
+
+  @Test
+  void shouldUpsertWithConfiguredBatchSize_whenSavingInBulk() {
+    // Arrange
+    List<Price> prices = List.of(price(START), price(END));
+    double writes = this.meterRegistry.get("pricing.import.writes").timer().count();
+
+    // Act
+    this.priceCommandJpaAdapter.saveAll(prices);
+
+    // Assert
+    verify(this.priceJdbcRepository).upsertAll(prices, 500);
+    verify(this.priceJpaRepository, never()).saveAndFlush(any());
+    assertEquals(writes + 1, this.meterRegistry.get("pricing.import.writes").timer().count());
+  }
+
+  @Test
+  void shouldDeleteEntity_whenPriceListExists() {
+    // Arrange
+    PriceEntity existing = entity(7L);
+    when(this.priceJpaRepository.findByBrandIdAndProductIdAndPriceList(1, 35455, 2)).thenReturn(Optional.of(existing));
+
+    // Act
+    Optional<Price> result = this.priceCommandJpaAdapter.delete(1, 35455, (short) 2);
+
+    // Assert
+    assertEquals(7L, result.orElseThrow().getId());
+    verify(this.priceJpaRepository).delete(existing);
+  }
+
+  @Test
+  void shouldDeleteNothing_whenPriceListDoesNotExist() {
+    // Arrange
+    when(this.priceJpaRepository.findByBrandIdAndProductIdAndPriceList(1, 35455, 2)).thenReturn(Optional.empty());
+
+    // Act
+    Optional<Price> result = this.priceCommandJpaAdapter.delete(1, 35455, (short) 2);
+
+    // Assert
+    assertTrue(result.isEmpty());
+    verify(this.priceJpaRepository, never()).delete(any());
+  }
+
+  static PriceEntity entity(Long id) {
+    PriceEntity entity = new PriceEntity();
+    entity.setId(id);
+    entity.setBrandId(1);
+    entity.setProductId(35455);
+    entity.setPriceList(2);
+    entity.setPriority(1);
+    entity.setPrice(new BigDecimal("25.45"));
+    entity.setCurr("EUR");
+    entity.setStartEpoch(START.getEpochSecond());
+    entity.setEndEpoch(END.getEpochSecond());
+    return entity;
+  }
+
+  static Price price(Instant start) {
+    Price price = new Price();
+    price.setBrandId(1);
+    price.setProductId(35455);
+    price.setPriceList((short) 2);
+    price.setPriority(1);
+    price.setPeriod(new Period(start, END));
+    price.setMoney(new Money(new BigDecimal("25.45"), "EUR"));
+    return price;
+  }
+}
@@ -0,0 +1,225 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceFileFormat;
+import com.inditex.pricing.domain.port.out.PriceFileReaderPort;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {PriceFileReaderAdapter.class, SimpleMeterRegistry.class}
+)
+class PriceFileReaderAdapterTest {
+
+  static final Instant START = Instant.parse("2020-06-14T13:00:00Z");
+
+  static final Instant END = Instant.parse("2020-06-14T16:30:00Z");
+
+  @Autowired
+  PriceFileReaderAdapter priceFileReaderAdapter;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @Test
+  void shouldLoadContext_whenDependenciesAreInjected() {
+    // Arrange
+    // Act & Assert
+    assertNotNull(this.priceFileReaderAdapter);
+  }
+
+  @Test
+  void shouldReadPrices_whenCsvColumnsAreInAnyOrder() {
+    // Arrange
+    String file = """
+        brand_id, START_DATE, END_DATE, PRICE_LIST, PRODUCT_ID, PRIORITY, PRICE, CURR
+        1, 2020-06-14T15:00:00+02:00, 2020-06-14T16:30:00Z, 2, 35455, 1, 25.45, EUR
+
+        1,2020-06-14T13:00:00Z,2020-06-14T16:30:00Z,3,35455,0,30.5,EUR
+        """;
+
+    // Act
+    Lines lines = this.read(PriceFileFormat.CSV, file);
+
+    // Assert
+    assertEquals(List.of(2L, 4L), lines.accepted().stream().map(Map.Entry::getKey).toList());
+    assertEquals(price(2, 1, new BigDecimal("25.45")), lines.accepted().get(0).getValue());
+    assertEquals(price(3, 0, new BigDecimal("30.50")), lines.accepted().get(1).getValue());
+    assertTrue(lines.rejected().isEmpty());
+  }
+
+  @Test
+  void shouldRejectLine_whenCsvFieldsBreakInvariantsOrColumns() {
+    // Arrange
+    String file = """
+        BRAND_ID,PRODUCT_ID,PRICE_LIST,PRIORITY,START_DATE,END_DATE,PRICE,CURR
+        1,35455,2,1,2020-06-14T13:00:00Z,2020-06-14T16:30:00Z,25.45
+        1,35455,2,1,2020-06-14T13:00:00Z,2020-06-14T16:30:00Z,25.45,EUR,extra
+        1,35455,x,1,2020-06-14T13:00:00Z,2020-06-14T16:30:00Z,25.45,EUR
+        1,35455,2,1,2020-06-14T17:00:00Z,2020-06-14T16:30:00Z,25.45,EUR
+        1,35455,2,1,2020-06-14T13:00:00Z,2020-06-14T16:30:00Z,25.45,EURO
+        1,35455,2,1,2020-06-14T13:00:00Z,2020-06-14T16:30:00Z,123456789.00,EUR
+        1,35455,2,300,2020-06-14T13:00:00Z,2020-06-14T16:30:00Z,25.45,EUR
+        1,35455,2,1,2020-06-14T13:00:00,2020-06-14T16:30:00Z,25.45,EUR
+        1,35455,2,1,2020-06-14T13:00:00Z,2020-06-14T16:30:00Z,,EUR
+        """;
+
+    // Act
+    Lines lines = this.read(PriceFileFormat.CSV, file);
+
+    // Assert
+    assertTrue(lines.accepted().isEmpty());
+    assertEquals(Map.of(
+        2L, "expected 8 fields but found 7",
+        3L, "expected 8 fields but found 9",
+        4L, "PRICE_LIST is not an integer: x",
+        5L, "end >= start",
+        6L, "currency must be ISO 4217 alpha-3",
+        7L, "amount must have at most 8 integer digits",
+        8L, "priority must be between -128 and 127",
+        9L, "START_DATE is not an ISO-8601 date and time with offset: 2020-06-14T13:00:00",
+        10L, "amount must not be null"), lines.rejected());
+  }
+
+  @Test
+  void shouldThrowException_whenCsvHeaderLacksColumn() {
+    // Arrange
+    InputStream input = input("BRAND_ID,PRODUCT_ID,PRICE_LIST,START_DATE,END_DATE,PRICE,CURR\n");
+    Lines lines = new Lines();
+
+    // Act & Assert
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> this.priceFileReaderAdapter.read(PriceFileFormat.CSV, input, lines));
+    assertEquals("CSV header lacks column PRIORITY", exception.getMessage());
+  }
+
+  @Test
+  void shouldReadPrices_whenJsonLinesHaveApiFields() {
+    // Arrange
+    String file = """
+        {"productId":35455,"brandId":1,"priceList":2,"priority":1,"startDate":"2020-06-14T13:00:00Z","endDate":"2020-06-14T16:30:00Z",\
+        "price":25.45,"curr":"EUR","tags":{"season":"summer"}}
+        {"productId":35455,"brandId":1,"priceList":3,"priority":0,"startDate":"2020-06-14T13:00:00Z","endDate":"2020-06-14T16:30:00Z",\
+        "price":"30.5","curr":"EUR"}
+        """;
+
+    // Act
+    Lines lines = this.read(PriceFileFormat.JSONL, file);
+
+    // Assert
+    assertEquals(price(2, 1, new BigDecimal("25.45")), lines.accepted().get(0).getValue());
+    assertEquals(price(3, 0, new BigDecimal("30.50")), lines.accepted().get(1).getValue());
+    assertTrue(lines.rejected().isEmpty());
+  }
+
+  @Test
+  void shouldRejectLine_whenJsonLineIsNotAValidPrice() {
+    // Arrange
+    String file = """
+        {"productId":35455,"brandId":1,"priceList":2,"priority":1,"startDate":"2020-06-14T13:00:00Z",
+        {"productId":35455,"brandId":1,"priceList":2,"startDate":"2020-06-14T13:00:00Z","endDate":"2020-06-14T16:30:00Z","price":1,"curr":"EUR"}
+        {"productId":35455.5,"brandId":1,"priceList":2,"priority":1,"startDate":"2020-06-14T13:00:00Z","endDate":"2020-06-14T16:30:00Z"}
+        [1, 2]
+        {"productId":35455,"brandId":0,"priceList":2,"priority":1,"startDate":"2020-06-14T13:00:00Z","endDate":"2020-06-14T16:30:00Z"}
+        """;
+
+    // Act
+    Lines lines = this.read(PriceFileFormat.JSONL, file);
+
+    // Assert
+    assertTrue(lines.accepted().isEmpty());
+    assertEquals(List.of(1L, 2L, 3L, 4L, 5L), List.copyOf(lines.rejected().keySet()));
+    assertTrue(lines.rejected().get(1L).startsWith("malformed JSON: "));
+    assertEquals("priority is required", lines.rejected().get(2L));
+    assertEquals("productId is not an integer", lines.rejected().get(3L));
+    assertEquals("line is not a JSON object", lines.rejected().get(4L));
+    assertEquals("brandId must be between 1 and 32767", lines.rejected().get(5L));
+  }
+
+  @Test
+  void shouldCountLinesByResult_whenMeterRegistryIsAvailable() {
+    // Arrange
+    double accepted = this.lines("accepted");
+    double rejected = this.lines("rejected");
+    String file = """
+        BRAND_ID,PRODUCT_ID,PRICE_LIST,PRIORITY,START_DATE,END_DATE,PRICE,CURR
+        1,35455,2,1,2020-06-14T13:00:00Z,2020-06-14T16:30:00Z,25.45,EUR
+        1,35455,2,1,2020-06-14T13:00:00Z,2020-06-14T16:30:00Z,25.45,EURO
+        """;
+
+    // Act
+    this.read(PriceFileFormat.CSV, file);
+
+    // Assert
+    assertEquals(accepted + 1, this.lines("accepted"));
+    assertEquals(rejected + 1, this.lines("rejected"));
+  }
+
+  Lines read(PriceFileFormat format, String file) {
+    Lines lines = new Lines();
+    this.priceFileReaderAdapter.read(format, input(file), lines);
+    return lines;
+  }
+
+  double lines(String result) {
+    return this.meterRegistry.get("pricing.import.lines").tag("result", result).counter().count();
+  }
+
+  static InputStream input(String file) {
+    return new ByteArrayInputStream(file.getBytes(StandardCharsets.UTF_8));
+  }
+
+  static Price price(int priceList, int priority, BigDecimal amount) {
+    Price price = new Price();
+    price.setBrandId(1);
+    price.setProductId(35455);
+    price.setPriceList((short) priceList);
+    price.setPriority(priority);
+    price.setPeriod(new Period(START, END));
+    price.setMoney(new Money(amount, "EUR"));
+    return price;
+  }
+
+  record Lines(List<Map.Entry<Long, Price>> accepted, Map<Long, String> rejected) implements PriceFileReaderPort.Handler {
+
+    Lines() {
+      this(new ArrayList<>(), new TreeMap<>());
+    }
+
+    @Override
+    public void accept(long line, Price price) {
+      this.accepted.add(Map.entry(line, price));
+    }
+
+    @Override
+    public void reject(long line, String reason) {
+      this.rejected.put(line, reason);
+    }
+  }
+}
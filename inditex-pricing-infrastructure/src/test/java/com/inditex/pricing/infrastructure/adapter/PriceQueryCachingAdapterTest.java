@@ -0,0 +1,411 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.inditex.pricing.domain.event.PriceChangedEvent;
+import com.inditex.pricing.domain.event.PricesImportedEvent;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapperImpl;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jdbc.PriceKey;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {PriceQueryCachingAdapter.class, PriceEntityMapperImpl.class, SimpleMeterRegistry.class},
+    properties = "pricing.query.cache.enabled=true"
+)
+class PriceQueryCachingAdapterTest {
+
+  static final Instant START = Instant.parse("2020-06-13T22:00:00Z");
+
+  @Autowired
+  PriceQueryCachingAdapter priceQueryCachingAdapter;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @MockitoBean
+  PriceQueryJpaAdapter priceQueryJpaAdapter;
+
+  @MockitoBean
+  PriceJdbcRepository priceJdbcRepository;
+
+  @BeforeEach
+  void setUp() {
+    this.priceQueryCachingAdapter.invalidateAll();
+  }
+
+  @Test
+  void shouldLoadProductOnce_whenQueriedAtSeveralInstants() {
+    // Arrange
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)),
+        row(2L, 35455, 1, START.plus(15, ChronoUnit.HOURS), START.plus(18, ChronoUnit.HOURS)));
+
+    // Act
+    Optional<Price> promo = this.priceQueryCachingAdapter.findApplicable(1, 35455, START.plus(16, ChronoUnit.HOURS));
+    Optional<Price> base = this.priceQueryCachingAdapter.findApplicable(1, 35455, START.plus(20, ChronoUnit.HOURS));
+    Optional<Price> none = this.priceQueryCachingAdapter.findApplicable(1, 35455, START.minusSeconds(1));
+
+    // Assert
+    assertEquals(2L, promo.orElseThrow().getId());
+    assertEquals(1L, base.orElseThrow().getId());
+    assertTrue(none.isEmpty());
+    verify(this.priceJdbcRepository, times(1)).forEachOf(eq(Set.of(new PriceKey(1, 35455))), any());
+  }
+
+  @Test
+  void shouldAnswerCandidatesFromCachedTimeline_whenProductIsCached() {
+    // Arrange
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)),
+        row(2L, 35455, 1, START.plus(15, ChronoUnit.HOURS), START.plus(18, ChronoUnit.HOURS)),
+        row(3L, 35455, 1, START.plus(10, ChronoUnit.DAYS), START.plus(11, ChronoUnit.DAYS)));
+    this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+
+    // Act
+    List<Price> result = this.priceQueryCachingAdapter.findCandidates(1, 35455, new Period(START, START.plus(1, ChronoUnit.DAYS)));
+
+    // Assert
+    assertEquals(List.of(1L, 2L), result.stream().map(Price::getId).toList());
+    assertTrue(this.priceQueryCachingAdapter.findCandidates(1, 99999, new Period(START, START)).isEmpty());
+    verify(this.priceJdbcRepository, times(1)).forEachOf(eq(Set.of(new PriceKey(1, 35455))), any());
+  }
+
+  @Test
+  void shouldLoadOnVirtualThread_whenProductIsNotCached() {
+    // Arrange
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)));
+    AtomicBoolean virtual = new AtomicBoolean();
+    doAnswer(invocation -> {
+      virtual.set(Thread.currentThread().isVirtual());
+      return null;
+    }).when(this.priceJdbcRepository).forEachOf(anyCollection(), any());
+
+    // Act
+    this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+
+    // Assert
+    assertTrue(virtual.get());
+  }
+
+  @Test
+  void shouldRethrowLoaderFailure_whenDatabaseIsUnavailable() {
+    // Arrange
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)));
+    doThrow(new DataAccessResourceFailureException("down")).when(this.priceJdbcRepository).forEachOf(anyCollection(), any());
+
+    // Act & Assert
+    assertThrows(DataAccessResourceFailureException.class, () -> this.priceQueryCachingAdapter.findApplicable(1, 35455, START));
+  }
+
+  @Test
+  void shouldNotLoad_whenFilterRejectsProduct() {
+    // Arrange
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)));
+
+    // Act
+    Optional<Price> result = this.priceQueryCachingAdapter.findApplicable(1, 1, START);
+
+    // Assert
+    assertTrue(result.isEmpty());
+    verify(this.priceJdbcRepository, never()).forEachOf(anyCollection(), any());
+  }
+
+  @Test
+  void shouldRememberMiss_whenFilterLetsProductWithoutPricesThrough() {
+    // Arrange
+    this.givenRows();
+    this.givenKeys(new PriceKey(1, 1));
+    double falsePositives = this.meterRegistry.get("pricing.query.filter.false.positives").counter().count();
+
+    // Act
+    Optional<Price> first = this.priceQueryCachingAdapter.findApplicable(1, 1, START);
+    Optional<Price> second = this.priceQueryCachingAdapter.findApplicable(1, 1, START);
+
+    // Assert
+    assertTrue(first.isEmpty());
+    assertTrue(second.isEmpty());
+    verify(this.priceJdbcRepository, times(1)).forEachOf(anyCollection(), any());
+    assertEquals(falsePositives + 1, this.meterRegistry.get("pricing.query.filter.false.positives").counter().count());
+  }
+
+  @Test
+  void shouldLoadNewProduct_whenInvalidatedAfterFilterWasBuilt() {
+    // Arrange
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)));
+    this.givenKeys();
+
+    // Act
+    Optional<Price> before = this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+    this.priceQueryCachingAdapter.invalidate(1, 35455);
+    Optional<Price> after = this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+
+    // Assert
+    assertTrue(before.isEmpty());
+    assertEquals(1L, after.orElseThrow().getId());
+  }
+
+  @Test
+  void shouldLoadNewProduct_whenWrittenOutsideAdapterAndFilterIsRefreshed() throws Exception {
+    // Arrange
+    PriceQueryCachingAdapter adapter = new PriceQueryCachingAdapter(this.priceQueryJpaAdapter, this.priceJdbcRepository,
+        new PriceEntityMapperImpl(), new PriceQueryCacheProperties(true, 10000, Duration.ofMinutes(5), 100000, Duration.ofSeconds(30), 0.01,
+            Duration.ZERO), new DefaultListableBeanFactory().getBeanProvider(MeterRegistry.class));
+    this.givenKeys();
+    adapter.reload();
+    Optional<Price> before = adapter.findApplicable(1, 35455, START);
+
+    // Act
+    // Committed by another instance: this adapter gets no invalidation
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)));
+    Optional<Price> after = adapter.findApplicable(1, 35455, START);
+    for (long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5); after.isEmpty() && System.nanoTime() < deadline; ) {
+      Thread.sleep(10);
+      after = adapter.findApplicable(1, 35455, START);
+    }
+
+    // Assert
+    assertTrue(before.isEmpty());
+    assertEquals(1L, after.orElseThrow().getId());
+  }
+
+  @Test
+  void shouldKeepNewProduct_whenInvalidatedWhileFilterIsRebuilt() throws Exception {
+    // Arrange
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)));
+    CountDownLatch scanning = new CountDownLatch(1);
+    CountDownLatch committed = new CountDownLatch(1);
+    when(this.priceJdbcRepository.countKeys()).thenReturn(0L);
+    doAnswer(invocation -> {
+      // The scan reads the table before the product is committed
+      scanning.countDown();
+      assertTrue(committed.await(5, TimeUnit.SECONDS));
+      return null;
+    }).when(this.priceJdbcRepository).forEachKey(any());
+    CompletableFuture<Void> reload = CompletableFuture.runAsync(this.priceQueryCachingAdapter::reload);
+    assertTrue(scanning.await(5, TimeUnit.SECONDS));
+
+    // Act
+    this.priceQueryCachingAdapter.invalidate(1, 35455);
+    committed.countDown();
+    reload.get(5, TimeUnit.SECONDS);
+    Optional<Price> result = this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+
+    // Assert
+    assertEquals(1L, result.orElseThrow().getId());
+  }
+
+  @Test
+  void shouldNotRememberMiss_whenProductIsCommittedWhileItIsLoaded() throws Exception {
+    // Arrange
+    this.givenKeys(new PriceKey(1, 35455));
+    PriceRow committedRow = row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS));
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch committed = new CountDownLatch(1);
+    AtomicBoolean firstLoad = new AtomicBoolean(true);
+    doAnswer(invocation -> {
+      if (firstLoad.getAndSet(false)) {
+        // The first load reads the table before the product is committed
+        loading.countDown();
+        assertTrue(committed.await(5, TimeUnit.SECONDS));
+        return null;
+      }
+      Consumer<PriceRow> consumer = invocation.getArgument(1);
+      consumer.accept(committedRow);
+      return null;
+    }).when(this.priceJdbcRepository).forEachOf(anyCollection(), any());
+    CompletableFuture<Optional<Price>> inFlight = CompletableFuture.supplyAsync(
+        () -> this.priceQueryCachingAdapter.findApplicable(1, 35455, START));
+    assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+    // Act
+    this.priceQueryCachingAdapter.onPriceChanged(new PriceChangedEvent(1, 35455, new Period(START, START.plus(30, ChronoUnit.DAYS))));
+    committed.countDown();
+    Optional<Price> before = inFlight.get(5, TimeUnit.SECONDS);
+    Optional<Price> after = this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+
+    // Assert
+    assertTrue(before.isEmpty());
+    assertEquals(1L, after.orElseThrow().getId());
+  }
+
+  @Test
+  void shouldLoadMissingProductsTogether_whenResolvingBatch() {
+    // Arrange
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)), row(2L, 35456, 0, START, START.plus(30, ChronoUnit.DAYS)));
+    this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+    List<PriceQuery> queries = List.of(new PriceQuery(1, 35455, START), new PriceQuery(1, 35456, START), new PriceQuery(1, 35457, START),
+        new PriceQuery(1, 35456, START.minusSeconds(1)));
+
+    // Act
+    List<Optional<Price>> result = this.priceQueryCachingAdapter.findAllApplicable(queries);
+
+    // Assert
+    assertEquals(1L, result.get(0).orElseThrow().getId());
+    assertEquals(2L, result.get(1).orElseThrow().getId());
+    assertTrue(result.get(2).isEmpty());
+    assertTrue(result.get(3).isEmpty());
+    verify(this.priceJdbcRepository).forEachOf(eq(Set.of(new PriceKey(1, 35456))), any());
+  }
+
+  @Test
+  void shouldReloadProduct_whenInvalidated() {
+    // Arrange
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)));
+    this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+
+    // Act
+    this.priceQueryCachingAdapter.invalidate(1, 35455);
+    this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+
+    // Assert
+    verify(this.priceJdbcRepository, times(2)).forEachOf(anyCollection(), any());
+  }
+
+  @Test
+  void shouldReloadChangedProductOnly_whenPriceChangedEventIsReceived() {
+    // Arrange
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)), row(2L, 35456, 0, START, START.plus(30, ChronoUnit.DAYS)));
+    this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+    this.priceQueryCachingAdapter.findApplicable(1, 35456, START);
+
+    // Act
+    this.priceQueryCachingAdapter.onPriceChanged(new PriceChangedEvent(1, 35455, new Period(START, START.plus(30, ChronoUnit.DAYS))));
+    this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+    this.priceQueryCachingAdapter.findApplicable(1, 35456, START);
+
+    // Assert
+    verify(this.priceJdbcRepository, times(2)).forEachOf(eq(Set.of(new PriceKey(1, 35455))), any());
+    verify(this.priceJdbcRepository, times(1)).forEachOf(eq(Set.of(new PriceKey(1, 35456))), any());
+  }
+
+  @Test
+  void shouldReloadEveryProduct_whenPricesImportedEventIsReceived() {
+    // Arrange
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)), row(2L, 35456, 0, START, START.plus(30, ChronoUnit.DAYS)));
+    this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+    this.priceQueryCachingAdapter.findApplicable(1, 35456, START);
+
+    // Act
+    this.priceQueryCachingAdapter.onPricesImported(new PricesImportedEvent(2));
+    this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+    this.priceQueryCachingAdapter.findApplicable(1, 35456, START);
+
+    // Assert
+    verify(this.priceJdbcRepository, times(2)).forEachOf(eq(Set.of(new PriceKey(1, 35455))), any());
+    verify(this.priceJdbcRepository, times(2)).forEachOf(eq(Set.of(new PriceKey(1, 35456))), any());
+  }
+
+  @Test
+  void shouldDelegateExport_whenStreamingApplicablePrices() {
+    // Arrange
+    Consumer<Price> consumer = price -> { };
+
+    // Act
+    this.priceQueryCachingAdapter.forEachApplicable(START, consumer);
+
+    // Assert
+    verify(this.priceQueryJpaAdapter).forEachApplicable(START, consumer);
+    verify(this.priceJdbcRepository, never()).forEachOf(anyCollection(), any());
+  }
+
+  @Test
+  void shouldPublishHitsAndMisses_whenMeterRegistryIsAvailable() {
+    // Arrange
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)));
+    double hits = this.gets("hit");
+    double misses = this.gets("miss");
+
+    // Act
+    this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+    this.priceQueryCachingAdapter.findApplicable(1, 35455, START);
+
+    // Assert
+    assertEquals(hits + 1, this.gets("hit"));
+    assertEquals(misses + 1, this.gets("miss"));
+  }
+
+  @Test
+  void shouldPublishFilterSizeAndFalsePositiveProbability_whenMeterRegistryIsAvailable() {
+    // Arrange
+    this.givenRows(row(1L, 35455, 0, START, START.plus(30, ChronoUnit.DAYS)));
+
+    // Act
+    double size = this.meterRegistry.get("pricing.query.filter.size").gauge().value();
+    double falsePositiveProbability = this.meterRegistry.get("pricing.query.filter.false.positive.probability").gauge().value();
+
+    // Assert
+    assertTrue(size > 0);
+    assertTrue(falsePositiveProbability > 0 && falsePositiveProbability < 0.01);
+  }
+
+  double gets(String result) {
+    return this.meterRegistry.get("cache.gets").tag("cache", "prices").tag("result", result).functionCounter().count();
+  }
+
+  void givenRows(PriceRow... rows) {
+    doAnswer(invocation -> {
+      Collection<? extends PriceKey> keys = invocation.getArgument(0);
+      Consumer<PriceRow> consumer = invocation.getArgument(1);
+      List.of(rows).stream()
+          .filter(row -> keys.contains(new PriceKey(row.brandId(), row.productId())))
+          .forEach(consumer);
+      return null;
+    }).when(this.priceJdbcRepository).forEachOf(anyCollection(), any());
+    this.givenKeys(Stream.of(rows).map(row -> new PriceKey(row.brandId(), row.productId())).distinct().toArray(PriceKey[]::new));
+  }
+
+  void givenKeys(PriceKey... keys) {
+    when(this.priceJdbcRepository.countKeys()).thenReturn((long) keys.length);
+    doAnswer(invocation -> {
+      Consumer<PriceKey> consumer = invocation.getArgument(0);
+      List.of(keys).forEach(consumer);
+      return null;
+    }).when(this.priceJdbcRepository).forEachKey(any());
+    this.priceQueryCachingAdapter.invalidateAll();
+  }
+
+  static PriceRow row(Long id, int productId, int priority, Instant start, Instant end) {
+    return new PriceRow(id, 1, productId, 1, priority, BigDecimal.valueOf(35.50), "EUR", start.getEpochSecond(), end.getEpochSecond());
+  }
+}
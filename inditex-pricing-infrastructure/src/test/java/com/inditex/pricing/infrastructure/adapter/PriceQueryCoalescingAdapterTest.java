@@ -0,0 +1,163 @@
+package com.inditex.pricing.infrastructure.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.port.out.PriceQueryPort;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.instancio.Instancio;
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {PriceQueryCoalescingAdapter.class, SimpleMeterRegistry.class},
+    properties = "pricing.query.coalescing.enabled=true"
+)
+class PriceQueryCoalescingAdapterTest {
+
+  static final Instant AT = Instant.parse("2020-06-14T14:00:00Z");
+
+  @Autowired
+  PriceQueryPort priceQueryPort;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @MockitoBean
+  PriceQueryJpaAdapter priceQueryJpaAdapter;
+
+  @Test
+  void shouldBeThePrimaryPort_whenCoalescingIsEnabled() {
+    // Arrange
+    // Act & Assert
+    assertTrue(this.priceQueryPort instanceof PriceQueryCoalescingAdapter);
+  }
+
+  /**
+   * Every query blocks until all the other lookups have joined an in-flight one, so the number of queries is exact: one per distinct
+   * lookup, whatever the number of concurrent callers.
+   */
+  @ParameterizedTest
+  @CsvSource({"1, 100", "1, 2000", "8, 100", "8, 2000", "64, 2000"})
+  void shouldQueryOncePerDistinctLookup_whenIdenticalLookupsRunConcurrently(int distinct, int concurrency) throws Exception {
+    // Arrange
+    double coalescedBefore = this.coalesced();
+    Map<Integer, AtomicInteger> queries = new ConcurrentHashMap<>();
+    doAnswer(invocation -> {
+      queries.computeIfAbsent(invocation.getArgument(1), productId -> new AtomicInteger()).incrementAndGet();
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (this.coalesced() - coalescedBefore < concurrency - distinct && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      return Optional.of(Instancio.create(Price.class));
+    }).when(this.priceQueryJpaAdapter).findApplicable(anyInt(), anyInt(), any());
+    List<Future<Optional<Price>>> results = new ArrayList<>(concurrency);
+
+    // Act
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < concurrency; i++) {
+        int productId = 35455 + i % distinct;
+        results.add(callers.submit(() -> this.priceQueryPort.findApplicable(1, productId, AT)));
+      }
+    }
+
+    // Assert
+    assertEquals(distinct, queries.size());
+    queries.forEach((productId, count) -> assertEquals(1, count.get(), () -> "queries of product " + productId));
+    assertEquals(concurrency - distinct, this.coalesced() - coalescedBefore);
+    for (int i = 0; i < concurrency; i++) {
+      assertSame(results.get(i % distinct).get().orElseThrow(), results.get(i).get().orElseThrow());
+    }
+  }
+
+  @Test
+  void shouldQueryAgain_whenPreviousLookupHasCompleted() {
+    // Arrange
+    when(this.priceQueryJpaAdapter.findApplicable(1, 35455, AT)).thenReturn(Optional.empty());
+
+    // Act
+    this.priceQueryPort.findApplicable(1, 35455, AT);
+    this.priceQueryPort.findApplicable(1, 35455, AT);
+
+    // Assert
+    verify(this.priceQueryJpaAdapter, times(2)).findApplicable(1, 35455, AT);
+  }
+
+  @Test
+  void shouldRethrowToEveryCaller_whenQueryFails() throws Exception {
+    // Arrange
+    double coalescedBefore = this.coalesced();
+    doAnswer(invocation -> {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+      while (this.coalesced() - coalescedBefore < 1 && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      throw new DataAccessResourceFailureException("Database down");
+    }).when(this.priceQueryJpaAdapter).findApplicable(1, 35455, AT);
+
+    // Act
+    List<Future<Optional<Price>>> results = new ArrayList<>();
+    try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+      results.add(callers.submit(() -> this.priceQueryPort.findApplicable(1, 35455, AT)));
+      results.add(callers.submit(() -> this.priceQueryPort.findApplicable(1, 35455, AT)));
+    }
+
+    // Assert
+    for (Future<Optional<Price>> result : results) {
+      Exception exception = assertThrows(Exception.class, result::get);
+      assertTrue(exception.getCause() instanceof DataAccessResourceFailureException);
+    }
+    verify(this.priceQueryJpaAdapter).findApplicable(1, 35455, AT);
+  }
+
+  @Test
+  void shouldNotShareLookup_whenApplicationDateFallsWithinTheSecond() {
+    // Arrange
+    Instant within = AT.plusMillis(500);
+    when(this.priceQueryJpaAdapter.findApplicable(anyInt(), anyInt(), any())).thenReturn(Optional.empty());
+
+    // Act
+    this.priceQueryPort.findApplicable(1, 35455, AT);
+    this.priceQueryPort.findApplicable(1, 35455, within);
+
+    // Assert
+    verify(this.priceQueryJpaAdapter).findApplicable(1, 35455, AT);
+    verify(this.priceQueryJpaAdapter).findApplicable(1, 35455, within);
+  }
+
+  private double coalesced() {
+    return this.meterRegistry.get("pricing.query.coalesced").counter().count();
+  }
+}
@@ -0,0 +1,266 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import com.inditex.pricing.domain.event.PriceChangedEvent;
+import com.inditex.pricing.domain.event.PricesImportedEvent;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jdbc.PriceKey;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
+
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {PriceQueryInMemoryAdapter.class},
+    properties = "pricing.query.adapter=in-memory"
+)
+class PriceQueryInMemoryAdapterTest {
+
+  static final Instant START = Instant.parse("2020-06-13T22:00:00Z");
+
+  @Autowired
+  PriceQueryInMemoryAdapter priceQueryInMemoryAdapter;
+
+  @MockitoBean
+  PriceJdbcRepository priceJdbcRepository;
+
+  @Test
+  void shouldLoadContext_whenDependenciesAreInjected() {
+    // Arrange
+    // Act & Assert
+    assertNotNull(this.priceQueryInMemoryAdapter);
+  }
+
+  @Test
+  void shouldReturnPrice_whenIndexContainsApplicablePrice() {
+    // Arrange
+    PriceRow base = row(1L, 1, 0, START, START.plus(30, ChronoUnit.DAYS));
+    PriceRow promo = row(2L, 2, 1, START.plus(15, ChronoUnit.HOURS), START.plus(18, ChronoUnit.HOURS));
+    this.givenRows(base, promo);
+    this.priceQueryInMemoryAdapter.reload();
+    Instant at = START.plus(16, ChronoUnit.HOURS);
+
+    // Act
+    Optional<Price> result = this.priceQueryInMemoryAdapter.findApplicable(1, 35455, at);
+
+    // Assert
+    assertTrue(result.isPresent());
+    assertEquals(2, result.get().getPriceList().intValue());
+    verify(this.priceJdbcRepository).forEach(any());
+    verifyNoMoreInteractions(this.priceJdbcRepository);
+  }
+
+  @Test
+  void shouldReturnEmpty_whenIndexHasNoApplicablePrice() {
+    // Arrange
+    this.givenRows(row(1L, 1, 0, START, START.plus(30, ChronoUnit.DAYS)));
+    this.priceQueryInMemoryAdapter.reload();
+    Instant at = START.minus(1, ChronoUnit.DAYS);
+
+    // Act
+    Optional<Price> result = this.priceQueryInMemoryAdapter.findApplicable(1, 35455, at);
+
+    // Assert
+    assertTrue(result.isEmpty());
+  }
+
+  @Test
+  void shouldReturnEmpty_whenIndexIsNotLoaded() {
+    // Arrange
+    this.givenRows();
+    this.priceQueryInMemoryAdapter.reload();
+
+    // Act
+    Optional<Price> result = this.priceQueryInMemoryAdapter.findApplicable(1, 35455, Instant.now());
+
+    // Assert
+    assertTrue(result.isEmpty());
+  }
+
+  @Test
+  void shouldStreamWinnerPerProduct_whenExportingSnapshot() {
+    // Arrange
+    PriceRow other = new PriceRow(3L, 1, 35456, 1, 0, BigDecimal.valueOf(10.00), "EUR",
+        START.getEpochSecond(), START.plus(30, ChronoUnit.DAYS).getEpochSecond());
+    this.givenRows(other, row(1L, 1, 0, START, START.plus(30, ChronoUnit.DAYS)),
+        row(2L, 2, 1, START.plus(15, ChronoUnit.HOURS), START.plus(18, ChronoUnit.HOURS)));
+    this.priceQueryInMemoryAdapter.reload();
+    Instant at = START.plus(16, ChronoUnit.HOURS);
+    List<Price> result = new ArrayList<>();
+
+    // Act
+    this.priceQueryInMemoryAdapter.forEachApplicable(at, result::add);
+
+    // Assert
+    assertEquals(List.of(2L, 3L), result.stream().map(Price::getId).toList());
+  }
+
+  @Test
+  void shouldReturnChangedPrice_whenPriceChangedEventIsReceived() {
+    // Arrange
+    PriceRow base = row(1L, 1, 0, START, START.plus(30, ChronoUnit.DAYS));
+    PriceRow promo = row(2L, 2, 1, START.plus(15, ChronoUnit.HOURS), START.plus(18, ChronoUnit.HOURS));
+    this.givenRows(base);
+    this.priceQueryInMemoryAdapter.reload();
+    this.givenChangedRows(base, promo);
+    Instant at = START.plus(16, ChronoUnit.HOURS);
+
+    // Act
+    Optional<Price> before = this.priceQueryInMemoryAdapter.findApplicable(1, 35455, at);
+    this.priceQueryInMemoryAdapter.onPriceChanged(event(35455));
+    Optional<Price> after = this.priceQueryInMemoryAdapter.findApplicable(1, 35455, at);
+
+    // Assert
+    assertEquals(1L, before.orElseThrow().getId());
+    assertEquals(2L, after.orElseThrow().getId());
+    verify(this.priceJdbcRepository).forEachOf(eq(Set.of(new PriceKey(1, 35455))), any());
+  }
+
+  @Test
+  void shouldReadCandidatesFromPatch_whenPriceChangedEventIsReceived() {
+    // Arrange
+    PriceRow base = row(1L, 1, 0, START, START.plus(30, ChronoUnit.DAYS));
+    PriceRow promo = row(2L, 2, 1, START.plus(15, ChronoUnit.HOURS), START.plus(18, ChronoUnit.HOURS));
+    this.givenRows(base);
+    this.priceQueryInMemoryAdapter.reload();
+    this.givenChangedRows(base, promo);
+    Period range = new Period(START.plus(12, ChronoUnit.HOURS), START.plus(20, ChronoUnit.HOURS));
+
+    // Act
+    List<Price> before = this.priceQueryInMemoryAdapter.findCandidates(1, 35455, range);
+    this.priceQueryInMemoryAdapter.onPriceChanged(event(35455));
+    List<Price> after = this.priceQueryInMemoryAdapter.findCandidates(1, 35455, range);
+
+    // Assert
+    assertEquals(List.of(1L), before.stream().map(Price::getId).toList());
+    assertEquals(List.of(1L, 2L), after.stream().map(Price::getId).toList());
+    assertTrue(this.priceQueryInMemoryAdapter.findCandidates(1, 35455, new Period(START.minusSeconds(60), START.minusSeconds(1)))
+        .isEmpty());
+  }
+
+  @Test
+  void shouldMergeChangedProductsInOrder_whenExportingSnapshot() {
+    // Arrange
+    this.givenRows(row(1L, 35455, START), row(2L, 35457, START));
+    this.priceQueryInMemoryAdapter.reload();
+    this.givenChangedRows(row(3L, 35454, START), row(4L, 35456, START), row(5L, 35457, START), row(6L, 35458, START));
+    Stream.of(35454, 35456, 35457, 35458).map(PriceQueryInMemoryAdapterTest::event).forEach(this.priceQueryInMemoryAdapter::onPriceChanged);
+    List<Price> result = new ArrayList<>();
+
+    // Act
+    this.priceQueryInMemoryAdapter.forEachApplicable(START, result::add);
+
+    // Assert
+    assertEquals(List.of(3L, 1L, 4L, 5L, 6L), result.stream().map(Price::getId).toList());
+  }
+
+  @Test
+  void shouldSkipDeletedProduct_whenExportingSnapshot() {
+    // Arrange
+    this.givenRows(row(1L, 35455, START), row(2L, 35456, START));
+    this.priceQueryInMemoryAdapter.reload();
+    this.givenChangedRows();
+    this.priceQueryInMemoryAdapter.onPriceChanged(event(35455));
+    List<Price> result = new ArrayList<>();
+
+    // Act
+    this.priceQueryInMemoryAdapter.forEachApplicable(START, result::add);
+
+    // Assert
+    assertEquals(List.of(2L), result.stream().map(Price::getId).toList());
+    assertTrue(this.priceQueryInMemoryAdapter.findApplicable(1, 35455, START).isEmpty());
+  }
+
+  @Test
+  void shouldServeReloadedIndex_whenReloadedAfterChange() {
+    // Arrange
+    this.givenRows(row(1L, 35455, START));
+    this.priceQueryInMemoryAdapter.reload();
+    this.givenChangedRows(row(2L, 35455, START));
+    this.priceQueryInMemoryAdapter.onPriceChanged(event(35455));
+    this.givenRows(row(3L, 35455, START));
+
+    // Act
+    this.priceQueryInMemoryAdapter.reload();
+    Optional<Price> result = this.priceQueryInMemoryAdapter.findApplicable(1, 35455, START);
+
+    // Assert
+    assertEquals(3L, result.orElseThrow().getId());
+  }
+
+  @Test
+  void shouldServeImportedPrices_whenPricesImportedEventIsReceived() {
+    // Arrange
+    this.givenRows(row(1L, 35455, START));
+    this.priceQueryInMemoryAdapter.reload();
+    this.givenRows(row(1L, 35455, START), row(2L, 35456, START));
+
+    // Act
+    this.priceQueryInMemoryAdapter.onPricesImported(new PricesImportedEvent(1));
+    Optional<Price> result = this.priceQueryInMemoryAdapter.findApplicable(1, 35456, START);
+
+    // Assert
+    assertEquals(2L, result.orElseThrow().getId());
+  }
+
+  void givenRows(PriceRow... rows) {
+    doAnswer(invocation -> {
+      Consumer<PriceRow> consumer = invocation.getArgument(0);
+      List.of(rows).forEach(consumer);
+      return null;
+    }).when(this.priceJdbcRepository).forEach(any());
+  }
+
+  void givenChangedRows(PriceRow... rows) {
+    doAnswer(invocation -> {
+      Collection<? extends PriceKey> keys = invocation.getArgument(0);
+      Consumer<PriceRow> consumer = invocation.getArgument(1);
+      List.of(rows).stream()
+          .filter(row -> keys.contains(new PriceKey(row.brandId(), row.productId())))
+          .forEach(consumer);
+      return null;
+    }).when(this.priceJdbcRepository).forEachOf(anyCollection(), any());
+  }
+
+  static PriceChangedEvent event(int productId) {
+    return new PriceChangedEvent(1, productId, new Period(START, START.plus(30, ChronoUnit.DAYS)));
+  }
+
+  static PriceRow row(Long id, int productId, Instant start) {
+    return new PriceRow(id, 1, productId, 1, 0, BigDecimal.valueOf(35.50), "EUR", start.getEpochSecond(),
+        start.plus(30, ChronoUnit.DAYS).getEpochSecond());
+  }
+
+  static PriceRow row(Long id, int priceList, int priority, Instant start, Instant end) {
+    return new PriceRow(id, 1, 35455, priceList, priority, BigDecimal.valueOf(35.50), "EUR", start.getEpochSecond(), end.getEpochSecond());
+  }
+}
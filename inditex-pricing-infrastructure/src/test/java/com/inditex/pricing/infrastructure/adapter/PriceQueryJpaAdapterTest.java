@@ -3,18 +3,27 @@ package com.inditex.pricing.infrastructure.adapter;
 
 import static org.instancio.Select.field;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
 import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import com.inditex.pricing.domain.model.Period;
 import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
 import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapperImpl;
-import com.inditex.pricing.infrastructure.jpa.PriceEntity;
-import com.inditex.pricing.infrastructure.jpa.PriceJpaRepository;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.instancio.Instancio;
 import org.instancio.junit.InstancioExtension;
 import org.junit.jupiter.api.Test;
@@ -27,7 +36,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 @ExtendWith({MockitoExtension.class, InstancioExtension.class})
 @SpringBootTest(
-    classes = {PriceQueryJpaAdapter.class, PriceEntityMapperImpl.class}
+    classes = {PriceQueryJpaAdapter.class, PriceEntityMapperImpl.class, SimpleMeterRegistry.class}
 )
 class PriceQueryJpaAdapterTest {
 
@@ -35,7 +44,10 @@ class PriceQueryJpaAdapterTest {
   PriceQueryJpaAdapter priceQueryJpaAdapter;
 
   @MockitoBean
-  PriceJpaRepository priceJpaRepository;
+  PriceJdbcRepository priceJdbcRepository;
+
+  @Autowired
+  MeterRegistry meterRegistry;
 
   @Test
   void shouldLoadContext_whenDependenciesAreInjected() {
@@ -45,23 +57,19 @@ class PriceQueryJpaAdapterTest {
   }
 
   @Test
-  void shouldReturnPrice_whenRepositoryReturnsEntity() {
+  void shouldReturnPrice_whenRepositoryReturnsRow() {
     // Arrange
     Integer brandId = Instancio.create(Integer.class);
     Integer productId = Instancio.create(Integer.class);
     Instant at = Instancio.create(Instant.class);
-    LocalDateTime startDate = LocalDateTime.now();
-    LocalDateTime endDate = startDate.plusDays(1);
-    PriceEntity priceEntity = Instancio.of(PriceEntity.class)
-        .set(field("startDate"), startDate)
-        .set(field("endDate"), endDate)
+    long startEpoch = Instant.now().getEpochSecond();
+    long endEpoch = startEpoch + 86_400;
+    PriceRow priceRow = Instancio.of(PriceRow.class)
+        .set(field("startEpoch"), startEpoch)
+        .set(field("endEpoch"), endEpoch)
         .set(field("curr"), "EUR") // ISO 4217 alpha-3
         .create();
-    Mockito.when(priceJpaRepository.findBest(
-        brandId,
-        productId,
-        LocalDateTime.ofInstant(at, ZoneId.of("Europe/Madrid"))
-    )).thenReturn(Optional.of(priceEntity));
+    Mockito.when(priceJdbcRepository.findBest(brandId, productId, at)).thenReturn(Optional.of(priceRow));
 
     // Act
     Optional<Price> result = priceQueryJpaAdapter.findApplicable(brandId, productId, at);
@@ -69,11 +77,32 @@ class PriceQueryJpaAdapterTest {
     // Assert
     assertTrue(result.isPresent());
     assertNotNull(result.get());
-    verify(priceJpaRepository).findBest(
-        brandId,
-        productId,
-        LocalDateTime.ofInstant(at, ZoneId.of("Europe/Madrid"))
-    );
+    verify(priceJdbcRepository).findBest(brandId, productId, at);
+  }
+
+  @Test
+  void shouldTimeDatabaseAndMappingApart_whenLookingUpPrices() {
+    // Arrange
+    Instant at = Instant.parse("2020-06-14T10:00:00Z");
+    PriceRow priceRow = Instancio.of(PriceRow.class)
+        .set(field("startEpoch"), at.getEpochSecond())
+        .set(field("endEpoch"), at.getEpochSecond() + 86_400)
+        .set(field("curr"), "EUR")
+        .create();
+    Mockito.when(priceJdbcRepository.findBest(1, 35455, at)).thenReturn(Optional.of(priceRow));
+    Mockito.when(priceJdbcRepository.findBest(1, 35456, at)).thenReturn(Optional.empty());
+    long found = this.lookups("database", "found");
+    long notFound = this.lookups("database", "not_found");
+    long mapped = this.lookups("mapping", "found");
+
+    // Act
+    priceQueryJpaAdapter.findApplicable(1, 35455, at);
+    priceQueryJpaAdapter.findApplicable(1, 35456, at);
+
+    // Assert
+    assertEquals(found + 1, this.lookups("database", "found"));
+    assertEquals(notFound + 1, this.lookups("database", "not_found"));
+    assertEquals(mapped + 1, this.lookups("mapping", "found"));
   }
 
   @Test
@@ -82,17 +111,75 @@ class PriceQueryJpaAdapterTest {
     Integer brandId = Instancio.create(Integer.class);
     Integer productId = Instancio.create(Integer.class);
     Instant at = Instancio.create(Instant.class);
-    Mockito.when(priceJpaRepository.findBest(
-        brandId, productId, LocalDateTime.ofInstant(at, ZoneId.of("Europe/Madrid"))
-    )).thenReturn(Optional.empty());
+    Mockito.when(priceJdbcRepository.findBest(brandId, productId, at)).thenReturn(Optional.empty());
 
     // Act
     Optional<Price> result = priceQueryJpaAdapter.findApplicable(brandId, productId, at);
 
     // Assert
     assertTrue(result.isEmpty());
-    verify(priceJpaRepository).findBest(
-        brandId, productId, LocalDateTime.ofInstant(at, ZoneId.of("Europe/Madrid"))
-    );
+    verify(priceJdbcRepository).findBest(brandId, productId, at);
+  }
+
+  @Test
+  void shouldReturnPricesInQueryOrder_whenResolvingBatch() {
+    // Arrange
+    List<PriceQuery> queries = Instancio.ofList(PriceQuery.class).size(3).create();
+    long startEpoch = Instant.now().getEpochSecond();
+    PriceRow row = new PriceRow(1L, 1, 35455, 2, 1, BigDecimal.valueOf(25.45), "EUR", startEpoch, startEpoch + 86_400);
+    Mockito.when(priceJdbcRepository.findBest(queries)).thenReturn(Map.of(1, row));
+
+    // Act
+    List<Optional<Price>> result = priceQueryJpaAdapter.findAllApplicable(queries);
+
+    // Assert
+    assertEquals(3, result.size());
+    assertTrue(result.get(0).isEmpty());
+    assertEquals(1L, result.get(1).orElseThrow().getId());
+    assertTrue(result.get(2).isEmpty());
+    verify(priceJdbcRepository).findBest(queries);
+  }
+
+  @Test
+  void shouldMapEveryOverlappingRow_whenFindingCandidates() {
+    // Arrange
+    Period range = new Period(Instant.parse("2020-06-14T00:00:00Z"), Instant.parse("2020-06-14T23:59:59Z"));
+    long startEpoch = Instant.parse("2020-06-13T22:00:00Z").getEpochSecond();
+    PriceRow base = new PriceRow(1L, 1, 35455, 1, 0, BigDecimal.valueOf(35.50), "EUR", startEpoch, startEpoch + 86_400);
+    PriceRow promotion = new PriceRow(2L, 1, 35455, 2, 1, BigDecimal.valueOf(25.45), "EUR", startEpoch + 3_600, startEpoch + 7_200);
+    Mockito.when(priceJdbcRepository.findOverlapping(1, 35455, range)).thenReturn(List.of(promotion, base));
+
+    // Act
+    List<Price> result = priceQueryJpaAdapter.findCandidates(1, 35455, range);
+
+    // Assert
+    assertEquals(List.of(2L, 1L), result.stream().map(Price::getId).toList());
+    verify(priceJdbcRepository).findOverlapping(1, 35455, range);
+  }
+
+  @Test
+  void shouldStreamMappedPrices_whenExportingSnapshot() {
+    // Arrange
+    Instant at = Instant.parse("2020-06-14T10:00:00Z");
+    long startEpoch = Instant.parse("2020-06-13T22:00:00Z").getEpochSecond();
+    PriceRow first = new PriceRow(1L, 1, 35455, 1, 0, BigDecimal.valueOf(35.50), "EUR", startEpoch, startEpoch + 86_400);
+    PriceRow second = new PriceRow(2L, 1, 35456, 1, 0, BigDecimal.valueOf(25.45), "EUR", startEpoch, startEpoch + 86_400);
+    Mockito.doAnswer(invocation -> {
+      Consumer<PriceRow> consumer = invocation.getArgument(1);
+      List.of(first, second).forEach(consumer);
+      return null;
+    }).when(priceJdbcRepository).forEachBest(eq(at), any());
+    List<Price> result = new ArrayList<>();
+
+    // Act
+    priceQueryJpaAdapter.forEachApplicable(at, result::add);
+
+    // Assert
+    assertEquals(List.of(1L, 2L), result.stream().map(Price::getId).toList());
+    assertEquals(35456, result.get(1).getProductId());
+  }
+
+  long lookups(String phase, String outcome) {
+    return this.meterRegistry.get("pricing.query.jpa.lookups").tags("phase", phase, "outcome", outcome).timer().count();
   }
-}
\ No newline at end of file
+}
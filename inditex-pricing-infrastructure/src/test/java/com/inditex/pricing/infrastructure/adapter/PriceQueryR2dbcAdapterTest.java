@@ -0,0 +1,161 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapperImpl;
+
+import io.r2dbc.spi.ConnectionFactories;
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {PriceQueryR2dbcAdapter.class, PriceEntityMapperImpl.class, PriceQueryR2dbcAdapterTest.R2dbcConfiguration.class}
+)
+@ActiveProfiles("reactive")
+class PriceQueryR2dbcAdapterTest {
+
+  @Autowired
+  PriceQueryR2dbcAdapter priceQueryR2dbcAdapter;
+
+  @Autowired
+  DatabaseClient databaseClient;
+
+  @BeforeEach
+  void setUp() {
+    this.execute("DROP TABLE IF EXISTS PRICES");
+    this.execute("""
+        CREATE TABLE PRICES (ID INT AUTO_INCREMENT PRIMARY KEY, BRAND_ID INT NOT NULL, PRODUCT_ID INT NOT NULL, PRICE_LIST INT NOT NULL,
+          PRIORITY TINYINT NOT NULL, PRICE DECIMAL(10, 2) NOT NULL, CURR CHAR(3) NOT NULL, START_EPOCH BIGINT NOT NULL,
+          END_EPOCH BIGINT NOT NULL)""");
+    this.execute("""
+        INSERT INTO PRICES (BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_EPOCH, END_EPOCH)
+        VALUES (1, 35455, 1, 0, 35.50, 'EUR', 1592085600, 1609455599),
+               (1, 35455, 2, 1, 25.45, 'EUR', 1592139600, 1592152200),
+               (1, 35455, 3, 1, 30.50, 'EUR', 1592172000, 1592211600),
+               (1, 35455, 4, 1, 38.95, 'EUR', 1592229600, 1609455599)""");
+  }
+
+  @Test
+  void shouldLoadContext_whenDependenciesAreInjected() {
+    // Arrange
+    // Act & Assert
+    assertNotNull(this.priceQueryR2dbcAdapter);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "2020-06-14T08:00:00Z, 1",
+      "2020-06-14T14:00:00Z, 2",
+      "2020-06-14T16:30:00Z, 2",
+      "2020-06-14T16:30:00.5Z, 1",
+      "2020-06-15T08:00:00Z, 3",
+      "2020-06-16T19:00:00Z, 4"
+  })
+  void shouldEmitHighestPriorityPrice_whenSeveralPricesApply(String at, int priceList) {
+    // Act & Assert
+    StepVerifier.create(this.priceQueryR2dbcAdapter.findApplicable(1, 35455, Instant.parse(at)))
+        .assertNext(price -> assertEquals(priceList, price.getPriceList().intValue()))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldEmitNewestPrice_whenPriorityAndStartAreTied() {
+    // Arrange
+    this.execute("""
+        INSERT INTO PRICES (BRAND_ID, PRODUCT_ID, PRICE_LIST, PRIORITY, PRICE, CURR, START_EPOCH, END_EPOCH)
+        VALUES (1, 35456, 5, 1, 19.99, 'EUR', 1592139600, 1592152200),
+               (1, 35456, 6, 1, 17.50, 'EUR', 1592139600, 1592152200)""");
+
+    // Act & Assert
+    StepVerifier.create(this.priceQueryR2dbcAdapter.findApplicable(1, 35456, Instant.parse("2020-06-14T14:00:00Z")))
+        .assertNext(price -> assertEquals(6, price.getPriceList().intValue()))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldMapEveryColumn_whenPriceApplies() {
+    // Act & Assert
+    StepVerifier.create(this.priceQueryR2dbcAdapter.findApplicable(1, 35455, Instant.parse("2020-06-14T14:00:00Z")))
+        .assertNext(price -> {
+          assertEquals(2L, price.getId());
+          assertEquals(1, price.getBrandId());
+          assertEquals(35455, price.getProductId());
+          assertEquals(1, price.getPriority());
+          assertEquals(new Period(Instant.ofEpochSecond(1592139600L), Instant.ofEpochSecond(1592152200L)), price.getPeriod());
+          assertEquals(new Money(new BigDecimal("25.45"), "EUR"), price.getMoney());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldCompleteEmpty_whenNoPriceApplies() {
+    // Act & Assert
+    StepVerifier.create(this.priceQueryR2dbcAdapter.findApplicable(1, 35455, Instant.parse("2019-01-01T00:00:00Z")))
+        .verifyComplete();
+    StepVerifier.create(this.priceQueryR2dbcAdapter.findApplicable(1, 1, Instant.parse("2020-06-14T14:00:00Z")))
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldEmitPricesOverlappingRange_whenReadingCandidates() {
+    // Arrange
+    Period range = new Period(Instant.parse("2020-06-14T00:00:00Z"), Instant.parse("2020-06-14T23:59:59Z"));
+
+    // Act & Assert
+    StepVerifier.create(this.priceQueryR2dbcAdapter.findCandidates(1, 35455, range).map(price -> price.getPriceList().intValue()).sort())
+        .expectNext(1, 2, 3)
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldLeaveOutPriceEndedBeforeRange_whenRangeStartsWithinTheFollowingSecond() {
+    // Arrange
+    Period range = new Period(Instant.parse("2020-06-14T16:30:00.5Z"), Instant.parse("2020-06-14T17:00:00Z"));
+
+    // Act & Assert
+    StepVerifier.create(this.priceQueryR2dbcAdapter.findCandidates(1, 35455, range).map(price -> price.getPriceList().intValue()).sort())
+        .expectNext(1)
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldCompleteEmpty_whenNoCandidateOverlapsRange() {
+    // Act & Assert
+    StepVerifier.create(this.priceQueryR2dbcAdapter.findCandidates(1, 35455,
+            new Period(Instant.parse("2019-01-01T00:00:00Z"), Instant.parse("2019-12-31T23:59:59Z"))))
+        .verifyComplete();
+  }
+
+  void execute(String sql) {
+    this.databaseClient.sql(sql).then().block();
+  }
+
+  @TestConfiguration
+  static class R2dbcConfiguration {
+
+    @Bean
+    DatabaseClient databaseClient() {
+      return DatabaseClient.create(ConnectionFactories.get("r2dbc:h2:mem:///r2dbc-adapter-test?options=DB_CLOSE_DELAY=-1"));
+    }
+  }
+}
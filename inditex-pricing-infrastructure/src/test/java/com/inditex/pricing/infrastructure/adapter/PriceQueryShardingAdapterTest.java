@@ -0,0 +1,198 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import static com.inditex.pricing.infrastructure.adapter.PriceQueryInMemoryAdapterTest.START;
+import static com.inditex.pricing.infrastructure.adapter.PriceQueryInMemoryAdapterTest.event;
+import static com.inditex.pricing.infrastructure.adapter.PriceQueryInMemoryAdapterTest.row;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.net.URI;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.domain.port.out.PriceQueryPort;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
+import com.inditex.pricing.infrastructure.shard.MisdirectedLookupException;
+import com.inditex.pricing.infrastructure.shard.PricePeerClient;
+import com.inditex.pricing.infrastructure.shard.PriceShard;
+
+import org.instancio.Instancio;
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {PriceQueryShardingAdapter.class, PriceQueryInMemoryAdapter.class, PriceShard.class},
+    properties = {
+        "pricing.query.adapter=in-memory",
+        "pricing.shard.enabled=true",
+        "pricing.shard.self=a",
+        "pricing.shard.nodes.a=http://a:8080",
+        "pricing.shard.nodes.b=http://b:8080"}
+)
+class PriceQueryShardingAdapterTest {
+
+  static final URI PEER = URI.create("http://b:8080");
+
+  @Autowired
+  PriceQueryPort priceQueryPort;
+
+  @Autowired
+  PriceQueryInMemoryAdapter priceQueryInMemoryAdapter;
+
+  @Autowired
+  PriceShard priceShard;
+
+  @MockitoBean
+  PriceJdbcRepository priceJdbcRepository;
+
+  @MockitoBean
+  PricePeerClient pricePeerClient;
+
+  int owned;
+
+  int foreign;
+
+  @BeforeEach
+  void setUp() {
+    this.owned = IntStream.rangeClosed(35455, 40000).filter(productId -> this.priceShard.owns(1, productId)).findFirst().orElseThrow();
+    this.foreign = IntStream.rangeClosed(35455, 40000).filter(productId -> !this.priceShard.owns(1, productId)).findFirst().orElseThrow();
+  }
+
+  @Test
+  void shouldBeThePrimaryPort_whenShardingIsEnabled() {
+    // Arrange
+    // Act & Assert
+    assertTrue(this.priceQueryPort instanceof PriceQueryShardingAdapter);
+  }
+
+  @Test
+  void shouldLoadOnlyOwnedProducts_whenReloaded() {
+    // Arrange
+    PriceRow[] rows = IntStream.rangeClosed(1, 200).mapToObj(productId -> row((long) productId, productId, START)).toArray(PriceRow[]::new);
+    doAnswer(invocation -> {
+      Consumer<PriceRow> consumer = invocation.getArgument(0);
+      List.of(rows).forEach(consumer);
+      return null;
+    }).when(this.priceJdbcRepository).forEach(any());
+
+    // Act
+    this.priceQueryInMemoryAdapter.reload();
+
+    // Assert
+    IntStream.rangeClosed(1, 200).forEach(productId -> assertEquals(this.priceShard.owns(1, productId),
+        this.priceQueryInMemoryAdapter.findApplicable(1, productId, START).isPresent()));
+    assertNotEquals(0, IntStream.rangeClosed(1, 200).filter(productId -> this.priceShard.owns(1, productId)).count());
+  }
+
+  @Test
+  void shouldIgnorePriceChange_whenProductBelongsToPeer() {
+    // Arrange
+    // Act
+    this.priceQueryInMemoryAdapter.onPriceChanged(event(this.foreign));
+
+    // Assert
+    verify(this.priceJdbcRepository, never()).forEachOf(anyCollection(), any());
+  }
+
+  @Test
+  void shouldForwardLookupToOwner_whenProductBelongsToPeer() {
+    // Arrange
+    Price price = Instancio.create(Price.class);
+    List<PriceQuery> queries = List.of(new PriceQuery(1, this.foreign, START));
+    when(this.pricePeerClient.findAllApplicable(PEER, queries)).thenReturn(CompletableFuture.completedFuture(List.of(Optional.of(price))));
+
+    // Act
+    Optional<Price> result = this.priceQueryPort.findApplicable(1, this.foreign, START);
+
+    // Assert
+    assertSame(price, result.orElseThrow());
+  }
+
+  @Test
+  void shouldAnswerLocally_whenProductIsOwned() {
+    // Arrange
+    // Act
+    Optional<Price> result = this.priceQueryPort.findApplicable(1, this.owned, START);
+
+    // Assert
+    assertTrue(result.isEmpty());
+    verifyNoInteractions(this.pricePeerClient);
+  }
+
+  @Test
+  void shouldKeepQueryOrder_whenBatchIsSplitByOwner() {
+    // Arrange
+    Instant at = START.plus(1, ChronoUnit.HOURS);
+    PriceQuery foreignQuery = new PriceQuery(1, this.foreign, at);
+    PriceQuery ownedQuery = new PriceQuery(1, this.owned, at);
+    Price price = Instancio.create(Price.class);
+    when(this.pricePeerClient.findAllApplicable(PEER, List.of(foreignQuery, foreignQuery)))
+        .thenReturn(CompletableFuture.completedFuture(List.of(Optional.of(price), Optional.empty())));
+
+    // Act
+    List<Optional<Price>> result = this.priceQueryPort.findAllApplicable(List.of(foreignQuery, ownedQuery, foreignQuery));
+
+    // Assert
+    assertEquals(List.of(Optional.of(price), Optional.empty(), Optional.empty()), result);
+  }
+
+  @Test
+  void shouldRefuseForeignLookups_whenRequestWasForwardedByPeer() {
+    // Arrange
+    PriceQuery ownedQuery = new PriceQuery(1, this.owned, START);
+    PriceQuery foreignQuery = new PriceQuery(1, this.foreign, START);
+    Period range = new Period(START, START.plus(1, ChronoUnit.DAYS));
+    this.priceShard.setForwarded(true);
+    try {
+      // Act & Assert
+      assertTrue(this.priceQueryPort.findApplicable(1, this.owned, START).isEmpty());
+      assertThrows(MisdirectedLookupException.class, () -> this.priceQueryPort.findApplicable(1, this.foreign, START));
+      assertThrows(MisdirectedLookupException.class, () -> this.priceQueryPort.findAllApplicable(List.of(ownedQuery, foreignQuery)));
+      assertThrows(MisdirectedLookupException.class, () -> this.priceQueryPort.findCandidates(1, this.foreign, range));
+      verifyNoInteractions(this.pricePeerClient);
+    } finally {
+      this.priceShard.setForwarded(false);
+    }
+  }
+
+  @Test
+  void shouldReadCandidatesFromOwner_whenProductBelongsToPeer() {
+    // Arrange
+    Period range = new Period(START, START.plus(1, ChronoUnit.DAYS));
+    List<Price> candidates = List.of(Instancio.create(Price.class));
+    when(this.pricePeerClient.findCandidates(PEER, 1, this.foreign, range)).thenReturn(CompletableFuture.completedFuture(candidates));
+
+    // Act
+    List<Price> result = this.priceQueryPort.findCandidates(1, this.foreign, range);
+
+    // Assert
+    assertEquals(candidates, result);
+  }
+}
@@ -0,0 +1,256 @@
+
+package com.inditex.pricing.infrastructure.adapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.inditex.pricing.domain.event.PriceChangedEvent;
+import com.inditex.pricing.domain.event.PricesImportedEvent;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.infrastructure.jdbc.PriceJdbcRepository;
+import com.inditex.pricing.infrastructure.jdbc.PriceKey;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
+import com.inditex.pricing.infrastructure.jdbc.PriceWatermark;
+import com.inditex.pricing.infrastructure.memory.PriceIntervalIndex;
+import com.inditex.pricing.infrastructure.memory.PriceSnapshot;
+
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {PriceQuerySnapshotAdapter.class},
+    properties = {"pricing.query.adapter=snapshot", "pricing.query.snapshot.file=target/test-snapshots/${random.uuid}.snapshot",
+        "pricing.query.snapshot.rewrite-delay=1h"}
+)
+class PriceQuerySnapshotAdapterTest {
+
+  static final Instant START = Instant.parse("2020-06-13T22:00:00Z");
+
+  @Autowired
+  PriceQuerySnapshotAdapter priceQuerySnapshotAdapter;
+
+  // The snapshot is written at startup, before any stubbing, and needs a watermark
+  @MockitoBean(answers = Answers.RETURNS_MOCKS)
+  PriceJdbcRepository priceJdbcRepository;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void shouldLoadContext_whenDependenciesAreInjected() {
+    // Arrange
+    // Act & Assert
+    assertNotNull(this.priceQuerySnapshotAdapter);
+  }
+
+  @Test
+  void shouldReturnPrice_whenSnapshotContainsApplicablePrice() {
+    // Arrange
+    PriceRow base = row(1L, 35455, START);
+    PriceRow promo = new PriceRow(2L, 1, 35455, 2, 1, BigDecimal.valueOf(25.45), "EUR",
+        START.plus(15, ChronoUnit.HOURS).getEpochSecond(), START.plus(18, ChronoUnit.HOURS).getEpochSecond());
+    this.givenRows(base, promo);
+    this.priceQuerySnapshotAdapter.refresh();
+
+    // Act
+    Optional<Price> result = this.priceQuerySnapshotAdapter.findApplicable(1, 35455, START.plus(16, ChronoUnit.HOURS));
+
+    // Assert
+    assertEquals(2L, result.orElseThrow().getId());
+    assertTrue(this.priceQuerySnapshotAdapter.findApplicable(1, 35455, START.minus(1, ChronoUnit.DAYS)).isEmpty());
+  }
+
+  @Test
+  void shouldMapExistingFile_withoutReadingPrices_whenWatermarkMatchesTable() throws IOException {
+    // Arrange
+    Path file = this.directory.resolve("prices.snapshot");
+    PriceSnapshot.write(PriceIntervalIndex.builder().add(row(7L, 35455, START)).build(), new PriceWatermark(1, 7), file);
+    PriceJdbcRepository repository = mock(PriceJdbcRepository.class);
+    when(repository.watermark()).thenReturn(new PriceWatermark(1, 7));
+
+    // Act
+    PriceQuerySnapshotAdapter adapter = new PriceQuerySnapshotAdapter(repository, properties(file));
+
+    // Assert
+    assertEquals(7L, adapter.findApplicable(1, 35455, START).orElseThrow().getId());
+    verify(repository, never()).forEach(any());
+  }
+
+  @Test
+  void shouldRewriteExistingFile_whenWatermarkDoesNotMatchTable() throws IOException {
+    // Arrange
+    Path file = this.directory.resolve("prices.snapshot");
+    PriceSnapshot.write(PriceIntervalIndex.builder().add(row(7L, 35455, START)).build(), new PriceWatermark(1, 7), file);
+    PriceJdbcRepository repository = mock(PriceJdbcRepository.class);
+    when(repository.watermark()).thenReturn(new PriceWatermark(2, 8));
+    givenRows(repository, row(7L, 35455, START), row(8L, 35456, START));
+
+    // Act
+    PriceQuerySnapshotAdapter adapter = new PriceQuerySnapshotAdapter(repository, properties(file));
+
+    // Assert
+    assertEquals(8L, adapter.findApplicable(1, 35456, START).orElseThrow().getId());
+    assertEquals(new PriceWatermark(2, 8), PriceSnapshot.open(file).watermark());
+  }
+
+  @Test
+  void shouldRewriteExistingFile_whenItCannotBeMapped() throws IOException {
+    // Arrange
+    Path file = Files.writeString(this.directory.resolve("prices.snapshot"), "written by an older version");
+    PriceJdbcRepository repository = mock(PriceJdbcRepository.class);
+    when(repository.watermark()).thenReturn(new PriceWatermark(1, 7));
+    givenRows(repository, row(7L, 35455, START));
+
+    // Act
+    PriceQuerySnapshotAdapter adapter = new PriceQuerySnapshotAdapter(repository, properties(file));
+
+    // Assert
+    assertEquals(7L, adapter.findApplicable(1, 35455, START).orElseThrow().getId());
+  }
+
+  @Test
+  void shouldServeChangedPriceAfterRestart_whenFileWasRewrittenWithPatch() throws Exception {
+    // Arrange
+    Path file = this.directory.resolve("prices.snapshot");
+    PriceJdbcRepository repository = mock(PriceJdbcRepository.class);
+    when(repository.watermark()).thenReturn(new PriceWatermark(1, 7));
+    givenRows(repository, row(7L, 35455, START));
+    PriceQuerySnapshotAdapter adapter = new PriceQuerySnapshotAdapter(repository,
+        new PriceSnapshotProperties(file, true, Duration.ZERO));
+    // Updated in place: same ID, so the watermark does not change
+    PriceRow updated = new PriceRow(7L, 1, 35455, 1, 0, BigDecimal.valueOf(19.99), "EUR", START.getEpochSecond(),
+        START.plus(30, ChronoUnit.DAYS).getEpochSecond());
+    givenRows(repository, updated);
+    doAnswer(invocation -> {
+      Consumer<PriceRow> consumer = invocation.getArgument(1);
+      consumer.accept(updated);
+      return null;
+    }).when(repository).forEachOf(anyCollection(), any());
+
+    // Act
+    adapter.onPriceChanged(event(35455));
+    Optional<Price> afterRestart = Optional.empty();
+    for (long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5); System.nanoTime() < deadline; Thread.sleep(10)) {
+      afterRestart = new PriceQuerySnapshotAdapter(repository, properties(file)).findApplicable(1, 35455, START);
+      if (new BigDecimal("19.99").equals(afterRestart.orElseThrow().getMoney().amount())) {
+        break;
+      }
+    }
+
+    // Assert
+    assertEquals(new BigDecimal("19.99"), afterRestart.orElseThrow().getMoney().amount());
+  }
+
+  @Test
+  void shouldFailToStart_whenFileIsMissingAndMustNotBeCreated() {
+    // Arrange
+    PriceSnapshotProperties properties = properties(this.directory.resolve("missing.snapshot"));
+    PriceJdbcRepository repository = mock(PriceJdbcRepository.class);
+
+    // Act & Assert
+    assertThrows(IllegalStateException.class, () -> new PriceQuerySnapshotAdapter(repository, properties));
+  }
+
+  @Test
+  void shouldMergeChangedProductsInOrder_whenPriceChangedEventsAreReceived() {
+    // Arrange
+    this.givenRows(row(1L, 35455, START), row(2L, 35457, START));
+    this.priceQuerySnapshotAdapter.refresh();
+    this.givenChangedRows(row(3L, 35454, START), row(4L, 35457, START));
+    this.priceQuerySnapshotAdapter.onPriceChanged(event(35454));
+    this.priceQuerySnapshotAdapter.onPriceChanged(event(35457));
+    List<Price> result = new ArrayList<>();
+
+    // Act
+    this.priceQuerySnapshotAdapter.forEachApplicable(START, result::add);
+
+    // Assert
+    assertEquals(List.of(3L, 1L, 4L), result.stream().map(Price::getId).toList());
+    assertEquals(4L, this.priceQuerySnapshotAdapter.findApplicable(1, 35457, START).orElseThrow().getId());
+  }
+
+  @Test
+  void shouldServeImportedPrices_whenPricesImportedEventIsReceived() {
+    // Arrange
+    this.givenRows(row(1L, 35455, START));
+    this.priceQuerySnapshotAdapter.refresh();
+    this.givenChangedRows(row(2L, 35455, START));
+    this.priceQuerySnapshotAdapter.onPriceChanged(event(35455));
+    this.givenRows(row(3L, 35455, START), row(4L, 35456, START));
+
+    // Act
+    this.priceQuerySnapshotAdapter.onPricesImported(new PricesImportedEvent(2));
+
+    // Assert
+    assertEquals(3L, this.priceQuerySnapshotAdapter.findApplicable(1, 35455, START).orElseThrow().getId());
+    assertEquals(4L, this.priceQuerySnapshotAdapter.findApplicable(1, 35456, START).orElseThrow().getId());
+  }
+
+  void givenRows(PriceRow... rows) {
+    givenRows(this.priceJdbcRepository, rows);
+  }
+
+  void givenChangedRows(PriceRow... rows) {
+    doAnswer(invocation -> {
+      Collection<? extends PriceKey> keys = invocation.getArgument(0);
+      Consumer<PriceRow> consumer = invocation.getArgument(1);
+      List.of(rows).stream()
+          .filter(row -> keys.contains(new PriceKey(row.brandId(), row.productId())))
+          .forEach(consumer);
+      return null;
+    }).when(this.priceJdbcRepository).forEachOf(anyCollection(), any());
+  }
+
+  static void givenRows(PriceJdbcRepository repository, PriceRow... rows) {
+    doAnswer(invocation -> {
+      Consumer<PriceRow> consumer = invocation.getArgument(0);
+      List.of(rows).forEach(consumer);
+      return null;
+    }).when(repository).forEach(any());
+  }
+
+  static PriceSnapshotProperties properties(Path file) {
+    return new PriceSnapshotProperties(file, false, Duration.ofHours(1));
+  }
+
+  static PriceChangedEvent event(int productId) {
+    return new PriceChangedEvent(1, productId, new Period(START, START.plus(30, ChronoUnit.DAYS)));
+  }
+
+  static PriceRow row(Long id, int productId, Instant start) {
+    return new PriceRow(id, 1, productId, 1, 0, BigDecimal.valueOf(35.50), "EUR", start.getEpochSecond(),
+        start.plus(30, ChronoUnit.DAYS).getEpochSecond());
+  }
+}
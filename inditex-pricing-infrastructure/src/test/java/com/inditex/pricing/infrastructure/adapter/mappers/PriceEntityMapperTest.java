@@ -5,11 +5,12 @@ import static org.instancio.Select.field;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
+import java.time.Instant;
 
 import com.inditex.pricing.domain.model.Money;
 import com.inditex.pricing.domain.model.Period;
 import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
 import com.inditex.pricing.infrastructure.jpa.PriceEntity;
 
 import org.instancio.Instancio;
@@ -17,6 +18,8 @@ import org.instancio.junit.InstancioExtension;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith({MockitoExtension.class, InstancioExtension.class})
@@ -48,16 +51,16 @@ class PriceEntityMapperTest {
 
   @Test
   void toPeriod_shouldReturnPeriod_whenEntityIsValid() {
-    LocalDateTime start = LocalDateTime.now();
-    LocalDateTime end = start.plusDays(1);
+    long start = Instant.now().getEpochSecond();
+    long end = start + 86_400;
     PriceEntity entity = Instancio.of(PriceEntity.class)
-        .set(field(PriceEntity::getStartDate), start)
-        .set(field(PriceEntity::getEndDate), end)
+        .set(field(PriceEntity::getStartEpoch), start)
+        .set(field(PriceEntity::getEndEpoch), end)
         .create();
     Period period = priceEntityMapper.toPeriod(entity);
     assertNotNull(period);
-    assertEquals(start.atZone(java.time.ZoneId.of("Europe/Madrid")).toInstant(), period.start());
-    assertEquals(end.atZone(java.time.ZoneId.of("Europe/Madrid")).toInstant(), period.end());
+    assertEquals(Instant.ofEpochSecond(start), period.start());
+    assertEquals(Instant.ofEpochSecond(end), period.end());
   }
 
   @Test
@@ -66,19 +69,19 @@ class PriceEntityMapperTest {
   }
 
   @Test
-  void toPeriod_shouldReturnNull_whenStartDateIsNull() {
+  void toPeriod_shouldReturnNull_whenStartEpochIsNull() {
     PriceEntity entity = Instancio.of(PriceEntity.class)
-        .set(field(PriceEntity::getStartDate), null)
-        .set(field(PriceEntity::getEndDate), LocalDateTime.now())
+        .set(field(PriceEntity::getStartEpoch), null)
+        .set(field(PriceEntity::getEndEpoch), 1_592_085_600L)
         .create();
     assertNull(priceEntityMapper.toPeriod(entity));
   }
 
   @Test
-  void toPeriod_shouldReturnNull_whenEndDateIsNull() {
+  void toPeriod_shouldReturnNull_whenEndEpochIsNull() {
     PriceEntity entity = Instancio.of(PriceEntity.class)
-        .set(field(PriceEntity::getStartDate), LocalDateTime.now())
-        .set(field(PriceEntity::getEndDate), null)
+        .set(field(PriceEntity::getStartEpoch), 1_592_085_600L)
+        .set(field(PriceEntity::getEndEpoch), null)
         .create();
     assertNull(priceEntityMapper.toPeriod(entity));
   }
@@ -86,24 +89,24 @@ class PriceEntityMapperTest {
   @Test
   void toPeriod_shouldReturnNull_whenBothDatesAreNull() {
     PriceEntity entity = Instancio.of(PriceEntity.class)
-        .set(field(PriceEntity::getStartDate), null)
-        .set(field(PriceEntity::getEndDate), null)
+        .set(field(PriceEntity::getStartEpoch), null)
+        .set(field(PriceEntity::getEndEpoch), null)
         .create();
     assertNull(priceEntityMapper.toPeriod(entity));
   }
 
   @Test
   void toPeriod_shouldReturnPeriod_whenBothDatesArePresent() {
-    LocalDateTime start = LocalDateTime.now();
-    LocalDateTime end = start.plusDays(1);
+    long start = Instant.now().getEpochSecond();
+    long end = start + 86_400;
     PriceEntity entity = Instancio.of(PriceEntity.class)
-        .set(field(PriceEntity::getStartDate), start)
-        .set(field(PriceEntity::getEndDate), end)
+        .set(field(PriceEntity::getStartEpoch), start)
+        .set(field(PriceEntity::getEndEpoch), end)
         .create();
     Period period = priceEntityMapper.toPeriod(entity);
     assertNotNull(period);
-    assertEquals(start.atZone(java.time.ZoneId.of("Europe/Madrid")).toInstant(), period.start());
-    assertEquals(end.atZone(java.time.ZoneId.of("Europe/Madrid")).toInstant(), period.end());
+    assertEquals(Instant.ofEpochSecond(start), period.start());
+    assertEquals(Instant.ofEpochSecond(end), period.end());
   }
 
   @Test
@@ -111,8 +114,8 @@ class PriceEntityMapperTest {
     PriceEntity entity = Instancio.of(PriceEntity.class)
         .set(field(PriceEntity::getPrice), BigDecimal.valueOf(123.45))
         .set(field(PriceEntity::getCurr), "EUR")
-        .set(field(PriceEntity::getStartDate), LocalDateTime.now())
-        .set(field(PriceEntity::getEndDate), LocalDateTime.now().plusDays(1))
+        .set(field(PriceEntity::getStartEpoch), 1_592_085_600L)
+        .set(field(PriceEntity::getEndEpoch), 1_592_172_000L)
         .create();
     Price price = priceEntityMapper.toModel(entity);
     assertNotNull(price);
@@ -133,6 +136,47 @@ class PriceEntityMapperTest {
 
   @Test
   void toModel_shouldReturnNull_whenEntityIsNull() {
-    assertNull(priceEntityMapper.toModel(null));
+    assertNull(priceEntityMapper.toModel((PriceEntity) null));
   }
-}
\ No newline at end of file
+
+  @Test
+  void toModel_shouldMapAllFields_whenRowIsComplete() {
+    PriceRow row = new PriceRow(2L, 1, 35455, 2, 1, new BigDecimal("25.45"), "EUR", 1_592_139_600L, 1_592_152_200L);
+
+    Price price = priceEntityMapper.toModel(row);
+
+    assertEquals(2L, price.getId());
+    assertEquals(1, price.getBrandId());
+    assertEquals(35455, price.getProductId());
+    assertEquals((short) 2, price.getPriceList());
+    assertEquals(1, price.getPriority());
+    assertEquals(new Money(new BigDecimal("25.45"), "EUR"), price.getMoney());
+    assertEquals(new Period(Instant.parse("2020-06-14T13:00:00Z"), Instant.parse("2020-06-14T16:30:00Z")), price.getPeriod());
+  }
+
+  @Test
+  void toModel_shouldReturnNull_whenRowIsNull() {
+    assertNull(priceEntityMapper.toModel((PriceRow) null));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"2020-06-14T13:00:00Z", "2020-10-25T01:30:00Z", "1969-12-31T23:59:59Z"})
+  void floorAndCeilSecond_shouldBeEpochSecond_whenInstantIsWholeSecond(String instant) {
+    Instant source = Instant.parse(instant);
+    assertEquals(source.getEpochSecond(), PriceEntityMapper.floorSecond(source));
+    assertEquals(source.getEpochSecond(), PriceEntityMapper.ceilSecond(source));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"2020-06-14T13:00:00.000000001Z", "2020-06-14T13:00:00.5Z", "1969-12-31T23:59:59.999999999Z"})
+  void floorAndCeilSecond_shouldSurroundInstant_whenInstantHasFraction(String instant) {
+    Instant source = Instant.parse(instant);
+    assertEquals(source.getEpochSecond(), PriceEntityMapper.floorSecond(source));
+    assertEquals(source.getEpochSecond() + 1, PriceEntityMapper.ceilSecond(source));
+  }
+
+  @Test
+  void toInstant_shouldReturnNull_whenEpochSecondIsNull() {
+    assertNull(PriceEntityMapper.toInstant(null));
+  }
+}
@@ -0,0 +1,167 @@
+package com.inditex.pricing.infrastructure.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import com.inditex.pricing.domain.model.PriceQuery;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+@ExtendWith(MockitoExtension.class)
+@SpringBootTest(
+    classes = {PriceLookupBatcher.class, SimpleMeterRegistry.class},
+    properties = {"pricing.query.batching.enabled=true", "pricing.query.batching.window=200ms", "pricing.query.batching.max-size=4"}
+)
+class PriceLookupBatcherTest {
+
+  static final Instant AT = Instant.parse("2020-06-14T14:00:00Z");
+
+  @Autowired
+  PriceLookupBatcher priceLookupBatcher;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
+  @MockitoBean
+  PriceJdbcRepository priceJdbcRepository;
+
+  @Test
+  void shouldResolveLookupsWithOneStatement_whenTheyFillABatch() throws Exception {
+    // Arrange
+    when(this.priceJdbcRepository.findBest(anyList())).thenAnswer(invocation -> evenProducts(invocation.getArgument(0)));
+
+    // Act
+    List<CompletableFuture<Optional<PriceRow>>> results = IntStream.range(0, 4)
+        .mapToObj(productId -> this.priceLookupBatcher.findBest(new PriceQuery(1, productId, AT)))
+        .toList();
+
+    // Assert
+    for (int productId = 0; productId < 4; productId++) {
+      Optional<PriceRow> row = results.get(productId).get(5, TimeUnit.SECONDS);
+      assertEquals(productId % 2 == 0, row.isPresent());
+      row.ifPresent(found -> assertEquals(1, found.brandId()));
+    }
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<PriceQuery>> batch = ArgumentCaptor.forClass(List.class);
+    verify(this.priceJdbcRepository).findBest(batch.capture());
+    assertEquals(IntStream.range(0, 4).mapToObj(productId -> new PriceQuery(1, productId, AT)).toList(), batch.getValue());
+  }
+
+  @Test
+  void shouldSplitLookups_whenTheyExceedTheMaximumSize() throws Exception {
+    // Arrange
+    when(this.priceJdbcRepository.findBest(anyList())).thenAnswer(invocation -> evenProducts(invocation.getArgument(0)));
+    DistributionSummary sizes = this.meterRegistry.get("pricing.query.batch.size").summary();
+    long batchesBefore = sizes.count();
+    double lookupsBefore = sizes.totalAmount();
+
+    // Act
+    List<CompletableFuture<Optional<PriceRow>>> results = IntStream.range(0, 6)
+        .mapToObj(productId -> this.priceLookupBatcher.findBest(new PriceQuery(1, productId, AT)))
+        .toList();
+
+    // Assert
+    for (CompletableFuture<Optional<PriceRow>> result : results) {
+      result.get(5, TimeUnit.SECONDS);
+    }
+    verify(this.priceJdbcRepository, times(2)).findBest(anyList());
+    assertEquals(2, sizes.count() - batchesBefore);
+    assertEquals(6, sizes.totalAmount() - lookupsBefore);
+    assertEquals(4, sizes.max());
+  }
+
+  @Test
+  void shouldSendALoneLookupWithTheSingleRowStatement_whenTheWindowElapses() throws Exception {
+    // Arrange
+    PriceRow priceRow = row(1, 7);
+    when(this.priceJdbcRepository.findBest(1, 7, AT)).thenReturn(Optional.of(priceRow));
+    long startNanos = System.nanoTime();
+
+    // Act
+    Optional<PriceRow> result = this.priceLookupBatcher.findBest(new PriceQuery(1, 7, AT)).get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertSame(priceRow, result.orElseThrow());
+    assertTrue(System.nanoTime() - startNanos >= TimeUnit.MILLISECONDS.toNanos(150), "A lookup waits for others up to the window");
+    verify(this.priceJdbcRepository, never()).findBest(anyList());
+  }
+
+  @Test
+  void shouldFailEveryLookupOfTheBatch_whenTheStatementFails() {
+    // Arrange
+    DataAccessResourceFailureException failure = new DataAccessResourceFailureException("down");
+    when(this.priceJdbcRepository.findBest(anyList())).thenThrow(failure);
+
+    // Act
+    List<CompletableFuture<Optional<PriceRow>>> results = IntStream.range(0, 4)
+        .mapToObj(productId -> this.priceLookupBatcher.findBest(new PriceQuery(1, productId, AT)))
+        .toList();
+
+    // Assert
+    for (CompletableFuture<Optional<PriceRow>> result : results) {
+      ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+      assertSame(failure, thrown.getCause());
+    }
+  }
+
+  @Test
+  void shouldResolveLookupsOnTheCallingThread_whenStopped() throws Exception {
+    // Arrange
+    when(this.priceJdbcRepository.findBest(anyInt(), anyInt(), any())).thenReturn(Optional.empty());
+    this.priceLookupBatcher.stop();
+    try {
+      // Act
+      CompletableFuture<Optional<PriceRow>> result = this.priceLookupBatcher.findBest(new PriceQuery(1, 7, AT));
+
+      // Assert
+      assertTrue(result.isDone());
+      assertTrue(result.get().isEmpty());
+    } finally {
+      this.priceLookupBatcher.start();
+    }
+  }
+
+  private static Map<Integer, PriceRow> evenProducts(List<PriceQuery> queries) {
+    Map<Integer, PriceRow> rows = new HashMap<>();
+    for (int i = 0; i < queries.size(); i++) {
+      if (queries.get(i).productId() % 2 == 0) {
+        rows.put(i, row(queries.get(i).brandId(), queries.get(i).productId()));
+      }
+    }
+    return rows;
+  }
+
+  private static PriceRow row(int brandId, int productId) {
+    return new PriceRow(1L, brandId, productId, 1, 0, new BigDecimal("35.50"), "EUR", AT.getEpochSecond(), AT.getEpochSecond() + 3600);
+  }
+}
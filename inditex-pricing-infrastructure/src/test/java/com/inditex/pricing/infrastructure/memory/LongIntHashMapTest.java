@@ -0,0 +1,58 @@
+
+package com.inditex.pricing.infrastructure.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongIntHashMapTest {
+
+  @Test
+  void shouldReturnValue_whenKeyIsPresent() {
+    LongIntHashMap map = new LongIntHashMap(4);
+    map.put(42L, 7);
+    assertEquals(7, map.get(42L));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void shouldReturnMissing_whenKeyIsAbsent() {
+    LongIntHashMap map = new LongIntHashMap(4);
+    map.put(42L, 7);
+    assertEquals(LongIntHashMap.MISSING, map.get(43L));
+  }
+
+  @Test
+  void shouldReplaceValue_whenKeyIsPutTwice() {
+    LongIntHashMap map = new LongIntHashMap(4);
+    map.put(0L, 1);
+    map.put(0L, 2);
+    assertEquals(2, map.get(0L));
+    assertEquals(1, map.size());
+  }
+
+  @Test
+  void shouldKeepEveryEntry_whenMapGrowsBeyondExpectedSize() {
+    LongIntHashMap map = new LongIntHashMap(2);
+    Map<Long, Integer> expected = new HashMap<>();
+    Random random = new Random(7);
+    for (int i = 0; i < 10_000; i++) {
+      long key = random.nextLong();
+      map.put(key, i);
+      expected.put(key, i);
+    }
+    assertEquals(expected.size(), map.size());
+    expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+  }
+
+  @Test
+  void shouldRejectNegativeValue() {
+    LongIntHashMap map = new LongIntHashMap(4);
+    assertThrows(IllegalArgumentException.class, () -> map.put(1L, -1));
+  }
+}
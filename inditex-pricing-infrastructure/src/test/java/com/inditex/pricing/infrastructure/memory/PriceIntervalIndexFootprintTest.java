@@ -0,0 +1,94 @@
+
+package com.inditex.pricing.infrastructure.memory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapper;
+import com.inditex.pricing.infrastructure.adapter.mappers.PriceEntityMapperImpl;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
+import com.inditex.pricing.infrastructure.jpa.PriceEntity;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Measures the retained heap of the packed {@link PriceIntervalIndex} against the entity-based representations of the same catalogue.
+ * The figures are reported in {@code docs/performance/price-index-footprint.md}.
+ */
+class PriceIntervalIndexFootprintTest {
+
+  static final int KEYS = 2_000;
+
+  static final int ROWS_PER_KEY = 10;
+
+  static final long START = 1_592_085_600L;
+
+  static List<PriceRow> rows;
+
+  @BeforeAll
+  static void setUp() {
+    rows = new ArrayList<>(KEYS * ROWS_PER_KEY);
+    long id = 1;
+    for (int key = 0; key < KEYS; key++) {
+      for (int i = 0; i < ROWS_PER_KEY; i++) {
+        long start = START + i * 7L * 86_400 + key % 24 * 3_600L;
+        rows.add(new PriceRow(id, 1 + key % 4, 30_000 + key, 1 + i, i % 2, BigDecimal.valueOf(1_000 + id, 2), new String("EUR"), start,
+            start + 10 * 86_400 - 1));
+        id++;
+      }
+    }
+  }
+
+  @Test
+  void shouldRetainUnderThirdOfEntityHeap_whenCataloguePacked() {
+    // Arrange
+    List<PriceEntity> entities = rows.stream().map(PriceIntervalIndexFootprintTest::entity).toList();
+    PriceIntervalIndex.Builder builder = PriceIntervalIndex.builder();
+    rows.forEach(builder::add);
+
+    // Act
+    PriceIntervalIndex index = builder.build();
+    long entityBytes = GraphLayout.parseInstance(entities).totalSize();
+    long indexBytes = GraphLayout.parseInstance(index).totalSize();
+
+    // Assert
+    assertTrue(indexBytes * 3 < entityBytes, () -> "index " + indexBytes + " B vs entities " + entityBytes + " B");
+  }
+
+  @Test
+  void shouldRetainUnderThirdOfDomainHeap_whenCataloguePacked() {
+    // Arrange
+    PriceEntityMapper mapper = new PriceEntityMapperImpl();
+    List<Price> prices = rows.stream().map(row -> mapper.toModel(entity(row))).toList();
+    PriceIntervalIndex.Builder builder = PriceIntervalIndex.builder();
+    rows.forEach(builder::add);
+
+    // Act
+    PriceIntervalIndex index = builder.build();
+    long domainBytes = GraphLayout.parseInstance(prices).totalSize();
+    long indexBytes = GraphLayout.parseInstance(index).totalSize();
+
+    // Assert
+    assertTrue(indexBytes * 3 < domainBytes, () -> "index " + indexBytes + " B vs domain " + domainBytes + " B");
+  }
+
+  static PriceEntity entity(PriceRow row) {
+    PriceEntity entity = new PriceEntity();
+    entity.setId(row.id());
+    entity.setBrandId(row.brandId());
+    entity.setProductId(row.productId());
+    entity.setPriceList(row.priceList());
+    entity.setPriority(row.priority());
+    entity.setPrice(row.price());
+    entity.setCurr(row.curr());
+    entity.setStartEpoch(row.startEpoch());
+    entity.setEndEpoch(row.endEpoch());
+    return entity;
+  }
+}
@@ -0,0 +1,220 @@
+
+package com.inditex.pricing.infrastructure.memory;
+
+import static org.instancio.Select.field;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceTimeline;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
+
+import org.instancio.Instancio;
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(InstancioExtension.class)
+class PriceIntervalIndexTest {
+
+  static final Instant START = Instant.parse("2020-06-14T00:00:00Z");
+
+  @Test
+  void shouldFindPrice_whenKeyAndInstantMatch() {
+    // Arrange
+    Price price = price(1, 35455, 0, START, START.plusSeconds(3600));
+    PriceIntervalIndex index = PriceIntervalIndex.builder().add(price).build();
+
+    // Act
+    Optional<Price> result = index.find(1, 35455, START.plusSeconds(60));
+
+    // Assert
+    assertTrue(result.isPresent());
+    assertEquals(price, result.get());
+  }
+
+  @Test
+  void shouldReturnEmpty_whenKeyIsUnknown() {
+    // Arrange
+    PriceIntervalIndex index = PriceIntervalIndex.builder().add(price(1, 35455, 0, START, START.plusSeconds(3600))).build();
+
+    // Act & Assert
+    assertTrue(index.find(2, 35455, START).isEmpty());
+    assertTrue(index.find(1, 35456, START).isEmpty());
+  }
+
+  @Test
+  void shouldKeepBrandsAndProductsApart_whenIdsShareBits() {
+    // Arrange
+    Price first = price(1, 2, 0, START, START.plusSeconds(3600));
+    Price second = price(2, 1, 0, START, START.plusSeconds(3600));
+    PriceIntervalIndex index = PriceIntervalIndex.builder().add(first).add(second).build();
+
+    // Act & Assert
+    assertEquals(2, index.size());
+    assertEquals(first, index.find(1, 2, START).orElseThrow());
+    assertEquals(second, index.find(2, 1, START).orElseThrow());
+  }
+
+  @Test
+  void shouldResolvePriority_whenPricesOverlap() {
+    // Arrange
+    Price base = price(1, 35455, 0, START, START.plusSeconds(3600));
+    Price promo = price(1, 35455, 1, START, START.plusSeconds(3600));
+    PriceIntervalIndex index = PriceIntervalIndex.builder().add(base).add(promo).build();
+
+    // Act & Assert
+    assertEquals(promo, index.find(1, 35455, START).orElseThrow());
+  }
+
+  @Test
+  void shouldHonourInclusiveEnd_whenInstantHasFractionalSeconds() {
+    // Arrange
+    Price base = price(1, 35455, 0, START, START.plusSeconds(3600));
+    Price promo = price(1, 35455, 1, START, START.plusSeconds(60));
+    PriceIntervalIndex index = PriceIntervalIndex.builder().add(base).add(promo).build();
+
+    // Act & Assert
+    assertEquals(promo, index.find(1, 35455, START.plusSeconds(60)).orElseThrow());
+    assertEquals(base, index.find(1, 35455, START.plusSeconds(60).plusMillis(500)).orElseThrow());
+    assertTrue(index.find(1, 35455, START.plusSeconds(3600).plusNanos(1)).isEmpty());
+  }
+
+  @Test
+  void shouldMaterializeAllFields_whenRowIsLoadedFromDatabase() {
+    // Arrange
+    PriceRow row = new PriceRow(7L, 1, 35455, 2, 1, new BigDecimal("25.45"), "EUR", 1_592_139_600L, 1_592_152_200L);
+    PriceIntervalIndex index = PriceIntervalIndex.builder().add(row).build();
+
+    // Act
+    Price result = index.find(1, 35455, Instant.parse("2020-06-14T14:00:00Z")).orElseThrow();
+
+    // Assert
+    assertEquals(7L, result.getId());
+    assertEquals(1, result.getBrandId());
+    assertEquals(35455, result.getProductId());
+    assertEquals((short) 2, result.getPriceList());
+    assertEquals(1, result.getPriority());
+    assertEquals(new Money(new BigDecimal("25.45"), "EUR"), result.getMoney());
+    assertEquals(Instant.parse("2020-06-14T13:00:00Z"), result.getPeriod().start());
+    assertEquals(Instant.parse("2020-06-14T16:30:00Z"), result.getPeriod().end());
+  }
+
+  @Test
+  void shouldAgreeWithDomainTimeline_forRandomCatalogue() {
+    // Arrange
+    Random random = new Random(42);
+    List<Price> prices = new ArrayList<>();
+    PriceIntervalIndex.Builder builder = PriceIntervalIndex.builder();
+    for (long id = 1; id <= 2_000; id++) {
+      Instant start = START.plusSeconds(random.nextInt(1_000));
+      Price price = price(1 + random.nextInt(3), 1 + random.nextInt(20), random.nextInt(3), start, start.plusSeconds(random.nextInt(300)));
+      price.setId(id);
+      prices.add(price);
+      builder.add(price);
+    }
+    PriceIntervalIndex index = builder.build();
+
+    // Act & Assert
+    for (int i = 0; i < 5_000; i++) {
+      int brandId = 1 + random.nextInt(3);
+      int productId = 1 + random.nextInt(20);
+      Instant at = START.plusSeconds(random.nextInt(1_400) - 50).plusMillis(random.nextBoolean() ? 0 : random.nextInt(1_000));
+      List<Price> candidates = prices.stream().filter(p -> p.getBrandId() == brandId && p.getProductId() == productId).toList();
+      assertEquals(PriceTimeline.selectApplicable(candidates, at), index.find(brandId, productId, at));
+    }
+  }
+
+  @Test
+  void shouldResolveSameTimelineAsDomain_whenReadingCandidatesOfRange() {
+    // Arrange
+    Random random = new Random(11);
+    List<Price> prices = new ArrayList<>();
+    PriceIntervalIndex.Builder builder = PriceIntervalIndex.builder();
+    for (long id = 1; id <= 1_000; id++) {
+      Instant start = START.plusSeconds(random.nextInt(1_000));
+      Price price = price(1 + random.nextInt(2), 1 + random.nextInt(10), random.nextInt(3), start, start.plusSeconds(random.nextInt(300)));
+      price.setId(id);
+      prices.add(price);
+      builder.add(price);
+    }
+    PriceIntervalIndex index = builder.build();
+
+    // Act & Assert
+    for (int i = 0; i < 1_000; i++) {
+      int brandId = 1 + random.nextInt(2);
+      int productId = 1 + random.nextInt(11);
+      Instant from = START.plusSeconds(random.nextInt(1_400) - 50).plusMillis(random.nextBoolean() ? 0 : random.nextInt(1_000));
+      Period range = new Period(from, from.plusSeconds(random.nextInt(400)).plusMillis(random.nextInt(1_000)));
+      List<Price> candidates = prices.stream().filter(p -> p.getBrandId() == brandId && p.getProductId() == productId).toList();
+      assertEquals(PriceTimeline.of(candidates).segments(range), PriceTimeline.of(index.findCandidates(brandId, productId, range))
+          .segments(range));
+    }
+  }
+
+  @Test
+  void shouldVisitWinnersInKeyOrder_whenExportingSnapshot() {
+    // Arrange
+    Random random = new Random(7);
+    List<Price> prices = new ArrayList<>();
+    PriceIntervalIndex.Builder builder = PriceIntervalIndex.builder();
+    for (long id = 1; id <= 500; id++) {
+      Instant start = START.plusSeconds(random.nextInt(1_000));
+      Price price = price(1 + random.nextInt(3), 1 + random.nextInt(20), random.nextInt(3), start, start.plusSeconds(random.nextInt(300)));
+      price.setId(id);
+      prices.add(price);
+      builder.add(price);
+    }
+    PriceIntervalIndex index = builder.build();
+    Instant at = START.plusSeconds(500);
+    List<Price> expected = prices.stream()
+        .collect(Collectors.groupingBy(p -> PriceIntervalIndex.key(p.getBrandId(), p.getProductId())))
+        .values().stream()
+        .flatMap(candidates -> PriceTimeline.selectApplicable(candidates, at).stream())
+        .sorted(Comparator.comparing(Price::getBrandId).thenComparing(Price::getProductId))
+        .toList();
+    List<Price> result = new ArrayList<>();
+
+    // Act
+    index.forEach(at, result::add);
+
+    // Assert
+    assertEquals(expected, result);
+  }
+
+  @Test
+  void shouldRejectPrice_whenPeriodHasSubSecondPrecision() {
+    Price price = price(1, 35455, 0, START.plusMillis(1), START.plusSeconds(60));
+    PriceIntervalIndex.Builder builder = PriceIntervalIndex.builder();
+    assertThrows(IllegalArgumentException.class, () -> builder.add(price));
+  }
+
+  @Test
+  void shouldBeEmpty_whenCreatedEmpty() {
+    assertEquals(0, PriceIntervalIndex.empty().size());
+    assertEquals(0, PriceIntervalIndex.empty().rowCount());
+    assertTrue(PriceIntervalIndex.empty().find(1, 1, START).isEmpty());
+  }
+
+  static Price price(int brandId, int productId, int priority, Instant start, Instant end) {
+    return Instancio.of(Price.class)
+        .set(field(Price::getBrandId), brandId)
+        .set(field(Price::getProductId), productId)
+        .set(field(Price::getPriority), priority)
+        .set(field(Price::getPeriod), new Period(start, end))
+        .set(field(Price::getMoney), new Money(new BigDecimal("35.50"), "EUR"))
+        .create();
+  }
+}
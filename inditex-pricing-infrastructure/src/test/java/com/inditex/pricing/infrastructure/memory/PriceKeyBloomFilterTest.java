@@ -0,0 +1,84 @@
+
+package com.inditex.pricing.infrastructure.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@ExtendWith(InstancioExtension.class)
+class PriceKeyBloomFilterTest {
+
+  static final int KEYS = 100_000;
+
+  @Test
+  void shouldContainEveryAddedKey_whenFilterIsFull() {
+    // Arrange
+    PriceKeyBloomFilter filter = PriceKeyBloomFilter.create(KEYS, 0.01);
+
+    // Act
+    for (int productId = 0; productId < KEYS; productId++) {
+      filter.put(productId % 7, productId);
+    }
+
+    // Assert
+    for (int productId = 0; productId < KEYS; productId++) {
+      assertTrue(filter.mightContain(productId % 7, productId));
+    }
+  }
+
+  @Test
+  void shouldStayNearConfiguredFalsePositiveProbability_whenFilterIsFull() {
+    // Arrange
+    PriceKeyBloomFilter filter = PriceKeyBloomFilter.create(KEYS, 0.01);
+    for (int productId = 0; productId < KEYS; productId++) {
+      filter.put(1, productId);
+    }
+
+    // Act
+    int falsePositives = 0;
+    for (int productId = KEYS; productId < 2 * KEYS; productId++) {
+      falsePositives += filter.mightContain(1, productId) ? 1 : 0;
+    }
+
+    // Assert
+    double observed = (double) falsePositives / KEYS;
+    assertTrue(observed < 0.015, "observed " + observed);
+    assertTrue(Math.abs(filter.falsePositiveProbability() - observed) < 0.005, "estimated " + filter.falsePositiveProbability());
+    assertEquals(KEYS * 9.6 / 8, filter.footprintBytes(), KEYS * 0.1);
+  }
+
+  @Test
+  void shouldRejectEveryKey_whenFilterIsEmpty() {
+    // Arrange
+    PriceKeyBloomFilter filter = PriceKeyBloomFilter.create(KEYS, 0.01);
+
+    // Act & Assert
+    assertFalse(filter.mightContain(1, 35455));
+    assertEquals(0, filter.falsePositiveProbability());
+  }
+
+  @Test
+  void shouldAcceptEveryKey_whenFilterIsAll() {
+    // Arrange
+    PriceKeyBloomFilter filter = PriceKeyBloomFilter.all();
+
+    // Act & Assert
+    assertTrue(filter.mightContain(1, 35455));
+    assertTrue(filter.mightContain(Integer.MIN_VALUE, Integer.MAX_VALUE));
+    assertEquals(1, filter.falsePositiveProbability());
+  }
+
+  @ParameterizedTest
+  @ValueSource(doubles = {0, 1, -0.5, 1.5})
+  void shouldThrow_whenFalsePositiveProbabilityIsOutOfRange(double falsePositiveProbability) {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> PriceKeyBloomFilter.create(KEYS, falsePositiveProbability));
+  }
+}
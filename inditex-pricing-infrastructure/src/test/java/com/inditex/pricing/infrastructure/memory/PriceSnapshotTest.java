@@ -0,0 +1,156 @@
+
+package com.inditex.pricing.infrastructure.memory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceTimeline;
+import com.inditex.pricing.infrastructure.jdbc.PriceRow;
+import com.inditex.pricing.infrastructure.jdbc.PriceWatermark;
+
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(InstancioExtension.class)
+class PriceSnapshotTest {
+
+  static final Instant START = Instant.parse("2020-06-14T00:00:00Z");
+
+  static final PriceWatermark WATERMARK = new PriceWatermark(1, 7);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void shouldMaterializeAllFields_whenPriceIsReadFromFile() throws IOException {
+    // Arrange
+    PriceRow row = new PriceRow(7L, 1, 35455, 2, -3, new BigDecimal("25.45"), "EUR", 1_592_139_600L, 1_592_152_200L);
+    Path file = this.directory.resolve("prices.snapshot");
+    PriceSnapshot.write(PriceIntervalIndex.builder().add(row).build(), WATERMARK, file);
+
+    // Act
+    Price result = PriceSnapshot.open(file).find(1, 35455, Instant.parse("2020-06-14T14:00:00Z")).orElseThrow();
+
+    // Assert
+    assertEquals(7L, result.getId());
+    assertEquals(1, result.getBrandId());
+    assertEquals(35455, result.getProductId());
+    assertEquals((short) 2, result.getPriceList());
+    assertEquals(-3, result.getPriority());
+    assertEquals(new Money(new BigDecimal("25.45"), "EUR"), result.getMoney());
+    assertEquals(Instant.parse("2020-06-14T13:00:00Z"), result.getPeriod().start());
+    assertEquals(Instant.parse("2020-06-14T16:30:00Z"), result.getPeriod().end());
+    assertEquals(WATERMARK, PriceSnapshot.open(file).watermark());
+  }
+
+  @Test
+  void shouldAgreeWithIndex_forRandomCatalogue() throws IOException {
+    // Arrange
+    Random random = new Random(42);
+    PriceIntervalIndex.Builder builder = PriceIntervalIndex.builder();
+    for (long id = 1; id <= 2_000; id++) {
+      Instant start = START.plusSeconds(random.nextInt(1_000));
+      Price price = PriceIntervalIndexTest.price(1 + random.nextInt(3), 1 + random.nextInt(20), random.nextInt(3), start,
+          start.plusSeconds(random.nextInt(300)));
+      price.setId(id);
+      price.setMoney(new Money(BigDecimal.valueOf(random.nextInt(10_000), 2), random.nextBoolean() ? "EUR" : "USD"));
+      builder.add(price);
+    }
+    PriceIntervalIndex index = builder.build();
+    Path file = this.directory.resolve("prices.snapshot");
+    PriceSnapshot.write(index, WATERMARK, file);
+
+    // Act
+    PriceSnapshot snapshot = PriceSnapshot.open(file);
+
+    // Assert
+    assertEquals(index.size(), snapshot.size());
+    assertEquals(index.rowCount(), snapshot.rowCount());
+    for (int i = 0; i < 5_000; i++) {
+      int brandId = 1 + random.nextInt(4);
+      int productId = 1 + random.nextInt(21);
+      Instant at = START.plusSeconds(random.nextInt(1_400) - 50).plusMillis(random.nextBoolean() ? 0 : random.nextInt(1_000));
+      assertEquals(index.find(brandId, productId, at), snapshot.find(brandId, productId, at));
+      Period range = new Period(at, at.plusSeconds(random.nextInt(400)).plusMillis(random.nextInt(1_000)));
+      assertEquals(PriceTimeline.of(index.findCandidates(brandId, productId, range)).segments(range),
+          PriceTimeline.of(snapshot.findCandidates(brandId, productId, range)).segments(range));
+    }
+    for (int i = 0; i < 20; i++) {
+      Instant at = START.plusSeconds(random.nextInt(1_400));
+      List<Price> expected = new ArrayList<>();
+      List<Price> result = new ArrayList<>();
+      index.forEach(at, expected::add);
+      snapshot.forEach(at, result::add);
+      assertEquals(expected, result);
+    }
+  }
+
+  @Test
+  void shouldKeepServingMappedSnapshot_whenFileIsRewritten() throws IOException {
+    // Arrange
+    Path file = this.directory.resolve("prices.snapshot");
+    Price before = PriceIntervalIndexTest.price(1, 35455, 0, START, START.plusSeconds(60));
+    Price after = PriceIntervalIndexTest.price(1, 35455, 0, START, START.plusSeconds(60));
+    PriceSnapshot.write(PriceIntervalIndex.builder().add(before).build(), WATERMARK, file);
+    PriceSnapshot previous = PriceSnapshot.open(file);
+
+    // Act
+    PriceSnapshot.write(PriceIntervalIndex.builder().add(after).build(), WATERMARK, file);
+    PriceSnapshot current = PriceSnapshot.open(file);
+
+    // Assert
+    assertEquals(before, previous.find(1, 35455, START).orElseThrow());
+    assertEquals(after, current.find(1, 35455, START).orElseThrow());
+    try (Stream<Path> files = Files.list(this.directory)) {
+      assertEquals(List.of(file), files.toList());
+    }
+  }
+
+  @Test
+  void shouldBeEmpty_whenIndexIsEmpty() throws IOException {
+    // Arrange
+    Path file = this.directory.resolve("prices.snapshot");
+    PriceSnapshot.write(PriceIntervalIndex.empty(), WATERMARK, file);
+
+    // Act
+    PriceSnapshot snapshot = PriceSnapshot.open(file);
+
+    // Assert
+    assertEquals(0, snapshot.size());
+    assertEquals(0, snapshot.rowCount());
+    assertTrue(snapshot.find(1, 35455, START).isEmpty());
+  }
+
+  @Test
+  void shouldRejectFile_whenItIsNotASnapshot() throws IOException {
+    Path file = Files.writeString(this.directory.resolve("prices.csv"), "BRAND_ID,PRODUCT_ID,PRICE_LIST,PRIORITY\n1,35455,1,0\n");
+    assertThrows(IOException.class, () -> PriceSnapshot.open(file));
+  }
+
+  @Test
+  void shouldRejectFile_whenItIsTruncated() throws IOException {
+    Path file = this.directory.resolve("prices.snapshot");
+    PriceSnapshot.write(PriceIntervalIndex.builder().add(PriceIntervalIndexTest.price(1, 35455, 0, START, START.plusSeconds(60))).build(),
+        WATERMARK, file);
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, 40));
+    assertThrows(IOException.class, () -> PriceSnapshot.open(file));
+  }
+}
@@ -0,0 +1,99 @@
+
+package com.inditex.pricing.infrastructure.scale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class PriceCatalogueGeneratorTest {
+
+  private static final Instant SEASON_START = Instant.parse("2020-06-14T00:00:00Z");
+
+  private static final Instant SEASON_END = Instant.parse("2020-12-31T23:59:59Z");
+
+  @Test
+  void shouldInsertBasePriceListAndPromotionsWithinSeason_whenGenerated() throws SQLException {
+    // Arrange
+    PriceCatalogueGenerator generator = new PriceCatalogueGenerator(properties(42, 64));
+
+    try (Connection connection = database()) {
+      // Act
+      long rows = generator.generate(connection);
+
+      // Assert
+      assertTrue(connection.getAutoCommit());
+      assertEquals(rows, queryLong(connection, "SELECT COUNT(*) FROM PRICES"));
+      assertTrue(rows > 1000 && rows < 4000);
+      assertEquals(1000, queryLong(connection, "SELECT COUNT(*) FROM PRICES WHERE PRICE_LIST = 1 AND PRIORITY = 0 AND START_EPOCH = "
+          + SEASON_START.getEpochSecond() + " AND END_EPOCH = " + SEASON_END.getEpochSecond()));
+      assertEquals(1000, queryLong(connection, "SELECT COUNT(DISTINCT (BRAND_ID, PRODUCT_ID)) FROM PRICES WHERE PRODUCT_ID >= 100000"));
+      assertEquals(0, queryLong(connection, "SELECT COUNT(*) FROM PRICES WHERE PRICE_LIST > 4 OR START_EPOCH < "
+          + SEASON_START.getEpochSecond() + " OR END_EPOCH > " + SEASON_END.getEpochSecond() + " OR START_EPOCH >= END_EPOCH"));
+      assertEquals(0, queryLong(connection, "SELECT COUNT(*) FROM PRICES WHERE PRICE_LIST > 1 AND PRIORITY NOT BETWEEN 1 AND 3"));
+      assertEquals(0, queryLong(connection, """
+          SELECT COUNT(*) FROM PRICES P JOIN PRICES B ON B.BRAND_ID = P.BRAND_ID AND B.PRODUCT_ID = P.PRODUCT_ID AND B.PRICE_LIST = 1
+          WHERE P.PRICE_LIST > 1 AND P.PRICE >= B.PRICE"""));
+      assertTrue(queryLong(connection, "SELECT COUNT(*) FROM PRICES WHERE PRICE_LIST > 1 AND END_EPOCH - START_EPOCH < 86400")
+          > queryLong(connection, "SELECT COUNT(*) FROM PRICES WHERE PRICE_LIST > 1 AND END_EPOCH - START_EPOCH >= 7 * 86400"));
+    }
+  }
+
+  @Test
+  void shouldGenerateSameCatalogue_whenSeedIsSame() throws SQLException {
+    // Arrange
+    String checksum = "SELECT SUM(PRICE_LIST * PRIORITY + PRICE + START_EPOCH + END_EPOCH) FROM PRICES";
+
+    try (Connection first = database(); Connection second = database(); Connection third = database()) {
+      // Act
+      new PriceCatalogueGenerator(properties(42, 64)).generate(first);
+      new PriceCatalogueGenerator(properties(42, 7)).generate(second);
+      new PriceCatalogueGenerator(properties(43, 64)).generate(third);
+
+      // Assert
+      assertEquals(queryLong(first, checksum), queryLong(second, checksum));
+      assertNotEquals(queryLong(first, checksum), queryLong(third, checksum));
+    }
+  }
+
+  @Test
+  void shouldFail_whenSeasonIsEmpty() {
+    // Arrange
+    PriceCatalogueProperties properties = new PriceCatalogueProperties(1, 1, 1, 1, SEASON_END, SEASON_START, 42, 10);
+
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> new PriceCatalogueGenerator(properties));
+  }
+
+  private static PriceCatalogueProperties properties(long seed, int batchSize) {
+    return new PriceCatalogueProperties(2, 500, 100000, 4, SEASON_START, SEASON_END, seed, batchSize);
+  }
+
+  private static Connection database() throws SQLException {
+    Connection connection = DriverManager.getConnection("jdbc:h2:mem:catalogue-" + UUID.randomUUID() + ";MODE=MariaDB", "sa", "");
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("""
+          CREATE TABLE PRICES (ID INT AUTO_INCREMENT PRIMARY KEY, BRAND_ID INT NOT NULL, PRODUCT_ID INT NOT NULL, PRICE_LIST INT NOT NULL,
+            PRIORITY TINYINT NOT NULL, PRICE DECIMAL(10, 2) NOT NULL, CURR CHAR(3) NOT NULL, START_EPOCH BIGINT NOT NULL,
+            END_EPOCH BIGINT NOT NULL, CONSTRAINT UQ_PRICE_TARIFF UNIQUE (BRAND_ID, PRODUCT_ID, PRICE_LIST))""");
+    }
+    return connection;
+  }
+
+  private static long queryLong(Connection connection, String sql) throws SQLException {
+    try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+      rs.next();
+      return rs.getLong(1);
+    }
+  }
+}
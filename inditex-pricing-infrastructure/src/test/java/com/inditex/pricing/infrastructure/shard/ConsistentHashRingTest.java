@@ -0,0 +1,104 @@
+
+package com.inditex.pricing.infrastructure.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+  private static final int BRANDS = 10;
+
+  private static final int PRODUCTS = 10_000;
+
+  @Test
+  void shouldAssignSameOwners_whenBuiltFromSameNodesInAnyOrder() {
+    // Arrange
+    ConsistentHashRing first = ConsistentHashRing.of(List.of("a", "b", "c"), 128);
+    ConsistentHashRing second = ConsistentHashRing.of(List.of("c", "a", "b"), 128);
+
+    // Act & Assert
+    assertEquals(Set.of("a", "b", "c"), first.nodes());
+    for (int brandId = 1; brandId <= BRANDS; brandId++) {
+      for (int productId = 1; productId <= PRODUCTS; productId++) {
+        assertEquals(first.owner(brandId, productId), second.owner(brandId, productId));
+      }
+    }
+  }
+
+  @Test
+  void shouldSpreadKeysEvenly_whenEveryNodeHasManyPoints() {
+    // Arrange
+    ConsistentHashRing ring = ConsistentHashRing.of(List.of("a", "b", "c", "d"), 256);
+
+    // Act
+    Map<String, Integer> keys = owners(ring);
+
+    // Assert
+    assertEquals(4, keys.size());
+    keys.values().forEach(count -> assertTrue(Math.abs(count - BRANDS * PRODUCTS / 4) < BRANDS * PRODUCTS / 10, keys::toString));
+  }
+
+  @Test
+  void shouldMoveOnlyKeysOfNewNode_whenNodeIsAdded() {
+    // Arrange
+    ConsistentHashRing before = ConsistentHashRing.of(List.of("a", "b", "c"), 128);
+    ConsistentHashRing after = ConsistentHashRing.of(List.of("a", "b", "c", "d"), 128);
+
+    // Act
+    int moved = 0;
+    for (int brandId = 1; brandId <= BRANDS; brandId++) {
+      for (int productId = 1; productId <= PRODUCTS; productId++) {
+        String owner = after.owner(brandId, productId);
+        if (!owner.equals(before.owner(brandId, productId))) {
+          assertEquals("d", owner);
+          moved++;
+        }
+      }
+    }
+
+    // Assert
+    assertTrue(moved > 0 && moved < BRANDS * PRODUCTS / 3, "moved " + moved);
+  }
+
+  @Test
+  void shouldMoveOnlyKeysOfRemovedNode_whenNodeIsRemoved() {
+    // Arrange
+    ConsistentHashRing before = ConsistentHashRing.of(List.of("a", "b", "c"), 128);
+    ConsistentHashRing after = ConsistentHashRing.of(List.of("a", "c"), 128);
+
+    // Act & Assert
+    for (int brandId = 1; brandId <= BRANDS; brandId++) {
+      for (int productId = 1; productId <= PRODUCTS; productId++) {
+        String owner = before.owner(brandId, productId);
+        if (!"b".equals(owner)) {
+          assertEquals(owner, after.owner(brandId, productId));
+        }
+      }
+    }
+  }
+
+  @Test
+  void shouldFail_whenThereIsNoNode() {
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> ConsistentHashRing.of(List.of(), 128));
+    assertThrows(IllegalArgumentException.class, () -> ConsistentHashRing.of(List.of("a"), 0));
+  }
+
+  private static Map<String, Integer> owners(ConsistentHashRing ring) {
+    Map<String, Integer> keys = new HashMap<>();
+    for (int brandId = 1; brandId <= BRANDS; brandId++) {
+      for (int productId = 1; productId <= PRODUCTS; productId++) {
+        keys.merge(ring.owner(brandId, productId), 1, Integer::sum);
+      }
+    }
+    return keys;
+  }
+}
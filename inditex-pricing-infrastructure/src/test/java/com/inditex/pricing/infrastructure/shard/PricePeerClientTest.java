@@ -0,0 +1,145 @@
+
+package com.inditex.pricing.infrastructure.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.domain.model.PriceTimeline;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PricePeerClientTest {
+
+  HttpServer server;
+
+  URI peer;
+
+  PricePeerClient client;
+
+  final AtomicReference<String> request = new AtomicReference<>();
+
+  final AtomicReference<String> answer = new AtomicReference<>();
+
+  final AtomicReference<String> forwardedBy = new AtomicReference<>();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    this.server.createContext("/", this::handle);
+    this.server.start();
+    this.peer = URI.create("http://localhost:" + this.server.getAddress().getPort() + "/");
+    this.client = new PricePeerClient(new PriceShardProperties(true, "a", Map.of("a", this.peer), 128, Duration.ofSeconds(2)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.server.stop(0);
+  }
+
+  @Test
+  void shouldReadPricesInQueryOrder_whenPeerAnswersBatch() {
+    // Arrange
+    Instant at = Instant.parse("2020-06-14T14:00:00Z");
+    this.answer.set("""
+        {"items":[{"brandId":1,"productId":35455,"applicationDate":"2020-06-14T14:00:00Z","status":"FOUND","price":{"productId":35455,\
+        "brandId":1,"priceList":2,"startDate":"2020-06-14T13:00:00Z","endDate":"2020-06-14T16:30:00Z","price":25.45,"curr":"EUR"}},\
+        {"brandId":2,"productId":35455,"applicationDate":"2020-06-14T14:00:00Z","status":"NOT_FOUND","price":null},\
+        {"brandId":3,"productId":35455,"applicationDate":"2020-06-14T14:00:00Z","status":"NOT_FOUND"}]}""");
+
+    // Act
+    List<Optional<Price>> prices = this.client.findAllApplicable(this.peer,
+        List.of(new PriceQuery(1, 35455, at), new PriceQuery(2, 35455, at), new PriceQuery(3, 35455, at))).join();
+
+    // Assert
+    assertEquals("POST /prices/batch {\"items\":[{\"brandId\":1,\"productId\":35455,\"applicationDate\":\"2020-06-14T14:00:00Z\"},"
+        + "{\"brandId\":2,\"productId\":35455,\"applicationDate\":\"2020-06-14T14:00:00Z\"},"
+        + "{\"brandId\":3,\"productId\":35455,\"applicationDate\":\"2020-06-14T14:00:00Z\"}]}", this.request.get());
+    assertEquals("a", this.forwardedBy.get());
+    assertEquals(3, prices.size());
+    Price price = prices.get(0).orElseThrow();
+    assertEquals(1, price.getBrandId());
+    assertEquals(35455, price.getProductId());
+    assertEquals((short) 2, price.getPriceList());
+    assertEquals(new Period(Instant.parse("2020-06-14T13:00:00Z"), Instant.parse("2020-06-14T16:30:00Z")), price.getPeriod());
+    assertEquals(new BigDecimal("25.45"), price.getMoney().amount());
+    assertEquals("EUR", price.getMoney().currency());
+    assertFalse(prices.get(1).isPresent());
+    assertFalse(prices.get(2).isPresent());
+  }
+
+  @Test
+  void shouldRebuildSameTimeline_whenPeerAnswersSegments() {
+    // Arrange
+    Period range = new Period(Instant.parse("2020-06-14T00:00:00Z"), Instant.parse("2020-06-14T23:59:59Z"));
+    this.answer.set("""
+        {"brandId":1,"productId":35455,"startDate":"2020-06-14T00:00:00Z","endDate":"2020-06-14T23:59:59Z","segments":[\
+        {"startDate":"2020-06-14T00:00:00Z","endDate":"2020-06-14T12:59:59.999999999Z","priceList":1,"price":35.5,"curr":"EUR"},\
+        {"startDate":"2020-06-14T13:00:00Z","endDate":"2020-06-14T16:30:00Z","priceList":2,"price":25.45,"curr":"EUR"},\
+        {"startDate":"2020-06-14T16:30:00.000000001Z","endDate":"2020-06-14T23:59:59Z","priceList":1,"price":35.5,"curr":"EUR"}]}""");
+
+    // Act
+    List<Price> candidates = this.client.findCandidates(this.peer, 1, 35455, range).join();
+
+    // Assert
+    assertEquals("GET /prices/timeline?startDate=2020-06-14T00:00:00Z&endDate=2020-06-14T23:59:59Z&productId=35455&brandId=1 ",
+        this.request.get());
+    assertEquals("a", this.forwardedBy.get());
+    List<PriceTimeline.Segment> segments = PriceTimeline.of(candidates).segments(range);
+    assertEquals(List.of((short) 1, (short) 2, (short) 1), segments.stream().map(s -> s.price().getPriceList()).toList());
+    assertEquals(Instant.parse("2020-06-14T16:30:00Z"), segments.get(1).period().end());
+    assertTrue(candidates.stream().allMatch(p -> p.getBrandId() == 1 && p.getProductId() == 35455 && p.getPriority() == 0));
+  }
+
+  @Test
+  void shouldFail_whenPeerDoesNotAnswerOk() {
+    // Arrange
+    this.answer.set(null);
+
+    // Act & Assert
+    CompletionException exception = assertThrows(CompletionException.class, () -> this.client.findAllApplicable(this.peer,
+        List.of(new PriceQuery(1, 35455, Instant.parse("2020-06-14T14:00:00Z")))).join());
+    assertTrue(exception.getCause() instanceof IllegalStateException);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    this.request.set(exchange.getRequestMethod() + ' ' + exchange.getRequestURI() + ' '
+        + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+    this.forwardedBy.set(exchange.getRequestHeaders().getFirst(PricePeerClient.FORWARDED_BY_HEADER));
+    String body = this.answer.get();
+    if (body == null) {
+      exchange.getResponseHeaders().set("Location", "http://localhost/prices/batch");
+      exchange.sendResponseHeaders(307, -1);
+      exchange.close();
+      return;
+    }
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", "application/json");
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
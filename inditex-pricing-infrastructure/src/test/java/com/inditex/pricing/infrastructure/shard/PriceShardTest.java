@@ -0,0 +1,43 @@
+
+package com.inditex.pricing.infrastructure.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class PriceShardTest {
+
+  private static final Map<String, URI> NODES = Map.of("a", URI.create("http://a:8080"), "b", URI.create("http://b:8080"));
+
+  @Test
+  void shouldOwnOnlyKeysAssignedToSelf_whenNodesShareMembership() {
+    // Arrange
+    PriceShard a = new PriceShard(new PriceShardProperties(true, "a", NODES, 128, Duration.ofSeconds(2)));
+    PriceShard b = new PriceShard(new PriceShardProperties(true, "b", NODES, 128, Duration.ofSeconds(2)));
+
+    // Act & Assert
+    IntStream.rangeClosed(1, 1000).forEach(productId -> {
+      assertNotEquals(a.owns(1, productId), b.owns(1, productId));
+      assertEquals(a.owner(1, productId), b.owner(1, productId));
+    });
+    assertTrue(IntStream.rangeClosed(1, 1000).anyMatch(productId -> a.owns(1, productId)));
+    assertEquals(URI.create("http://b:8080"), a.uri("b"));
+  }
+
+  @Test
+  void shouldFail_whenSelfIsNotOneOfTheNodes() {
+    // Arrange
+    PriceShardProperties properties = new PriceShardProperties(true, "c", NODES, 128, Duration.ofSeconds(2));
+
+    // Act & Assert
+    assertThrows(IllegalArgumentException.class, () -> new PriceShard(properties));
+  }
+}
@@ -0,0 +1,84 @@
+package com.inditex.pricing.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a load test against a running instance and writes its report, e.g. after starting the application locally:
+ *
+ * <pre>
+ * java -jar inditex-pricing-load-generator/target/load-generator.jar --rate=500 --duration=60s --report=target/load-report.json
+ * </pre>
+ *
+ * <p>The requests come from {@code --replay} when given, or are synthetic Zipf-distributed lookups otherwise; see {@link LoadOptions}.
+ * The HTTP client and the requests run on virtual threads, so the number of requests in flight is only bounded by the instance.
+ */
+@Slf4j
+public final class LoadGenerator {
+
+  private LoadGenerator() {
+  }
+
+  /**
+   * Runs the load test described by the command line.
+   *
+   * @param args the {@code --name=value} options
+   * @throws IOException if the replay file cannot be read or the report cannot be written
+   */
+  public static void main(String[] args) throws IOException {
+    LoadOptions options = LoadOptions.parse(args);
+    RequestSource source = options.replay() != null
+        ? ReplayRequestSource.read(options.replay())
+        : new ZipfRequestSource(options.products(), options.exponent(), options.firstProduct(), options.brandId(), options.from(),
+            options.to(), options.seed());
+    log.info("Sending {} requests/s to {} for {} after a {} warm-up, from {}", options.rate(), options.target(), options.duration(),
+        options.warmup(), source.description());
+
+    OpenLoopRunner.Result result;
+    try (HttpClient client = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(options.timeout())
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build()) {
+      result = new OpenLoopRunner(client, options.target(), options.timeout())
+          .run(source, options.rate(), options.warmup(), options.duration());
+    }
+    write(result, options.report());
+
+    LoadReport report = result.report();
+    log.info("{} requests, statuses {}, errors {}, max send lag {} us", report.requests(), report.statuses(), report.errors(),
+        report.maxSendLagMicros());
+    log.info("Response time (us): p50={} p90={} p99={} p99.9={} p99.99={} max={}", report.responseTimeMicros().p50(),
+        report.responseTimeMicros().p90(), report.responseTimeMicros().p99(), report.responseTimeMicros().p999(),
+        report.responseTimeMicros().p9999(), report.responseTimeMicros().max());
+    log.info("Report written to {}", options.report().toAbsolutePath());
+  }
+
+  /**
+   * Writes the JSON report and, next to it, the response time distribution in the HdrHistogram percentile format, which the
+   * HdrHistogram plotter reads.
+   *
+   * @param result the outcome of the run
+   * @param file the JSON report file
+   * @throws IOException if a file cannot be written
+   */
+  static void write(OpenLoopRunner.Result result, Path file) throws IOException {
+    Path directory = file.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), result.report());
+    String name = file.getFileName().toString();
+    Path distribution = directory.resolve((name.endsWith(".json") ? name.substring(0, name.length() - 5) : name) + ".hgrm");
+    try (PrintStream out = new PrintStream(Files.newOutputStream(distribution), false, StandardCharsets.UTF_8)) {
+      result.responseTimes().outputPercentileDistribution(out, 1.0);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.inditex.pricing.load;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options of the load generator, given as {@code --name=value}.
+ *
+ * @param target the base URI of the instance ({@code --target}, default {@code http://localhost:8080})
+ * @param rate the arrival rate in requests per second ({@code --rate}, default 100)
+ * @param warmup the period sent but not measured ({@code --warmup}, default 10s)
+ * @param duration the measured period ({@code --duration}, default 60s)
+ * @param timeout the time after which a request fails ({@code --timeout}, default 10s)
+ * @param replay the JSON Lines file to replay ({@code --replay}); synthetic lookups are sent when missing
+ * @param products the number of distinct synthetic products ({@code --products}, default 10000)
+ * @param exponent the Zipf skew of the synthetic products ({@code --exponent}, default 1.1)
+ * @param firstProduct the ID of the most requested synthetic product ({@code --first-product}, default 1)
+ * @param brandId the brand of the synthetic lookups ({@code --brand}, default 1)
+ * @param from the earliest synthetic application date ({@code --from}, default 2020-06-14T00:00:00Z)
+ * @param to the instant every synthetic application date is before ({@code --to}, default 2021-01-01T00:00:00Z)
+ * @param seed the seed of the synthetic lookups ({@code --seed}, default 42)
+ * @param report the JSON report file ({@code --report}, default {@code load-report.json}); the response time distribution is written
+ *     next to it, with the {@code .hgrm} extension
+ */
+public record LoadOptions(
+    URI target,
+    double rate,
+    Duration warmup,
+    Duration duration,
+    Duration timeout,
+    Path replay,
+    int products,
+    double exponent,
+    int firstProduct,
+    int brandId,
+    Instant from,
+    Instant to,
+    long seed,
+    Path report) {
+
+  private static final Set<String> NAMES = Set.of("target", "rate", "warmup", "duration", "timeout", "replay", "products", "exponent",
+      "first-product", "brand", "from", "to", "seed", "report");
+
+  /**
+   * Parses the command line.
+   *
+   * @param args the {@code --name=value} arguments
+   * @return the options, with the defaults of the missing ones
+   * @throws IllegalArgumentException if an argument is not a known option or its value is invalid
+   */
+  public static LoadOptions parse(String... args) {
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      int separator = arg.indexOf('=');
+      String name = arg.startsWith("--") && separator > 2 ? arg.substring(2, separator) : null;
+      if (name == null || !NAMES.contains(name)) {
+        throw new IllegalArgumentException("Unknown option " + arg + ", expected --name=value with a name among " + NAMES);
+      }
+      values.put(name, arg.substring(separator + 1));
+    }
+    LoadOptions options = new LoadOptions(
+        URI.create(stripTrailingSlash(values.getOrDefault("target", "http://localhost:8080"))),
+        Double.parseDouble(values.getOrDefault("rate", "100")),
+        duration(values.getOrDefault("warmup", "10s")),
+        duration(values.getOrDefault("duration", "60s")),
+        duration(values.getOrDefault("timeout", "10s")),
+        values.containsKey("replay") ? Path.of(values.get("replay")) : null,
+        Integer.parseInt(values.getOrDefault("products", "10000")),
+        Double.parseDouble(values.getOrDefault("exponent", "1.1")),
+        Integer.parseInt(values.getOrDefault("first-product", "1")),
+        Integer.parseInt(values.getOrDefault("brand", "1")),
+        Instant.parse(values.getOrDefault("from", "2020-06-14T00:00:00Z")),
+        Instant.parse(values.getOrDefault("to", "2021-01-01T00:00:00Z")),
+        Long.parseLong(values.getOrDefault("seed", "42")),
+        Path.of(values.getOrDefault("report", "load-report.json")));
+    if (options.rate() <= 0 || options.duration().isZero() || options.duration().isNegative() || options.warmup().isNegative()) {
+      throw new IllegalArgumentException("The rate and duration must be positive and the warm-up not negative");
+    }
+    return options;
+  }
+
+  /**
+   * Parses a duration written as a number followed by {@code ms}, {@code s} or {@code m}, or in ISO-8601.
+   *
+   * @param value the duration
+   * @return the parsed duration
+   */
+  static Duration duration(String value) {
+    String text = value.trim().toLowerCase(Locale.ROOT);
+    if (text.endsWith("ms")) {
+      return Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+    }
+    if (text.endsWith("s") && !text.startsWith("p")) {
+      return Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+    }
+    if (text.endsWith("m") && !text.startsWith("p")) {
+      return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+    }
+    return Duration.parse(value);
+  }
+
+  private static String stripTrailingSlash(String uri) {
+    return uri.endsWith("/") ? uri.substring(0, uri.length() - 1) : uri;
+  }
+}
@@ -0,0 +1,63 @@
+package com.inditex.pricing.load;
+
+import java.util.SortedMap;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of a load run, written as JSON. Only the measured requests are counted, not the warm-up ones. Nothing in it depends on when the
+ * run took place, so the reports of two releases run with the same options can be diffed as they are.
+ *
+ * @param target the base URI of the instance
+ * @param source the description of the request source
+ * @param rate the arrival rate, in requests per second
+ * @param warmup the warm-up period, as an ISO-8601 duration
+ * @param duration the measured period, as an ISO-8601 duration
+ * @param requests the number of measured requests
+ * @param statuses the number of responses by HTTP status
+ * @param errors the number of requests without a response, by exception
+ * @param maxSendLagMicros the longest delay between the intended and the actual send of a request; when it grows, the generator
+ *     itself is the bottleneck
+ * @param responseTimeMicros the latency from the intended send to the response, which includes any queueing caused by earlier
+ *     requests
+ * @param serviceTimeMicros the latency from the actual send to the response
+ */
+public record LoadReport(
+    String target,
+    String source,
+    double rate,
+    String warmup,
+    String duration,
+    long requests,
+    SortedMap<String, Long> statuses,
+    SortedMap<String, Long> errors,
+    long maxSendLagMicros,
+    Latency responseTimeMicros,
+    Latency serviceTimeMicros) {
+
+  /**
+   * Latency percentiles, in microseconds.
+   *
+   * @param p50 the median
+   * @param p90 the 90th percentile
+   * @param p99 the 99th percentile
+   * @param p999 the 99.9th percentile
+   * @param p9999 the 99.99th percentile
+   * @param max the maximum
+   * @param mean the mean
+   */
+  public record Latency(long p50, long p90, long p99, long p999, long p9999, long max, long mean) {
+
+    /**
+     * Reads the percentiles of a histogram of microseconds.
+     *
+     * @param histogram the histogram
+     * @return the percentiles
+     */
+    public static Latency of(Histogram histogram) {
+      return new Latency(histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90), histogram.getValueAtPercentile(99),
+          histogram.getValueAtPercentile(99.9), histogram.getValueAtPercentile(99.99), histogram.getMaxValue(),
+          Math.round(histogram.getMean()));
+    }
+  }
+}
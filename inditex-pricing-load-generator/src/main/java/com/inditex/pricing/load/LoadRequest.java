@@ -0,0 +1,34 @@
+package com.inditex.pricing.load;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+
+/**
+ * HTTP request sent by the load generator, relative to the target instance.
+ *
+ * @param method the HTTP method
+ * @param path the path and query string, starting with a slash
+ * @param body the JSON body, or null
+ */
+public record LoadRequest(String method, String path, String body) {
+
+  /**
+   * Builds the request against the given instance.
+   *
+   * @param target the base URI of the instance, without a trailing slash
+   * @param timeout the time after which the request fails
+   * @return the HTTP request
+   */
+  public HttpRequest toHttpRequest(URI target, Duration timeout) {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(target.toString() + this.path))
+        .timeout(timeout)
+        .header("Accept", "application/json");
+    if (this.body == null) {
+      return builder.method(this.method, HttpRequest.BodyPublishers.noBody()).build();
+    }
+    return builder.header("Content-Type", "application/json")
+        .method(this.method, HttpRequest.BodyPublishers.ofString(this.body))
+        .build();
+  }
+}
@@ -0,0 +1,142 @@
+package com.inditex.pricing.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Sends requests at a fixed arrival rate, whatever the latency of the instance: request {@code i} is due {@code i / rate} seconds after
+ * the start and is sent on a virtual thread of its own, so a slow response never delays the next request.
+ *
+ * <p>Latencies are measured from the time each request was due, not from the time it was actually sent. A closed-loop client that waits
+ * for a response before sending the next request stops sending while the instance stalls, and only records the one slow request of the
+ * stall (coordinated omission); measuring from the schedule counts the stall against every request that should have been sent during it.
+ */
+public final class OpenLoopRunner {
+
+  private final HttpClient client;
+
+  private final URI target;
+
+  private final Duration timeout;
+
+  /**
+   * Creates a runner against the given instance.
+   *
+   * @param client the HTTP client
+   * @param target the base URI of the instance, without a trailing slash
+   * @param timeout the time after which a request fails
+   */
+  public OpenLoopRunner(HttpClient client, URI target, Duration timeout) {
+    this.client = client;
+    this.target = target;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Sends the requests of the warm-up and measured periods, then waits for their responses.
+   *
+   * @param source the requests to send
+   * @param rate the arrival rate, in requests per second
+   * @param warmup the period whose requests are sent but not measured
+   * @param duration the measured period
+   * @return the report and the response time histogram of the measured requests
+   */
+  public Result run(RequestSource source, double rate, Duration warmup, Duration duration) {
+    final double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+    final long warmupRequests = (long) Math.ceil(warmup.toNanos() / intervalNanos);
+    final long total = warmupRequests + Math.round(duration.toNanos() / intervalNanos);
+    final Measurements measurements = new Measurements();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      final long startNanos = System.nanoTime();
+      for (long i = 0; i < total; i++) {
+        long dueNanos = startNanos + (long) (i * intervalNanos);
+        for (long wait = dueNanos - System.nanoTime(); wait > 0; wait = dueNanos - System.nanoTime()) {
+          LockSupport.parkNanos(wait);
+        }
+        HttpRequest request = source.next().toHttpRequest(this.target, this.timeout);
+        boolean measured = i >= warmupRequests;
+        executor.execute(() -> this.send(request, dueNanos, measured, measurements));
+      }
+    }
+    Histogram responseTimes = measurements.responseTimes.getIntervalHistogram();
+    LoadReport report = new LoadReport(this.target.toString(), source.description(), rate, warmup.toString(), duration.toString(),
+        total - warmupRequests, sorted(measurements.statuses), sorted(measurements.errors),
+        TimeUnit.NANOSECONDS.toMicros(measurements.maxSendLagNanos.get()), LoadReport.Latency.of(responseTimes),
+        LoadReport.Latency.of(measurements.serviceTimes.getIntervalHistogram()));
+    return new Result(report, responseTimes);
+  }
+
+  private void send(HttpRequest request, long dueNanos, boolean measured, Measurements measurements) {
+    final long sentNanos = System.nanoTime();
+    String outcome;
+    try {
+      outcome = String.valueOf(this.client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+    } catch (IOException e) {
+      outcome = null;
+      if (measured) {
+        measurements.errors.computeIfAbsent(e.getClass().getSimpleName(), name -> new LongAdder()).increment();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    final long endNanos = System.nanoTime();
+    if (!measured) {
+      return;
+    }
+    measurements.maxSendLagNanos.accumulateAndGet(sentNanos - dueNanos, Math::max);
+    measurements.responseTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(endNanos - dueNanos));
+    measurements.serviceTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(endNanos - sentNanos));
+    if (outcome != null) {
+      measurements.statuses.computeIfAbsent(outcome, status -> new LongAdder()).increment();
+    }
+  }
+
+  private static TreeMap<String, Long> sorted(Map<String, LongAdder> counts) {
+    TreeMap<String, Long> sorted = new TreeMap<>();
+    counts.forEach((key, count) -> sorted.put(key, count.sum()));
+    return sorted;
+  }
+
+  /**
+   * Outcome of a run.
+   *
+   * @param report the report
+   * @param responseTimes the response times of the measured requests, in microseconds
+   */
+  public record Result(LoadReport report, Histogram responseTimes) {
+
+  }
+
+  /**
+   * Recorded by the threads of the requests, read once every request is answered.
+   */
+  private static final class Measurements {
+
+    private final Recorder responseTimes = new Recorder(3);
+
+    private final Recorder serviceTimes = new Recorder(3);
+
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    private final AtomicLong maxSendLagNanos = new AtomicLong();
+  }
+}
@@ -0,0 +1,99 @@
+package com.inditex.pricing.load;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Requests read from a JSON Lines file and replayed in order, starting over at the end of the file. Each line is either a request,
+ * {@code {"method": "POST", "path": "/prices/batch", "body": {...}}} where the method defaults to GET and the body is optional, or a
+ * lookup, {@code {"applicationDate": "2020-06-14T10:00:00Z", "productId": 35455, "brandId": 1}} as in the Postman data file, sent as
+ * {@code GET /prices}. Blank lines are skipped.
+ */
+public final class ReplayRequestSource implements RequestSource {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private final LoadRequest[] requests;
+
+  private final String description;
+
+  private int next;
+
+  private ReplayRequestSource(LoadRequest[] requests, String description) {
+    this.requests = requests;
+    this.description = description;
+  }
+
+  /**
+   * Reads the requests of a file.
+   *
+   * @param file the JSON Lines file
+   * @return the source replaying the file
+   * @throws IOException if the file cannot be read
+   * @throws IllegalArgumentException if a line is neither a request nor a lookup, or the file has no request
+   */
+  public static ReplayRequestSource read(Path file) throws IOException {
+    List<LoadRequest> requests = new ArrayList<>();
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      int number = 0;
+      for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+        number++;
+        if (!line.isBlank()) {
+          requests.add(parse(line, file, number));
+        }
+      }
+    }
+    if (requests.isEmpty()) {
+      throw new IllegalArgumentException("No request to replay in " + file);
+    }
+    return new ReplayRequestSource(requests.toArray(LoadRequest[]::new), "replay(" + file.getFileName() + ", " + requests.size()
+        + " requests)");
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LoadRequest next() {
+    LoadRequest request = this.requests[this.next];
+    this.next = (this.next + 1) % this.requests.length;
+    return request;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String description() {
+    return this.description;
+  }
+
+  private static LoadRequest parse(String line, Path file, int number) {
+    JsonNode node;
+    try {
+      node = MAPPER.readTree(line);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Line " + number + " of " + file + " is not JSON: " + e.getOriginalMessage(), e);
+    }
+    if (node.hasNonNull("path")) {
+      JsonNode body = node.get("body");
+      return new LoadRequest(node.path("method").asText("GET"), node.get("path").asText(),
+          body == null || body.isNull() ? null : body.isTextual() ? body.asText() : body.toString());
+    }
+    if (node.hasNonNull("applicationDate") && node.hasNonNull("productId") && node.hasNonNull("brandId")) {
+      return new LoadRequest("GET", "/prices?applicationDate=" + URLEncoder.encode(node.get("applicationDate").asText(),
+          StandardCharsets.UTF_8) + "&productId=" + node.get("productId").asText() + "&brandId=" + node.get("brandId").asText(), null);
+    }
+    throw new IllegalArgumentException("Line " + number + " of " + file + " has neither a path nor applicationDate, productId and brandId");
+  }
+}
@@ -0,0 +1,22 @@
+package com.inditex.pricing.load;
+
+/**
+ * Endless sequence of requests to send. Sources are only called from the thread that schedules the requests, so they need not be
+ * thread-safe.
+ */
+public interface RequestSource {
+
+  /**
+   * Returns the next request to send.
+   *
+   * @return the request
+   */
+  LoadRequest next();
+
+  /**
+   * Describes the source in the report.
+   *
+   * @return the description
+   */
+  String description();
+}
@@ -0,0 +1,46 @@
+package com.inditex.pricing.load;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf distribution over the ranks 1 to {@code size}: rank {@code k} is drawn with a probability proportional to {@code 1 / k^exponent},
+ * so a few ranks take most of the draws, as a few products take most of the traffic of a catalogue.
+ */
+public final class ZipfDistribution {
+
+  private final double[] cumulative;
+
+  /**
+   * Precomputes the cumulative probabilities of the ranks.
+   *
+   * @param size the number of ranks
+   * @param exponent the skew, 0 for a uniform distribution
+   * @throws IllegalArgumentException if the size is not positive or the exponent is negative
+   */
+  public ZipfDistribution(int size, double exponent) {
+    if (size < 1 || exponent < 0) {
+      throw new IllegalArgumentException("Zipf distribution needs a positive size and a non-negative exponent");
+    }
+    this.cumulative = new double[size];
+    double sum = 0;
+    for (int rank = 1; rank <= size; rank++) {
+      sum += 1 / Math.pow(rank, exponent);
+      this.cumulative[rank - 1] = sum;
+    }
+    for (int i = 0; i < size; i++) {
+      this.cumulative[i] /= sum;
+    }
+  }
+
+  /**
+   * Draws a rank.
+   *
+   * @param random the source of randomness
+   * @return a rank from 1 to the size of the distribution
+   */
+  public int sample(SplittableRandom random) {
+    int index = Arrays.binarySearch(this.cumulative, random.nextDouble());
+    return Math.min(index >= 0 ? index : -index - 1, this.cumulative.length - 1) + 1;
+  }
+}
@@ -0,0 +1,70 @@
+package com.inditex.pricing.load;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic {@code GET /prices} lookups of a single brand. Products are Zipf-distributed, product {@code firstProduct} being the most
+ * requested one, and application dates are drawn uniformly, to the second, between two instants. The sequence only depends on the
+ * seed, so two runs with the same options send the same requests.
+ */
+public final class ZipfRequestSource implements RequestSource {
+
+  private final ZipfDistribution products;
+
+  private final int firstProduct;
+
+  private final int brandId;
+
+  private final long fromSecond;
+
+  private final long seconds;
+
+  private final SplittableRandom random;
+
+  private final String description;
+
+  /**
+   * Creates the source.
+   *
+   * @param products the number of distinct products
+   * @param exponent the Zipf skew of the products
+   * @param firstProduct the ID of the most requested product; the others follow it
+   * @param brandId the brand of every lookup
+   * @param from the earliest application date
+   * @param to the application date every lookup is before
+   * @param seed the seed of the sequence
+   */
+  public ZipfRequestSource(int products, double exponent, int firstProduct, int brandId, Instant from, Instant to, long seed) {
+    if (!from.isBefore(to)) {
+      throw new IllegalArgumentException("Application dates need 'from' before 'to'");
+    }
+    this.products = new ZipfDistribution(products, exponent);
+    this.firstProduct = firstProduct;
+    this.brandId = brandId;
+    this.fromSecond = from.getEpochSecond();
+    this.seconds = to.getEpochSecond() - this.fromSecond;
+    this.random = new SplittableRandom(seed);
+    this.description = "zipf(products=%d, exponent=%s, first-product=%d, brand=%d, from=%s, to=%s, seed=%d)"
+        .formatted(products, exponent, firstProduct, brandId, from, to, seed);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LoadRequest next() {
+    int productId = this.firstProduct + this.products.sample(this.random) - 1;
+    Instant applicationDate = Instant.ofEpochSecond(this.fromSecond + this.random.nextLong(this.seconds));
+    return new LoadRequest("GET", "/prices?applicationDate=" + applicationDate + "&productId=" + productId + "&brandId=" + this.brandId,
+        null);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String description() {
+    return this.description;
+  }
+}
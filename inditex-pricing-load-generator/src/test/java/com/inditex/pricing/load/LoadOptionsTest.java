@@ -0,0 +1,58 @@
+package com.inditex.pricing.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class LoadOptionsTest {
+
+  @Test
+  void shouldUseDefaults_whenNoOptionIsGiven() {
+    // Act
+    LoadOptions options = LoadOptions.parse();
+
+    // Assert
+    assertThat(options.target()).isEqualTo(URI.create("http://localhost:8080"));
+    assertThat(options.rate()).isEqualTo(100);
+    assertThat(options.warmup()).isEqualTo(Duration.ofSeconds(10));
+    assertThat(options.duration()).isEqualTo(Duration.ofSeconds(60));
+    assertThat(options.replay()).isNull();
+    assertThat(options.report()).isEqualTo(Path.of("load-report.json"));
+  }
+
+  @Test
+  void shouldParseOptions_whenGiven() {
+    // Act
+    LoadOptions options = LoadOptions.parse("--target=http://pricing:8080/", "--rate=2500.5", "--warmup=500ms", "--duration=2m",
+        "--timeout=PT1S", "--replay=replay/reference-lookups.jsonl", "--first-product=35455", "--seed=7");
+
+    // Assert
+    assertThat(options.target()).isEqualTo(URI.create("http://pricing:8080"));
+    assertThat(options.rate()).isEqualTo(2500.5);
+    assertThat(options.warmup()).isEqualTo(Duration.ofMillis(500));
+    assertThat(options.duration()).isEqualTo(Duration.ofMinutes(2));
+    assertThat(options.timeout()).isEqualTo(Duration.ofSeconds(1));
+    assertThat(options.replay()).isEqualTo(Path.of("replay/reference-lookups.jsonl"));
+    assertThat(options.firstProduct()).isEqualTo(35455);
+    assertThat(options.seed()).isEqualTo(7);
+  }
+
+  @Test
+  void shouldFail_whenOptionIsUnknown() {
+    // Act & Assert
+    assertThatThrownBy(() -> LoadOptions.parse("--threads=10"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("Unknown option --threads=10");
+  }
+
+  @Test
+  void shouldFail_whenRateIsNotPositive() {
+    // Act & Assert
+    assertThatThrownBy(() -> LoadOptions.parse("--rate=0")).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,116 @@
+package com.inditex.pricing.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OpenLoopRunnerTest {
+
+  @TempDir
+  Path directory;
+
+  HttpServer server;
+
+  HttpClient client;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    this.server.createContext("/", exchange -> {
+      exchange.sendResponseHeaders(exchange.getRequestURI().getPath().equals("/prices") ? 200 : 404, -1);
+      exchange.close();
+    });
+    this.server.start();
+    this.client = HttpClient.newHttpClient();
+  }
+
+  @AfterEach
+  void tearDown() {
+    this.client.close();
+    this.server.stop(0);
+  }
+
+  @Test
+  void shouldMeasureOnlyRequestsAfterWarmup_whenRunAtFixedRate() {
+    // Arrange
+    URI target = URI.create("http://localhost:" + this.server.getAddress().getPort());
+    OpenLoopRunner runner = new OpenLoopRunner(this.client, target, Duration.ofSeconds(5));
+
+    // Act
+    LoadReport report = runner.run(alternating(), 200, Duration.ofMillis(100), Duration.ofMillis(500)).report();
+
+    // Assert
+    assertThat(report.requests()).isEqualTo(100);
+    assertThat(report.statuses()).isEqualTo(Map.of("200", 50L, "404", 50L));
+    assertThat(report.errors()).isEmpty();
+    assertThat(report.source()).isEqualTo("alternating");
+    assertThat(report.duration()).isEqualTo("PT0.5S");
+    assertThat(report.responseTimeMicros().max()).isGreaterThanOrEqualTo(report.responseTimeMicros().p50()).isPositive();
+    assertThat(report.responseTimeMicros().p50()).isGreaterThanOrEqualTo(report.serviceTimeMicros().p50());
+  }
+
+  @Test
+  void shouldCountErrors_whenInstanceIsDown() throws IOException {
+    // Arrange
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    OpenLoopRunner runner = new OpenLoopRunner(this.client, URI.create("http://localhost:" + port), Duration.ofSeconds(5));
+
+    // Act
+    LoadReport report = runner.run(alternating(), 100, Duration.ZERO, Duration.ofMillis(100)).report();
+
+    // Assert
+    assertThat(report.requests()).isEqualTo(10);
+    assertThat(report.statuses()).isEmpty();
+    assertThat(report.errors()).isEqualTo(Map.of("ConnectException", 10L));
+  }
+
+  @Test
+  void shouldWriteReportAndDistribution_whenRunIsOver() throws IOException {
+    // Arrange
+    URI target = URI.create("http://localhost:" + this.server.getAddress().getPort());
+    OpenLoopRunner.Result result = new OpenLoopRunner(this.client, target, Duration.ofSeconds(5))
+        .run(alternating(), 100, Duration.ZERO, Duration.ofMillis(100));
+    Path file = this.directory.resolve("reports/load-report.json");
+
+    // Act
+    LoadGenerator.write(result, file);
+
+    // Assert
+    assertThat(Files.readString(file)).contains("\"requests\" : 10", "\"responseTimeMicros\" : {", "\"p9999\" :");
+    assertThat(Files.readString(this.directory.resolve("reports/load-report.hgrm"))).contains("Value", "Percentile", "#[Max");
+  }
+
+  private static RequestSource alternating() {
+    return new RequestSource() {
+
+      private int count;
+
+      @Override
+      public LoadRequest next() {
+        return new LoadRequest("GET", this.count++ % 2 == 0 ? "/prices" : "/missing", null);
+      }
+
+      @Override
+      public String description() {
+        return "alternating";
+      }
+    };
+  }
+}
@@ -0,0 +1,62 @@
+package com.inditex.pricing.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ReplayRequestSourceTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void shouldReplayRequestsAndLookupsInOrder_whenFileIsRead() throws IOException {
+    // Arrange
+    Path file = Files.writeString(this.directory.resolve("requests.jsonl"), """
+        {"applicationDate": "2020-06-14T10:00:00+02:00", "productId": 35455, "brandId": 1}
+
+        {"method": "POST", "path": "/prices/batch", "body": {"items": []}}
+        {"path": "/prices/export?applicationDate=2020-06-14T10:00:00Z"}
+        """);
+
+    // Act
+    ReplayRequestSource source = ReplayRequestSource.read(file);
+
+    // Assert
+    assertThat(source.next()).isEqualTo(new LoadRequest("GET",
+        "/prices?applicationDate=2020-06-14T10%3A00%3A00%2B02%3A00&productId=35455&brandId=1", null));
+    assertThat(source.next()).isEqualTo(new LoadRequest("POST", "/prices/batch", "{\"items\":[]}"));
+    assertThat(source.next()).isEqualTo(new LoadRequest("GET", "/prices/export?applicationDate=2020-06-14T10:00:00Z", null));
+    assertThat(source.next().method()).isEqualTo("GET");
+    assertThat(source.description()).isEqualTo("replay(requests.jsonl, 3 requests)");
+  }
+
+  @Test
+  void shouldFailWithLineNumber_whenLineIsNeitherRequestNorLookup() throws IOException {
+    // Arrange
+    Path file = Files.writeString(this.directory.resolve("requests.jsonl"), """
+        {"path": "/prices"}
+        {"productId": 35455}
+        """);
+
+    // Act & Assert
+    assertThatThrownBy(() -> ReplayRequestSource.read(file))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageStartingWith("Line 2 of");
+  }
+
+  @Test
+  void shouldFail_whenFileHasNoRequest() throws IOException {
+    // Arrange
+    Path file = Files.writeString(this.directory.resolve("requests.jsonl"), "\n");
+
+    // Act & Assert
+    assertThatThrownBy(() -> ReplayRequestSource.read(file)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
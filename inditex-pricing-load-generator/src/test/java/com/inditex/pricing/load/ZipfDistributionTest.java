@@ -0,0 +1,54 @@
+package com.inditex.pricing.load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.SplittableRandom;
+
+import org.assertj.core.data.Offset;
+import org.junit.jupiter.api.Test;
+
+class ZipfDistributionTest {
+
+  @Test
+  void shouldDrawLowRanksMostOften_whenSkewed() {
+    // Arrange
+    ZipfDistribution distribution = new ZipfDistribution(1000, 1.0);
+    SplittableRandom random = new SplittableRandom(42);
+    int[] counts = new int[1001];
+
+    // Act
+    for (int i = 0; i < 200_000; i++) {
+      counts[distribution.sample(random)]++;
+    }
+
+    // Assert
+    assertThat(counts[0]).isZero();
+    assertThat((double) counts[1] / counts[2]).isCloseTo(2.0, Offset.offset(0.1));
+    assertThat(counts[1]).isGreaterThan(counts[10] * 8);
+  }
+
+  @Test
+  void shouldDrawEveryRankEvenly_whenExponentIsZero() {
+    // Arrange
+    ZipfDistribution distribution = new ZipfDistribution(4, 0);
+    SplittableRandom random = new SplittableRandom(42);
+    int[] counts = new int[5];
+
+    // Act
+    for (int i = 0; i < 40_000; i++) {
+      counts[distribution.sample(random)]++;
+    }
+
+    // Assert
+    for (int rank = 1; rank <= 4; rank++) {
+      assertThat(counts[rank]).isBetween(9_500, 10_500);
+    }
+  }
+
+  @Test
+  void shouldFail_whenSizeIsNotPositive() {
+    // Act & Assert
+    assertThatThrownBy(() -> new ZipfDistribution(0, 1.0)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,72 @@
+
+package com.inditex.pricing.rest.delegates;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+import com.inditex.pricing.application.port.in.ImportPricesUseCase;
+import com.inditex.pricing.domain.model.PriceFileFormat;
+import com.inditex.pricing.rest.api.AdminApiDelegate;
+import com.inditex.pricing.rest.delegates.mappers.PriceDTOMapper;
+import com.inditex.pricing.rest.dto.PriceImportReportDTO;
+
+import im.aop.loggers.Level;
+import im.aop.loggers.advice.before.LogBefore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Implementation of the Admin API delegate.
+ */
+@Validated
+@Service
+@RequiredArgsConstructor
+public class AdminApiDelegateImpl implements AdminApiDelegate {
+
+  static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+  private final ImportPricesUseCase importPricesUseCase;
+
+  private final PriceDTOMapper priceDTOMapper;
+
+  private final NativeWebRequest nativeWebRequest;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<NativeWebRequest> getRequest() {
+    return Optional.of(this.nativeWebRequest);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The body is read straight from the request input stream while it is being imported, so it is never buffered as a whole. The
+   * format is taken from the {@code Content-Type} header. A CSV header that lacks a column is answered with a 400.
+   */
+  @LogBefore(level = Level.INFO)
+  @Override
+  public ResponseEntity<PriceImportReportDTO> importPrices(final InputStreamResource body) {
+    PriceFileFormat format = TEXT_CSV.isCompatibleWith(MediaType.parseMediaType(this.nativeWebRequest.getHeader(HttpHeaders.CONTENT_TYPE)))
+        ? PriceFileFormat.CSV
+        : PriceFileFormat.JSONL;
+    try (InputStream input = body.getInputStream()) {
+      return ResponseEntity.ok(this.priceDTOMapper.toDto(this.importPricesUseCase.execute(format, input)));
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,64 @@
+
+package com.inditex.pricing.rest.delegates;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.inditex.pricing.domain.model.Price;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * HTTP caching of the answers of {@code GET /prices}, shared by the servlet and the reactive APIs.
+ *
+ * <p>The ETag is weak: the same price is answered with or without compression, and Tomcat does not compress responses with a strong
+ * one. Besides the ID and price list of the applicable price, it hashes the values of the answer, so an update of that tariff in place
+ * changes the ETag too. The answer stays fresh for the service max-age whatever the period of the price: the query names its
+ * application date, so the passing of time never changes its answer, and only a write can replace the price.
+ *
+ * <p>A request whose {@code If-None-Match} header matches the ETag, by the weak comparison of RFC 9110, is answered 304 Not Modified
+ * with the same headers and without mapping the price.
+ */
+final class PriceCacheHeaders {
+
+  private PriceCacheHeaders() {
+  }
+
+  /**
+   * Returns the ETag of the answer of a price.
+   *
+   * @param price the applicable price
+   * @return the weak ETag, quotes included
+   */
+  static String etag(Price price) {
+    int values = Objects.hash(price.getPriority(), price.getPeriod(), price.getMoney());
+    return "W/\"" + price.getId() + '-' + price.getPriceList() + '-' + Integer.toHexString(values) + '"';
+  }
+
+  /**
+   * Returns the answer of a price.
+   *
+   * @param price the applicable price
+   * @param ifNoneMatch the If-None-Match header of the request, if any
+   * @param now the current instant
+   * @param maxAge the freshness lifetime of an answer
+   * @param toDto the mapping of the price to the body, skipped when the answer is a 304
+   * @param <T> the type of the body
+   * @return the 200 answer with the mapped price, or the 304 answer without body, both with the ETag and cache headers
+   */
+  static <T> ResponseEntity<T> answer(Price price, String ifNoneMatch, Instant now, Duration maxAge, Function<Price, T> toDto) {
+    String etag = etag(price);
+    boolean notModified = ifNoneMatch != null && ETag.parse(ifNoneMatch).stream()
+        .anyMatch(candidate -> candidate.isWildcard() || candidate.compare(ETag.create(etag), false));
+    ResponseEntity.BodyBuilder answer = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+        .eTag(etag)
+        .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+        .headers(headers -> headers.setExpires(now.plus(maxAge).toEpochMilli()));
+    return notModified ? answer.build() : answer.body(toDto.apply(price));
+  }
+}
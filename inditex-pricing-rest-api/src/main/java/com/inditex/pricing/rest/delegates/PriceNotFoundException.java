@@ -0,0 +1,25 @@
+package com.inditex.pricing.rest.delegates;
+
+import java.io.Serial;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The 404 answer of a lookup with no applicable price. Unknown products are the most frequent not found case and cost no database
+ * access, so the error is a single shared instance that captures no stack trace, keeping its construction out of that path. It also
+ * ignores suppressed exceptions: Reactor attaches a checkpoint to every error WebFlux handles, which on a shared instance would grow
+ * with every 404 and be appended to from several event loops at once.
+ */
+@ResponseStatus(code = HttpStatus.NOT_FOUND, reason = "No applicable price found")
+final class PriceNotFoundException extends RuntimeException {
+
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  static final PriceNotFoundException INSTANCE = new PriceNotFoundException();
+
+  private PriceNotFoundException() {
+    super("No applicable price found", null, false, false);
+  }
+}
@@ -1,46 +1,195 @@
 
 package com.inditex.pricing.rest.delegates;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
+import com.inditex.pricing.application.metrics.LookupOutcome;
+import com.inditex.pricing.application.metrics.LookupTimers;
+import com.inditex.pricing.application.port.in.ExportApplicablePricesUseCase;
 import com.inditex.pricing.application.port.in.GetApplicablePriceUseCase;
+import com.inditex.pricing.application.port.in.GetPriceTimelineUseCase;
+import com.inditex.pricing.domain.model.Period;
 import com.inditex.pricing.domain.model.Price;
 import com.inditex.pricing.rest.api.PricesApiDelegate;
 import com.inditex.pricing.rest.delegates.mappers.DateMapper;
 import com.inditex.pricing.rest.delegates.mappers.PriceDTOMapper;
+import com.inditex.pricing.rest.delegates.mappers.PriceJsonWriter;
+import com.inditex.pricing.rest.dto.PriceBatchRequestDTO;
+import com.inditex.pricing.rest.dto.PriceBatchResponseDTO;
 import com.inditex.pricing.rest.dto.PriceDTO;
+import com.inditex.pricing.rest.dto.PriceQueryDTO;
+import com.inditex.pricing.rest.dto.PriceTimelineDTO;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import im.aop.loggers.Level;
 import im.aop.loggers.advice.before.LogBefore;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
- * Implementation of the Prices API delegate.
+ * Implementation of the Prices API delegate. Single lookups are timed as {@code pricing.api.lookups}, tagged by brand and outcome, so
+ * their time includes the DTO mapping on top of the use case.
+ *
+ * <p>Single lookups are cacheable: the answer carries the ETag, Cache-Control and Expires headers of {@link PriceCacheHeaders}, and a
+ * request whose {@code If-None-Match} matches the ETag is answered 304 Not Modified without mapping nor serializing the price.
  */
 @Validated
 @Service
-@RequiredArgsConstructor
 public class PricesApiDelegateImpl implements PricesApiDelegate {
 
   private final GetApplicablePriceUseCase getApplicablePriceUseCase;
 
+  private final ExportApplicablePricesUseCase exportApplicablePricesUseCase;
+
+  private final GetPriceTimelineUseCase getPriceTimelineUseCase;
+
   private final PriceDTOMapper priceDTOMapper;
 
   private final DateMapper dateMapper;
 
+  private final ObjectMapper objectMapper;
+
+  private final NativeWebRequest nativeWebRequest;
+
+  private final LookupTimers lookups;
+
+  private final Duration cacheMaxAge;
+
+  /**
+   * Creates the delegate and registers its lookup timers in the meter registry, if any.
+   *
+   * @param getApplicablePriceUseCase the use case of single and batch lookups
+   * @param exportApplicablePricesUseCase the use case of the export
+   * @param getPriceTimelineUseCase the use case of the price timeline
+   * @param priceDTOMapper the mapper between prices and DTOs
+   * @param dateMapper the mapper of request dates
+   * @param objectMapper the object mapper the export generator is created from
+   * @param nativeWebRequest the current request
+   * @param maxBrands the maximum number of brands tagged on their own
+   * @param cacheMaxAge the freshness lifetime of a single lookup answer
+   * @param meterRegistry the registry the lookup timers are published to
+   */
+  public PricesApiDelegateImpl(GetApplicablePriceUseCase getApplicablePriceUseCase,
+      ExportApplicablePricesUseCase exportApplicablePricesUseCase, GetPriceTimelineUseCase getPriceTimelineUseCase,
+      PriceDTOMapper priceDTOMapper, DateMapper dateMapper, ObjectMapper objectMapper, NativeWebRequest nativeWebRequest,
+      @Value("${pricing.metrics.max-brands:100}") int maxBrands, @Value("${pricing.api.cache-max-age:60s}") Duration cacheMaxAge,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this.getApplicablePriceUseCase = getApplicablePriceUseCase;
+    this.exportApplicablePricesUseCase = exportApplicablePricesUseCase;
+    this.getPriceTimelineUseCase = getPriceTimelineUseCase;
+    this.priceDTOMapper = priceDTOMapper;
+    this.dateMapper = dateMapper;
+    this.objectMapper = objectMapper;
+    this.nativeWebRequest = nativeWebRequest;
+    this.lookups = new LookupTimers(meterRegistry.getIfAvailable(), "pricing.api.lookups", "Applicable price lookups of GET /prices",
+        Tags.empty(), maxBrands);
+    this.cacheMaxAge = cacheMaxAge;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Optional<NativeWebRequest> getRequest() {
+    return Optional.of(this.nativeWebRequest);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ResponseEntity<PriceDTO> getPrices(final OffsetDateTime applicationDate, final Integer productId, final Integer brandId,
+      final String ifNoneMatch) {
+    final long startNanos = System.nanoTime();
+    LookupOutcome outcome = LookupOutcome.ERROR;
+    try {
+      Optional<Price> price = this.getApplicablePriceUseCase.execute(brandId, productId, dateMapper.toInstant(applicationDate));
+      if (price.isEmpty()) {
+        outcome = LookupOutcome.NOT_FOUND;
+        throw PriceNotFoundException.INSTANCE;
+      }
+      ResponseEntity<PriceDTO> answer = PriceCacheHeaders.answer(price.get(), ifNoneMatch, Instant.now(), this.cacheMaxAge,
+          this.priceDTOMapper::toDto);
+      outcome = LookupOutcome.FOUND;
+      return answer;
+    } finally {
+      this.lookups.record(brandId, outcome, System.nanoTime() - startNanos);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ResponseEntity<PriceBatchResponseDTO> getPricesBatch(final PriceBatchRequestDTO priceBatchRequestDTO) {
+    List<PriceQueryDTO> items = priceBatchRequestDTO.getItems();
+    List<Optional<Price>> prices = this.getApplicablePriceUseCase.execute(items.stream().map(this.priceDTOMapper::toQuery).toList());
+    return ResponseEntity.ok(new PriceBatchResponseDTO(IntStream.range(0, items.size())
+        .mapToObj(i -> this.priceDTOMapper.toBatchItem(items.get(i), prices.get(i)))
+        .toList()));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>A range that ends before it starts is answered 400 Bad Request.
+   */
+  @Override
+  public ResponseEntity<PriceTimelineDTO> getPriceTimeline(final OffsetDateTime startDate, final OffsetDateTime endDate,
+      final Integer productId, final Integer brandId) {
+    Instant start = this.dateMapper.toInstant(startDate);
+    Instant end = this.dateMapper.toInstant(endDate);
+    if (start.isAfter(end)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The end date is before the start date");
+    }
+    return ResponseEntity.ok(this.priceDTOMapper.toTimeline(brandId, productId, startDate, endDate,
+        this.getPriceTimelineUseCase.execute(brandId, productId, new Period(start, end))));
+  }
+
   /**
    * {@inheritDoc}
+   *
+   * <p>Every price is written to the response output stream as soon as it is resolved, so the body is never buffered as a whole. Prices
+   * go through {@link PriceJsonWriter} instead of a {@link PriceDTO}, so the per-price cost is the bytes written. The method returns null
+   * because the body has already been written when it completes.
    */
   @LogBefore(level = Level.INFO)
   @Override
-  public PriceDTO getPrices(final OffsetDateTime applicationDate, final Integer productId, final Integer brandId) {
-    Optional<Price> price = this.getApplicablePriceUseCase.execute(brandId, productId, dateMapper.toInstant(applicationDate));
-    return price.map(this.priceDTOMapper::toDto)
-        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No applicable price found"));
+  public ResponseEntity<PriceDTO> exportPrices(final OffsetDateTime applicationDate) {
+    HttpServletResponse response = this.nativeWebRequest.getNativeResponse(HttpServletResponse.class);
+    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+    try (JsonGenerator generator = this.objectMapper.createGenerator(response.getOutputStream())) {
+      generator.setRootValueSeparator(null);
+      PriceJsonWriter priceJsonWriter = new PriceJsonWriter(generator);
+      this.exportApplicablePricesUseCase.execute(this.dateMapper.toInstant(applicationDate), price -> {
+        try {
+          priceJsonWriter.write(price);
+          generator.writeRaw('\n');
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return null;
   }
 }
@@ -0,0 +1,114 @@
+
+package com.inditex.pricing.rest.delegates;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.inditex.pricing.application.port.in.GetApplicablePriceReactiveUseCase;
+import com.inditex.pricing.application.port.in.GetPriceTimelineReactiveUseCase;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.rest.delegates.mappers.DateMapper;
+import com.inditex.pricing.rest.delegates.mappers.PriceDTOMapper;
+import com.inditex.pricing.rest.dto.PriceBatchRequestDTO;
+import com.inditex.pricing.rest.dto.PriceBatchResponseDTO;
+import com.inditex.pricing.rest.dto.PriceDTO;
+import com.inditex.pricing.rest.dto.PriceQueryDTO;
+import com.inditex.pricing.rest.dto.PriceTimelineDTO;
+import com.inditex.pricing.rest.reactive.api.PricesApi;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux implementation of the Prices API, only active with the {@code reactive} profile. It answers with the same bodies and statuses
+ * as {@link PricesApiDelegateImpl}, without blocking the event loop. The export keeps the generated 501 answer, as it streams a JDBC
+ * cursor that has no reactive counterpart yet.
+ */
+@RestController
+@Profile("reactive")
+public class ReactivePricesApiController implements PricesApi {
+
+  private final GetApplicablePriceReactiveUseCase getApplicablePriceReactiveUseCase;
+
+  private final GetPriceTimelineReactiveUseCase getPriceTimelineReactiveUseCase;
+
+  private final PriceDTOMapper priceDTOMapper;
+
+  private final DateMapper dateMapper;
+
+  private final Duration cacheMaxAge;
+
+  /**
+   * Creates the controller.
+   *
+   * @param getApplicablePriceReactiveUseCase the use case of single and batch lookups
+   * @param getPriceTimelineReactiveUseCase the use case of the price timeline
+   * @param priceDTOMapper the mapper between prices and DTOs
+   * @param dateMapper the mapper of request dates
+   * @param cacheMaxAge the freshness lifetime of a single lookup answer
+   */
+  public ReactivePricesApiController(GetApplicablePriceReactiveUseCase getApplicablePriceReactiveUseCase,
+      GetPriceTimelineReactiveUseCase getPriceTimelineReactiveUseCase, PriceDTOMapper priceDTOMapper, DateMapper dateMapper,
+      @Value("${pricing.api.cache-max-age:60s}") Duration cacheMaxAge) {
+    this.getApplicablePriceReactiveUseCase = getApplicablePriceReactiveUseCase;
+    this.getPriceTimelineReactiveUseCase = getPriceTimelineReactiveUseCase;
+    this.priceDTOMapper = priceDTOMapper;
+    this.dateMapper = dateMapper;
+    this.cacheMaxAge = cacheMaxAge;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The answer carries the same cache headers as {@link PricesApiDelegateImpl}, and it is a 304 without body when the price is not
+   * modified.
+   */
+  @Override
+  public Mono<ResponseEntity<PriceDTO>> getPrices(final OffsetDateTime applicationDate, final Integer productId, final Integer brandId,
+      final String ifNoneMatch, final ServerWebExchange exchange) {
+    return this.getApplicablePriceReactiveUseCase.execute(brandId, productId, this.dateMapper.toInstant(applicationDate))
+        .switchIfEmpty(Mono.error(PriceNotFoundException.INSTANCE))
+        .map(price -> PriceCacheHeaders.answer(price, ifNoneMatch, Instant.now(), this.cacheMaxAge, this.priceDTOMapper::toDto));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Mono<ResponseEntity<PriceBatchResponseDTO>> getPricesBatch(final Mono<PriceBatchRequestDTO> priceBatchRequestDTO,
+      final ServerWebExchange exchange) {
+    return priceBatchRequestDTO.flatMap(request -> {
+      List<PriceQueryDTO> items = request.getItems();
+      return this.getApplicablePriceReactiveUseCase.execute(items.stream().map(this.priceDTOMapper::toQuery).toList())
+          .map(prices -> ResponseEntity.ok(new PriceBatchResponseDTO(IntStream.range(0, items.size())
+              .mapToObj(i -> this.priceDTOMapper.toBatchItem(items.get(i), prices.get(i)))
+              .toList())));
+    });
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>A range that ends before it starts is answered 400 Bad Request, as in {@link PricesApiDelegateImpl}.
+   */
+  @Override
+  public Mono<ResponseEntity<PriceTimelineDTO>> getPriceTimeline(final OffsetDateTime startDate, final OffsetDateTime endDate,
+      final Integer productId, final Integer brandId, final ServerWebExchange exchange) {
+    Instant start = this.dateMapper.toInstant(startDate);
+    Instant end = this.dateMapper.toInstant(endDate);
+    if (start.isAfter(end)) {
+      return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "The end date is before the start date"));
+    }
+    return this.getPriceTimelineReactiveUseCase.execute(brandId, productId, new Period(start, end))
+        .map(segments -> ResponseEntity.ok(this.priceDTOMapper.toTimeline(brandId, productId, startDate, endDate, segments)));
+  }
+}
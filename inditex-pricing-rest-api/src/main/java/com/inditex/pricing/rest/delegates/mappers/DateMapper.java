@@ -4,7 +4,6 @@ package com.inditex.pricing.rest.delegates.mappers;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
-import java.util.Optional;
 
 import org.mapstruct.Mapper;
 
@@ -21,7 +20,7 @@ public interface DateMapper {
    * @return the corresponding OffsetDateTime in UTC, or null if the input is null
    */
   default OffsetDateTime toOffsetDateTime(Instant dateTime) {
-    return Optional.ofNullable(dateTime).filter(t -> !Instant.MAX.equals(t)).map(t -> t.atOffset(ZoneOffset.UTC)).orElse(null);
+    return dateTime == null || Instant.MAX.equals(dateTime) ? null : dateTime.atOffset(ZoneOffset.UTC);
   }
 
   /**
@@ -31,7 +30,7 @@ public interface DateMapper {
    * @return the corresponding Instant, or null if the input is null
    */
   default Instant toInstant(OffsetDateTime dateTime) {
-    return Optional.ofNullable(dateTime).map(OffsetDateTime::toInstant).orElse(Instant.MAX);
+    return dateTime == null ? Instant.MAX : dateTime.toInstant();
   }
 
 }
@@ -3,10 +3,21 @@ package com.inditex.pricing.rest.delegates.mappers;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceImportReport;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.domain.model.PriceTimeline;
+import com.inditex.pricing.rest.dto.PriceBatchItemDTO;
+import com.inditex.pricing.rest.dto.PriceBatchItemDTO.StatusEnum;
 import com.inditex.pricing.rest.dto.PriceDTO;
+import com.inditex.pricing.rest.dto.PriceImportReportDTO;
+import com.inditex.pricing.rest.dto.PriceQueryDTO;
+import com.inditex.pricing.rest.dto.PriceTimelineDTO;
+import com.inditex.pricing.rest.dto.PriceTimelineSegmentDTO;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -31,13 +42,77 @@ public interface PriceDTOMapper {
   PriceDTO toDto(Price source);
 
   /**
-   * Formats a BigDecimal amount to two decimal places using HALF_UP rounding.
+   * Converts a PriceQueryDTO to a PriceQuery.
+   *
+   * @param source the PriceQueryDTO
+   * @return the corresponding PriceQuery
+   */
+  @Mapping(target = "at", source = "applicationDate")
+  PriceQuery toQuery(PriceQueryDTO source);
+
+  /**
+   * Builds the batch result of a query, flagging it as not found when no price applies.
+   *
+   * @param query the PriceQueryDTO as received
+   * @param price the applicable price, if any
+   * @return the corresponding PriceBatchItemDTO
+   */
+  default PriceBatchItemDTO toBatchItem(PriceQueryDTO query, Optional<Price> price) {
+    return new PriceBatchItemDTO(query.getBrandId(), query.getProductId(), query.getApplicationDate(),
+        price.isPresent() ? StatusEnum.FOUND : StatusEnum.NOT_FOUND)
+        .price(price.map(this::toDto).orElse(null));
+  }
+
+  /**
+   * Converts a segment of a price timeline to a PriceTimelineSegmentDTO.
+   *
+   * @param source the segment
+   * @return the corresponding PriceTimelineSegmentDTO
+   */
+  @Mapping(target = "startDate", source = "period.start")
+  @Mapping(target = "endDate", source = "period.end")
+  @Mapping(target = "priceList", source = "price.priceList")
+  @Mapping(target = "price", source = "price.money.amount", qualifiedByName = "formatAmount")
+  @Mapping(target = "curr", source = "price.money.currency")
+  PriceTimelineSegmentDTO toDto(PriceTimeline.Segment source);
+
+  /**
+   * Builds the price timeline of a range.
+   *
+   * @param brandId the brand identifier of the query
+   * @param productId the product identifier of the query
+   * @param startDate the start of the range as received
+   * @param endDate the end of the range as received
+   * @param segments the segments of the range, in chronological order
+   * @return the corresponding PriceTimelineDTO
+   */
+  default PriceTimelineDTO toTimeline(Integer brandId, Integer productId, OffsetDateTime startDate, OffsetDateTime endDate,
+      List<PriceTimeline.Segment> segments) {
+    return new PriceTimelineDTO(brandId, productId, startDate, endDate, segments.stream().map(this::toDto).toList());
+  }
+
+  /**
+   * Converts the report of a price file import to a PriceImportReportDTO.
+   *
+   * @param source the PriceImportReport
+   * @return the corresponding PriceImportReportDTO
+   */
+  @Mapping(target = "elapsedMillis", expression = "java(source.elapsed().toMillis())")
+  @Mapping(target = "linesPerSecond", expression = "java(source.linesPerSecond())")
+  PriceImportReportDTO toDto(PriceImportReport source);
+
+  /**
+   * Formats a BigDecimal amount to two decimal places using HALF_UP rounding. Amounts read from the PRICES table already have two
+   * decimals, so they are not rescaled again.
    *
    * @param amount the BigDecimal amount
    * @return the formatted BigDecimal amount
    */
   @Named("formatAmount")
   default Double formatAmount(BigDecimal amount) {
-    return Optional.ofNullable(amount).map(a -> a.setScale(2, RoundingMode.HALF_UP)).map(BigDecimal::doubleValue).orElse(null);
+    if (amount == null) {
+      return null;
+    }
+    return (amount.scale() == 2 ? amount : amount.setScale(2, RoundingMode.HALF_UP)).doubleValue();
   }
 }
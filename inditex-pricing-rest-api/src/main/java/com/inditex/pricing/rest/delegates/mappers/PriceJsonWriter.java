@@ -0,0 +1,200 @@
+
+package com.inditex.pricing.rest.delegates.mappers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.rest.dto.PriceDTO;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * Writes prices straight into a {@link JsonGenerator} with the same bytes Jackson produces for the {@link PriceDTO} built by
+ * {@link PriceDTOMapper}, but without building the DTO, its {@code OffsetDateTime} dates nor the boxed amount. Dates and amounts are
+ * formatted into a reusable buffer, so writing a price allocates nothing.
+ *
+ * <p>Instances keep that buffer and are meant to be used by a single thread for the lifetime of one generator.
+ */
+public final class PriceJsonWriter {
+
+  private static final SerializedString PRODUCT_ID = new SerializedString("productId");
+
+  private static final SerializedString BRAND_ID = new SerializedString("brandId");
+
+  private static final SerializedString PRICE_LIST = new SerializedString("priceList");
+
+  private static final SerializedString START_DATE = new SerializedString("startDate");
+
+  private static final SerializedString END_DATE = new SerializedString("endDate");
+
+  private static final SerializedString PRICE = new SerializedString("price");
+
+  private static final SerializedString CURR = new SerializedString("curr");
+
+  private static final long SECONDS_PER_DAY = 86_400L;
+
+  /**
+   * Largest amount, in cents, that {@link Double#toString(double)} prints in plain notation (below 10^7).
+   */
+  private static final long MAX_PLAIN_CENTS = 1_000_000_000L;
+
+  private final JsonGenerator generator;
+
+  private final char[] buffer = new char[32];
+
+  /**
+   * Creates a writer on top of the given generator.
+   *
+   * @param generator the generator to write to
+   */
+  public PriceJsonWriter(JsonGenerator generator) {
+    this.generator = generator;
+  }
+
+  /**
+   * Writes the given price as a JSON object.
+   *
+   * @param price the price to write
+   * @throws IOException if the generator fails to write
+   */
+  public void write(Price price) throws IOException {
+    final Period period = price.getPeriod();
+    final Money money = price.getMoney();
+    this.generator.writeStartObject();
+    this.generator.writeFieldName(PRODUCT_ID);
+    this.writeInt(price.getProductId());
+    this.generator.writeFieldName(BRAND_ID);
+    this.writeInt(price.getBrandId());
+    this.generator.writeFieldName(PRICE_LIST);
+    this.writeInt(price.getPriceList() == null ? null : price.getPriceList().intValue());
+    this.generator.writeFieldName(START_DATE);
+    this.writeDate(period == null ? null : period.start());
+    this.generator.writeFieldName(END_DATE);
+    this.writeDate(period == null ? null : period.end());
+    this.generator.writeFieldName(PRICE);
+    this.writeAmount(money == null ? null : money.amount());
+    this.generator.writeFieldName(CURR);
+    this.generator.writeString(money == null ? null : money.currency());
+    this.generator.writeEndObject();
+  }
+
+  private void writeInt(Integer value) throws IOException {
+    if (value == null) {
+      this.generator.writeNull();
+    } else {
+      this.generator.writeNumber(value.intValue());
+    }
+  }
+
+  /**
+   * Writes an instant as {@link DateTimeFormatter#ISO_OFFSET_DATE_TIME} in UTC, which is how the DTO dates are serialized. Years outside
+   * 0000-9999, which the formatter prints with a sign or more digits, go through the formatter itself.
+   */
+  private void writeDate(Instant instant) throws IOException {
+    if (instant == null || Instant.MAX.equals(instant)) {
+      this.generator.writeNull();
+      return;
+    }
+    long epochSecond = instant.getEpochSecond();
+    long epochDay = Math.floorDiv(epochSecond, SECONDS_PER_DAY);
+    final int secondOfDay = (int) Math.floorMod(epochSecond, SECONDS_PER_DAY);
+
+    // Civil date from days since 1970-01-01, counting in 400-year eras that start on March 1st
+    long days = epochDay + 719_468;
+    long era = Math.floorDiv(days, 146_097);
+    int dayOfEra = (int) (days - era * 146_097);
+    int yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+    int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+    int shiftedMonth = (5 * dayOfYear + 2) / 153;
+    final int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+    int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+    long year = era * 400 + yearOfEra + (month <= 2 ? 1 : 0);
+    if (year < 0 || year > 9_999) {
+      this.generator.writeString(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC)));
+      return;
+    }
+
+    char[] chars = this.buffer;
+    int pos = this.digits((int) year, 4, 0);
+    chars[pos++] = '-';
+    pos = this.digits(month, 2, pos);
+    chars[pos++] = '-';
+    pos = this.digits(day, 2, pos);
+    chars[pos++] = 'T';
+    pos = this.digits(secondOfDay / 3_600, 2, pos);
+    chars[pos++] = ':';
+    pos = this.digits(secondOfDay / 60 % 60, 2, pos);
+    chars[pos++] = ':';
+    pos = this.digits(secondOfDay % 60, 2, pos);
+    int nanos = instant.getNano();
+    if (nanos != 0) {
+      chars[pos++] = '.';
+      int end = this.digits(nanos, 9, pos);
+      while (chars[end - 1] == '0') {
+        end--;
+      }
+      pos = end;
+    }
+    chars[pos++] = 'Z';
+    this.generator.writeString(chars, 0, pos);
+  }
+
+  /**
+   * Writes an amount rounded to two decimals, as {@link Double#toString(double)} prints it: trailing zeros are dropped but one decimal
+   * is always kept. Amounts from 10^7 on, which it prints in scientific notation, are left to the generator.
+   */
+  private void writeAmount(BigDecimal amount) throws IOException {
+    if (amount == null) {
+      this.generator.writeNull();
+      return;
+    }
+    double value = (amount.scale() == 2 ? amount : amount.setScale(2, RoundingMode.HALF_UP)).doubleValue();
+    long cents = Math.round(value * 100);
+    if (Math.abs(cents) >= MAX_PLAIN_CENTS) {
+      this.generator.writeNumber(value);
+      return;
+    }
+    char[] chars = this.buffer;
+    int pos = 0;
+    if (cents < 0) {
+      chars[pos++] = '-';
+      cents = -cents;
+    }
+    int units = (int) (cents / 100);
+    int decimals = (int) (cents % 100);
+    pos = this.digits(units, this.digitCount(units), pos);
+    chars[pos++] = '.';
+    chars[pos++] = (char) ('0' + decimals / 10);
+    if (decimals % 10 != 0) {
+      chars[pos++] = (char) ('0' + decimals % 10);
+    }
+    this.generator.writeNumber(chars, 0, pos);
+  }
+
+  private int digitCount(int value) {
+    int count = 1;
+    for (int bound = 10; count < 9 && value >= bound; bound *= 10) {
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Writes the last {@code count} decimal digits of a non-negative value, left-padded with zeros, and returns the next position.
+   */
+  private int digits(int value, int count, int pos) {
+    for (int i = pos + count - 1; i >= pos; i--) {
+      this.buffer[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+    return pos + count;
+  }
+}
@@ -0,0 +1,92 @@
+
+package com.inditex.pricing.rest.delegates;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.List;
+
+import com.inditex.pricing.application.port.in.ImportPricesUseCase;
+import com.inditex.pricing.domain.model.PriceFileFormat;
+import com.inditex.pricing.domain.model.PriceImportReport;
+import com.inditex.pricing.rest.api.AdminApiDelegate;
+import com.inditex.pricing.rest.delegates.mappers.DateMapperImpl;
+import com.inditex.pricing.rest.delegates.mappers.PriceDTOMapperImpl;
+import com.inditex.pricing.rest.dto.PriceImportReportDTO;
+
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.web.server.ResponseStatusException;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {AdminApiDelegateImpl.class, PriceDTOMapperImpl.class, DateMapperImpl.class},
+    properties = "spring.main.web-application-type=servlet"
+)
+@WebAppConfiguration
+class AdminApiDelegateImplTest {
+
+  @Autowired
+  AdminApiDelegate adminApiDelegate;
+
+  @MockitoBean
+  ImportPricesUseCase importPricesUseCase;
+
+  @Autowired
+  MockHttpServletRequest request;
+
+  @Test
+  void shouldLoadContext_whenDependenciesAreInjected() {
+    // Arrange
+    // Act & Assert
+    assertNotNull(this.adminApiDelegate);
+  }
+
+  @ParameterizedTest
+  @CsvSource({"text/csv, CSV", "text/csv;charset=UTF-8, CSV", "application/x-ndjson, JSONL"})
+  void shouldImportWithFormatOfContentType_whenBodyIsAPriceFile(String contentType, PriceFileFormat format) {
+    // Arrange
+    this.request.addHeader(HttpHeaders.CONTENT_TYPE, contentType);
+    when(this.importPricesUseCase.execute(eq(format), any())).thenReturn(new PriceImportReport(2, 0, List.of(), Duration.ofMillis(1)));
+
+    // Act
+    PriceImportReportDTO result = this.adminApiDelegate.importPrices(new InputStreamResource(new ByteArrayInputStream(new byte[0])))
+        .getBody();
+
+    // Assert
+    assertEquals(2L, result.getAccepted());
+    assertEquals(0L, result.getRejected());
+  }
+
+  @Test
+  void shouldAnswerBadRequest_whenCsvHeaderLacksColumn() {
+    // Arrange
+    this.request.addHeader(HttpHeaders.CONTENT_TYPE, "text/csv");
+    when(this.importPricesUseCase.execute(eq(PriceFileFormat.CSV), any()))
+        .thenThrow(new IllegalArgumentException("CSV header lacks column PRIORITY"));
+    InputStreamResource body = new InputStreamResource(new ByteArrayInputStream(new byte[0]));
+
+    // Act & Assert
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> this.adminApiDelegate.importPrices(body));
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    assertEquals("CSV header lacks column PRIORITY", exception.getReason());
+  }
+}
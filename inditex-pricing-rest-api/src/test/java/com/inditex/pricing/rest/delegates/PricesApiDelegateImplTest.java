@@ -4,34 +4,70 @@ package com.inditex.pricing.rest.delegates;
 import static org.instancio.Select.field;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import com.inditex.pricing.application.metrics.LookupTimers;
+import com.inditex.pricing.application.port.in.ExportApplicablePricesUseCase;
 import com.inditex.pricing.application.port.in.GetApplicablePriceUseCase;
+import com.inditex.pricing.application.port.in.GetPriceTimelineUseCase;
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
 import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.domain.model.PriceTimeline;
 import com.inditex.pricing.rest.api.PricesApiDelegate;
 import com.inditex.pricing.rest.delegates.mappers.DateMapperImpl;
 import com.inditex.pricing.rest.delegates.mappers.PriceDTOMapperImpl;
+import com.inditex.pricing.rest.dto.PriceBatchItemDTO.StatusEnum;
+import com.inditex.pricing.rest.dto.PriceBatchRequestDTO;
+import com.inditex.pricing.rest.dto.PriceBatchResponseDTO;
 import com.inditex.pricing.rest.dto.PriceDTO;
+import com.inditex.pricing.rest.dto.PriceQueryDTO;
+import com.inditex.pricing.rest.dto.PriceTimelineDTO;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.instancio.Instancio;
 import org.instancio.junit.InstancioExtension;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.server.ResponseStatusException;
 
 @ExtendWith({MockitoExtension.class, InstancioExtension.class})
 @SpringBootTest(
-    classes = {PricesApiDelegateImpl.class, PriceDTOMapperImpl.class, DateMapperImpl.class}
+    classes = {PricesApiDelegateImpl.class, PriceDTOMapperImpl.class, DateMapperImpl.class, JacksonAutoConfiguration.class,
+        SimpleMeterRegistry.class},
+    properties = "spring.main.web-application-type=servlet"
 )
+@WebAppConfiguration
 class PricesApiDelegateImplTest {
 
   @Autowired
@@ -40,6 +76,18 @@ class PricesApiDelegateImplTest {
   @MockitoBean
   GetApplicablePriceUseCase getApplicablePriceUseCase;
 
+  @MockitoBean
+  ExportApplicablePricesUseCase exportApplicablePricesUseCase;
+
+  @MockitoBean
+  GetPriceTimelineUseCase getPriceTimelineUseCase;
+
+  @Autowired
+  MockHttpServletResponse response;
+
+  @Autowired
+  MeterRegistry meterRegistry;
+
   @Test
   void shouldLoadContext_whenDependenciesAreInjected() {
     // Arrange
@@ -56,10 +104,11 @@ class PricesApiDelegateImplTest {
     Price price = Instancio.of(Price.class)
         .set(field(Price::getProductId), productId)
         .set(field(Price::getBrandId), brandId)
+        .set(field(Price::getPeriod), new Period(Instant.parse("2020-06-14T00:00:00Z"), Instant.parse("2020-12-31T23:59:59Z")))
         .create();
     when(this.getApplicablePriceUseCase.execute(brandId, productId, applicationDate.toInstant())).thenReturn(Optional.of(price));
     // Act
-    PriceDTO result = pricesApiDelegate.getPrices(applicationDate, productId, brandId);
+    PriceDTO result = pricesApiDelegate.getPrices(applicationDate, productId, brandId, null).getBody();
     // Assert
     assertNotNull(result);
     assertEquals(productId, result.getProductId());
@@ -67,6 +116,78 @@ class PricesApiDelegateImplTest {
     verify(this.getApplicablePriceUseCase).execute(brandId, productId, applicationDate.toInstant());
   }
 
+  @Test
+  void shouldAnswerNotModifiedWithoutBody_whenIfNoneMatchIsTheEtag() {
+    // Arrange
+    OffsetDateTime applicationDate = Instancio.create(OffsetDateTime.class);
+    Price price = Instancio.of(Price.class)
+        .set(field(Price::getPeriod), new Period(Instant.parse("2020-06-14T00:00:00Z"), Instant.parse("2020-12-31T23:59:59Z")))
+        .create();
+    String etag = PriceCacheHeaders.etag(price);
+    when(this.getApplicablePriceUseCase.execute(1, 35455, applicationDate.toInstant())).thenReturn(Optional.of(price));
+    long found = this.brandOneFound();
+    // Act
+    ResponseEntity<PriceDTO> result = pricesApiDelegate.getPrices(applicationDate, 35455, 1, etag);
+    // Assert
+    assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+    assertNull(result.getBody());
+    assertEquals(etag, result.getHeaders().getETag());
+    assertEquals("max-age=60, public", result.getHeaders().getCacheControl());
+    assertEquals(found + 1, this.brandOneFound());
+  }
+
+  @Test
+  void shouldAnswerNotModified_whenIfNoneMatchListsTheStrongFormOfTheEtag() {
+    // Arrange
+    OffsetDateTime applicationDate = Instancio.create(OffsetDateTime.class);
+    Price price = Instancio.create(Price.class);
+    String etag = PriceCacheHeaders.etag(price);
+    when(this.getApplicablePriceUseCase.execute(1, 35455, applicationDate.toInstant())).thenReturn(Optional.of(price));
+    // Act
+    ResponseEntity<PriceDTO> result = pricesApiDelegate.getPrices(applicationDate, 35455, 1, "\"0-0-0\", " + etag.substring(2));
+    // Assert
+    assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+    assertNull(result.getBody());
+  }
+
+  @Test
+  void shouldUseServiceMaxAge_whenApplicablePriceEndsLater() {
+    // Arrange
+    OffsetDateTime applicationDate = Instancio.create(OffsetDateTime.class);
+    Instant now = Instant.now();
+    Price price = Instancio.of(Price.class)
+        .set(field(Price::getPeriod), new Period(now.minus(Duration.ofDays(1)), now.plus(Duration.ofDays(1))))
+        .create();
+    when(this.getApplicablePriceUseCase.execute(1, 35455, applicationDate.toInstant())).thenReturn(Optional.of(price));
+    // Act
+    ResponseEntity<PriceDTO> result = pricesApiDelegate.getPrices(applicationDate, 35455, 1, "W/\"0-0-0\"");
+    // Assert
+    assertNotNull(result.getBody());
+    assertEquals(HttpStatus.OK, result.getStatusCode());
+    assertEquals(PriceCacheHeaders.etag(price), result.getHeaders().getETag());
+    assertEquals("max-age=60, public", result.getHeaders().getCacheControl());
+    long expires = result.getHeaders().getExpires();
+    assertTrue(expires >= now.plusSeconds(59).toEpochMilli() && expires <= Instant.now().plusSeconds(61).toEpochMilli());
+  }
+
+  @Test
+  void shouldUseServiceMaxAge_whenApplicationDateIsPast() {
+    // Arrange
+    OffsetDateTime applicationDate = OffsetDateTime.parse("2020-06-14T16:00:00Z");
+    Price price = Instancio.of(Price.class)
+        .set(field(Price::getPeriod), new Period(Instant.parse("2020-06-14T15:00:00Z"), Instant.parse("2020-06-14T18:30:00Z")))
+        .create();
+    Instant now = Instant.now();
+    when(this.getApplicablePriceUseCase.execute(1, 35455, applicationDate.toInstant())).thenReturn(Optional.of(price));
+    // Act
+    ResponseEntity<PriceDTO> result = pricesApiDelegate.getPrices(applicationDate, 35455, 1, null);
+    // Assert
+    assertEquals(HttpStatus.OK, result.getStatusCode());
+    assertEquals("max-age=60, public", result.getHeaders().getCacheControl());
+    long expires = result.getHeaders().getExpires();
+    assertTrue(expires >= now.plusSeconds(59).toEpochMilli() && expires <= Instant.now().plusSeconds(61).toEpochMilli());
+  }
+
   @Test
   void shouldThrowNotFound_whenNoApplicablePriceExists() {
     // Arrange
@@ -75,8 +196,113 @@ class PricesApiDelegateImplTest {
     Integer brandId = Instancio.create(Integer.class);
     when(getApplicablePriceUseCase.execute(brandId, productId, applicationDate.toInstant()))
         .thenReturn(Optional.empty());
+    long notFound = this.otherBrandsNotFound();
     // Act & Assert
-    assertThrows(ResponseStatusException.class, () -> pricesApiDelegate.getPrices(applicationDate, productId, brandId));
+    PriceNotFoundException exception = assertThrows(PriceNotFoundException.class,
+        () -> pricesApiDelegate.getPrices(applicationDate, productId, brandId, null));
+    assertEquals(HttpStatus.NOT_FOUND, AnnotatedElementUtils.findMergedAnnotation(exception.getClass(), ResponseStatus.class).code());
+    assertEquals(0, exception.getStackTrace().length);
     verify(this.getApplicablePriceUseCase).execute(brandId, productId, applicationDate.toInstant());
+    // A brand without any price found gets no timers of its own
+    assertEquals(notFound + 1, this.otherBrandsNotFound());
+    assertTrue(this.meterRegistry.find("pricing.api.lookups").tags("brand", brandId.toString()).timers().isEmpty());
+  }
+
+  @Test
+  void shouldReportEachItem_whenResolvingBatch() {
+    // Arrange
+    OffsetDateTime applicationDate = Instancio.create(OffsetDateTime.class);
+    PriceQueryDTO found = new PriceQueryDTO(1, 35455, applicationDate);
+    PriceQueryDTO missing = new PriceQueryDTO(2, 35455, applicationDate);
+    List<PriceQuery> queries = List.of(
+        new PriceQuery(1, 35455, applicationDate.toInstant()),
+        new PriceQuery(2, 35455, applicationDate.toInstant()));
+    Price price = Instancio.of(Price.class)
+        .set(field(Price::getProductId), 35455)
+        .set(field(Price::getBrandId), 1)
+        .create();
+    when(this.getApplicablePriceUseCase.execute(queries)).thenReturn(List.of(Optional.of(price), Optional.empty()));
+    // Act
+    PriceBatchResponseDTO result = pricesApiDelegate.getPricesBatch(new PriceBatchRequestDTO(List.of(found, missing))).getBody();
+    // Assert
+    assertEquals(2, result.getItems().size());
+    assertEquals(StatusEnum.FOUND, result.getItems().get(0).getStatus());
+    assertEquals(35455, result.getItems().get(0).getPrice().getProductId());
+    assertEquals(StatusEnum.NOT_FOUND, result.getItems().get(1).getStatus());
+    assertEquals(2, result.getItems().get(1).getBrandId());
+    verify(this.getApplicablePriceUseCase).execute(queries);
+  }
+
+  @Test
+  void shouldMapEverySegment_whenResolvingTimeline() {
+    // Arrange
+    OffsetDateTime startDate = OffsetDateTime.parse("2020-06-14T00:00:00Z");
+    OffsetDateTime endDate = OffsetDateTime.parse("2020-06-14T23:59:59Z");
+    Period range = new Period(startDate.toInstant(), endDate.toInstant());
+    Price price = Instancio.of(Price.class)
+        .set(field(Price::getPriceList), (short) 2)
+        .set(field(Price::getPeriod), range)
+        .set(field(Price::getMoney), new Money(new BigDecimal("25.45"), "EUR"))
+        .create();
+    Period segment = new Period(Instant.parse("2020-06-14T13:00:00Z"), Instant.parse("2020-06-14T16:30:00Z"));
+    when(this.getPriceTimelineUseCase.execute(1, 35455, range)).thenReturn(List.of(new PriceTimeline.Segment(segment, price)));
+    // Act
+    PriceTimelineDTO result = pricesApiDelegate.getPriceTimeline(startDate, endDate, 35455, 1).getBody();
+    // Assert
+    assertEquals(1, result.getBrandId());
+    assertEquals(35455, result.getProductId());
+    assertEquals(startDate, result.getStartDate());
+    assertEquals(1, result.getSegments().size());
+    assertEquals(2, result.getSegments().get(0).getPriceList());
+    assertEquals(segment.start(), result.getSegments().get(0).getStartDate().toInstant());
+    assertEquals(segment.end(), result.getSegments().get(0).getEndDate().toInstant());
+    assertEquals(25.45, result.getSegments().get(0).getPrice());
+    assertEquals("EUR", result.getSegments().get(0).getCurr());
+  }
+
+  @Test
+  void shouldThrowBadRequest_whenTimelineEndsBeforeItStarts() {
+    // Arrange
+    OffsetDateTime startDate = OffsetDateTime.parse("2020-06-15T00:00:00Z");
+    OffsetDateTime endDate = OffsetDateTime.parse("2020-06-14T23:59:59Z");
+    // Act & Assert
+    ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+        () -> pricesApiDelegate.getPriceTimeline(startDate, endDate, 35455, 1));
+    assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    verifyNoInteractions(this.getPriceTimelineUseCase);
+  }
+
+  @Test
+  void shouldWriteOneJsonLinePerPrice_whenExportingSnapshot() throws Exception {
+    // Arrange
+    OffsetDateTime applicationDate = OffsetDateTime.parse("2020-06-14T10:00:00Z");
+    Price first = Instancio.of(Price.class).set(field(Price::getProductId), 35455).create();
+    Price second = Instancio.of(Price.class).set(field(Price::getProductId), 35456).create();
+    doAnswer(invocation -> {
+      Consumer<Price> consumer = invocation.getArgument(1);
+      consumer.accept(first);
+      consumer.accept(second);
+      return null;
+    }).when(this.exportApplicablePricesUseCase).execute(eq(applicationDate.toInstant()), any());
+    // Act
+    ResponseEntity<PriceDTO> result = pricesApiDelegate.exportPrices(applicationDate);
+    // Assert
+    assertNull(result);
+    assertEquals("application/x-ndjson", this.response.getContentType());
+    String[] lines = this.response.getContentAsString().split("\n", -1);
+    assertEquals(3, lines.length);
+    assertTrue(lines[0].startsWith("{") && lines[0].contains("\"productId\":35455"));
+    assertTrue(lines[1].startsWith("{") && lines[1].contains("\"productId\":35456"));
+    assertEquals("", lines[2]);
+  }
+
+  long brandOneFound() {
+    return this.meterRegistry.find("pricing.api.lookups").tags("brand", "1", "outcome", "found").timers().stream()
+        .mapToLong(Timer::count)
+        .sum();
+  }
+
+  long otherBrandsNotFound() {
+    return this.meterRegistry.get("pricing.api.lookups").tags("brand", LookupTimers.OTHER_BRANDS, "outcome", "not_found").timer().count();
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,196 @@
+
+package com.inditex.pricing.rest.delegates;
+
+import static org.instancio.Select.field;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import com.inditex.pricing.application.port.in.GetApplicablePriceReactiveUseCase;
+import com.inditex.pricing.application.port.in.GetPriceTimelineReactiveUseCase;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+import com.inditex.pricing.domain.model.PriceQuery;
+import com.inditex.pricing.domain.model.PriceTimeline;
+import com.inditex.pricing.rest.delegates.mappers.DateMapperImpl;
+import com.inditex.pricing.rest.delegates.mappers.PriceDTOMapperImpl;
+import com.inditex.pricing.rest.dto.PriceBatchItemDTO.StatusEnum;
+import com.inditex.pricing.rest.dto.PriceBatchRequestDTO;
+import com.inditex.pricing.rest.dto.PriceQueryDTO;
+import com.inditex.pricing.rest.reactive.api.PricesApi;
+
+import org.instancio.Instancio;
+import org.instancio.junit.InstancioExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(
+    classes = {ReactivePricesApiController.class, PriceDTOMapperImpl.class, DateMapperImpl.class}
+)
+@ActiveProfiles("reactive")
+class ReactivePricesApiControllerTest {
+
+  @Autowired
+  PricesApi pricesApi;
+
+  @MockitoBean
+  GetApplicablePriceReactiveUseCase getApplicablePriceReactiveUseCase;
+
+  @MockitoBean
+  GetPriceTimelineReactiveUseCase getPriceTimelineReactiveUseCase;
+
+  @Test
+  void shouldLoadContext_whenDependenciesAreInjected() {
+    // Arrange
+    // Act & Assert
+    assertNotNull(this.pricesApi);
+  }
+
+  @Test
+  void shouldEmitPriceDTO_whenApplicablePriceExists() {
+    // Arrange
+    OffsetDateTime applicationDate = Instancio.create(OffsetDateTime.class);
+    Integer productId = Instancio.create(Integer.class);
+    Integer brandId = Instancio.create(Integer.class);
+    Price price = Instancio.of(Price.class)
+        .set(field(Price::getProductId), productId)
+        .set(field(Price::getBrandId), brandId)
+        .set(field(Price::getPeriod), new Period(Instant.parse("2020-06-14T00:00:00Z"), Instant.parse("2020-12-31T23:59:59Z")))
+        .create();
+    when(this.getApplicablePriceReactiveUseCase.execute(brandId, productId, applicationDate.toInstant())).thenReturn(Mono.just(price));
+    // Act & Assert
+    StepVerifier.create(this.pricesApi.getPrices(applicationDate, productId, brandId, null,
+            MockServerWebExchange.from(MockServerHttpRequest.get("/prices"))))
+        .assertNext(result -> {
+          assertEquals(HttpStatus.OK, result.getStatusCode());
+          assertEquals(productId, result.getBody().getProductId());
+          assertEquals(brandId, result.getBody().getBrandId());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldEmitNotModifiedWithoutBody_whenIfNoneMatchIsTheEtag() {
+    // Arrange
+    OffsetDateTime applicationDate = Instancio.create(OffsetDateTime.class);
+    Price price = Instancio.of(Price.class)
+        .set(field(Price::getPeriod), new Period(Instant.parse("2020-06-14T00:00:00Z"), Instant.parse("2020-12-31T23:59:59Z")))
+        .create();
+    String etag = PriceCacheHeaders.etag(price);
+    MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/prices").ifNoneMatch(etag));
+    when(this.getApplicablePriceReactiveUseCase.execute(1, 35455, applicationDate.toInstant())).thenReturn(Mono.just(price));
+    // Act & Assert
+    StepVerifier.create(this.pricesApi.getPrices(applicationDate, 35455, 1, etag, exchange))
+        .assertNext(result -> {
+          assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+          assertNull(result.getBody());
+          assertEquals(etag, result.getHeaders().getETag());
+          assertEquals("max-age=60, public", result.getHeaders().getCacheControl());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldErrorWithNotFound_whenNoApplicablePriceExists() {
+    // Arrange
+    OffsetDateTime applicationDate = Instancio.create(OffsetDateTime.class);
+    Integer productId = Instancio.create(Integer.class);
+    Integer brandId = Instancio.create(Integer.class);
+    when(this.getApplicablePriceReactiveUseCase.execute(brandId, productId, applicationDate.toInstant())).thenReturn(Mono.empty());
+    // Act & Assert
+    StepVerifier.create(this.pricesApi.getPrices(applicationDate, productId, brandId, null,
+            MockServerWebExchange.from(MockServerHttpRequest.get("/prices"))))
+        .expectErrorSatisfies(error -> {
+          PriceNotFoundException exception = assertInstanceOf(PriceNotFoundException.class, error);
+          assertEquals(HttpStatus.NOT_FOUND, AnnotatedElementUtils.findMergedAnnotation(exception.getClass(), ResponseStatus.class).code());
+          assertEquals(0, exception.getStackTrace().length);
+          // The instance is shared, so the checkpoint Reactor attaches to each error must not pile up on it
+          exception.addSuppressed(new IllegalStateException("checkpoint"));
+          assertEquals(0, exception.getSuppressed().length);
+        })
+        .verify();
+  }
+
+  @Test
+  void shouldReportEachItem_whenResolvingBatch() {
+    // Arrange
+    OffsetDateTime applicationDate = Instancio.create(OffsetDateTime.class);
+    PriceQueryDTO found = new PriceQueryDTO(1, 35455, applicationDate);
+    PriceQueryDTO missing = new PriceQueryDTO(2, 35455, applicationDate);
+    List<PriceQuery> queries = List.of(
+        new PriceQuery(1, 35455, applicationDate.toInstant()),
+        new PriceQuery(2, 35455, applicationDate.toInstant()));
+    Price price = Instancio.of(Price.class)
+        .set(field(Price::getProductId), 35455)
+        .set(field(Price::getBrandId), 1)
+        .create();
+    when(this.getApplicablePriceReactiveUseCase.execute(queries)).thenReturn(Mono.just(List.of(Optional.of(price), Optional.empty())));
+    // Act & Assert
+    StepVerifier.create(this.pricesApi.getPricesBatch(Mono.just(new PriceBatchRequestDTO(List.of(found, missing))), null))
+        .assertNext(result -> {
+          assertEquals(2, result.getBody().getItems().size());
+          assertEquals(StatusEnum.FOUND, result.getBody().getItems().get(0).getStatus());
+          assertEquals(35455, result.getBody().getItems().get(0).getPrice().getProductId());
+          assertEquals(StatusEnum.NOT_FOUND, result.getBody().getItems().get(1).getStatus());
+          assertEquals(2, result.getBody().getItems().get(1).getBrandId());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldEmitTimelineDTO_whenRangeIsValid() {
+    // Arrange
+    OffsetDateTime startDate = OffsetDateTime.parse("2020-06-14T00:00:00Z");
+    OffsetDateTime endDate = OffsetDateTime.parse("2020-06-14T23:59:59Z");
+    Period range = new Period(startDate.toInstant(), endDate.toInstant());
+    Price price = Instancio.of(Price.class)
+        .set(field(Price::getProductId), 35455)
+        .set(field(Price::getBrandId), 1)
+        .create();
+    when(this.getPriceTimelineReactiveUseCase.execute(1, 35455, range))
+        .thenReturn(Mono.just(List.of(new PriceTimeline.Segment(range, price))));
+    // Act & Assert
+    StepVerifier.create(this.pricesApi.getPriceTimeline(startDate, endDate, 35455, 1, null))
+        .assertNext(result -> {
+          assertEquals(HttpStatus.OK, result.getStatusCode());
+          assertEquals(1, result.getBody().getSegments().size());
+          assertEquals(price.getPriceList().intValue(), result.getBody().getSegments().get(0).getPriceList());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void shouldErrorWithBadRequest_whenRangeEndsBeforeItStarts() {
+    // Arrange
+    OffsetDateTime startDate = OffsetDateTime.parse("2020-06-15T00:00:00Z");
+    OffsetDateTime endDate = OffsetDateTime.parse("2020-06-14T00:00:00Z");
+    // Act & Assert
+    StepVerifier.create(this.pricesApi.getPriceTimeline(startDate, endDate, 35455, 1, null))
+        .expectErrorSatisfies(error -> assertEquals(HttpStatus.BAD_REQUEST,
+            assertInstanceOf(ResponseStatusException.class, error).getStatusCode()))
+        .verify();
+    verifyNoInteractions(this.getPriceTimelineReactiveUseCase);
+  }
+}
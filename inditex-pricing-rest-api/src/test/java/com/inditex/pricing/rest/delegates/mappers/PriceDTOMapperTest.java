@@ -5,8 +5,19 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import com.inditex.pricing.domain.model.PriceImportRejection;
+import com.inditex.pricing.domain.model.PriceImportReport;
+import com.inditex.pricing.rest.dto.PriceBatchItemDTO;
+import com.inditex.pricing.rest.dto.PriceBatchItemDTO.StatusEnum;
+import com.inditex.pricing.rest.dto.PriceImportRejectionDTO;
+import com.inditex.pricing.rest.dto.PriceImportReportDTO;
+import com.inditex.pricing.rest.dto.PriceQueryDTO;
+
 import org.instancio.junit.InstancioExtension;
 import org.instancio.junit.InstancioSource;
 import org.junit.jupiter.api.BeforeEach;
@@ -65,4 +76,26 @@ class PriceDTOMapperTest {
     Double result = priceDTOMapper.formatAmount(amount);
     assertEquals(expected, result);
   }
-}
\ No newline at end of file
+
+  @Test
+  void toBatchItem_shouldEchoQueryAsNotFound_whenNoPriceApplies() {
+    PriceQueryDTO query = new PriceQueryDTO(1, 35455, OffsetDateTime.parse("2020-06-14T10:00:00Z"));
+    PriceBatchItemDTO result = priceDTOMapper.toBatchItem(query, Optional.empty());
+    assertEquals(1, result.getBrandId());
+    assertEquals(35455, result.getProductId());
+    assertEquals(query.getApplicationDate(), result.getApplicationDate());
+    assertEquals(StatusEnum.NOT_FOUND, result.getStatus());
+    assertNull(result.getPrice());
+  }
+
+  @Test
+  void toDto_shouldMapReportWithElapsedMillisAndThroughput_whenImportCompleted() {
+    PriceImportReport report = new PriceImportReport(3, 1, List.of(new PriceImportRejection(4, "end >= start")), Duration.ofMillis(2));
+    PriceImportReportDTO result = priceDTOMapper.toDto(report);
+    assertEquals(3L, result.getAccepted());
+    assertEquals(1L, result.getRejected());
+    assertEquals(2L, result.getElapsedMillis());
+    assertEquals(2_000L, result.getLinesPerSecond());
+    assertEquals(List.of(new PriceImportRejectionDTO(4L, "end >= start")), result.getRejections());
+  }
+}
@@ -0,0 +1,115 @@
+
+package com.inditex.pricing.rest.delegates.mappers;
+
+import static org.instancio.Select.field;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import com.inditex.pricing.domain.model.Money;
+import com.inditex.pricing.domain.model.Period;
+import com.inditex.pricing.domain.model.Price;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.instancio.Instancio;
+import org.instancio.junit.InstancioExtension;
+import org.instancio.junit.InstancioSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@ExtendWith({MockitoExtension.class, InstancioExtension.class})
+@SpringBootTest(classes = {PriceDTOMapperImpl.class, DateMapperImpl.class, JacksonAutoConfiguration.class})
+class PriceJsonWriterTest {
+
+  @Autowired
+  PriceDTOMapper priceDTOMapper;
+
+  @Autowired
+  ObjectMapper objectMapper;
+
+  @Test
+  void shouldWriteDtoJson_whenPriceIsComplete() throws IOException {
+    // Arrange
+    Price price = new Price();
+    price.setId(2L);
+    price.setBrandId(1);
+    price.setProductId(35455);
+    price.setPriceList((short) 2);
+    price.setPriority(1);
+    price.setPeriod(new Period(Instant.parse("2020-06-14T13:00:00Z"), Instant.parse("2020-06-14T16:30:00Z")));
+    price.setMoney(new Money(new BigDecimal("25.45"), "EUR"));
+    // Act
+    String json = this.write(price);
+    // Assert
+    assertEquals("{\"productId\":35455,\"brandId\":1,\"priceList\":2,\"startDate\":\"2020-06-14T13:00:00Z\","
+        + "\"endDate\":\"2020-06-14T16:30:00Z\",\"price\":25.45,\"curr\":\"EUR\"}", json);
+    assertEquals(this.objectMapper.writeValueAsString(this.priceDTOMapper.toDto(price)), json);
+  }
+
+  @ParameterizedTest
+  @InstancioSource(samples = 50)
+  void shouldWriteSameBytesAsDto_forRandomPrices(Price price) throws IOException {
+    // Act
+    String json = this.write(price);
+    // Assert
+    assertEquals(this.objectMapper.writeValueAsString(this.priceDTOMapper.toDto(price)), json);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0.00", "0.05", "30.00", "35.50", "-1.25", "123.4567", "9999999.99", "10000000.00", "0.001"})
+  void shouldWriteSameAmountAsDto_whenAmountIsAtFormattingBoundary(String amount) throws IOException {
+    // Arrange
+    Price price = Instancio.of(Price.class)
+        .set(field(Price::getMoney), new Money(new BigDecimal(amount), "EUR"))
+        .create();
+    // Act
+    String json = this.write(price);
+    // Assert
+    assertEquals(this.objectMapper.writeValueAsString(this.priceDTOMapper.toDto(price)), json);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"1970-01-01T00:00:00Z", "1969-12-31T23:59:59.5Z", "2000-02-29T12:34:56.000001Z", "2024-12-31T23:59:59.999999999Z",
+      "0000-01-01T00:00:00Z", "9999-12-31T23:59:59Z", "-0001-06-01T00:00:00Z", "+10000-01-01T00:00:00Z"})
+  void shouldWriteSameDateAsDto_whenDateIsAtFormattingBoundary(String date) throws IOException {
+    // Arrange
+    Instant instant = Instant.parse(date);
+    Price price = Instancio.of(Price.class)
+        .set(field(Price::getPeriod), new Period(instant, instant))
+        .create();
+    // Act
+    String json = this.write(price);
+    // Assert
+    assertEquals(this.objectMapper.writeValueAsString(this.priceDTOMapper.toDto(price)), json);
+  }
+
+  @Test
+  void shouldWriteNulls_whenPriceHasNoPeriodNorMoney() throws IOException {
+    // Arrange
+    Price price = new Price();
+    price.setProductId(35455);
+    // Act
+    String json = this.write(price);
+    // Assert
+    assertEquals(this.objectMapper.writeValueAsString(this.priceDTOMapper.toDto(price)), json);
+  }
+
+  String write(Price price) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (JsonGenerator generator = this.objectMapper.createGenerator(out)) {
+      new PriceJsonWriter(generator).write(price);
+    }
+    return out.toString(StandardCharsets.UTF_8);
+  }
+}